@@ -17,6 +17,9 @@
 
 package org.apache.gobblin.configuration;
 
+import java.util.List;
+
+
 /**
  * A {@link FunctionalInterface} to return {@link CombinedWorkUnitAndDatasetState}.
  */
@@ -30,4 +33,15 @@ public interface CombinedWorkUnitAndDatasetStateFunctional {
    */
   public CombinedWorkUnitAndDatasetState getCombinedWorkUnitAndDatasetState(String datasetUrn)
       throws Exception;
+
+  /**
+   * @return the latest {@link WorkUnitState}s of all datasetUrns in the state store, projected down to their watermarks
+   * and the properties retained by the state store. Implementations that do not keep such a projection return the
+   * full {@link WorkUnitState}s.
+   * @throws Exception the exception
+   */
+  default List<WorkUnitState> getPreviousWatermarkStates()
+      throws Exception {
+    return getCombinedWorkUnitAndDatasetState(null).getPreviousWorkUnitStates();
+  }
 }
@@ -87,6 +87,13 @@ public class ConfigurationKeys {
 
   public static final String DATASETURN_STATESTORE_NAME_PARSER = "state.store.datasetUrnStateStoreNameParser";
 
+  // Enable / disable writing a watermark-only projection of each dataset state next to it in the state store
+  public static final String STATE_STORE_WATERMARK_PROJECTION_ENABLED = "state.store.watermarkProjection.enabled";
+  public static final boolean DEFAULT_STATE_STORE_WATERMARK_PROJECTION_ENABLED = false;
+  // Comma-separated regular expressions of additional task properties to keep in the watermark projection
+  public static final String STATE_STORE_WATERMARK_PROJECTION_RETAINED_PROPERTIES =
+      "state.store.watermarkProjection.retainedProperties";
+
   /**
    * Job scheduler configuration properties.
    */
@@ -126,6 +133,32 @@ public class ConfigurationKeys {
   public static final int DEFAULT_TASK_EXECUTOR_THREADPOOL_SIZE = 2;
   public static final int DEFAULT_TASK_STATE_TRACKER_THREAD_POOL_CORE_SIZE = 1;
   public static final int DEFAULT_TASK_RETRY_THREAD_POOL_CORE_SIZE = 1;
+  // Maximum number of tasks of a job that may be submitted to the task executor but not yet completed.
+  // A non-positive value means all tasks are submitted as soon as their work units are available.
+  public static final String TASK_SUBMISSION_WINDOW_SIZE_KEY = "taskexecutor.submission.window.size";
+  // "fixed" runs tasks on a fixed size thread pool in submission order, "fair" shares the threads among the jobs
+  // running tasks on the executor according to their weight, and lets the pool grow up to its maximum size when the
+  // tasks are mostly blocked
+  public static final String TASK_EXECUTOR_MODE_KEY = "taskexecutor.mode";
+  public static final String DEFAULT_TASK_EXECUTOR_MODE = "fixed";
+  // Weight of a job in the "fair" task executor mode, the share of the threads used by its tasks is proportional to it
+  public static final String TASK_EXECUTOR_JOB_WEIGHT_KEY = "taskexecutor.job.weight";
+  public static final double DEFAULT_TASK_EXECUTOR_JOB_WEIGHT = 1.0;
+  // Maximum size of the thread pool in the "fair" task executor mode, the pool has a fixed size if it is not larger
+  // than taskexecutor.threadpool.size
+  public static final String TASK_EXECUTOR_THREADPOOL_MAX_SIZE_KEY = "taskexecutor.threadpool.maxSize";
+  public static final String TASK_EXECUTOR_TARGET_CPU_UTILIZATION_KEY = "taskexecutor.threadpool.targetCpuUtilization";
+  public static final double DEFAULT_TASK_EXECUTOR_TARGET_CPU_UTILIZATION = 0.8;
+  public static final String TASK_EXECUTOR_RESIZE_INTERVAL_SECONDS_KEY =
+      "taskexecutor.threadpool.resizeIntervalSeconds";
+  public static final long DEFAULT_TASK_EXECUTOR_RESIZE_INTERVAL_SECONDS = 30;
+  // Whether the tasks of a job run on virtual threads in the "fair" task executor mode, for tasks mostly blocked on
+  // I/O. Only supported by JDK 21 and later, tasks run on the thread pool otherwise.
+  public static final String TASK_EXECUTOR_VIRTUAL_THREADS_ENABLED_KEY = "taskexecutor.virtualThreads.enabled";
+  public static final boolean DEFAULT_TASK_EXECUTOR_VIRTUAL_THREADS_ENABLED = false;
+  // Maximum number of tasks running on virtual threads at the same time
+  public static final String TASK_EXECUTOR_VIRTUAL_THREADS_MAX_KEY = "taskexecutor.virtualThreads.max";
+  public static final int DEFAULT_TASK_EXECUTOR_VIRTUAL_THREADS_MAX = 64;
 
   /**
    * Common flow configuration properties.
@@ -183,6 +216,11 @@ public class ConfigurationKeys {
   public static final String WORK_UNIT_CREATION_TIME_IN_MILLIS = "workunit.creation.time.in.millis";
   public static final String WORK_UNIT_CREATION_AND_RUN_INTERVAL = "workunit.creation.and.run.interval";
   public static final String WORK_UNIT_ENABLE_TRACKING_LOGS = "workunit.enableTrackingLogs";
+  // If true, launchers that support it dispatch work units to execution as the source produces them instead of
+  // materializing the whole work unit stream first. Ignored if staging data is cleaned per task, see
+  // CLEANUP_STAGING_DATA_PER_TASK, since tasks of a table share their staging directories.
+  public static final String WORK_UNIT_PIPELINED_LAUNCH_ENABLED = "workunit.pipelinedLaunch.enabled";
+  public static final boolean DEFAULT_WORK_UNIT_PIPELINED_LAUNCH_ENABLED = false;
 
   public static final String JOB_DEPENDENCIES = "job.dependencies";
   public static final String JOB_FORK_ON_CONCAT = "job.forkOnConcat";
@@ -199,6 +237,26 @@ public class ConfigurationKeys {
   public static final int DEFAULT_MAX_TASK_RETRIES = 5;
   public static final String TASK_RETRY_INTERVAL_IN_SEC_KEY = "task.retry.intervalinsec";
   public static final long DEFAULT_TASK_RETRY_INTERVAL_IN_SEC = 300;
+  // Speculative execution of straggler tasks, the running tasks pulling records much slower than the other tasks
+  // of the same task attempt. Only tasks safe for speculative execution and running with a task attempt id are
+  // speculated, the output of the attempt finishing last is discarded.
+  public static final String TASK_SPECULATION_ENABLED_KEY = "task.speculation.enabled";
+  public static final boolean DEFAULT_TASK_SPECULATION_ENABLED = false;
+  // Minimum time a task runs before it can be considered a straggler
+  public static final String TASK_SPECULATION_MIN_RUN_TIME_SECONDS_KEY = "task.speculation.minRunTimeSeconds";
+  public static final long DEFAULT_TASK_SPECULATION_MIN_RUN_TIME_SECONDS = 300;
+  // A task is a straggler if its records per second are below this ratio of the median of the tasks
+  public static final String TASK_SPECULATION_SLOW_TASK_RATIO_KEY = "task.speculation.slowTaskRatio";
+  public static final double DEFAULT_TASK_SPECULATION_SLOW_TASK_RATIO = 0.5;
+  // Minimum number of tasks whose records per second are known to compute the median
+  public static final String TASK_SPECULATION_MIN_PEER_TASKS_KEY = "task.speculation.minPeerTasks";
+  public static final int DEFAULT_TASK_SPECULATION_MIN_PEER_TASKS = 4;
+  // Maximum ratio of the tasks of a task attempt that are speculated, at least one task can be speculated
+  public static final String TASK_SPECULATION_MAX_TASKS_RATIO_KEY = "task.speculation.maxSpeculativeTasksRatio";
+  public static final double DEFAULT_TASK_SPECULATION_MAX_TASKS_RATIO = 0.1;
+  // Set on the work unit of a speculative attempt, which reports its metrics under its own task attempt id and only
+  // counts towards the job metrics once it won
+  public static final String TASK_IS_SPECULATIVE_ATTEMPT_KEY = "task.speculation.isSpeculativeAttempt";
   public static final String OVERWRITE_CONFIGS_IN_STATESTORE = "overwrite.configs.in.statestore";
   public static final boolean DEFAULT_OVERWRITE_CONFIGS_IN_STATESTORE = false;
   public static final String CLEANUP_STAGING_DATA_PER_TASK = "cleanup.staging.data.per.task";
@@ -308,6 +366,9 @@ public class ConfigurationKeys {
   public static final boolean DEFAULT_EXTRACT_LIMIT_ENABLED = false;
   public static final String EXTRACT_ID_TIME_ZONE = "extract.extractIdTimeZone";
   public static final String DEFAULT_EXTRACT_ID_TIME_ZONE = "UTC";
+  // Decode Avro records with a reader schema limited to the fields the converter chain needs
+  public static final String EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED = "extract.avro.projectionPushdown.enabled";
+  public static final boolean DEFAULT_EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED = false;
 
   /**
    * Converter configuration properties.
@@ -382,6 +443,9 @@ public class ConfigurationKeys {
   public static final String WRITER_PRESERVE_FILE_NAME = WRITER_PREFIX + ".preserve.file.name";
   public static final String WRITER_DEFLATE_LEVEL = WRITER_PREFIX + ".deflate.level";
   public static final String WRITER_CODEC_TYPE = WRITER_PREFIX + ".codec.type";
+  // If set, codecs that support it (de)compress blocks of this many bytes concurrently
+  public static final String WRITER_CODEC_BLOCK_SIZE = WRITER_PREFIX + ".codec.blockSize";
+  public static final String WRITER_CODEC_MAX_PENDING_BLOCKS = WRITER_PREFIX + ".codec.maxPendingBlocks";
   public static final String WRITER_EAGER_INITIALIZATION_KEY = WRITER_PREFIX + ".eager.initialization";
   public static final String WRITER_PARTITIONER_CLASS = WRITER_PREFIX + ".partitioner.class";
   public static final String WRITER_SKIP_NULL_RECORD = WRITER_PREFIX + ".skipNullRecord";
@@ -21,17 +21,21 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
@@ -79,6 +83,8 @@ public class SourceState extends State {
 
   private boolean areWorkUnitStatesMaterialized;
 
+  private List<WorkUnitState> previousWatermarkStates;
+
   /**
    * Default constructor.
    */
@@ -190,6 +196,91 @@ public class SourceState extends State {
     return this.previousWorkUnitStates;
   }
 
+  /**
+   * Get a {@link List} of previous {@link WorkUnitState}s that may only carry their watermarks, working states and
+   * the properties retained by the state store, see {@link ConfigurationKeys#STATE_STORE_WATERMARK_PROJECTION_ENABLED}.
+   *
+   * <p>
+   *   This is meant for incremental sources that only need the watermarks of the previous run, and avoids
+   *   deserializing all task properties of the previous run. The projections are only used if the state store keeps
+   *   them and {@link ConfigurationKeys#STATE_STORE_WATERMARK_PROJECTION_RETAINED_PROPERTIES} retains all of the
+   *   given regular expressions, see {@link #isRetainedByWatermarkProjection(String, Collection)}. Otherwise, or if the full {@link WorkUnitState}s were already materialized, this
+   *   returns the same list as {@link #getPreviousWorkUnitStates()}. The list is lazily materialized upon the first
+   *   invocation.
+   * </p>
+   *
+   * @param retainedPropertyRegexes regular expressions of the properties the caller reads from the previous
+   *                                {@link WorkUnitState}s besides watermarks and working states
+   */
+  public synchronized List<WorkUnitState> getPreviousWatermarkStates(Collection<String> retainedPropertyRegexes) {
+    if (this.workUnitAndDatasetStateFunctional == null || this.areWorkUnitStatesMaterialized
+        || !getPropAsBoolean(ConfigurationKeys.STATE_STORE_WATERMARK_PROJECTION_ENABLED,
+        ConfigurationKeys.DEFAULT_STATE_STORE_WATERMARK_PROJECTION_ENABLED)
+        || !areRetainedByWatermarkProjection(retainedPropertyRegexes)) {
+      return getPreviousWorkUnitStates();
+    }
+    if (this.previousWatermarkStates == null) {
+      try {
+        this.previousWatermarkStates = this.workUnitAndDatasetStateFunctional.getPreviousWatermarkStates();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+    return this.previousWatermarkStates;
+  }
+
+  private boolean areRetainedByWatermarkProjection(Collection<String> propertyRegexes) {
+    List<String> retainedPropertyRegexes =
+        getPropAsList(ConfigurationKeys.STATE_STORE_WATERMARK_PROJECTION_RETAINED_PROPERTIES, "");
+    for (String propertyRegex : propertyRegexes) {
+      if (!isRetainedByWatermarkProjection(propertyRegex, retainedPropertyRegexes)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Whether the properties matching a regular expression are retained by a watermark projection keeping the
+   * properties matching any of the retained regular expressions. A regular expression matching a single property
+   * name, quoted with {@link Pattern#quote(String)} or escaped, is retained if a retained regular expression matches
+   * that name. Any other regular expression is only retained if it is also one of the retained regular expressions.
+   */
+  @VisibleForTesting
+  static boolean isRetainedByWatermarkProjection(String propertyRegex, Collection<String> retainedPropertyRegexes) {
+    String regex = propertyRegex.trim();
+    Optional<String> propertyName = getLiteral(regex);
+    for (String retainedPropertyRegex : retainedPropertyRegexes) {
+      String retainedRegex = retainedPropertyRegex.trim();
+      if (retainedRegex.equals(regex)
+          || (propertyName.isPresent() && Pattern.matches(retainedRegex, propertyName.get()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the only string a regular expression matches, if it is a quoted or escaped literal.
+   */
+  private static Optional<String> getLiteral(String regex) {
+    if (regex.startsWith("\\Q") && regex.endsWith("\\E") && regex.indexOf("\\E") == regex.length() - 2) {
+      return Optional.of(regex.substring(2, regex.length() - 2));
+    }
+    StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '\\' && i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+        literal.append(regex.charAt(++i));
+      } else if ("\\[](){}.*+?^$|".indexOf(c) >= 0) {
+        return Optional.absent();
+      } else {
+        literal.append(c);
+      }
+    }
+    return Optional.of(literal.toString());
+  }
+
   /**
    * Get a {@link List} of previous {@link WorkUnitState}s for a given datasetUrn.
    * @param datasetUrn
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.configuration;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+
+public class SourceStateTest {
+
+  @Test
+  public void testIsRetainedByWatermarkProjection() {
+    List<String> retained = ImmutableList.of(" topic\\.name", "kakfa\\.source\\.avgFetchTimeCap", ".+\\.avg\\.record\\.size");
+
+    // The same regular expression, regardless of surrounding whitespace
+    Assert.assertTrue(SourceState.isRetainedByWatermarkProjection("topic\\.name ", retained));
+    Assert.assertTrue(SourceState.isRetainedByWatermarkProjection(".+\\.avg\\.record\\.size", retained));
+
+    // A quoted or escaped property name matched by a retained regular expression
+    Assert.assertTrue(SourceState.isRetainedByWatermarkProjection(
+        Pattern.quote(ConfigurationKeys.KAFKA_SOURCE_AVG_FETCH_TIME_CAP), retained));
+    Assert.assertTrue(SourceState.isRetainedByWatermarkProjection(Pattern.quote("topic.avg.record.size"), retained));
+    Assert.assertTrue(SourceState.isRetainedByWatermarkProjection("topic\\.avg\\.record\\.size", retained));
+
+    // A property name not matched, or a different regular expression
+    Assert.assertFalse(SourceState.isRetainedByWatermarkProjection(Pattern.quote("topic.avg.record.millis"), retained));
+    Assert.assertFalse(SourceState.isRetainedByWatermarkProjection(".+\\.avg\\.record\\.(size|millis)", retained));
+    Assert.assertFalse(SourceState.isRetainedByWatermarkProjection("topic.name", ImmutableList.<String>of()));
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.cluster;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.helix.messaging.handling.HelixTaskResult;
+import org.apache.helix.model.Message;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.util.ExecutorsUtils;
+import org.apache.gobblin.util.jfr.FlightRecorderEvents;
+
+
+/**
+ * Captures JDK Flight Recorder recordings of this JVM on demand and uploads them to the {@link #RECORDINGS_DIR_NAME}
+ * directory under the application work directory.
+ *
+ * <p>
+ *   A recording is requested with a Helix {@link Message.MessageType#USER_DEFINE_MSG} message of sub type
+ *   {@link HelixMessageSubTypes#FLIGHT_RECORDING_REQUESTED}, see {@link #createRequest(long)}. The message can have a
+ *   {@link #DURATION_SECONDS_FIELD} and a {@link #CONFIGURATION_FIELD} simple field. Recordings are captured one at a
+ *   time in the background, so handling the message returns right away. Requests are sent to the participants or the
+ *   controller like the other user defined messages, e.g. with a {@link GobblinHelixMessagingService}, and requests
+ *   with an invalid duration are replied to with an error.
+ * </p>
+ */
+@Slf4j
+public class FlightRecordingManager implements Closeable {
+
+  public static final String RECORDINGS_DIR_NAME = "recordings";
+  public static final String DURATION_SECONDS_FIELD = "durationSeconds";
+  public static final String CONFIGURATION_FIELD = "configuration";
+  // Key of the error in the reply to an invalid request
+  public static final String ERROR_FIELD = "error";
+  public static final long DEFAULT_DURATION_SECONDS = 60;
+  public static final long MAX_DURATION_SECONDS = TimeUnit.MINUTES.toSeconds(30);
+
+  private final FileSystem fs;
+  private final Path recordingsDir;
+  private final String name;
+  private final ExecutorService recordingExecutor;
+
+  /**
+   * @param fs the {@link FileSystem} of the application work directory
+   * @param appWorkDir the application work directory
+   * @param name the name of this JVM in the cluster, e.g. the Helix instance name, used to name its recordings
+   */
+  public FlightRecordingManager(FileSystem fs, Path appWorkDir, String name) {
+    this.fs = fs;
+    this.recordingsDir = new Path(appWorkDir, RECORDINGS_DIR_NAME);
+    this.name = name;
+    this.recordingExecutor = Executors.newSingleThreadExecutor(
+        ExecutorsUtils.newDaemonThreadFactory(Optional.of(log), Optional.of("FlightRecording-%d")));
+  }
+
+  /**
+   * Create a Helix message requesting a recording of the given duration.
+   */
+  public static Message createRequest(long durationSeconds) {
+    Preconditions.checkArgument(durationSeconds > 0, "Duration must be positive: %s", durationSeconds);
+    Message request = new Message(Message.MessageType.USER_DEFINE_MSG,
+        HelixMessageSubTypes.FLIGHT_RECORDING_REQUESTED.toString().toLowerCase() + UUID.randomUUID().toString());
+    request.setMsgSubType(HelixMessageSubTypes.FLIGHT_RECORDING_REQUESTED.toString());
+    request.setMsgState(Message.MessageState.NEW);
+    request.getRecord().setSimpleField(DURATION_SECONDS_FIELD, Long.toString(durationSeconds));
+    return request;
+  }
+
+  public static boolean isRequest(Message message) {
+    return HelixMessageSubTypes.FLIGHT_RECORDING_REQUESTED.toString().equalsIgnoreCase(message.getMsgSubType());
+  }
+
+  /**
+   * Start capturing the recording requested by a {@link #createRequest(long)} message in the background.
+   * @return the result to reply with, which is a failure if the requested duration is not a positive number
+   */
+  public HelixTaskResult handleRequest(Message request) {
+    HelixTaskResult result = new HelixTaskResult();
+    long durationSeconds;
+    try {
+      durationSeconds = parseDurationSeconds(request.getRecord().getSimpleField(DURATION_SECONDS_FIELD));
+    } catch (IllegalArgumentException e) {
+      log.error("Rejecting flight recording request {}: {}", request.getMsgId(), e.getMessage());
+      result.setSuccess(false);
+      result.setMessage(e.getMessage());
+      result.getTaskResultMap().put(ERROR_FIELD, e.getMessage());
+      return result;
+    }
+    String configuration = request.getRecord().getSimpleField(CONFIGURATION_FIELD);
+    requestRecording(durationSeconds,
+        configuration == null ? FlightRecorderEvents.DEFAULT_RECORDING_CONFIGURATION : configuration);
+    result.setSuccess(true);
+    return result;
+  }
+
+  /**
+   * @return the duration of a {@link #DURATION_SECONDS_FIELD} value, or {@link #DEFAULT_DURATION_SECONDS} if absent
+   * @throws IllegalArgumentException if the value is not a positive number
+   */
+  @VisibleForTesting
+  static long parseDurationSeconds(String durationSeconds) {
+    if (durationSeconds == null) {
+      return DEFAULT_DURATION_SECONDS;
+    }
+    long parsedDurationSeconds;
+    try {
+      parsedDurationSeconds = Long.parseLong(durationSeconds.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + DURATION_SECONDS_FIELD + ": " + durationSeconds, e);
+    }
+    Preconditions.checkArgument(parsedDurationSeconds > 0, "%s must be positive: %s", DURATION_SECONDS_FIELD,
+        parsedDurationSeconds);
+    return parsedDurationSeconds;
+  }
+
+  /**
+   * Start capturing a recording in the background, after the recordings requested before are done.
+   * @param durationSeconds the duration of the recording, positive and capped at {@link #MAX_DURATION_SECONDS}
+   * @param configuration the name of the JDK recording configuration to use, e.g. "default" or "profile"
+   */
+  public void requestRecording(long durationSeconds, String configuration) {
+    Preconditions.checkArgument(durationSeconds > 0, "Duration must be positive: %s", durationSeconds);
+    if (!FlightRecorderEvents.isAvailable()) {
+      log.warn("Ignoring the flight recording request as the JDK Flight Recorder is not available in this JVM");
+      return;
+    }
+    final long cappedDurationSeconds = Math.min(durationSeconds, MAX_DURATION_SECONDS);
+    log.info("Capturing a {} seconds flight recording with the {} configuration", cappedDurationSeconds, configuration);
+    this.recordingExecutor.submit(() -> {
+      try {
+        recordAndUpload(cappedDurationSeconds, configuration);
+      } catch (InterruptedException ie) {
+        log.info("Interrupted while capturing a flight recording");
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        log.error("Failed to capture or upload a flight recording", e);
+      }
+    });
+  }
+
+  /**
+   * Capture a recording and upload it to the recordings directory.
+   * @return the path of the uploaded recording
+   */
+  @VisibleForTesting
+  Path recordAndUpload(long durationSeconds, String configuration) throws IOException, InterruptedException {
+    String recordingName = this.name + "_" + System.currentTimeMillis();
+    java.nio.file.Path localRecording = Files.createTempFile(recordingName, ".jfr");
+    try {
+      FlightRecorderEvents.record(recordingName, configuration, TimeUnit.SECONDS.toMillis(durationSeconds),
+          localRecording);
+      Path recording = new Path(this.recordingsDir, recordingName + ".jfr");
+      this.fs.copyFromLocalFile(false, true, new Path(localRecording.toUri()), recording);
+      log.info("Uploaded flight recording to " + recording);
+      return recording;
+    } finally {
+      Files.deleteIfExists(localRecording);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.recordingExecutor.shutdownNow();
+  }
+}
@@ -117,6 +117,8 @@ public class GobblinClusterManager implements ApplicationLauncher, StandardMetri
   @Getter
   protected final FileSystem fs;
 
+  protected final FlightRecordingManager flightRecordingManager;
+
   protected final String applicationId;
 
   // thread used to keep process up for an idle controller
@@ -162,6 +164,9 @@ public class GobblinClusterManager implements ApplicationLauncher, StandardMetri
     this.appWorkDir = appWorkDirOptional.isPresent() ? appWorkDirOptional.get()
         : GobblinClusterUtils.getAppWorkDirPathFromConfig(this.config, this.fs, clusterName, applicationId);
     LOGGER.info("Configured GobblinClusterManager work dir to: {}", this.appWorkDir);
+    this.flightRecordingManager = new FlightRecordingManager(this.fs, this.appWorkDir,
+        ConfigUtils.getString(this.config, GobblinClusterConfigurationKeys.HELIX_INSTANCE_NAME_KEY,
+            GobblinClusterManager.class.getSimpleName()));
 
     initializeAppLauncherAndServices();
   }
@@ -348,6 +353,8 @@ public class GobblinClusterManager implements ApplicationLauncher, StandardMetri
 
     stopAppLauncherAndServices();
 
+    this.flightRecordingManager.close();
+
     this.multiManager.disconnect();
   }
 
@@ -410,7 +417,7 @@ public class GobblinClusterManager implements ApplicationLauncher, StandardMetri
    * @returns a {@link MessageHandlerFactory}.
    */
   protected MessageHandlerFactory getUserDefinedMessageHandlerFactory() {
-    return new GobblinHelixMultiManager.ControllerUserDefinedMessageHandlerFactory();
+    return new GobblinHelixMultiManager.ControllerUserDefinedMessageHandlerFactory(this.flightRecordingManager);
   }
 
   @VisibleForTesting
@@ -498,6 +498,12 @@ public class GobblinHelixMultiManager implements StandardMetricsBridge {
    */
   static class ControllerUserDefinedMessageHandlerFactory implements MessageHandlerFactory {
 
+    private final FlightRecordingManager flightRecordingManager;
+
+    ControllerUserDefinedMessageHandlerFactory(FlightRecordingManager flightRecordingManager) {
+      this.flightRecordingManager = flightRecordingManager;
+    }
+
     @Override
     public MessageHandler createHandler(Message message, NotificationContext context) {
       return new ControllerUserDefinedMessageHandler(message, context);
@@ -521,12 +527,12 @@ public class GobblinHelixMultiManager implements StandardMetricsBridge {
      * A custom {@link MessageHandler} for handling user-defined messages to the controller.
      *
      * <p>
-     *   Currently does not handle any user-defined messages. If this class is passed a custom message, it will simply
-     *   print out a warning and return successfully. Sub-classes of {@link GobblinClusterManager} should override
-     *   {@link GobblinClusterManager#getUserDefinedMessageHandlerFactory()}.
+     *   Currently only handles {@link HelixMessageSubTypes#FLIGHT_RECORDING_REQUESTED} messages. If this class is
+     *   passed another custom message, it will simply print out a warning and return successfully. Sub-classes of
+     *   {@link GobblinClusterManager} should override {@link GobblinClusterManager#getUserDefinedMessageHandlerFactory()}.
      * </p>
      */
-    private static class ControllerUserDefinedMessageHandler extends MessageHandler {
+    private class ControllerUserDefinedMessageHandler extends MessageHandler {
 
       public ControllerUserDefinedMessageHandler(Message message, NotificationContext context) {
         super(message, context);
@@ -534,9 +540,13 @@ public class GobblinHelixMultiManager implements StandardMetricsBridge {
 
       @Override
       public HelixTaskResult handleMessage() throws InterruptedException {
-        log.warn(String
-            .format("No handling setup for %s message of subtype: %s", Message.MessageType.USER_DEFINE_MSG.toString(),
-                this._message.getMsgSubType()));
+        if (FlightRecordingManager.isRequest(this._message)) {
+          return flightRecordingManager.handleRequest(this._message);
+        } else {
+          log.warn(String
+              .format("No handling setup for %s message of subtype: %s", Message.MessageType.USER_DEFINE_MSG.toString(),
+                  this._message.getMsgSubType()));
+        }
 
         HelixTaskResult helixTaskResult = new HelixTaskResult();
         helixTaskResult.setSuccess(true);
@@ -172,6 +172,7 @@ public class GobblinTaskRunner implements StandardMetricsBridge {
   protected final Config clusterConfig;
   @Getter
   protected final FileSystem fs;
+  protected final FlightRecordingManager flightRecordingManager;
   protected final String applicationName;
   protected final String applicationId;
   private final boolean isMetricReportingFailureFatal;
@@ -201,6 +202,7 @@ public class GobblinTaskRunner implements StandardMetricsBridge {
     Configuration conf = HadoopUtils.newConfiguration();
     this.fs = GobblinClusterUtils.buildFileSystem(config, conf);
     this.appWorkPath = initAppWorkDir(config, appWorkDirOptional);
+    this.flightRecordingManager = new FlightRecordingManager(this.fs, this.appWorkPath, this.helixInstanceName);
     this.clusterConfig = saveConfigToFile(config);
     this.clusterName = this.clusterConfig.getString(GobblinClusterConfigurationKeys.HELIX_CLUSTER_NAME_KEY);
 
@@ -425,6 +427,7 @@ public class GobblinTaskRunner implements StandardMetricsBridge {
     } finally {
       logger.info("All services are stopped.");
       this.taskStateModelFactory.shutdown();
+      this.flightRecordingManager.close();
       disconnectHelixManager();
     }
 
@@ -692,7 +695,7 @@ public class GobblinTaskRunner implements StandardMetricsBridge {
    * A custom {@link MultiTypeMessageHandlerFactory} for {@link ParticipantUserDefinedMessageHandler}s that
    * handle messages of type {@link org.apache.helix.model.Message.MessageType#USER_DEFINE_MSG}.
    */
-  private static class ParticipantUserDefinedMessageHandlerFactory implements MultiTypeMessageHandlerFactory {
+  private class ParticipantUserDefinedMessageHandlerFactory implements MultiTypeMessageHandlerFactory {
 
     @Override
     public MessageHandler createHandler(Message message, NotificationContext context) {
@@ -714,15 +717,15 @@ public class GobblinTaskRunner implements StandardMetricsBridge {
     }
 
     /**
-     * A custom {@link MessageHandler} for handling user-defined messages to the controller.
+     * A custom {@link MessageHandler} for handling user-defined messages to the participants.
      *
      * <p>
-     *   Currently does not handle any user-defined messages. If this class is passed a custom message, it will simply
-     *   print out a warning and return successfully. Sub-classes of {@link GobblinClusterManager} should override
-     *   {@link #getUserDefinedMessageHandlerFactory}.
+     *   Currently only handles {@link HelixMessageSubTypes#FLIGHT_RECORDING_REQUESTED} messages. If this class is
+     *   passed another custom message, it will simply print out a warning and return successfully. Sub-classes of
+     *   {@link GobblinTaskRunner} should override {@link #getUserDefinedMessageHandlerFactory}.
      * </p>
      */
-    private static class ParticipantUserDefinedMessageHandler extends MessageHandler {
+    private class ParticipantUserDefinedMessageHandler extends MessageHandler {
 
       public ParticipantUserDefinedMessageHandler(Message message, NotificationContext context) {
         super(message, context);
@@ -730,8 +733,12 @@ public class GobblinTaskRunner implements StandardMetricsBridge {
 
       @Override
       public HelixTaskResult handleMessage() {
-        logger.warn(String.format("No handling setup for %s message of subtype: %s",
-            Message.MessageType.USER_DEFINE_MSG.toString(), this._message.getMsgSubType()));
+        if (FlightRecordingManager.isRequest(this._message)) {
+          return flightRecordingManager.handleRequest(this._message);
+        } else {
+          logger.warn(String.format("No handling setup for %s message of subtype: %s",
+              Message.MessageType.USER_DEFINE_MSG.toString(), this._message.getMsgSubType()));
+        }
 
         HelixTaskResult helixTaskResult = new HelixTaskResult();
         helixTaskResult.setSuccess(true);
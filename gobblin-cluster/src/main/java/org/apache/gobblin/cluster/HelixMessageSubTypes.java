@@ -41,5 +41,11 @@ public enum HelixMessageSubTypes {
   /**
    * This type is for messages sent when the file storing the delegation token has been updated.
    */
-  TOKEN_FILE_UPDATED
+  TOKEN_FILE_UPDATED,
+
+  /**
+   * This type is for messages sent when a JDK Flight Recorder recording is to be captured, see
+   * {@link FlightRecordingManager}.
+   */
+  FLIGHT_RECORDING_REQUESTED
 }
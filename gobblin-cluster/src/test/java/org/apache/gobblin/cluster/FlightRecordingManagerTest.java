@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.cluster;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.helix.messaging.handling.HelixTaskResult;
+import org.apache.helix.model.Message;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import org.apache.gobblin.util.jfr.FlightRecorderEvents;
+
+
+/**
+ * Unit tests for {@link FlightRecordingManager}.
+ */
+@Test(groups = { "gobblin.cluster" })
+public class FlightRecordingManagerTest {
+
+  private FileSystem fs;
+  private Path appWorkDir;
+  private FlightRecordingManager flightRecordingManager;
+
+  @BeforeClass
+  public void setUp() throws IOException {
+    this.fs = FileSystem.getLocal(new Configuration());
+    this.appWorkDir = new Path(FlightRecordingManagerTest.class.getSimpleName());
+    this.flightRecordingManager = new FlightRecordingManager(this.fs, this.appWorkDir, "instance");
+  }
+
+  @Test
+  public void testCreateRequest() {
+    Message request = FlightRecordingManager.createRequest(10);
+    Assert.assertEquals(request.getMsgType(), Message.MessageType.USER_DEFINE_MSG.toString());
+    Assert.assertTrue(FlightRecordingManager.isRequest(request));
+    Assert.assertEquals(request.getRecord().getSimpleField(FlightRecordingManager.DURATION_SECONDS_FIELD), "10");
+
+    Message otherRequest = new Message(Message.MessageType.USER_DEFINE_MSG, "other");
+    otherRequest.setMsgSubType(HelixMessageSubTypes.TOKEN_FILE_UPDATED.toString());
+    Assert.assertFalse(FlightRecordingManager.isRequest(otherRequest));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testCreateRequestWithInvalidDuration() {
+    FlightRecordingManager.createRequest(0);
+  }
+
+  @Test
+  public void testParseDurationSeconds() {
+    Assert.assertEquals(FlightRecordingManager.parseDurationSeconds(null),
+        FlightRecordingManager.DEFAULT_DURATION_SECONDS);
+    Assert.assertEquals(FlightRecordingManager.parseDurationSeconds(" 30 "), 30);
+    for (String invalid : new String[]{"", "abc", "1.5", "0", "-10"}) {
+      try {
+        FlightRecordingManager.parseDurationSeconds(invalid);
+        Assert.fail("Expected an IllegalArgumentException for " + invalid);
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+    }
+  }
+
+  @Test
+  public void testHandleRequestWithInvalidDuration() {
+    Message request = FlightRecordingManager.createRequest(10);
+    request.getRecord().setSimpleField(FlightRecordingManager.DURATION_SECONDS_FIELD, "ten");
+    HelixTaskResult result = this.flightRecordingManager.handleRequest(request);
+    Assert.assertFalse(result.isSuccess());
+    Assert.assertTrue(result.getMessage().contains("ten"));
+    Assert.assertEquals(result.getTaskResultMap().get(FlightRecordingManager.ERROR_FIELD), result.getMessage());
+
+    request.getRecord().setSimpleField(FlightRecordingManager.DURATION_SECONDS_FIELD, "-1");
+    Assert.assertFalse(this.flightRecordingManager.handleRequest(request).isSuccess());
+  }
+
+  @Test
+  public void testRecordAndUpload() throws Exception {
+    if (!FlightRecorderEvents.isAvailable()) {
+      throw new SkipException("The JDK Flight Recorder is not available");
+    }
+    Path recording = this.flightRecordingManager.recordAndUpload(1, "default");
+    Assert.assertEquals(recording.getParent().getName(), FlightRecordingManager.RECORDINGS_DIR_NAME);
+    Assert.assertTrue(recording.getName().startsWith("instance_"));
+    Assert.assertTrue(this.fs.getFileStatus(recording).getLen() > 0);
+  }
+
+  @AfterClass
+  public void tearDown() throws IOException {
+    this.flightRecordingManager.close();
+    this.fs.delete(this.appWorkDir, true);
+  }
+}
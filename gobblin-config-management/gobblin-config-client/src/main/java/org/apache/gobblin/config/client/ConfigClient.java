@@ -26,6 +26,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
 
@@ -49,6 +53,7 @@ import org.apache.gobblin.config.store.api.ConfigStoreCreationException;
 import org.apache.gobblin.config.store.api.ConfigStoreFactory;
 import org.apache.gobblin.config.store.api.ConfigStoreWithStableVersioning;
 import org.apache.gobblin.config.store.api.VersionDoesNotExistException;
+import org.apache.gobblin.util.ExecutorsUtils;
 
 
 /**
@@ -61,6 +66,12 @@ import org.apache.gobblin.config.store.api.VersionDoesNotExistException;
 public class ConfigClient {
   private static final Logger LOG = Logger.getLogger(ConfigClient.class);
 
+  /** Max number of unresolved configs memoized per config store version, when the version is stable in this JVM. */
+  public static final long DEFAULT_MAX_MEMOIZED_CONFIGS = 100000L;
+  /** Number of threads used to resolve configs in {@link #getConfigs(Collection)}. */
+  public static final int DEFAULT_CONFIG_RESOLUTION_THREADS = 10;
+  private static final long CONFIG_RESOLUTION_THREAD_KEEP_ALIVE_SECONDS = 60L;
+
   private final VersionStabilityPolicy policy;
 
   /** Normally key is the ConfigStore.getStoreURI(), value is the ConfigStoreAccessor
@@ -80,6 +91,10 @@ public class ConfigClient {
 
   private final ConfigStoreFactoryRegister configStoreFactoryRegister;
 
+  // Shared by the value inspectors of all config stores accessed by this client. Its threads are daemons that time out
+  // when idle, so the client doesn't need to be closed.
+  private final ExecutorService configResolutionExecutor;
+
   private ConfigClient(VersionStabilityPolicy policy) {
     this(policy, new ConfigStoreFactoryRegister());
   }
@@ -89,6 +104,16 @@ public class ConfigClient {
     this.policy = policy;
 
     this.configStoreFactoryRegister = register;
+    this.configResolutionExecutor = createConfigResolutionExecutor();
+  }
+
+  private static ExecutorService createConfigResolutionExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_CONFIG_RESOLUTION_THREADS,
+        DEFAULT_CONFIG_RESOLUTION_THREADS, CONFIG_RESOLUTION_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), ExecutorsUtils.newDaemonThreadFactory(
+        Optional.<org.slf4j.Logger>absent(), Optional.of("ConfigResolution-%d")));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   /**
@@ -307,28 +332,40 @@ public class ConfigClient {
     InMemoryTopology inMemoryTopology = new InMemoryTopology(csTopology);
 
     // value related
-    ConfigStoreBackedValueInspector rawValueInspector =
-        new ConfigStoreBackedValueInspector(cs, currentVersion, inMemoryTopology);
     InMemoryValueInspector inMemoryValueInspector;
 
     // ConfigStoreWithStableVersioning always create Soft reference cache
     if (isConfigStoreWithStableVersion(cs) || this.policy == VersionStabilityPolicy.WEAK_LOCAL_STABILITY) {
-      inMemoryValueInspector = new InMemoryValueInspector(rawValueInspector, false);
+      inMemoryValueInspector = new InMemoryValueInspector(createMemoizingValueInspector(cs, currentVersion,
+          inMemoryTopology), false);
       result = new ConfigStoreAccessor(cs, inMemoryValueInspector, inMemoryTopology);
     }
     // Non ConfigStoreWithStableVersioning but require STRONG_LOCAL_STABILITY, use Strong reference cache
     else if (this.policy == VersionStabilityPolicy.STRONG_LOCAL_STABILITY) {
-      inMemoryValueInspector = new InMemoryValueInspector(rawValueInspector, true);
+      inMemoryValueInspector = new InMemoryValueInspector(createMemoizingValueInspector(cs, currentVersion,
+          inMemoryTopology), true);
       result = new ConfigStoreAccessor(cs, inMemoryValueInspector, inMemoryTopology);
     }
     // Require No cache
     else {
+      ConfigStoreBackedValueInspector rawValueInspector =
+          new ConfigStoreBackedValueInspector(cs, currentVersion, inMemoryTopology);
       result = new ConfigStoreAccessor(cs, rawValueInspector, inMemoryTopology);
     }
 
     return result;
   }
 
+  /**
+   * Create a {@link ConfigStoreBackedValueInspector} memoizing the configs of shared ancestors and imports, which is
+   * only safe when the version is cached in this JVM anyway. It resolves configs on the executor of this client.
+   */
+  private ConfigStoreBackedValueInspector createMemoizingValueInspector(ConfigStore cs, String version,
+      InMemoryTopology topology) {
+    return new ConfigStoreBackedValueInspector(cs, version, topology, DEFAULT_MAX_MEMOIZED_CONFIGS,
+        Optional.of(this.configResolutionExecutor));
+  }
+
   private static boolean isConfigStoreWithStableVersion(ConfigStore cs) {
     for (Annotation annotation : cs.getClass().getDeclaredAnnotations()) {
       if (annotation instanceof ConfigStoreWithStableVersioning) {
@@ -22,8 +22,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
@@ -39,6 +44,15 @@ import org.apache.gobblin.config.store.api.ConfigStoreWithResolution;
 /**
  * ConfigStoreBackedValueInspector always query the underline {@link ConfigStore} to get the freshest
  * {@link com.typesafe.config.Config}
+ *
+ * <p>
+ *   Optionally, the unresolved config of a key merged with all its imports and ancestors can be memoized, so that
+ *   keys sharing ancestors or imports (e.g. many datasets under the same parent) don't walk the shared part of the
+ *   topology against the {@link ConfigStore} again. The memoized configs are only valid for the {@link #version}
+ *   of this inspector, which is why this should only be enabled for versions that are stable in this JVM.
+ *   Resolving many keys at once can also be spread over the threads of an {@link ExecutorService} shared with the
+ *   owner of this inspector, e.g. one per config client rather than one per call.
+ * </p>
  * @author mitu
  *
  */
@@ -47,6 +61,8 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
   private final ConfigStore cs;
   private final String version;
   private final ConfigStoreTopologyInspector topology;
+  private final Optional<Cache<ConfigKeyPath, Config>> memoizedConfigs;
+  private final Optional<ExecutorService> resolutionExecutor;
 
   /**
    * @param cs       - internal {@link ConfigStore} to retrieve configuration
@@ -54,9 +70,27 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
    * @param topology - corresponding {@link ConfigStoreTopologyInspector} for the input {@link ConfigStore}
    */
   public ConfigStoreBackedValueInspector(ConfigStore cs, String version, ConfigStoreTopologyInspector topology) {
+    this(cs, version, topology, 0, Optional.<ExecutorService>absent());
+  }
+
+  /**
+   * @param cs                  - internal {@link ConfigStore} to retrieve configuration
+   * @param version             - version of the {@link ConfigStore}
+   * @param topology            - corresponding {@link ConfigStoreTopologyInspector} for the input {@link ConfigStore}
+   * @param maxMemoizedConfigs  - max number of unresolved configs memoized for the version, 0 disables memoization
+   * @param resolutionExecutor  - executor used by {@link #getResolvedConfigs(Collection)} to resolve keys in parallel,
+   *                              owned by the caller, which is responsible for shutting it down. If absent, keys are
+   *                              resolved on the calling thread
+   */
+  public ConfigStoreBackedValueInspector(ConfigStore cs, String version, ConfigStoreTopologyInspector topology,
+      long maxMemoizedConfigs, Optional<ExecutorService> resolutionExecutor) {
     this.cs = cs;
     this.version = version;
     this.topology = topology;
+    this.memoizedConfigs = maxMemoizedConfigs > 0
+        ? Optional.<Cache<ConfigKeyPath, Config>>of(CacheBuilder.newBuilder().maximumSize(maxMemoizedConfigs).softValues().build())
+        : Optional.<Cache<ConfigKeyPath, Config>>absent();
+    this.resolutionExecutor = resolutionExecutor;
   }
 
   public ConfigStore getConfigStore() {
@@ -115,6 +149,11 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
       return ((ConfigStoreWithResolution) this.cs).getResolvedConfig(configKey, this.version);
     }
 
+    // Imports may depend on the runtime config, so only configs computed without it are memoized
+    if (this.memoizedConfigs.isPresent() && !runtimeConfig.isPresent()) {
+      return getMemoizedConfigRecursive(configKey, Sets.<String>newHashSet(), new boolean[1]);
+    }
+
     if (!alreadyLoadedPaths.add(configKey.getAbsolutePathString())) {
       return ConfigFactory.empty();
     }
@@ -140,6 +179,52 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
     return initialConfig;
   }
 
+  /**
+   * Same as {@link #getResolvedConfigRecursive(ConfigKeyPath, Set, Optional)}, but the config of each key, merged with
+   * all its imports and ancestors, is memoized and reused by every key importing it or under it.
+   *
+   * <p>
+   *   Contrary to the non memoized version, a key that was already merged through another import is merged again. This
+   *   doesn't change the result, since the second occurrence is a fallback of the first one. Paths under traversal are
+   *   still tracked to break circular imports, and a config which was cut by a circular import is not memoized since
+   *   it depends on where the traversal started.
+   * </p>
+   *
+   * @param pathsInProgress the keys whose config is being computed by the caller
+   * @param cutByCycle set to true if a circular import was skipped while computing the config
+   */
+  private Config getMemoizedConfigRecursive(ConfigKeyPath configKey, Set<String> pathsInProgress, boolean[] cutByCycle) {
+    Config memoized = this.memoizedConfigs.get().getIfPresent(configKey);
+    if (memoized != null) {
+      return memoized;
+    }
+
+    if (!pathsInProgress.add(configKey.getAbsolutePathString())) {
+      cutByCycle[0] = true;
+      return ConfigFactory.empty();
+    }
+
+    boolean[] childCutByCycle = new boolean[1];
+    Config config = this.getOwnConfig(configKey);
+    if (!configKey.isRootPath()) {
+      List<ConfigKeyPath> ownImports = this.topology.getOwnImports(configKey, Optional.<Config>absent());
+      if (ownImports != null) {
+        for (ConfigKeyPath p : ownImports) {
+          config = config.withFallback(getMemoizedConfigRecursive(p, pathsInProgress, childCutByCycle));
+        }
+      }
+      config = config.withFallback(getMemoizedConfigRecursive(configKey.getParent(), pathsInProgress, childCutByCycle));
+    }
+    pathsInProgress.remove(configKey.getAbsolutePathString());
+
+    if (childCutByCycle[0]) {
+      cutByCycle[0] = true;
+    } else {
+      this.memoizedConfigs.get().put(configKey, config);
+    }
+    return config;
+  }
+
   /**
    * {@inheritDoc}.
    *
@@ -178,11 +263,34 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
     }
 
     Map<ConfigKeyPath, Config> result = new HashMap<>();
-    for (ConfigKeyPath configKey : configKeys) {
-      result.put(configKey, this.getResolvedConfig(configKey));
+    if (!this.resolutionExecutor.isPresent() || configKeys.size() <= 1) {
+      for (ConfigKeyPath configKey : configKeys) {
+        result.put(configKey, this.getResolvedConfig(configKey));
+      }
+      return result;
+    }
+
+    // Resolve keys in parallel, memoized configs of shared ancestors and imports are reused across threads
+    Map<ConfigKeyPath, Future<Config>> futures = new HashMap<>();
+    try {
+      for (ConfigKeyPath configKey : configKeys) {
+        futures.put(configKey, this.resolutionExecutor.get().submit(() -> this.getResolvedConfig(configKey)));
+      }
+      for (Map.Entry<ConfigKeyPath, Future<Config>> entry : futures.entrySet()) {
+        result.put(entry.getKey(), entry.getValue().get());
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while resolving configs", ie);
+    } catch (ExecutionException ee) {
+      throw new RuntimeException("Failed to resolve configs", ee.getCause());
+    } finally {
+      // The executor is shared, only the resolutions of this call are cancelled if it fails
+      for (Future<Config> future : futures.values()) {
+        future.cancel(true);
+      }
     }
 
     return result;
   }
-
 }
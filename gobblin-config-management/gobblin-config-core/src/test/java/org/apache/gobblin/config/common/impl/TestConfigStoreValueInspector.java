@@ -20,6 +20,10 @@ package org.apache.gobblin.config.common.impl;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.gobblin.config.TestEnvironment;
 import org.apache.gobblin.config.store.api.ConfigKeyPath;
 import org.apache.gobblin.config.store.api.ConfigStore;
@@ -28,6 +32,9 @@ import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
 
@@ -83,4 +90,43 @@ public class TestConfigStoreValueInspector {
     Assert.assertEquals(valueInspector.getResolvedConfig(keyPathA_Slash_B).getString("key2"), "value1InB");
 
   }
+
+  @Test
+  public void testMemoizedResolutionOfSharedAncestors() {
+
+    ConfigStore mockConfigStore = mock(ConfigStore.class, Mockito.RETURNS_SMART_NULLS);
+    when(mockConfigStore.getCurrentVersion()).thenReturn(version);
+
+    ConfigStoreTopologyInspector mockTopology = mock(ConfigStoreTopologyInspector.class, Mockito.RETURNS_SMART_NULLS);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    ConfigStoreBackedValueInspector valueInspector =
+        new ConfigStoreBackedValueInspector(mockConfigStore, version, mockTopology, 100, Optional.of(executor));
+
+    ConfigKeyPath keyPathA = SingleLinkedListConfigKeyPath.ROOT.createChild("a");
+    ConfigKeyPath keyPathA_Slash_B = keyPathA.createChild("b");
+    ConfigKeyPath keyPathA_Slash_C = keyPathA.createChild("c");
+
+    when(mockConfigStore.getOwnConfig(keyPathA.getParent(), version)).thenReturn(ConfigFactory.empty());
+    when(mockConfigStore.getOwnConfig(keyPathA, version)).thenReturn(
+        ConfigFactory.parseString("key1 = value1InA \n key2 = ${key1}"));
+    when(mockConfigStore.getOwnConfig(keyPathA_Slash_B, version)).thenReturn(
+        ConfigFactory.parseString("key1 = value1InB"));
+    when(mockConfigStore.getOwnConfig(keyPathA_Slash_C, version)).thenReturn(ConfigFactory.empty());
+
+    Map<ConfigKeyPath, Config> resolved;
+    try {
+      resolved = valueInspector.getResolvedConfigs(ImmutableList.of(keyPathA_Slash_B, keyPathA_Slash_C));
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertEquals(resolved.get(keyPathA_Slash_B).getString("key2"), "value1InB");
+    Assert.assertEquals(resolved.get(keyPathA_Slash_C).getString("key2"), "value1InA");
+
+    Assert.assertEquals(valueInspector.getResolvedConfig(keyPathA).getString("key2"), "value1InA");
+    // The shared parent is read at most once per resolution thread
+    Mockito.verify(mockConfigStore, Mockito.atMost(2)).getOwnConfig(keyPathA, version);
+    Assert.assertEquals(valueInspector.getResolvedConfig(keyPathA_Slash_B).getString("key2"), "value1InB");
+    Mockito.verify(mockConfigStore, Mockito.times(1)).getOwnConfig(keyPathA_Slash_B, version);
+  }
 }
@@ -30,6 +30,8 @@ import org.apache.gobblin.util.ForkOperatorUtils;
  */
 public class CompressionConfigParser {
   private static final String COMPRESSION_TYPE_KEY = "type";
+  private static final String COMPRESSION_BLOCK_SIZE_KEY = "block_size";
+  private static final String COMPRESSION_MAX_PENDING_BLOCKS_KEY = "max_pending_blocks";
 
   /**
    * Retrieve configuration settings for a given branch.
@@ -46,7 +48,22 @@ public class CompressionConfigParser {
       return null;
     }
 
-    return ImmutableMap.<String, Object>of(COMPRESSION_TYPE_KEY, compressionType);
+    ImmutableMap.Builder<String, Object> config = ImmutableMap.<String, Object>builder();
+    config.put(COMPRESSION_TYPE_KEY, compressionType);
+
+    String blockSizePropertyName =
+        ForkOperatorUtils.getPropertyNameForBranch(ConfigurationKeys.WRITER_CODEC_BLOCK_SIZE, numBranches, branch);
+    if (taskState.contains(blockSizePropertyName)) {
+      config.put(COMPRESSION_BLOCK_SIZE_KEY, taskState.getPropAsInt(blockSizePropertyName));
+    }
+
+    String maxPendingBlocksPropertyName = ForkOperatorUtils.getPropertyNameForBranch(
+        ConfigurationKeys.WRITER_CODEC_MAX_PENDING_BLOCKS, numBranches, branch);
+    if (taskState.contains(maxPendingBlocksPropertyName)) {
+      config.put(COMPRESSION_MAX_PENDING_BLOCKS_KEY, taskState.getPropAsInt(maxPendingBlocksPropertyName));
+    }
+
+    return config.build();
   }
 
   /**
@@ -58,6 +75,24 @@ public class CompressionConfigParser {
     return (String) properties.get(COMPRESSION_TYPE_KEY);
   }
 
+  /**
+   * Return the size of the blocks to compress concurrently
+   * @param properties Compression config settings
+   * @return Block size in bytes, null if blocks should not be compressed concurrently
+   */
+  public static Integer getBlockSize(Map<String, Object> properties) {
+    return (Integer) properties.get(COMPRESSION_BLOCK_SIZE_KEY);
+  }
+
+  /**
+   * Return the number of blocks a stream may have in flight when compressing blocks concurrently
+   * @param properties Compression config settings
+   * @return Maximum number of pending blocks, null if none is configured
+   */
+  public static Integer getMaxPendingBlocks(Map<String, Object> properties) {
+    return (Integer) properties.get(COMPRESSION_MAX_PENDING_BLOCKS_KEY);
+  }
+
   private CompressionConfigParser() {
 
   }
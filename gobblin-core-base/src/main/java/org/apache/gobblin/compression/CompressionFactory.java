@@ -19,7 +19,9 @@ package org.apache.gobblin.compression;
 import java.util.Map;
 
 import org.apache.gobblin.annotation.Alpha;
+import org.apache.gobblin.codec.BlockCodecExecutors;
 import org.apache.gobblin.codec.GzipCodec;
+import org.apache.gobblin.codec.ParallelGzipCodec;
 import org.apache.gobblin.codec.StreamCodec;
 
 
@@ -33,7 +35,14 @@ public class CompressionFactory {
     String type = CompressionConfigParser.getCompressionType(properties);
     switch (type) {
       case GzipCodec.TAG:
-        return new GzipCodec();
+        Integer blockSize = CompressionConfigParser.getBlockSize(properties);
+        if (blockSize == null) {
+          return new GzipCodec();
+        }
+
+        Integer maxPendingBlocks = CompressionConfigParser.getMaxPendingBlocks(properties);
+        return new ParallelGzipCodec(blockSize,
+            maxPendingBlocks == null ? BlockCodecExecutors.getDefaultMaxPendingBlocks() : maxPendingBlocks);
       default:
         throw new IllegalArgumentException("Can't build compressor of type " + type);
     }
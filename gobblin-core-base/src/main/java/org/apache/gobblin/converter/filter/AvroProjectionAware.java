@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.converter.filter;
+
+import java.util.Set;
+
+import com.google.common.base.Optional;
+
+import org.apache.gobblin.configuration.WorkUnitState;
+
+
+/**
+ * A {@link org.apache.gobblin.converter.Converter} of Avro records that declares which fields of its input records it
+ * uses, so that extractors can decode only those fields. See {@link AvroProjectionPushdown}.
+ *
+ * <p>
+ *   Both methods are called on a new instance, before {@link org.apache.gobblin.converter.Converter#init}, with the
+ *   state the converter will be initialized with. Field names are fully qualified, e.g. "header.time".
+ * </p>
+ */
+public interface AvroProjectionAware {
+
+  /**
+   * @return the fields of each input record this converter reads to decide what to output, e.g. the field a filter
+   * compares, which are not necessarily part of the output
+   */
+  Set<String> getReadFields(WorkUnitState state);
+
+  /**
+   * @return the only fields of each input record the output records are made of, or absent if the converter passes
+   * its input records on unchanged
+   */
+  Optional<Set<String>> getOutputFields(WorkUnitState state);
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.converter.filter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.codehaus.jackson.JsonNode;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+
+import static org.apache.gobblin.util.AvroUtils.convertFieldToSchemaWithProps;
+
+
+/**
+ * Computes the reader schema an Avro extractor can decode its records with, given the pre-fork converter chain.
+ *
+ * <p>
+ *   When {@link ConfigurationKeys#EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED} is set, the converter chain is walked from
+ *   the start. As long as the converters are {@link AvroProjectionAware} and pass their records on unchanged (e.g.
+ *   {@code AvroFilterConverter}), the fields they read are collected. The first one that only outputs some fields (e.g.
+ *   {@code AvroFieldsPickConverter}) ends the walk, and the reader schema is the extractor schema limited to the
+ *   collected fields and its output fields. Avro then skips the bytes of all other fields while decoding, and filters
+ *   run on records that only hold the fields the chain keeps.
+ * </p>
+ *
+ * <p>
+ *   There is no projection if the chain has a converter that is not {@link AvroProjectionAware} before one that limits
+ *   its output, if record stream processors are configured, or if the projected schema would not be valid.
+ * </p>
+ */
+@Slf4j
+public class AvroProjectionPushdown {
+
+  private static final Splitter SPLITTER_ON_COMMA = Splitter.on(',').trimResults().omitEmptyStrings();
+  private static final Splitter SPLITTER_ON_DOT = Splitter.on('.').trimResults().omitEmptyStrings();
+
+  private AvroProjectionPushdown() {
+  }
+
+  public static boolean isEnabled(WorkUnitState state) {
+    return state.getPropAsBoolean(ConfigurationKeys.EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED,
+        ConfigurationKeys.DEFAULT_EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED);
+  }
+
+  /**
+   * @param state the state of the task
+   * @param schema the schema of the records the extractor outputs
+   * @return the reader schema limited to the fields the converter chain needs, or absent if the whole record is needed
+   */
+  public static Optional<Schema> getReaderSchema(WorkUnitState state, Schema schema) {
+    if (!isEnabled(state) || state.contains(ConfigurationKeys.RECORD_STREAM_PROCESSOR_CLASSES_KEY)) {
+      return Optional.absent();
+    }
+
+    Optional<Set<String>> neededFields = getNeededFields(state);
+    if (!neededFields.isPresent()) {
+      return Optional.absent();
+    }
+
+    try {
+      FieldNode root = new FieldNode();
+      for (String field : neededFields.get()) {
+        List<String> path = SPLITTER_ON_DOT.splitToList(field);
+        if (!path.isEmpty()) {
+          root.add(path);
+        }
+      }
+      Schema projectedSchema = projectRecord(schema, root);
+      // Makes sure no named type has been redefined by the projection
+      new Schema.Parser().parse(projectedSchema.toString());
+      log.info("Decoding records with the projection of their schema on {}", neededFields.get());
+      return Optional.of(projectedSchema);
+    } catch (AvroRuntimeException | IllegalArgumentException e) {
+      log.warn("Cannot project the schema on " + neededFields.get() + ", records will be fully decoded", e);
+      return Optional.absent();
+    }
+  }
+
+  private static Optional<Set<String>> getNeededFields(WorkUnitState state) {
+    Set<String> neededFields = Sets.newLinkedHashSet();
+    for (String converterClass : SPLITTER_ON_COMMA.split(state.getProp(ConfigurationKeys.CONVERTER_CLASSES_KEY, ""))) {
+      Object converter;
+      try {
+        converter = Class.forName(converterClass).newInstance();
+      } catch (ReflectiveOperationException e) {
+        log.warn("Cannot instantiate converter " + converterClass, e);
+        return Optional.absent();
+      }
+      if (!(converter instanceof AvroProjectionAware)) {
+        return Optional.absent();
+      }
+
+      AvroProjectionAware projectionAware = (AvroProjectionAware) converter;
+      neededFields.addAll(projectionAware.getReadFields(state));
+      Optional<Set<String>> outputFields = projectionAware.getOutputFields(state);
+      if (outputFields.isPresent()) {
+        neededFields.addAll(outputFields.get());
+        return Optional.of(neededFields);
+      }
+    }
+    return Optional.absent();
+  }
+
+  private static Schema projectRecord(Schema schema, FieldNode node) {
+    List<Field> newFields = Lists.newArrayList();
+    for (Field field : schema.getFields()) {
+      FieldNode child = node.children.get(field.name());
+      if (child == null) {
+        continue;
+      }
+      Schema fieldSchema = child.whole ? field.schema() : projectNested(field.schema(), child);
+      Field newField = new Field(field.name(), fieldSchema, field.doc(), field.defaultValue());
+      for (Map.Entry<String, JsonNode> prop : field.getJsonProps().entrySet()) {
+        newField.addProp(prop.getKey(), prop.getValue());
+      }
+      newFields.add(newField);
+    }
+    for (String name : node.children.keySet()) {
+      if (schema.getField(name) == null) {
+        throw new IllegalArgumentException(name + " does not exist under " + schema.getFullName());
+      }
+    }
+
+    Schema newRecord = Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), schema.isError());
+    convertFieldToSchemaWithProps(schema.getJsonProps(), newRecord);
+    newRecord.setFields(newFields);
+    return newRecord;
+  }
+
+  /**
+   * Nested fields can be projected in records and in unions with records. Other fields are read whole.
+   */
+  private static Schema projectNested(Schema schema, FieldNode node) {
+    switch (schema.getType()) {
+      case RECORD:
+        return projectRecord(schema, node);
+      case UNION:
+        List<Schema> newUnion = Lists.newArrayList();
+        for (Schema unionType : schema.getTypes()) {
+          newUnion.add(unionType.getType() == Schema.Type.RECORD ? projectRecord(unionType, node) : unionType);
+        }
+        return Schema.createUnion(newUnion);
+      default:
+        return schema;
+    }
+  }
+
+  /**
+   * A node of the tree of needed fields.
+   */
+  private static class FieldNode {
+    private final Map<String, FieldNode> children = Maps.newLinkedHashMap();
+    // Whether the field is needed whole, in which case its children don't matter
+    private boolean whole = false;
+
+    void add(List<String> path) {
+      if (this.whole) {
+        return;
+      }
+      if (path.isEmpty()) {
+        this.whole = true;
+        this.children.clear();
+        return;
+      }
+      FieldNode child = this.children.get(path.get(0));
+      if (child == null) {
+        child = new FieldNode();
+        this.children.put(path.get(0), child);
+      }
+      child.add(path.subList(1, path.size()));
+    }
+  }
+}
@@ -72,6 +72,13 @@ public class EncryptionConfigParser {
    */
   public static final String ENCRYPTION_CIPHER_KEY = "cipher";
 
+  /**
+   * Algorithms that encrypt blocks of data concurrently can be configured with the size of a block and the
+   * number of blocks a stream may have in flight
+   */
+  public static final String ENCRYPTION_BLOCK_SIZE_KEY = "block_size";
+  public static final String ENCRYPTION_MAX_PENDING_BLOCKS_KEY = "max_pending_blocks";
+
   /**
    * Represents the entity we are trying to retrieve configuration for. Internally this
    * enum maps entity type to a configuration prefix.
@@ -212,6 +219,28 @@ public class EncryptionConfigParser {
     return (String)parameters.get(ENCRYPTION_CIPHER_KEY);
   }
 
+  /**
+   * Get the block size for algorithms that encrypt blocks of data concurrently
+   * @param parameters parameters map
+   * @param defaultBlockSize block size to return if none is configured
+   * @return the block size in bytes
+   */
+  public static int getBlockSize(Map<String, Object> parameters, int defaultBlockSize) {
+    Object blockSize = parameters.get(ENCRYPTION_BLOCK_SIZE_KEY);
+    return blockSize == null ? defaultBlockSize : Integer.parseInt(blockSize.toString());
+  }
+
+  /**
+   * Get the number of blocks a stream may have in flight for algorithms that encrypt blocks of data concurrently
+   * @param parameters parameters map
+   * @param defaultMaxPendingBlocks number of blocks to return if none is configured
+   * @return the maximum number of pending blocks
+   */
+  public static int getMaxPendingBlocks(Map<String, Object> parameters, int defaultMaxPendingBlocks) {
+    Object maxPendingBlocks = parameters.get(ENCRYPTION_MAX_PENDING_BLOCKS_KEY);
+    return maxPendingBlocks == null ? defaultMaxPendingBlocks : Integer.parseInt(maxPendingBlocks.toString());
+  }
+
   /**
    * Extract a set of properties for a given branch, stripping out the prefix and branch
    * suffix.
@@ -247,6 +247,29 @@ public class Instrumented implements Instrumentable, Closeable {
     });
   }
 
+  /**
+   * Gets the start time of a timed call, which is only sampled if a {@link StageTimer} is defined.
+   * @param stageTimer an Optional&lt;{@link StageTimer}&gt;
+   * @return the start time to pass to {@link #updateTimer(Optional, Optional, long)}
+   */
+  public static long startTiming(Optional<StageTimer> stageTimer) {
+    return stageTimer.isPresent() ? stageTimer.get().start() : System.nanoTime();
+  }
+
+  /**
+   * Updates the {@link StageTimer} if it is defined, or else the timer if it is defined.
+   * @param timer an Optional&lt;{@link com.codahale.metrics.Timer}&gt;
+   * @param stageTimer an Optional&lt;{@link StageTimer}&gt;
+   * @param startTimeNanos the start time returned by {@link #startTiming(Optional)}
+   */
+  public static void updateTimer(Optional<Timer> timer, Optional<StageTimer> stageTimer, long startTimeNanos) {
+    if (stageTimer.isPresent()) {
+      stageTimer.get().stop(startTimeNanos);
+    } else {
+      updateTimer(timer, System.nanoTime() - startTimeNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
   /**
    * Marks a meter only if it is defined.
    * @param meter an Optional&lt;{@link com.codahale.metrics.Meter}&gt;
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.instrumented;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+
+import com.google.common.base.Preconditions;
+
+import lombok.Getter;
+
+
+/**
+ * Records the latency of one stage of a task (e.g. extract or write) in an HdrHistogram.
+ *
+ * <p>
+ *   Only one in {@link #getSamplingInterval()} calls of each thread is timed, the other calls only count. Each thread
+ *   records into its own {@link SingleWriterRecorder}, so that timing a call never contends with other threads, and
+ *   the recorders are merged by {@link #getHistogram()} when the timings are reported.
+ * </p>
+ *
+ * <p>
+ *   Usage:
+ *   <pre>
+ *     long startTimeNanos = stageTimer.start();
+ *     ... run the stage ...
+ *     stageTimer.stop(startTimeNanos);
+ *   </pre>
+ * </p>
+ */
+public class StageTimer {
+
+  /**
+   * Returned by {@link #start()} for calls that are not sampled.
+   */
+  public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+  static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.HOURS.toNanos(1);
+  static final int NUMBER_OF_SIGNIFICANT_DIGITS = 2;
+
+  @Getter
+  private final String stage;
+  @Getter
+  private final int samplingInterval;
+  private final ThreadLocal<ThreadRecorder> threadRecorder;
+  private final Queue<ThreadRecorder> threadRecorders = new ConcurrentLinkedQueue<>();
+  private final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_NANOS, NUMBER_OF_SIGNIFICANT_DIGITS);
+
+  public StageTimer(String stage, int samplingInterval) {
+    Preconditions.checkArgument(samplingInterval > 0, "Sampling interval must be positive: " + samplingInterval);
+    this.stage = stage;
+    this.samplingInterval = samplingInterval;
+    this.threadRecorder = ThreadLocal.withInitial(() -> {
+      ThreadRecorder recorder = new ThreadRecorder();
+      this.threadRecorders.add(recorder);
+      return recorder;
+    });
+  }
+
+  /**
+   * Start timing a call of the stage.
+   * @return the start time of the call in nanoseconds, or {@link #NOT_SAMPLED} if the call is not timed
+   */
+  public long start() {
+    ThreadRecorder recorder = this.threadRecorder.get();
+    return recorder.calls++ % this.samplingInterval == 0 ? System.nanoTime() : NOT_SAMPLED;
+  }
+
+  /**
+   * Stop timing a call of the stage.
+   * @param startTimeNanos the value returned by {@link #start()} for the call
+   */
+  public void stop(long startTimeNanos) {
+    if (startTimeNanos != NOT_SAMPLED) {
+      record(System.nanoTime() - startTimeNanos);
+    }
+  }
+
+  /**
+   * Record the latency of a sampled call, which may have been started by another thread.
+   */
+  public void record(long durationNanos) {
+    this.threadRecorder.get().recorder.recordValue(Math.min(Math.max(durationNanos, 0), HIGHEST_TRACKABLE_NANOS));
+  }
+
+  /**
+   * @return the number of calls of the stage, sampled or not
+   */
+  public long getCount() {
+    long count = 0;
+    for (ThreadRecorder recorder : this.threadRecorders) {
+      count += recorder.calls;
+    }
+    return count;
+  }
+
+  /**
+   * @return a copy of the latencies, in nanoseconds, of all the sampled calls so far
+   */
+  public synchronized Histogram getHistogram() {
+    for (ThreadRecorder recorder : this.threadRecorders) {
+      this.histogram.add(recorder.recorder.getIntervalHistogram());
+    }
+    return this.histogram.copy();
+  }
+
+  private static class ThreadRecorder {
+    private final SingleWriterRecorder recorder =
+        new SingleWriterRecorder(HIGHEST_TRACKABLE_NANOS, NUMBER_OF_SIGNIFICANT_DIGITS);
+    // Only updated by the owning thread, volatile so that the count is current when read by the reporting thread
+    private volatile long calls = 0;
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.instrumented;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.broker.EmptyKey;
+import org.apache.gobblin.broker.gobblin_scopes.GobblinScopeTypes;
+import org.apache.gobblin.broker.iface.NotConfiguredException;
+import org.apache.gobblin.broker.iface.SharedResourcesBroker;
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.configuration.WorkUnitState;
+
+
+/**
+ * The {@link StageTimer}s of a task, shared by its constructs through the task {@link SharedResourcesBroker}
+ * (see {@link TaskStageTimingsFactory}).
+ *
+ * <p>
+ *   When {@link #ENABLED_KEY} is set, the extractor, each converter, the row-level policy checker, the fork record
+ *   queues and the writers of a task time their calls with a {@link StageTimer} instead of their Dropwizard timers.
+ *   The task reports the latencies of all its stages at once with {@link #getBreakdown()}. The extractor, converters
+ *   and writers are only timed when metrics are enabled, as their instrumentation is otherwise bypassed.
+ * </p>
+ */
+@Slf4j
+public class TaskStageTimings {
+
+  public static final String ENABLED_KEY = "task.stageTimings.enabled";
+  public static final boolean DEFAULT_ENABLED = false;
+  // One in this many calls of each stage is timed
+  public static final String SAMPLING_INTERVAL_KEY = "task.stageTimings.samplingInterval";
+  public static final int DEFAULT_SAMPLING_INTERVAL = 100;
+
+  public static final String EXTRACT_STAGE = "extract";
+  public static final String CONVERT_STAGE_PREFIX = "convert.";
+  public static final String ROW_POLICY_STAGE = "rowPolicy";
+  public static final String FORK_QUEUE_WAIT_STAGE = "forkQueueWait";
+  public static final String WRITE_STAGE = "write";
+
+  private final int samplingInterval;
+  private final Map<String, StageTimer> stageTimers = Maps.newLinkedHashMap();
+
+  public TaskStageTimings(int samplingInterval) {
+    this.samplingInterval = samplingInterval;
+  }
+
+  public static boolean isEnabled(State state) {
+    return state.getPropAsBoolean(ENABLED_KEY, DEFAULT_ENABLED);
+  }
+
+  /**
+   * Get the {@link StageTimer} of a stage of the task the state belongs to.
+   * @return the {@link StageTimer}, or absent if stage timings are disabled or the state has no task broker
+   */
+  public static Optional<StageTimer> getStageTimer(State state, String stage) {
+    Optional<TaskStageTimings> timings = getTaskStageTimings(state);
+    return timings.isPresent() ? Optional.of(timings.get().getStageTimer(stage)) : Optional.<StageTimer>absent();
+  }
+
+  /**
+   * Get the {@link TaskStageTimings} of the task the state belongs to.
+   * @return the {@link TaskStageTimings}, or absent if stage timings are disabled or the state has no task broker
+   */
+  public static Optional<TaskStageTimings> getTaskStageTimings(State state) {
+    if (!isEnabled(state) || !(state instanceof WorkUnitState)) {
+      return Optional.absent();
+    }
+    SharedResourcesBroker<GobblinScopeTypes> broker = ((WorkUnitState) state).getTaskBrokerNullable();
+    if (broker == null) {
+      return Optional.absent();
+    }
+    try {
+      return Optional.of(broker.getSharedResource(
+          new TaskStageTimingsFactory(state.getPropAsInt(SAMPLING_INTERVAL_KEY, DEFAULT_SAMPLING_INTERVAL)),
+          EmptyKey.INSTANCE));
+    } catch (NotConfiguredException e) {
+      log.warn("Failed to get the task stage timings, stages will not be timed", e);
+      return Optional.absent();
+    }
+  }
+
+  public synchronized StageTimer getStageTimer(String stage) {
+    StageTimer stageTimer = this.stageTimers.get(stage);
+    if (stageTimer == null) {
+      stageTimer = new StageTimer(stage, this.samplingInterval);
+      this.stageTimers.put(stage, stageTimer);
+    }
+    return stageTimer;
+  }
+
+  /**
+   * Get the latencies of the stages timed so far, in the order the stages were first timed. For each stage the map has
+   * the number of calls, the number of sampled calls, the 50th, 99th percentile and max latency of the sampled calls in
+   * microseconds, and the total time of the stage in milliseconds, estimated from the mean of the sampled calls.
+   */
+  public synchronized Map<String, String> getBreakdown() {
+    Map<String, String> breakdown = Maps.newLinkedHashMap();
+    for (StageTimer stageTimer : this.stageTimers.values()) {
+      Histogram histogram = stageTimer.getHistogram();
+      long count = stageTimer.getCount();
+      String prefix = stageTimer.getStage() + ".";
+      breakdown.put(prefix + "count", Long.toString(count));
+      breakdown.put(prefix + "sampled", Long.toString(histogram.getTotalCount()));
+      if (histogram.getTotalCount() > 0) {
+        breakdown.put(prefix + "p50Micros", Long.toString(toMicros(histogram.getValueAtPercentile(50))));
+        breakdown.put(prefix + "p99Micros", Long.toString(toMicros(histogram.getValueAtPercentile(99))));
+        breakdown.put(prefix + "maxMicros", Long.toString(toMicros(histogram.getMaxValue())));
+        breakdown.put(prefix + "totalMillis",
+            Long.toString(TimeUnit.NANOSECONDS.toMillis((long) (histogram.getMean() * count))));
+      }
+    }
+    return breakdown;
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
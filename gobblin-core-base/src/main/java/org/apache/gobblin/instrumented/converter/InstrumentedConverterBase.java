@@ -20,7 +20,6 @@ package org.apache.gobblin.instrumented.converter;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
@@ -37,6 +36,8 @@ import org.apache.gobblin.converter.Converter;
 import org.apache.gobblin.converter.DataConversionException;
 import org.apache.gobblin.instrumented.Instrumentable;
 import org.apache.gobblin.instrumented.Instrumented;
+import org.apache.gobblin.instrumented.StageTimer;
+import org.apache.gobblin.instrumented.TaskStageTimings;
 import org.apache.gobblin.metrics.GobblinMetrics;
 import org.apache.gobblin.metrics.MetricContext;
 import org.apache.gobblin.metrics.MetricNames;
@@ -56,6 +57,7 @@ abstract class InstrumentedConverterBase<SI, SO, DI, DO> extends Converter<SI, S
   private Optional<Meter> recordsOutMeter = Optional.absent();
   private Optional<Meter> recordsExceptionMeter = Optional.absent();
   private Optional<Timer> converterTimer = Optional.absent();
+  private Optional<StageTimer> stageTimer = Optional.absent();
   protected final Closer closer = Closer.create();
 
   @Override
@@ -67,6 +69,8 @@ abstract class InstrumentedConverterBase<SI, SO, DI, DO> extends Converter<SI, S
     Converter<SI, SO, DI, DO> converter = super.init(workUnit);
 
     this.instrumentationEnabled = GobblinMetrics.isEnabled(workUnit);
+    this.stageTimer = TaskStageTimings.getStageTimer(workUnit, TaskStageTimings.CONVERT_STAGE_PREFIX
+        + classTag.getSimpleName());
     this.metricContext = this.closer.register(Instrumented.getMetricContext(workUnit, classTag));
     regenerateMetrics();
 
@@ -95,7 +99,8 @@ abstract class InstrumentedConverterBase<SI, SO, DI, DO> extends Converter<SI, S
       this.recordsOutMeter = Optional.of(this.metricContext.meter(MetricNames.ConverterMetrics.RECORDS_OUT_METER));
       this.recordsExceptionMeter = Optional.of(
           this.metricContext.meter(MetricNames.ConverterMetrics.RECORDS_FAILED_METER));
-      this.converterTimer = Optional.<Timer>of(this.metricContext.timer(MetricNames.ConverterMetrics.CONVERT_TIMER));
+      this.converterTimer = this.stageTimer.isPresent() ? Optional.<Timer>absent()
+          : Optional.<Timer>of(this.metricContext.timer(MetricNames.ConverterMetrics.CONVERT_TIMER));
     }
   }
 
@@ -119,7 +124,7 @@ abstract class InstrumentedConverterBase<SI, SO, DI, DO> extends Converter<SI, S
     }
 
     try {
-      long startTime = System.nanoTime();
+      long startTime = Instrumented.startTiming(this.stageTimer);
 
       beforeConvert(outputSchema, inputRecord, workUnit);
       final Iterable<DO> it = convertRecordImpl(outputSchema, inputRecord, workUnit);
@@ -154,7 +159,7 @@ abstract class InstrumentedConverterBase<SI, SO, DI, DO> extends Converter<SI, S
    * @param startTimeNanos start time of conversion.
    */
   public void afterConvert(Iterable<DO> iterable, long startTimeNanos) {
-    Instrumented.updateTimer(this.converterTimer, System.nanoTime() - startTimeNanos, TimeUnit.NANOSECONDS);
+    Instrumented.updateTimer(this.converterTimer, this.stageTimer, startTimeNanos);
   }
 
   /**
@@ -18,6 +18,9 @@
 package org.apache.gobblin.instrumented.converter;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Optional;
 
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.configuration.WorkUnitState;
@@ -25,6 +28,8 @@ import org.apache.gobblin.converter.Converter;
 import org.apache.gobblin.converter.DataConversionException;
 import org.apache.gobblin.converter.SchemaConversionException;
 import org.apache.gobblin.instrumented.Instrumented;
+import org.apache.gobblin.instrumented.StageTimer;
+import org.apache.gobblin.instrumented.TaskStageTimings;
 import org.apache.gobblin.metrics.MetricContext;
 import org.apache.gobblin.records.ControlMessageHandler;
 import org.apache.gobblin.records.RecordStreamWithMetadata;
@@ -97,11 +102,41 @@ public class InstrumentedConverterDecorator<SI, SO, DI, DO> extends Instrumented
   /**
    * This workarounds the issue that {@link Converter#processStream(RecordStreamWithMetadata, WorkUnitState)} will invoke
    * {@link org.apache.gobblin.converter.AsyncConverter1to1#convertRecord(Object, Object, WorkUnitState)} directly, which is an unsupported method.
+   *
+   * <p>
+   *   If stage timings are enabled, a converter that is not instrumented and converts its records synchronously is
+   *   timed from the time each record enters it to the time its first output record leaves it.
+   * </p>
    */
   @Override
   public RecordStreamWithMetadata<DO, SO> processStream(RecordStreamWithMetadata<DI, SI> inputStream,
       WorkUnitState workUnitState) throws SchemaConversionException {
-    return this.embeddedConverter.processStream(inputStream, workUnitState);
+    String stage =
+        TaskStageTimings.CONVERT_STAGE_PREFIX + DecoratorUtils.resolveUnderlyingObject(this).getClass().getSimpleName();
+    Optional<StageTimer> stageTimer = TaskStageTimings.getStageTimer(workUnitState, stage);
+    if (!stageTimer.isPresent() || this.isEmbeddedInstrumented || overridesProcessStream(this.embeddedConverter)) {
+      return this.embeddedConverter.processStream(inputStream, workUnitState);
+    }
+
+    // Start time of the record being converted in this record stream
+    AtomicLong recordStartTimeNanos = new AtomicLong(StageTimer.NOT_SAMPLED);
+    RecordStreamWithMetadata<DO, SO> outputStream = this.embeddedConverter.processStream(inputStream.mapRecords(r -> {
+      recordStartTimeNanos.set(stageTimer.get().start());
+      return r;
+    }), workUnitState);
+    return outputStream.mapRecords(r -> {
+      stageTimer.get().stop(recordStartTimeNanos.getAndSet(StageTimer.NOT_SAMPLED));
+      return r;
+    });
+  }
+
+  private static boolean overridesProcessStream(Converter<?, ?, ?, ?> converter) {
+    try {
+      return converter.getClass().getMethod("processStream", RecordStreamWithMetadata.class, WorkUnitState.class)
+          .getDeclaringClass() != Converter.class;
+    } catch (NoSuchMethodException e) {
+      return true;
+    }
   }
 
   @Override
@@ -20,7 +20,6 @@ package org.apache.gobblin.instrumented.extractor;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.codahale.metrics.Meter;
@@ -34,6 +33,8 @@ import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.configuration.WorkUnitState;
 import org.apache.gobblin.instrumented.Instrumentable;
 import org.apache.gobblin.instrumented.Instrumented;
+import org.apache.gobblin.instrumented.StageTimer;
+import org.apache.gobblin.instrumented.TaskStageTimings;
 import org.apache.gobblin.metadata.GlobalMetadata;
 import org.apache.gobblin.metrics.GobblinMetrics;
 import org.apache.gobblin.metrics.MetricContext;
@@ -66,6 +67,7 @@ public abstract class InstrumentedExtractorBase<S, D>
   private Optional<Meter> readRecordsMeter;
   private Optional<Meter> dataRecordExceptionsMeter;
   private Optional<Timer> extractorTimer;
+  protected final Optional<StageTimer> stageTimer;
   protected final Closer closer;
 
   public InstrumentedExtractorBase(WorkUnitState workUnitState) {
@@ -77,6 +79,7 @@ public abstract class InstrumentedExtractorBase<S, D>
     this.closer = Closer.create();
 
     this.instrumentationEnabled = GobblinMetrics.isEnabled(workUnitState);
+    this.stageTimer = TaskStageTimings.getStageTimer(workUnitState, TaskStageTimings.EXTRACT_STAGE);
 
     this.metricContext = this.closer.register(
         Instrumented.getMetricContext(workUnitState, classTag.or(this.getClass()), generateTags(workUnitState)));
@@ -106,7 +109,8 @@ public abstract class InstrumentedExtractorBase<S, D>
       this.readRecordsMeter = Optional.of(this.metricContext.meter(MetricNames.ExtractorMetrics.RECORDS_READ_METER));
       this.dataRecordExceptionsMeter =
           Optional.of(this.metricContext.meter(MetricNames.ExtractorMetrics.RECORDS_FAILED_METER));
-      this.extractorTimer = Optional.<Timer>of(this.metricContext.timer(MetricNames.ExtractorMetrics.EXTRACT_TIMER));
+      this.extractorTimer = this.stageTimer.isPresent() ? Optional.<Timer>absent()
+          : Optional.<Timer>of(this.metricContext.timer(MetricNames.ExtractorMetrics.EXTRACT_TIMER));
     } else {
       this.readRecordsMeter = Optional.absent();
       this.dataRecordExceptionsMeter = Optional.absent();
@@ -132,7 +136,7 @@ public abstract class InstrumentedExtractorBase<S, D>
     }
 
     try {
-      long startTimeNanos = System.nanoTime();
+      long startTimeNanos = Instrumented.startTiming(this.stageTimer);
       beforeRead();
       RecordEnvelope<D> record = readRecordEnvelopeImpl();
       afterRead(record == null ? null : record.getRecord(), startTimeNanos);
@@ -162,7 +166,7 @@ public abstract class InstrumentedExtractorBase<S, D>
         long startTimeNanos = 0;
 
         if (isInstrumentationEnabled()) {
-          startTimeNanos = System.nanoTime();
+          startTimeNanos = Instrumented.startTiming(this.stageTimer);
           beforeRead();
         }
 
@@ -206,7 +210,7 @@ public abstract class InstrumentedExtractorBase<S, D>
    * @param startTime reading start time.
    */
   public void afterRead(D record, long startTime) {
-    Instrumented.updateTimer(this.extractorTimer, System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    Instrumented.updateTimer(this.extractorTimer, this.stageTimer, startTime);
     if (record != null) {
       Instrumented.markMeter(this.readRecordsMeter);
     }
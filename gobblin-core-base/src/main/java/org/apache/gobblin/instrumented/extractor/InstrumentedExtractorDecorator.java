@@ -74,6 +74,16 @@ public class InstrumentedExtractorDecorator<S, D> extends InstrumentedExtractorB
       return this.embeddedExtractor.recordStream(shutdownRequest);
     }
     RecordStreamWithMetadata<D, S> stream = this.embeddedExtractor.recordStream(shutdownRequest);
+    if (this.stageTimer.isPresent()) {
+      // Time each record from the time the previous one has been processed downstream, so that the extract stage does
+      // not include the other stages of the task
+      stream = stream.mapRecords(r -> {
+        afterRead(r.getRecord(), this.lastRecordTime);
+        return r;
+      });
+      return stream.mapStream(s -> s.doOnSubscribe(subscription -> this.lastRecordTime = this.stageTimer.get().start())
+          .doAfterNext(r -> this.lastRecordTime = this.stageTimer.get().start()));
+    }
     stream = stream.mapRecords(r -> {
       if (this.lastRecordTime == 0) {
         this.lastRecordTime = System.nanoTime();
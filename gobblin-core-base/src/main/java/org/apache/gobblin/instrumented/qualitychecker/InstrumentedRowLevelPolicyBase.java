@@ -32,6 +32,7 @@ import com.google.common.io.Closer;
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.instrumented.Instrumentable;
 import org.apache.gobblin.instrumented.Instrumented;
+import org.apache.gobblin.instrumented.TaskStageTimings;
 import org.apache.gobblin.metrics.GobblinMetrics;
 import org.apache.gobblin.metrics.MetricContext;
 import org.apache.gobblin.metrics.MetricNames;
@@ -46,6 +47,8 @@ import org.apache.gobblin.qualitychecker.row.RowLevelPolicy;
 abstract class InstrumentedRowLevelPolicyBase extends RowLevelPolicy implements Instrumentable, Closeable {
 
   private final boolean instrumentationEnabled;
+  // The row-level policy checker times all the policies as one stage instead
+  private final boolean stageTimingsEnabled;
 
   private MetricContext metricContext;
   private Optional<Meter> recordsMeter;
@@ -61,6 +64,7 @@ abstract class InstrumentedRowLevelPolicyBase extends RowLevelPolicy implements
   protected InstrumentedRowLevelPolicyBase(State state, Type type, Optional<Class<?>> classTag) {
   super(state, type);
     this.instrumentationEnabled = GobblinMetrics.isEnabled(state);
+    this.stageTimingsEnabled = TaskStageTimings.isEnabled(state);
     this.closer = Closer.create();
     this.metricContext =
         this.closer.register(Instrumented.getMetricContext(state, classTag.or(this.getClass())));
@@ -92,7 +96,7 @@ abstract class InstrumentedRowLevelPolicyBase extends RowLevelPolicy implements
           this.metricContext.meter(MetricNames.RowLevelPolicyMetrics.RECORDS_PASSED_METER));
       this.failedRecordsMeter = Optional.of(
           this.metricContext.meter(MetricNames.RowLevelPolicyMetrics.RECORDS_FAILED_METER));
-      this.policyTimer = Optional.<Timer>of(
+      this.policyTimer = this.stageTimingsEnabled ? Optional.<Timer>absent() : Optional.<Timer>of(
           this.metricContext.timer(MetricNames.RowLevelPolicyMetrics.CHECK_TIMER));
     } else {
       this.recordsMeter = Optional.absent();
@@ -36,6 +36,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.instrumented.Instrumentable;
 import org.apache.gobblin.instrumented.Instrumented;
+import org.apache.gobblin.instrumented.StageTimer;
+import org.apache.gobblin.instrumented.TaskStageTimings;
 import org.apache.gobblin.metrics.GobblinMetrics;
 import org.apache.gobblin.metrics.MetricContext;
 import org.apache.gobblin.metrics.MetricNames;
@@ -65,6 +67,7 @@ abstract class InstrumentedDataWriterBase<D> implements DataWriter<D>, Instrumen
   private Optional<Meter> recordsWrittenMeter;
   private Optional<Meter> bytesWrittenMeter;
 
+  protected final Optional<StageTimer> stageTimer;
   protected final Closer closer;
 
   public static final String WRITER_METRICS_UPDATER_INTERVAL = "gobblin.writer.metrics.updater.interval";
@@ -77,6 +80,7 @@ abstract class InstrumentedDataWriterBase<D> implements DataWriter<D>, Instrumen
   protected InstrumentedDataWriterBase(State state, Optional<Class<?>> classTag) {
     this.closer = Closer.create();
     this.instrumentationEnabled = GobblinMetrics.isEnabled(state);
+    this.stageTimer = TaskStageTimings.getStageTimer(state, TaskStageTimings.WRITE_STAGE);
     this.metricContext = this.closer.register(Instrumented.getMetricContext(state, classTag.or(this.getClass())));
 
     if (this.instrumentationEnabled) {
@@ -113,7 +117,8 @@ abstract class InstrumentedDataWriterBase<D> implements DataWriter<D>, Instrumen
       this.failedWritesMeter = Optional.of(this.metricContext.meter(MetricNames.DataWriterMetrics.FAILED_WRITES_METER));
       setRecordsWrittenMeter(isInstrumentationEnabled());
       setBytesWrittenMeter(isInstrumentationEnabled());
-      this.dataWriterTimer = Optional.<Timer>of(this.metricContext.timer(MetricNames.DataWriterMetrics.WRITE_TIMER));
+      this.dataWriterTimer = this.stageTimer.isPresent() ? Optional.<Timer>absent()
+          : Optional.<Timer>of(this.metricContext.timer(MetricNames.DataWriterMetrics.WRITE_TIMER));
     } else {
       this.recordsInMeter = Optional.absent();
       this.successfulWritesMeter = Optional.absent();
@@ -160,7 +165,7 @@ abstract class InstrumentedDataWriterBase<D> implements DataWriter<D>, Instrumen
     }
 
     try {
-      long startTimeNanos = System.nanoTime();
+      long startTimeNanos = Instrumented.startTiming(this.stageTimer);
       beforeWrite(record);
       writeImpl(record);
       onSuccessfulWrite(startTimeNanos);
@@ -183,7 +188,7 @@ abstract class InstrumentedDataWriterBase<D> implements DataWriter<D>, Instrumen
    * @param startTimeNanos time at which writing started.
    */
   public void onSuccessfulWrite(long startTimeNanos) {
-    Instrumented.updateTimer(this.dataWriterTimer, System.nanoTime() - startTimeNanos, TimeUnit.NANOSECONDS);
+    Instrumented.updateTimer(this.dataWriterTimer, this.stageTimer, startTimeNanos);
     Instrumented.markMeter(this.successfulWritesMeter);
   }
 
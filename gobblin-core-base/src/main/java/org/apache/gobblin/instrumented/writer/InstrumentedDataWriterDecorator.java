@@ -82,7 +82,7 @@ public class InstrumentedDataWriterDecorator<D> extends InstrumentedDataWriterBa
       }
 
       try {
-        long startTimeNanos = System.nanoTime();
+        long startTimeNanos = Instrumented.startTiming(this.stageTimer);
         beforeWrite(record.getRecord());
         this.embeddedWriter.writeEnvelope(record);
         onSuccessfulWrite(startTimeNanos);
@@ -63,7 +63,10 @@ public abstract class AbstractSource<S, D> implements Source<S, D> {
    * @return list of {@link WorkUnitState}s of previous {@link WorkUnit}s subject for retries
    */
   protected List<WorkUnitState> getPreviousWorkUnitStatesForRetry(SourceState state) {
-    if (Iterables.isEmpty(state.getPreviousWorkUnitStates())) {
+    // Working states are kept in the watermark projections of the previous work unit states, so the full states are
+    // only loaded if some previous work unit was not committed
+    if (Iterables.all(state.getPreviousWatermarkStates(ImmutableList.<String>of()),
+        workUnitState -> workUnitState.getWorkingState() == WorkUnitState.WorkingState.COMMITTED)) {
       return ImmutableList.of();
     }
 
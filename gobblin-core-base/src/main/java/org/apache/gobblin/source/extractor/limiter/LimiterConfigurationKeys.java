@@ -24,4 +24,19 @@ public class LimiterConfigurationKeys {
     public static final String LIMITER_REPORT_KEY_LIST = "limiter.report.key.list";
     public static final String DEFAULT_LIMITER_REPORT_KEY_LIST = "";
 
+    /**
+     * Maximum number of permits a LimitingExtractorDecorator acquires from its limiter at once and then hands out to
+     * records without calling the limiter. It bounds how far the records extracted can get ahead of the limit, e.g.
+     * the size of the bursts of a rate limit. A value of 1 acquires a permit per record.
+     */
+    public static final String LIMITER_RESERVOIR_MAX_PERMITS = "limiter.reservoir.maxPermits";
+    public static final long DEFAULT_LIMITER_RESERVOIR_MAX_PERMITS = 1;
+
+    /**
+     * The number of permits acquired at once doubles when the previous ones were handed out faster than this
+     * interval in milliseconds, and is halved otherwise.
+     */
+    public static final String LIMITER_RESERVOIR_REFILL_INTERVAL_MILLIS = "limiter.reservoir.refillIntervalMillis";
+    public static final long DEFAULT_LIMITER_RESERVOIR_REFILL_INTERVAL_MILLIS = 100;
+
 }
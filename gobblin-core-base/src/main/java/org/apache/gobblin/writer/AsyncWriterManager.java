@@ -57,6 +57,8 @@ import org.apache.gobblin.stream.RecordEnvelope;
 import org.apache.gobblin.util.ConfigUtils;
 import org.apache.gobblin.util.ExecutorsUtils;
 import org.apache.gobblin.util.FinalState;
+import org.apache.gobblin.util.jfr.EventSpan;
+import org.apache.gobblin.util.jfr.FlightRecorderEvents;
 
 /**
  * A Data Writer to use as a base for writing async writers.
@@ -73,6 +75,7 @@ import org.apache.gobblin.util.FinalState;
  */
 public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWriter<D>, Instrumentable, Closeable, FinalState {
   private static final long MILLIS_TO_NANOS = 1000 * 1000;
+  private static final String OUTSTANDING_WRITES_QUEUE_NAME = "asyncWriterOutstandingWrites";
   public static final long COMMIT_TIMEOUT_MILLIS_DEFAULT = 60000L; // 1 minute
   public static final long COMMIT_STEP_WAITTIME_MILLIS_DEFAULT = 500; // 500 ms sleep while waiting for commit
   public static final double FAILURE_ALLOWANCE_RATIO_DEFAULT = 0.0;
@@ -259,6 +262,17 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
   private void write(final D record, Ackable ackable)
       throws IOException {
     maybeThrow();
+    if (!this.writePermits.tryAcquire()) {
+      waitForWritePermit();
+    }
+    this.recordsIn.mark();
+    attemptWrite(new Attempt(record, ackable));
+  }
+
+
+  private void waitForWritePermit() {
+    EventSpan queueFullWaitEvent = FlightRecorderEvents.beginQueueFullWait(OUTSTANDING_WRITES_QUEUE_NAME,
+        this.asyncDataWriter.getClass().getSimpleName());
     int spinNum = 0;
     try {
       while (!this.writePermits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
@@ -271,11 +285,19 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
       }
     } catch (InterruptedException e) {
       Throwables.propagate(e);
+    } finally {
+      queueFullWaitEvent.finish();
     }
-    this.recordsIn.mark();
-    attemptWrite(new Attempt(record, ackable));
   }
 
+  private void flushAsyncDataWriter() throws IOException {
+    EventSpan flushEvent = FlightRecorderEvents.beginWriterFlush(this.asyncDataWriter.getClass().getSimpleName());
+    try {
+      this.asyncDataWriter.flush();
+    } finally {
+      flushEvent.finish();
+    }
+  }
 
   /**
    * Checks if the current operating metrics would imply that
@@ -434,7 +456,7 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
     log.info("Commit called, will wait for commitTimeout : {} ms", this.commitTimeoutMillis);
     long commitTimeoutNanos = commitTimeoutMillis * MILLIS_TO_NANOS;
     long commitStartTime = System.nanoTime();
-    this.asyncDataWriter.flush();
+    flushAsyncDataWriter();
     while (((System.nanoTime() - commitStartTime) < commitTimeoutNanos) && (this.recordsIn.getCount() != (
         this.recordsSuccess.getCount() + this.recordsFailed.getCount()))) {
       log.debug("Commit waiting... records produced: {}, written: {}, failed: {}", this.recordsIn.getCount(),
@@ -480,7 +502,7 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
    */
   @Override
   public void flush() throws IOException {
-    this.asyncDataWriter.flush();
+    flushAsyncDataWriter();
   }
 
   public static AsyncWriterManagerBuilder builder() {
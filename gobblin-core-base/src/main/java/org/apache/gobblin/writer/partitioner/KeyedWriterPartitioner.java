@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer.partitioner;
+
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * A {@link WriterPartitioner} that can compute a cheap partition key for a record, and only builds the partition
+ * {@link GenericRecord} for a key when it is needed, e.g. when a writer for a new partition is created.
+ *
+ * Keys must have cheap {@link Object#equals(Object)} and {@link Object#hashCode()} implementations, and two records
+ * must have equal keys if and only if they belong to the same partition.
+ *
+ * @param <D> record type.
+ * @param <K> partition key type.
+ */
+public interface KeyedWriterPartitioner<D, K> extends WriterPartitioner<D> {
+
+  /**
+   * @param record input to compute the partition key for.
+   * @return a key identifying the partition the record belongs to.
+   */
+  K partitionKeyForRecord(D record);
+
+  /**
+   * @param key a key returned by {@link #partitionKeyForRecord(Object)}.
+   * @return {@link GenericRecord} representing the partition identified by the key.
+   */
+  GenericRecord partitionForKey(K key);
+
+  /**
+   * @return whether writers should look up partitions by key. Partitioners whose keys are not much fewer than the
+   * records they partition, e.g. timestamps, should return false, so the keys are not kept around.
+   */
+  default boolean isKeyed() {
+    return true;
+  }
+
+  @Override
+  default GenericRecord partitionForRecord(D record) {
+    return partitionForKey(partitionKeyForRecord(record));
+  }
+}
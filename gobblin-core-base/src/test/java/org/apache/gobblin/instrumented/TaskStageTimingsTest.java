@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.instrumented;
+
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+import org.apache.gobblin.MetricsHelper;
+import org.apache.gobblin.broker.SharedResourcesBrokerFactory;
+import org.apache.gobblin.broker.gobblin_scopes.GobblinScopeTypes;
+import org.apache.gobblin.broker.gobblin_scopes.JobScopeInstance;
+import org.apache.gobblin.broker.gobblin_scopes.TaskScopeInstance;
+import org.apache.gobblin.broker.iface.SharedResourcesBroker;
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.IdentityConverter;
+import org.apache.gobblin.instrumented.converter.InstrumentedConverterDecorator;
+import org.apache.gobblin.metrics.MetricNames;
+import org.apache.gobblin.source.workunit.WorkUnit;
+
+
+@Test(groups = { "gobblin.instrumented" })
+public class TaskStageTimingsTest {
+
+  @Test
+  public void testSampling() {
+    StageTimer stageTimer = new StageTimer("stage", 4);
+    for (int i = 0; i < 10; i++) {
+      stageTimer.stop(stageTimer.start());
+    }
+    Assert.assertEquals(stageTimer.getCount(), 10);
+    // The 1st, 5th and 9th calls are sampled
+    Assert.assertEquals(stageTimer.getHistogram().getTotalCount(), 3);
+  }
+
+  @Test
+  public void testMergeThreadRecorders() throws Exception {
+    StageTimer stageTimer = new StageTimer("stage", 1);
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 100; j++) {
+          stageTimer.record(1000);
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertEquals(stageTimer.getHistogram().getTotalCount(), 400);
+    // Reporting again does not lose or double the latencies
+    Assert.assertEquals(stageTimer.getHistogram().getTotalCount(), 400);
+    Histogram histogram = stageTimer.getHistogram();
+    Assert.assertEquals(histogram.getMaxValue(), histogram.highestEquivalentValue(1000));
+  }
+
+  @Test
+  public void testTaskStageTimings() throws Exception {
+    WorkUnitState state = createTaskState();
+    Assert.assertFalse(TaskStageTimings.getStageTimer(state, TaskStageTimings.WRITE_STAGE).isPresent());
+    Assert.assertFalse(TaskStageTimings.getStageTimer(new State(), TaskStageTimings.WRITE_STAGE).isPresent());
+
+    state.setProp(TaskStageTimings.ENABLED_KEY, true);
+    StageTimer stageTimer = TaskStageTimings.getStageTimer(state, TaskStageTimings.WRITE_STAGE).get();
+    Assert.assertSame(TaskStageTimings.getStageTimer(state, TaskStageTimings.WRITE_STAGE).get(), stageTimer);
+    Assert.assertEquals(stageTimer.getSamplingInterval(), TaskStageTimings.DEFAULT_SAMPLING_INTERVAL);
+    stageTimer.stop(stageTimer.start());
+    stageTimer.stop(stageTimer.start());
+
+    Map<String, String> breakdown = TaskStageTimings.getTaskStageTimings(state).get().getBreakdown();
+    Assert.assertEquals(breakdown.get("write.count"), "2");
+    Assert.assertEquals(breakdown.get("write.sampled"), "1");
+    Assert.assertTrue(breakdown.containsKey("write.p99Micros"));
+  }
+
+  @Test
+  public void testConverterStageTimer() throws Exception {
+    WorkUnitState state = createTaskState();
+    state.setProp(ConfigurationKeys.METRICS_ENABLED_KEY, true);
+    state.setProp(TaskStageTimings.ENABLED_KEY, true);
+
+    InstrumentedConverterDecorator<String, String, String, String> converter =
+        new InstrumentedConverterDecorator<>(new IdentityConverter<String, String>());
+    converter.init(state);
+    converter.convertRecord("schema", "record", state).iterator().next();
+
+    // The stage timer replaces the Dropwizard timer
+    Map<String, Long> metrics = MetricsHelper.dumpMetrics(converter.getMetricContext());
+    Assert.assertEquals(metrics.get(MetricNames.ConverterMetrics.RECORDS_IN_METER), Long.valueOf(1));
+    Assert.assertNull(metrics.get(MetricNames.ConverterMetrics.CONVERT_TIMER));
+    StageTimer stageTimer = TaskStageTimings.getStageTimer(state,
+        TaskStageTimings.CONVERT_STAGE_PREFIX + IdentityConverter.class.getSimpleName()).get();
+    Assert.assertEquals(stageTimer.getCount(), 1);
+    Assert.assertEquals(stageTimer.getHistogram().getTotalCount(), 1);
+  }
+
+  private static WorkUnitState createTaskState() {
+    SharedResourcesBroker<GobblinScopeTypes> instanceBroker = SharedResourcesBrokerFactory
+        .createDefaultTopLevelBroker(ConfigFactory.empty(), GobblinScopeTypes.GLOBAL.defaultScopeInstance());
+    SharedResourcesBroker<GobblinScopeTypes> taskBroker = instanceBroker
+        .newSubscopedBuilder(new JobScopeInstance("TaskStageTimingsTest", String.valueOf(System.currentTimeMillis())))
+        .build()
+        .newSubscopedBuilder(new TaskScopeInstance("TaskStageTimingsTestTask"))
+        .build();
+    return new WorkUnitState(WorkUnit.createEmpty(), new State(), taskBroker);
+  }
+}
@@ -17,11 +17,14 @@
 
 package org.apache.gobblin.converter.avro;
 
+import java.util.Set;
+
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 
 import org.apache.gobblin.converter.Converter;
 import org.apache.gobblin.converter.SchemaConversionException;
@@ -30,6 +33,8 @@ import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.WorkUnitState;
 import org.apache.gobblin.converter.DataConversionException;
 import org.apache.gobblin.converter.EmptyIterable;
+import org.apache.gobblin.converter.filter.AvroProjectionAware;
+import org.apache.gobblin.converter.filter.AvroProjectionPushdown;
 import org.apache.gobblin.util.AvroUtils;
 import org.apache.gobblin.util.ForkOperatorUtils;
 
@@ -39,8 +44,12 @@ import org.apache.gobblin.util.ForkOperatorUtils;
  * field can be of any type this Converter returns a Java {@link Object}. The parameter converter.avro.extractor.field.path
  * specifies the location of the field to retrieve. Nested fields can be specified by following use the following
  * syntax: field.nestedField
+ *
+ * When {@link ConfigurationKeys#EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED} is set, extractors only decode the retrieved
+ * field, see {@link AvroProjectionPushdown}.
  */
-public class AvroFieldRetrieverConverter extends Converter<Schema, Schema, GenericRecord, Object> {
+public class AvroFieldRetrieverConverter extends Converter<Schema, Schema, GenericRecord, Object>
+    implements AvroProjectionAware {
 
   private String fieldLocation;
 
@@ -73,4 +82,19 @@ public class AvroFieldRetrieverConverter extends Converter<Schema, Schema, Gener
 
     return field.isPresent() ? new SingleRecordIterable<>(field.get()) : new EmptyIterable<>();
   }
+
+  @Override
+  public Set<String> getReadFields(WorkUnitState workUnit) {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public Optional<Set<String>> getOutputFields(WorkUnitState workUnit) {
+    String fieldPathKey =
+        ForkOperatorUtils.getPropertyNameForBranch(workUnit, ConfigurationKeys.CONVERTER_AVRO_EXTRACTOR_FIELD_PATH);
+    if (!workUnit.contains(fieldPathKey)) {
+      return Optional.absent();
+    }
+    return Optional.<Set<String>>of(ImmutableSet.of(workUnit.getProp(fieldPathKey)));
+  }
 }
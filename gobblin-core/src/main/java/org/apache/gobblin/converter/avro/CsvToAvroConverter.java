@@ -0,0 +1,491 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.converter.avro;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.Converter;
+import org.apache.gobblin.converter.DataConversionException;
+import org.apache.gobblin.converter.SchemaConversionException;
+import org.apache.gobblin.converter.SingleRecordIterable;
+import org.apache.gobblin.converter.ToAvroConverterBase;
+import org.apache.gobblin.converter.avro.JsonElementConversionFactory.DateConverter;
+import org.apache.gobblin.converter.avro.JsonElementConversionFactory.JsonElementConverter;
+import org.apache.gobblin.converter.avro.JsonElementConversionFactory.RecordConverter;
+import org.apache.gobblin.converter.csv.CsvToJsonConverterV2;
+import org.apache.gobblin.converter.json.JsonSchema;
+import org.apache.gobblin.util.EmptyIterable;
+
+
+/**
+ * Converts delimited text lines to Avro, producing the same records as
+ * {@link org.apache.gobblin.converter.csv.CsvToJsonConverter} followed by {@link JsonIntermediateToAvroConverter}
+ * without building a {@link com.google.gson.JsonObject} for every line.
+ *
+ * <p>
+ *   The input schema is the same JSON array of columns {@link JsonIntermediateToAvroConverter} takes, as a string.
+ *   Lines are split with {@link ConfigurationKeys#CONVERTER_CSV_TO_JSON_DELIMITER} and
+ *   {@link ConfigurationKeys#CONVERTER_CSV_TO_JSON_ENCLOSEDCHAR} following the rules of
+ *   {@link org.apache.gobblin.source.extractor.utils.InputStreamCSVReader}; only the bounds of the columns are
+ *   recorded, so columns are not copied unless they contain escaped enclosing characters or line breaks.
+ * </p>
+ *
+ * <p>
+ *   A parser is compiled for every column when the schema is converted. String, numeric, boolean, bytes and date
+ *   columns are parsed directly from the line with the semantics of {@link JsonElementConversionFactory}; other types
+ *   are converted by the {@link JsonElementConverter} of the column. Empty columns, columns equal to "null" and
+ *   columns missing from the line are null. Columns can be reordered with
+ *   {@link CsvToJsonConverterV2#CUSTOM_ORDERING}, where a negative index adds a null column.
+ * </p>
+ *
+ * <p>
+ *   Like {@link JsonIntermediateToAvroConverter}, records that cannot be converted are dropped until
+ *   {@link ConfigurationKeys#CONVERTER_AVRO_MAX_CONVERSION_FAILURES} is reached.
+ * </p>
+ */
+public class CsvToAvroConverter extends ToAvroConverterBase<String, String> {
+  private static final Logger LOG = LoggerFactory.getLogger(CsvToAvroConverter.class);
+  private static final String NULL = "null";
+
+  private LineTokenizer tokenizer;
+  private List<String> customOrder;
+  private Schema recordSchema;
+  private ColumnParser[] parsers;
+  private int[] columnIndexes;
+  private long maxFailedConversions;
+  private long numFailedConversion = 0;
+
+  @Override
+  public Converter<String, Schema, String, GenericRecord> init(WorkUnitState workUnit) {
+    super.init(workUnit);
+    String delimiter = workUnit.getProp(ConfigurationKeys.CONVERTER_CSV_TO_JSON_DELIMITER);
+    Preconditions.checkArgument(!Strings.isNullOrEmpty(delimiter), "Delimiter cannot be empty");
+    String enclosedChar = workUnit.getProp(ConfigurationKeys.CONVERTER_CSV_TO_JSON_ENCLOSEDCHAR,
+        ConfigurationKeys.DEFAULT_CONVERTER_CSV_TO_JSON_ENCLOSEDCHAR);
+    this.tokenizer = new LineTokenizer(delimiter.charAt(0), enclosedChar.charAt(0));
+    this.customOrder = workUnit.getPropAsList(CsvToJsonConverterV2.CUSTOM_ORDERING, "");
+    this.maxFailedConversions = workUnit.getPropAsLong(ConfigurationKeys.CONVERTER_AVRO_MAX_CONVERSION_FAILURES,
+        ConfigurationKeys.DEFAULT_CONVERTER_AVRO_MAX_CONVERSION_FAILURES);
+    return this;
+  }
+
+  @Override
+  public Schema convertSchema(String inputSchema, WorkUnitState workUnit)
+      throws SchemaConversionException {
+    Preconditions.checkNotNull(inputSchema, "inputSchema is required.");
+    JsonSchema jsonSchema = new JsonSchema(new JsonParser().parse(inputSchema).getAsJsonArray());
+    jsonSchema.setColumnName(workUnit.getExtract().getTable());
+    String namespace = workUnit.getExtract().getNamespace();
+
+    try {
+      this.recordSchema = new RecordConverter(jsonSchema, workUnit, namespace).schema();
+      String childNamespace = JsonElementConverter.buildNamespace(namespace, jsonSchema.getColumnName());
+      JsonSchema fields = jsonSchema.getValuesWithinDataType();
+      this.parsers = new ColumnParser[fields.fieldsCount()];
+      for (int i = 0; i < this.parsers.length; i++) {
+        JsonElementConverter converter =
+            JsonElementConversionFactory.getConvertor(fields.getFieldSchemaAt(i), childNamespace, workUnit);
+        // Some converters initialize the schema of their values when asked for their schema
+        converter.schema();
+        this.parsers[i] = compile(fields.getFieldSchemaAt(i), converter, workUnit);
+      }
+    } catch (UnsupportedDateTypeException e) {
+      throw new SchemaConversionException(e);
+    }
+
+    this.columnIndexes = new int[this.parsers.length];
+    if (this.customOrder.isEmpty()) {
+      for (int i = 0; i < this.columnIndexes.length; i++) {
+        this.columnIndexes[i] = i;
+      }
+    } else {
+      if (this.customOrder.size() != this.parsers.length) {
+        throw new SchemaConversionException("# of columns mismatch. Schema: " + this.parsers.length
+            + " , custom order: " + this.customOrder.size());
+      }
+      for (int i = 0; i < this.columnIndexes.length; i++) {
+        this.columnIndexes[i] = Integer.parseInt(this.customOrder.get(i));
+      }
+    }
+
+    if (workUnit.getPropAsBoolean(JsonIntermediateToAvroConverter.CONVERTER_AVRO_NULLIFY_FIELDS_ENABLED,
+        JsonIntermediateToAvroConverter.DEFAULT_CONVERTER_AVRO_NULLIFY_FIELDS_ENABLED)) {
+      return new JsonIntermediateToAvroConverter().generateSchemaWithNullifiedField(workUnit, this.recordSchema);
+    }
+    return this.recordSchema;
+  }
+
+  @Override
+  public Iterable<GenericRecord> convertRecord(Schema outputSchema, String inputRecord, WorkUnitState workUnit)
+      throws DataConversionException {
+    if (inputRecord == null) {
+      throw new DataConversionException("Input record is null");
+    }
+
+    int columnCount;
+    try {
+      columnCount = this.tokenizer.tokenize(inputRecord);
+    } catch (IOException e) {
+      throw new DataConversionException("Failed to split record: " + inputRecord, e);
+    }
+
+    GenericRecord record = new GenericData.Record(this.recordSchema);
+    for (int i = 0; i < this.parsers.length; i++) {
+      int column = this.columnIndexes[i];
+      try {
+        if (column < 0 || column >= columnCount || this.tokenizer.isNull(column)) {
+          record.put(i, this.parsers[i].converter.convert(JsonNull.INSTANCE));
+        } else {
+          record.put(i, this.parsers[i].parse(this.tokenizer.sources[column], this.tokenizer.starts[column],
+              this.tokenizer.ends[column]));
+        }
+      } catch (RuntimeException e) {
+        this.numFailedConversion++;
+        if (this.numFailedConversion < this.maxFailedConversions) {
+          LOG.error("Dropping record " + inputRecord + " because it cannot be converted to Avro", e);
+          return new EmptyIterable<>();
+        }
+        throw new DataConversionException("Unable to convert field:" + this.recordSchema.getFields().get(i).name()
+            + " for record: " + inputRecord, e);
+      }
+    }
+    return new SingleRecordIterable<>(record);
+  }
+
+  private static ColumnParser compile(JsonSchema schema, JsonElementConverter converter, WorkUnitState state) {
+    switch (schema.getType()) {
+      case STRING:
+        return new StringParser(converter);
+      case INT:
+        return new IntParser(converter);
+      case LONG:
+        return new LongParser(converter);
+      case FLOAT:
+        return new FloatParser(converter);
+      case DOUBLE:
+        return new DoubleParser(converter);
+      case BOOLEAN:
+        return new BooleanParser(converter);
+      case BYTES:
+        return new BytesParser(converter, state.getProp(ConfigurationKeys.CONVERTER_AVRO_BINARY_CHARSET, "UTF8"));
+      case DATE:
+      case TIMESTAMP:
+      case TIME:
+        return new DateParser((DateConverter) converter);
+      default:
+        return new ColumnParser(converter);
+    }
+  }
+
+  /**
+   * Parses the value of a column, given as a range of a string, by converting it with the
+   * {@link JsonElementConverter} of the column. Subclasses parse the types they know without the conversion.
+   */
+  private static class ColumnParser {
+    protected final JsonElementConverter converter;
+
+    ColumnParser(JsonElementConverter converter) {
+      this.converter = converter;
+    }
+
+    Object parse(String source, int start, int end) {
+      return this.converter.convert(new JsonPrimitive(source.substring(start, end)));
+    }
+  }
+
+  private static class StringParser extends ColumnParser {
+    StringParser(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object parse(String source, int start, int end) {
+      return new Utf8(source.substring(start, end));
+    }
+  }
+
+  private static class IntParser extends ColumnParser {
+    IntParser(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object parse(String source, int start, int end) {
+      if (isSimpleInteger(source, start, end)) {
+        long value = parseSimpleInteger(source, start, end);
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+          return (int) value;
+        }
+      }
+      return Integer.parseInt(source.substring(start, end));
+    }
+  }
+
+  private static class LongParser extends ColumnParser {
+    LongParser(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object parse(String source, int start, int end) {
+      if (isSimpleInteger(source, start, end)) {
+        return parseSimpleInteger(source, start, end);
+      }
+      return Long.parseLong(source.substring(start, end));
+    }
+  }
+
+  private static class FloatParser extends ColumnParser {
+    FloatParser(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object parse(String source, int start, int end) {
+      return Float.parseFloat(source.substring(start, end));
+    }
+  }
+
+  private static class DoubleParser extends ColumnParser {
+    DoubleParser(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object parse(String source, int start, int end) {
+      return Double.parseDouble(source.substring(start, end));
+    }
+  }
+
+  private static class BooleanParser extends ColumnParser {
+    BooleanParser(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object parse(String source, int start, int end) {
+      // Same as Boolean.parseBoolean
+      return end - start == 4 && source.regionMatches(true, start, "true", 0, 4);
+    }
+  }
+
+  private static class BytesParser extends ColumnParser {
+    private final String charSet;
+
+    BytesParser(JsonElementConverter converter, String charSet) {
+      super(converter);
+      this.charSet = charSet;
+    }
+
+    @Override
+    Object parse(String source, int start, int end) {
+      try {
+        return ByteBuffer.wrap(source.substring(start, end).getBytes(this.charSet));
+      } catch (UnsupportedEncodingException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  private static class DateParser extends ColumnParser {
+    private final DateConverter dateConverter;
+
+    DateParser(DateConverter converter) {
+      super(converter);
+      this.dateConverter = converter;
+    }
+
+    @Override
+    Object parse(String source, int start, int end) {
+      return this.dateConverter.convertDate(source.substring(start, end));
+    }
+  }
+
+  /**
+   * @return whether the range is an optionally signed integer of at most 18 ASCII digits, which cannot overflow a long
+   */
+  private static boolean isSimpleInteger(String source, int start, int end) {
+    int digitsStart = start < end && (source.charAt(start) == '-' || source.charAt(start) == '+') ? start + 1 : start;
+    if (digitsStart == end || end - digitsStart > 18) {
+      return false;
+    }
+    for (int i = digitsStart; i < end; i++) {
+      char c = source.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long parseSimpleInteger(String source, int start, int end) {
+    boolean negative = source.charAt(start) == '-';
+    int i = negative || source.charAt(start) == '+' ? start + 1 : start;
+    long value = 0;
+    for (; i < end; i++) {
+      value = value * 10 + (source.charAt(i) - '0');
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Splits a line into the bounds of its columns. A column is the range [starts[i], ends[i]) of sources[i], which is
+   * the line itself unless the column had to be unescaped. The arrays are reused across lines.
+   */
+  static class LineTokenizer {
+    private final char delimiter;
+    private final char enclosedChar;
+    private final StringBuilder unescaped = new StringBuilder();
+
+    String[] sources = new String[16];
+    int[] starts = new int[16];
+    int[] ends = new int[16];
+    private int columnCount;
+
+    LineTokenizer(char delimiter, char enclosedChar) {
+      this.delimiter = delimiter;
+      this.enclosedChar = enclosedChar;
+    }
+
+    /**
+     * @return the number of columns in the line
+     */
+    int tokenize(String line)
+        throws IOException {
+      this.columnCount = 0;
+      int length = line.length();
+      int pos = 0;
+      while (true) {
+        if (pos < length && line.charAt(pos) == this.enclosedChar) {
+          pos = readEnclosedColumn(line, pos + 1);
+        } else {
+          int start = pos;
+          while (pos < length && !isColumnEnd(line.charAt(pos))) {
+            if (line.charAt(pos) == this.enclosedChar) {
+              throw new IOException("Found unescaped quote. A value with quote should be within a quote");
+            }
+            pos++;
+          }
+          addColumn(line, start, pos);
+        }
+
+        if (pos < length && line.charAt(pos) == this.delimiter) {
+          pos++;
+        } else {
+          // end of the line, anything after a line break is ignored
+          return this.columnCount;
+        }
+      }
+    }
+
+    private int readEnclosedColumn(String line, int pos)
+        throws IOException {
+      int length = line.length();
+      int start = pos;
+      boolean copied = false;
+      while (true) {
+        if (pos >= length) {
+          throw new IOException("EOF reached before closing an opened quote");
+        }
+        char c = line.charAt(pos);
+        if (c == this.enclosedChar) {
+          if (pos + 1 < length && line.charAt(pos + 1) == this.enclosedChar) {
+            // An escaped enclosing character
+            copied = startCopy(copied);
+            this.unescaped.append(line, start, pos + 1);
+            pos += 2;
+            start = pos;
+            continue;
+          }
+          if (pos + 1 < length && !isColumnEnd(line.charAt(pos + 1))) {
+            throw new IOException("Not expecting more text after end quote");
+          }
+          if (copied) {
+            this.unescaped.append(line, start, pos);
+            addColumn(this.unescaped.toString(), 0, this.unescaped.length());
+          } else {
+            addColumn(line, start, pos);
+          }
+          return pos + 1;
+        }
+        if (c == '\r' || c == '\n') {
+          // Line breaks within quotes are kept as a single '\n'
+          copied = startCopy(copied);
+          this.unescaped.append(line, start, pos).append('\n');
+          pos += c == '\r' && pos + 1 < length && line.charAt(pos + 1) == '\n' ? 2 : 1;
+          start = pos;
+          continue;
+        }
+        pos++;
+      }
+    }
+
+    private boolean startCopy(boolean copied) {
+      if (!copied) {
+        this.unescaped.setLength(0);
+      }
+      return true;
+    }
+
+    private boolean isColumnEnd(char c) {
+      return c == this.delimiter || c == '\r' || c == '\n';
+    }
+
+    private void addColumn(String source, int start, int end) {
+      if (this.columnCount == this.starts.length) {
+        int capacity = 2 * this.columnCount;
+        this.sources = Arrays.copyOf(this.sources, capacity);
+        this.starts = Arrays.copyOf(this.starts, capacity);
+        this.ends = Arrays.copyOf(this.ends, capacity);
+      }
+      this.sources[this.columnCount] = source;
+      this.starts[this.columnCount] = start;
+      this.ends[this.columnCount] = end;
+      this.columnCount++;
+    }
+
+    /**
+     * @return whether the column is empty or "null", which {@link org.apache.gobblin.converter.csv.CsvToJsonConverter}
+     * converts to null
+     */
+    boolean isNull(int column) {
+      int length = this.ends[column] - this.starts[column];
+      return length == 0
+          || (length == NULL.length() && this.sources[column].regionMatches(true, this.starts[column], NULL, 0, 4));
+    }
+  }
+}
@@ -0,0 +1,490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.converter.avro;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.DataConversionException;
+import org.apache.gobblin.converter.SchemaConversionException;
+import org.apache.gobblin.converter.SingleRecordIterable;
+import org.apache.gobblin.converter.ToAvroConverterBase;
+import org.apache.gobblin.converter.avro.JsonElementConversionFactory.ArrayConverter;
+import org.apache.gobblin.converter.avro.JsonElementConversionFactory.JsonElementConverter;
+import org.apache.gobblin.converter.avro.JsonElementConversionFactory.RecordConverter;
+import org.apache.gobblin.converter.json.JsonSchema;
+import org.apache.gobblin.util.EmptyIterable;
+
+
+/**
+ * Converts UTF-8 encoded JSON records straight to Avro, producing the same records as
+ * {@link org.apache.gobblin.converter.json.BytesToJsonConverter} followed by {@link JsonIntermediateToAvroConverter}
+ * without building a {@link com.google.gson.JsonObject} for every record.
+ *
+ * <p>
+ *   The input schema is the same JSON array of columns {@link JsonIntermediateToAvroConverter} takes, as a string.
+ *   When the schema is converted, a decoder is compiled for every field. Records are read with a streaming
+ *   {@link JsonReader}: string, numeric, boolean and bytes fields, arrays and nested records are decoded directly from
+ *   the token stream following the type semantics of {@link JsonElementConversionFactory}. Any other type, and any
+ *   value whose JSON type doesn't match the fast path, is read into a {@link com.google.gson.JsonElement} and
+ *   converted by the {@link JsonElementConverter} of the field, so results and errors are the same.
+ * </p>
+ *
+ * <p>
+ *   Like {@link JsonIntermediateToAvroConverter}, records that cannot be converted are dropped until
+ *   {@link ConfigurationKeys#CONVERTER_AVRO_MAX_CONVERSION_FAILURES} is reached. A failure in a nested record drops
+ *   the whole record. Records that are not valid JSON objects fail the conversion.
+ * </p>
+ */
+public class JsonBytesToAvroConverter extends ToAvroConverterBase<String, byte[]> {
+  private static final Logger LOG = LoggerFactory.getLogger(JsonBytesToAvroConverter.class);
+  private static final JsonParser JSON_PARSER = new JsonParser();
+
+  private RecordDecoder recordDecoder;
+  private long maxFailedConversions;
+  private long numFailedConversion = 0;
+
+  private final CharsetDecoder utf8Decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private CharBuffer chars = CharBuffer.allocate(4096);
+
+  @Override
+  public Schema convertSchema(String inputSchema, WorkUnitState workUnit)
+      throws SchemaConversionException {
+    JsonArray schema = JSON_PARSER.parse(inputSchema).getAsJsonArray();
+    JsonSchema jsonSchema = new JsonSchema(schema);
+    jsonSchema.setColumnName(workUnit.getExtract().getTable());
+    String namespace = workUnit.getExtract().getNamespace();
+
+    Schema recordSchema;
+    try {
+      RecordConverter recordConverter = new RecordConverter(jsonSchema, workUnit, namespace);
+      recordSchema = recordConverter.schema();
+      this.recordDecoder = new RecordDecoder(jsonSchema, recordSchema, recordConverter, workUnit, namespace);
+    } catch (UnsupportedDateTypeException e) {
+      throw new SchemaConversionException(e);
+    }
+    this.maxFailedConversions = workUnit.getPropAsLong(ConfigurationKeys.CONVERTER_AVRO_MAX_CONVERSION_FAILURES,
+        ConfigurationKeys.DEFAULT_CONVERTER_AVRO_MAX_CONVERSION_FAILURES);
+
+    if (workUnit.getPropAsBoolean(JsonIntermediateToAvroConverter.CONVERTER_AVRO_NULLIFY_FIELDS_ENABLED,
+        JsonIntermediateToAvroConverter.DEFAULT_CONVERTER_AVRO_NULLIFY_FIELDS_ENABLED)) {
+      return new JsonIntermediateToAvroConverter().generateSchemaWithNullifiedField(workUnit, recordSchema);
+    }
+    return recordSchema;
+  }
+
+  @Override
+  public Iterable<GenericRecord> convertRecord(Schema outputSchema, byte[] inputRecord, WorkUnitState workUnit)
+      throws DataConversionException {
+    if (inputRecord == null) {
+      throw new DataConversionException("Input record is null");
+    }
+
+    CharBuffer json = decodeUtf8(inputRecord);
+    JsonReader reader = new JsonReader(new CharArrayReader(json.array(), 0, json.limit()));
+    // BytesToJsonConverter parses records leniently
+    reader.setLenient(true);
+
+    GenericRecord record;
+    try {
+      if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+        throw new DataConversionException("Input record is not a JSON object: " + json);
+      }
+      try {
+        record = this.recordDecoder.decodeRecord(reader);
+      } catch (RuntimeException e) {
+        this.numFailedConversion++;
+        if (this.numFailedConversion < this.maxFailedConversions) {
+          LOG.error("Dropping record " + json + " because it cannot be converted to Avro", e);
+          return new EmptyIterable<>();
+        }
+        throw new DataConversionException("Unable to convert record: " + json, e);
+      }
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new DataConversionException("Did not consume the entire document: " + json);
+      }
+    } catch (IOException e) {
+      throw new DataConversionException("Failed to parse record: " + json, e);
+    }
+    return new SingleRecordIterable<>(record);
+  }
+
+  /**
+   * Decode the record into a buffer that is reused across records.
+   */
+  private CharBuffer decodeUtf8(byte[] bytes) {
+    int maxChars = (int) (bytes.length * (double) this.utf8Decoder.maxCharsPerByte()) + 1;
+    if (this.chars.capacity() < maxChars) {
+      this.chars = CharBuffer.allocate(Math.max(maxChars, 2 * this.chars.capacity()));
+    }
+    this.chars.clear();
+    this.utf8Decoder.reset();
+    this.utf8Decoder.decode(ByteBuffer.wrap(bytes), this.chars, true);
+    this.utf8Decoder.flush(this.chars);
+    this.chars.flip();
+    return this.chars;
+  }
+
+  /**
+   * Compile the decoder for a value of the given schema.
+   * @param schema the schema of the value
+   * @param avroSchema the Avro schema {@link JsonElementConverter#schema()} built for the value
+   * @param converter the converter of the value, used for types and values without a fast path
+   */
+  private static ValueDecoder compile(JsonSchema schema, Schema avroSchema, JsonElementConverter converter,
+      WorkUnitState state, String namespace)
+      throws UnsupportedDateTypeException {
+    switch (schema.getType()) {
+      case STRING:
+        return new StringDecoder(converter);
+      case INT:
+        return new IntDecoder(converter);
+      case LONG:
+        return new LongDecoder(converter);
+      case FLOAT:
+        return new FloatDecoder(converter);
+      case DOUBLE:
+        return new DoubleDecoder(converter);
+      case BOOLEAN:
+        return new BooleanDecoder(converter);
+      case BYTES:
+        return new BytesDecoder(converter, state.getProp(ConfigurationKeys.CONVERTER_AVRO_BINARY_CHARSET, "UTF8"));
+      case ARRAY:
+        ArrayConverter arrayConverter = (ArrayConverter) converter;
+        Schema arraySchema = nonNullSchema(avroSchema);
+        ValueDecoder elementDecoder = compile(schema.getItemsWithinDataType(), arraySchema.getElementType(),
+            arrayConverter.getElementConverter(), state, namespace);
+        return new ArrayDecoder(converter, arraySchema, elementDecoder);
+      case RECORD:
+        return new RecordDecoder(schema, nonNullSchema(avroSchema), converter, state, namespace);
+      default:
+        return new ValueDecoder(converter);
+    }
+  }
+
+  private static Schema nonNullSchema(Schema schema) {
+    if (schema.getType() == Schema.Type.UNION && schema.getTypes().size() == 2
+        && schema.getTypes().get(0).getType() == Schema.Type.NULL) {
+      return schema.getTypes().get(1);
+    }
+    return schema;
+  }
+
+  /**
+   * Decodes a JSON value by reading it into a {@link com.google.gson.JsonElement} and converting it with the
+   * {@link JsonElementConverter} of the field. Subclasses decode the JSON types they expect from the token stream.
+   */
+  private static class ValueDecoder {
+    protected final JsonElementConverter converter;
+
+    ValueDecoder(JsonElementConverter converter) {
+      this.converter = converter;
+    }
+
+    Object decode(JsonReader reader)
+        throws IOException {
+      JsonToken token = reader.peek();
+      if (token == JsonToken.NULL) {
+        reader.nextNull();
+        return this.converter.convert(JsonNull.INSTANCE);
+      }
+      return decodeValue(reader, token);
+    }
+
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      return this.converter.convert(JSON_PARSER.parse(reader));
+    }
+  }
+
+  private static class StringDecoder extends ValueDecoder {
+    StringDecoder(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      switch (token) {
+        case STRING:
+        case NUMBER:
+          return new Utf8(reader.nextString());
+        case BOOLEAN:
+          return new Utf8(Boolean.toString(reader.nextBoolean()));
+        default:
+          return super.decodeValue(reader, token);
+      }
+    }
+  }
+
+  private static class IntDecoder extends ValueDecoder {
+    IntDecoder(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      switch (token) {
+        case NUMBER:
+          return intValue(reader.nextString());
+        case STRING:
+          return Integer.parseInt(reader.nextString());
+        default:
+          return super.decodeValue(reader, token);
+      }
+    }
+
+    // Same as Gson's LazilyParsedNumber, which backs the numbers of a parsed JsonElement
+    private static int intValue(String number) {
+      try {
+        return Integer.parseInt(number);
+      } catch (NumberFormatException e) {
+        try {
+          return (int) Long.parseLong(number);
+        } catch (NumberFormatException nfe) {
+          return new BigDecimal(number).intValue();
+        }
+      }
+    }
+  }
+
+  private static class LongDecoder extends ValueDecoder {
+    LongDecoder(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      switch (token) {
+        case NUMBER:
+          return longValue(reader.nextString());
+        case STRING:
+          return Long.parseLong(reader.nextString());
+        default:
+          return super.decodeValue(reader, token);
+      }
+    }
+
+    // Same as Gson's LazilyParsedNumber, which backs the numbers of a parsed JsonElement
+    private static long longValue(String number) {
+      try {
+        return Long.parseLong(number);
+      } catch (NumberFormatException e) {
+        return new BigDecimal(number).longValue();
+      }
+    }
+  }
+
+  private static class FloatDecoder extends ValueDecoder {
+    FloatDecoder(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+        return Float.parseFloat(reader.nextString());
+      }
+      return super.decodeValue(reader, token);
+    }
+  }
+
+  private static class DoubleDecoder extends ValueDecoder {
+    DoubleDecoder(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+        return Double.parseDouble(reader.nextString());
+      }
+      return super.decodeValue(reader, token);
+    }
+  }
+
+  private static class BooleanDecoder extends ValueDecoder {
+    BooleanDecoder(JsonElementConverter converter) {
+      super(converter);
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      switch (token) {
+        case BOOLEAN:
+          return reader.nextBoolean();
+        case NUMBER:
+        case STRING:
+          return Boolean.parseBoolean(reader.nextString());
+        default:
+          return super.decodeValue(reader, token);
+      }
+    }
+  }
+
+  private static class BytesDecoder extends ValueDecoder {
+    private final String charSet;
+
+    BytesDecoder(JsonElementConverter converter, String charSet) {
+      super(converter);
+      this.charSet = charSet;
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+        try {
+          return ByteBuffer.wrap(reader.nextString().getBytes(this.charSet));
+        } catch (UnsupportedEncodingException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      return super.decodeValue(reader, token);
+    }
+  }
+
+  private static class ArrayDecoder extends ValueDecoder {
+    private final Schema arraySchema;
+    private final ValueDecoder elementDecoder;
+
+    ArrayDecoder(JsonElementConverter converter, Schema arraySchema, ValueDecoder elementDecoder) {
+      super(converter);
+      this.arraySchema = arraySchema;
+      this.elementDecoder = elementDecoder;
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      if (token != JsonToken.BEGIN_ARRAY) {
+        return super.decodeValue(reader, token);
+      }
+
+      List<Object> list = new ArrayList<>();
+      reader.beginArray();
+      while (reader.hasNext()) {
+        list.add(this.elementDecoder.decode(reader));
+      }
+      reader.endArray();
+      return new GenericData.Array<>(this.arraySchema, list);
+    }
+  }
+
+  /**
+   * Decodes the fields of a record through a table from field name to field position and decoder.
+   */
+  private static class RecordDecoder extends ValueDecoder {
+    private final Schema recordSchema;
+    private final Map<String, FieldDecoder> fieldDecoders = new HashMap<>();
+
+    RecordDecoder(JsonSchema schema, Schema recordSchema, JsonElementConverter converter, WorkUnitState state,
+        String namespace)
+        throws UnsupportedDateTypeException {
+      super(converter);
+      this.recordSchema = recordSchema;
+
+      // Build the field converters the same way RecordConverter does
+      String name = schema.isRoot() ? schema.getColumnName() : schema.getName();
+      String childNamespace = JsonElementConverter.buildNamespace(namespace, name);
+      JsonSchema fields = schema.getValuesWithinDataType();
+      for (int i = 0; i < fields.fieldsCount(); i++) {
+        JsonSchema fieldSchema = fields.getFieldSchemaAt(i);
+        JsonElementConverter fieldConverter =
+            JsonElementConversionFactory.getConvertor(fieldSchema, childNamespace, state);
+        // Some converters initialize the schema of their values when asked for their schema
+        fieldConverter.schema();
+        Schema.Field avroField = recordSchema.getField(fieldSchema.getColumnName());
+        this.fieldDecoders.put(fieldSchema.getColumnName(), new FieldDecoder(avroField.pos(),
+            compile(fieldSchema, avroField.schema(), fieldConverter, state, childNamespace)));
+      }
+    }
+
+    @Override
+    Object decodeValue(JsonReader reader, JsonToken token)
+        throws IOException {
+      if (token != JsonToken.BEGIN_OBJECT) {
+        return super.decodeValue(reader, token);
+      }
+      return decodeRecord(reader);
+    }
+
+    GenericRecord decodeRecord(JsonReader reader)
+        throws IOException {
+      GenericRecord record = new GenericData.Record(this.recordSchema);
+      reader.beginObject();
+      while (reader.hasNext()) {
+        String fieldName = reader.nextName();
+        FieldDecoder fieldDecoder = this.fieldDecoders.get(fieldName);
+        if (fieldDecoder == null) {
+          throw new IllegalArgumentException("Field " + fieldName + " is not in the schema");
+        }
+        try {
+          record.put(fieldDecoder.position, fieldDecoder.decoder.decode(reader));
+        } catch (RuntimeException e) {
+          throw new RuntimeException("Unable to convert field:" + fieldName, e);
+        }
+      }
+      reader.endObject();
+      return record;
+    }
+  }
+
+  private static class FieldDecoder {
+    private final int position;
+    private final ValueDecoder decoder;
+
+    FieldDecoder(int position, ValueDecoder decoder) {
+      this.position = position;
+      this.decoder = decoder;
+    }
+  }
+}
@@ -417,40 +417,35 @@ public class JsonElementConversionFactory {
   }
 
   public static class DateConverter extends JsonElementConverter {
-    private String inputPatterns;
-    private DateTimeZone timeZone;
-    private WorkUnitState state;
+    private List<DateTimeFormatter> formatters = new ArrayList<>();
+    private boolean epochTimeInSeconds;
 
     public DateConverter(JsonSchema schema, String pattern, DateTimeZone zone, WorkUnitState state) {
       super(schema);
-      this.inputPatterns = pattern;
-      this.timeZone = zone;
-      this.state = state;
+      for (String inputPattern : pattern.split(",")) {
+        this.formatters.add(DateTimeFormat.forPattern(inputPattern).withZone(zone));
+      }
+      this.epochTimeInSeconds = Boolean.valueOf(state.getProp(ConfigurationKeys.CONVERTER_IS_EPOCH_TIME_IN_SECONDS));
     }
 
     @Override
     Object convertField(JsonElement value) {
-      List<String> patterns = Arrays.asList(this.inputPatterns.split(","));
-      int patternFailCount = 0;
-      Object formattedDate = null;
-      for (String pattern : patterns) {
-        DateTimeFormatter dtf = DateTimeFormat.forPattern(pattern).withZone(this.timeZone);
+      return convertDate(value.getAsString());
+    }
+
+    /**
+     * Parse the date with the first of the input patterns that matches it
+     */
+    public long convertDate(String value) {
+      for (DateTimeFormatter dtf : this.formatters) {
         try {
-          formattedDate = dtf.parseDateTime(value.getAsString()).withZone(DateTimeZone.forID("UTC")).getMillis();
-          if (Boolean.valueOf(this.state.getProp(ConfigurationKeys.CONVERTER_IS_EPOCH_TIME_IN_SECONDS))) {
-            formattedDate = (Long) formattedDate / 1000;
-          }
-          break;
+          long millis = dtf.parseDateTime(value).withZone(DateTimeZone.UTC).getMillis();
+          return this.epochTimeInSeconds ? millis / 1000 : millis;
         } catch (Exception e) {
-          patternFailCount++;
+          // try the next pattern
         }
       }
-
-      if (patternFailCount == patterns.size()) {
-        throw new RuntimeException("Failed to parse the date");
-      }
-
-      return formattedDate;
+      throw new RuntimeException("Failed to parse the date");
     }
 
     @Override
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
@@ -29,8 +30,10 @@ import org.apache.avro.generic.GenericRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -45,8 +48,11 @@ import org.apache.gobblin.util.AvroUtils;
 
 /**
  * Converts schema and data by choosing only selected fields provided by user.
+ *
+ * When {@link ConfigurationKeys#EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED} is set, extractors only decode the selected
+ * fields, see {@link AvroProjectionPushdown}.
  */
-public class AvroFieldsPickConverter extends AvroToAvroConverterBase {
+public class AvroFieldsPickConverter extends AvroToAvroConverterBase implements AvroProjectionAware {
   private static final Logger LOG = LoggerFactory.getLogger(AvroFieldsPickConverter.class);
 
   private static final Splitter SPLITTER_ON_COMMA = Splitter.on(',').trimResults().omitEmptyStrings();
@@ -254,4 +260,18 @@ public class AvroFieldsPickConverter extends AvroToAvroConverterBase {
       throw new DataConversionException(e);
     }
   }
+
+  @Override
+  public Set<String> getReadFields(WorkUnitState workUnit) {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public Optional<Set<String>> getOutputFields(WorkUnitState workUnit) {
+    String fieldsStr = workUnit.getProp(ConfigurationKeys.CONVERTER_AVRO_FIELD_PICK_FIELDS);
+    if (fieldsStr == null) {
+      return Optional.absent();
+    }
+    return Optional.<Set<String>>of(ImmutableSet.copyOf(SPLITTER_ON_COMMA.split(fieldsStr)));
+  }
 }
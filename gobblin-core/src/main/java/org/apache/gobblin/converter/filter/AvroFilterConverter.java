@@ -17,6 +17,8 @@
 
 package org.apache.gobblin.converter.filter;
 
+import java.util.Set;
+
 import org.apache.gobblin.converter.AvroToAvroConverterBase;
 import org.apache.gobblin.converter.Converter;
 import org.apache.gobblin.converter.SchemaConversionException;
@@ -26,6 +28,7 @@ import org.apache.avro.generic.GenericRecord;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.WorkUnitState;
@@ -38,8 +41,11 @@ import org.apache.gobblin.util.AvroUtils;
  * Basic implementation of a filter converter for Avro data. It filters out Avro records based on a specified Avro
  * field name, and its expected value. The converter only supports equality operations and only performs the comparison
  * based on the string representation of the value.
+ *
+ * When {@link ConfigurationKeys#EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED} is set, extractors only decode the filtered
+ * field in addition to the fields kept by a later projecting converter, see {@link AvroProjectionPushdown}.
  */
-public class AvroFilterConverter extends AvroToAvroConverterBase {
+public class AvroFilterConverter extends AvroToAvroConverterBase implements AvroProjectionAware {
 
   private String fieldName;
   private String fieldValue;
@@ -89,4 +95,19 @@ public class AvroFilterConverter extends AvroToAvroConverterBase {
     }
     return new EmptyIterable<>();
   }
+
+  @Override
+  public Set<String> getReadFields(WorkUnitState workUnit) {
+    return workUnit.contains(ConfigurationKeys.CONVERTER_FILTER_FIELD_NAME)
+        ? ImmutableSet.of(workUnit.getProp(ConfigurationKeys.CONVERTER_FILTER_FIELD_NAME))
+        : ImmutableSet.<String>of();
+  }
+
+  /**
+   * Records that pass the filter are returned unchanged.
+   */
+  @Override
+  public Optional<Set<String>> getOutputFields(WorkUnitState workUnit) {
+    return Optional.absent();
+  }
 }
@@ -27,11 +27,14 @@ import org.apache.gobblin.stream.FlushControlMessage;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Strings;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.instrumented.StageTimer;
+import org.apache.gobblin.instrumented.TaskStageTimings;
 import org.apache.gobblin.stream.ControlMessage;
 import org.apache.gobblin.records.ControlMessageHandler;
 import org.apache.gobblin.records.RecordStreamProcessor;
@@ -78,6 +81,7 @@ public class RowLevelPolicyChecker<S, D> implements Closeable, FinalState, Recor
    * different containers' clock is hard to coordinate.
    * */
   private boolean allowSpeculativeExecWhenWriteErrFile;
+  private final Optional<StageTimer> stageTimer;
 
   static final String ALLOW_SPECULATIVE_EXECUTION_WITH_ERR_FILE_POLICY = "allowSpeculativeExecutionWithErrFilePolicy";
 
@@ -96,9 +100,23 @@ public class RowLevelPolicyChecker<S, D> implements Closeable, FinalState, Recor
 
     /** By default set to true as to maintain backward-compatibility */
     this.allowSpeculativeExecWhenWriteErrFile = state.getPropAsBoolean(ALLOW_SPECULATIVE_EXECUTION_WITH_ERR_FILE_POLICY, true);
+    this.stageTimer = list.isEmpty() ? Optional.<StageTimer>absent()
+        : TaskStageTimings.getStageTimer(state, TaskStageTimings.ROW_POLICY_STAGE);
   }
 
   public boolean executePolicies(Object record, RowLevelPolicyCheckResults results) throws IOException {
+    if (!this.stageTimer.isPresent()) {
+      return executePoliciesImpl(record, results);
+    }
+    long startTimeNanos = this.stageTimer.get().start();
+    try {
+      return executePoliciesImpl(record, results);
+    } finally {
+      this.stageTimer.get().stop(startTimeNanos);
+    }
+  }
+
+  private boolean executePoliciesImpl(Object record, RowLevelPolicyCheckResults results) throws IOException {
     for (RowLevelPolicy p : this.list) {
       RowLevelPolicy.Result result = p.executePolicy(record);
       results.put(p, result);
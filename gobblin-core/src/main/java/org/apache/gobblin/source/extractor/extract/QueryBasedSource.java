@@ -31,6 +31,7 @@ import org.slf4j.MDC;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -91,6 +92,10 @@ public abstract class QueryBasedSource<S, D> extends AbstractSource<S, D> {
    *    EXTRACT_TABLE_NAME_KEY = as specified in job config
    */
   public static final Integer CURRENT_WORK_UNIT_STATE_VERSION = 3;
+  // Properties of the previous work unit states read to compute the previous watermarks of all tables. The previous
+  // states are read from the watermark projections of the state store if it retains all of them.
+  public static final List<String> WATERMARK_PROJECTION_RETAINED_PROPERTIES = ImmutableList.of(
+      "source\\.entity", "extract\\.table\\.name", "qualitychecker\\.rows\\.expected");
 
   protected Optional<LineageInfo> lineageInfo;
 
@@ -382,7 +387,7 @@ public abstract class QueryBasedSource<S, D> extends AbstractSource<S, D> {
     Set<SourceEntity> tablesWithNoUpdatesOnPreviousRun = Sets.newHashSet();
     boolean commitOnFullSuccess = JobCommitPolicy.getCommitPolicy(state) == JobCommitPolicy.COMMIT_ON_FULL_SUCCESS;
 
-    for (WorkUnitState previousWus : state.getPreviousWorkUnitStates()) {
+    for (WorkUnitState previousWus : state.getPreviousWatermarkStates(WATERMARK_PROJECTION_RETAINED_PROPERTIES)) {
       Optional<SourceEntity> sourceEntity = SourceEntity.fromState(previousWus);
       if (!sourceEntity.isPresent()) {
         log.warn("Missing source entity for WorkUnit state: " + previousWus);
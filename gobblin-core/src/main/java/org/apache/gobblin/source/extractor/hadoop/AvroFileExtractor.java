@@ -23,10 +23,12 @@ import java.util.Iterator;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.filter.AvroProjectionPushdown;
 import org.apache.gobblin.source.extractor.filebased.FileBasedExtractor;
 import org.apache.gobblin.source.extractor.filebased.FileBasedHelperException;
 
@@ -36,6 +38,7 @@ import org.apache.gobblin.source.extractor.filebased.FileBasedHelperException;
  */
 public class AvroFileExtractor extends FileBasedExtractor<Schema, GenericRecord> {
   private Schema extractorCachedSchema;
+  private boolean schemaProjected = false;
 
   public AvroFileExtractor(WorkUnitState workUnitState) {
     super(workUnitState, new AvroFsHelper(workUnitState));
@@ -45,7 +48,11 @@ public class AvroFileExtractor extends FileBasedExtractor<Schema, GenericRecord>
   public Iterator<GenericRecord> downloadFile(String file)
       throws IOException {
     try {
-      return this.closer.register(((AvroFsHelper) this.fsHelper).getAvroFile(file));
+      AvroFsHelper avroFsHelper = (AvroFsHelper) this.fsHelper;
+      if (AvroProjectionPushdown.isEnabled(this.workUnitState) && getSchema() != null && this.schemaProjected) {
+        return this.closer.register(avroFsHelper.getAvroFile(file, this.extractorCachedSchema));
+      }
+      return this.closer.register(avroFsHelper.getAvroFile(file));
     } catch (FileBasedHelperException e) {
       Throwables.propagate(e);
     }
@@ -55,28 +62,35 @@ public class AvroFileExtractor extends FileBasedExtractor<Schema, GenericRecord>
   /**
    * Assumption is that all files in the input directory have the same schema.
    * This method is being invoked in org.apache.gobblin.runtime.Task#runSynchronousModel()
+   *
+   * If {@link ConfigurationKeys#EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED} is set, the schema is limited to the fields
+   * the converters need, see {@link AvroProjectionPushdown}.
    */
   @Override
   public Schema getSchema() {
-    if (this.workUnit.contains(ConfigurationKeys.SOURCE_SCHEMA)) {
-      return new Schema.Parser().parse(this.workUnit.getProp(ConfigurationKeys.SOURCE_SCHEMA));
-    }
-
     if (extractorCachedSchema != null) {
       return extractorCachedSchema;
     }
 
-    AvroFsHelper hfsHelper = (AvroFsHelper) this.fsHelper;
-    if (this.filesToPull.isEmpty()) {
-      return null;
-    }
-    try {
-      extractorCachedSchema = hfsHelper.getAvroSchema(this.filesToPull.get(0));
-    } catch (FileBasedHelperException e) {
-      Throwables.propagate(e);
-      return null;
+    Schema schema;
+    if (this.workUnit.contains(ConfigurationKeys.SOURCE_SCHEMA)) {
+      schema = new Schema.Parser().parse(this.workUnit.getProp(ConfigurationKeys.SOURCE_SCHEMA));
+    } else {
+      AvroFsHelper hfsHelper = (AvroFsHelper) this.fsHelper;
+      if (this.filesToPull.isEmpty()) {
+        return null;
+      }
+      try {
+        schema = hfsHelper.getAvroSchema(this.filesToPull.get(0));
+      } catch (FileBasedHelperException e) {
+        Throwables.propagate(e);
+        return null;
+      }
     }
 
+    Optional<Schema> projectedSchema = AvroProjectionPushdown.getReaderSchema(this.workUnitState, schema);
+    this.schemaProjected = projectedSchema.isPresent();
+    extractorCachedSchema = projectedSchema.or(schema);
     return extractorCachedSchema;
   }
 }
@@ -89,6 +89,22 @@ public class AvroFsHelper extends HadoopFsHelper implements SizeAwareFileBasedHe
    * @throws FileBasedHelperException if there is a problem opening the {@link InputStream} for the specified file.
    */
   public DataFileReader<GenericRecord> getAvroFile(String file) throws FileBasedHelperException {
+    return getAvroFile(file, null);
+  }
+
+  /**
+   * Returns an {@link DataFileReader} to the specified avro file that reads records with the given reader schema.
+   * Fields of the file that are not in the reader schema are skipped without being decoded.
+   * <p>
+   * Note: It is the caller's responsibility to close the returned {@link DataFileReader}.
+   * </p>
+   *
+   * @param file The path to the avro file to open.
+   * @param readerSchema The schema of the returned records, or null to read records with the schema of the file.
+   * @return A {@link DataFileReader} for the specified avro file.
+   * @throws FileBasedHelperException if there is a problem opening the {@link InputStream} for the specified file.
+   */
+  public DataFileReader<GenericRecord> getAvroFile(String file, Schema readerSchema) throws FileBasedHelperException {
     try {
       if (!this.getFileSystem().exists(new Path(file))) {
         LOGGER.warn(file + " does not exist.");
@@ -97,10 +113,10 @@ public class AvroFsHelper extends HadoopFsHelper implements SizeAwareFileBasedHe
       if (this.getState().getPropAsBoolean(ConfigurationKeys.SHOULD_FS_PROXY_AS_USER,
           ConfigurationKeys.DEFAULT_SHOULD_FS_PROXY_AS_USER)) {
         return new DataFileReader<>(new ProxyFsInput(new Path(file), this.getFileSystem()),
-            new GenericDatumReader<GenericRecord>());
+            new GenericDatumReader<GenericRecord>(null, readerSchema));
       }
       return new DataFileReader<>(new FsInput(new Path(file), this.getFileSystem().getConf()),
-          new GenericDatumReader<GenericRecord>());
+          new GenericDatumReader<GenericRecord>(null, readerSchema));
     } catch (IOException e) {
       throw new FileBasedHelperException("Failed to open avro file " + file + " due to error " + e.getMessage(), e);
     }
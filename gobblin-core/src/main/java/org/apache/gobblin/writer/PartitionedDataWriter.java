@@ -21,17 +21,20 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.lang3.reflect.ConstructorUtils;
 
+import com.codahale.metrics.Meter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
@@ -39,6 +42,7 @@ import com.google.common.base.Strings;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.Lists;
@@ -52,8 +56,11 @@ import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.dataset.Descriptor;
 import org.apache.gobblin.dataset.PartitionDescriptor;
+import org.apache.gobblin.instrumented.Instrumented;
 import org.apache.gobblin.instrumented.writer.InstrumentedDataWriterDecorator;
 import org.apache.gobblin.instrumented.writer.InstrumentedPartitionedDataWriterDecorator;
+import org.apache.gobblin.metrics.GobblinMetrics;
+import org.apache.gobblin.metrics.MetricContext;
 import org.apache.gobblin.records.ControlMessageHandler;
 import org.apache.gobblin.stream.ControlMessage;
 import org.apache.gobblin.stream.FlushControlMessage;
@@ -63,6 +70,7 @@ import org.apache.gobblin.stream.StreamEntity;
 import org.apache.gobblin.util.AvroUtils;
 import org.apache.gobblin.util.ExecutorsUtils;
 import org.apache.gobblin.util.FinalState;
+import org.apache.gobblin.writer.partitioner.KeyedWriterPartitioner;
 import org.apache.gobblin.writer.partitioner.WriterPartitioner;
 
 
@@ -82,6 +90,29 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
   public static final String PARTITIONED_WRITER_CACHE_TTL_SECONDS = "partitionedDataWriter.cache.ttl.seconds";
   public static final Long DEFAULT_PARTITIONED_WRITER_CACHE_TTL_SECONDS = Long.MAX_VALUE;
 
+  /**
+   * Configs to bound the number of open partition writers. When the bound is reached, the least recently used writer
+   * is committed and closed, so its buffers are released. If a record for that partition shows up again, a new writer
+   * (hence a new file) is created for the partition.
+   *
+   * The bound is the minimum of {@link #PARTITIONED_WRITER_CACHE_MAX_SIZE} and
+   * {@link #PARTITIONED_WRITER_MAX_BUFFERED_BYTES} / {@link #PARTITIONED_WRITER_ESTIMATED_BUFFERED_BYTES}. The latter is
+   * only used if the estimated amount of memory buffered by a single writer (e.g. the ORC stripe or Parquet block size)
+   * is set, since {@link DataWriter} doesn't expose its buffer size.
+   */
+  public static final String PARTITIONED_WRITER_CACHE_MAX_SIZE = "partitionedDataWriter.cache.max.size";
+  public static final long DEFAULT_PARTITIONED_WRITER_CACHE_MAX_SIZE = Long.MAX_VALUE;
+  public static final String PARTITIONED_WRITER_MAX_BUFFERED_BYTES = "partitionedDataWriter.max.buffered.bytes";
+  public static final long DEFAULT_PARTITIONED_WRITER_MAX_BUFFERED_BYTES = Long.MAX_VALUE;
+  public static final String PARTITIONED_WRITER_ESTIMATED_BUFFERED_BYTES =
+      "partitionedDataWriter.writer.estimated.buffered.bytes";
+  public static final long DEFAULT_PARTITIONED_WRITER_ESTIMATED_BUFFERED_BYTES = 0L;
+
+  public static final String PARTITIONED_WRITER_EVICTIONS_METER = "gobblin.writer.partitioned.evictions";
+  public static final String PARTITIONED_WRITER_OPEN_WRITERS_GAUGE = "gobblin.writer.partitioned.openWriters";
+  public static final String PARTITIONED_WRITER_BUFFERED_BYTES_GAUGE =
+      "gobblin.writer.partitioned.estimatedBufferedBytes";
+
   private static final GenericRecord NON_PARTITIONED_WRITER_KEY =
       new GenericData.Record(SchemaBuilder.record("Dummy").fields().endRecord());
 
@@ -91,6 +122,10 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
   private final int branchId;
 
   private final Optional<WriterPartitioner> partitioner;
+  // Set if the partitioner is a KeyedWriterPartitioner whose partitions are looked up by key
+  private final Optional<KeyedWriterPartitioner<D, Object>> keyedPartitioner;
+  // Partitions of the keyed partitioner, interned by partition key. Cleared when a writer is removed from the cache.
+  private final Map<Object, GenericRecord> partitionsByKey;
   @Getter
   @VisibleForTesting
   private final LoadingCache<GenericRecord, DataWriter<D>> partitionWriters;
@@ -112,6 +147,18 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
   @VisibleForTesting
   private long totalBytesFromEvictedWriters;
 
+  // Writers evicted because the pool was full are committed on eviction, their final states and partitions are kept here.
+  @Getter
+  @VisibleForTesting
+  private long sizeEvictedWriters;
+  private final State sizeEvictedWritersFinalState;
+  private final List<PartitionDescriptor> sizeEvictedWritersDescriptors;
+  private final long estimatedBufferedBytesPerWriter;
+  private final Optional<Meter> evictionsMeter;
+  // Guava swallows exceptions thrown by a removal listener, so a failure to commit or close an evicted writer is kept
+  // here and rethrown on the next write or on commit.
+  private volatile IOException evictedWriterFailure;
+
 
   public PartitionedDataWriter(DataWriterBuilder<S, D> builder, final State state)
       throws IOException {
@@ -124,28 +171,64 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
     this.closer = Closer.create();
     this.writerBuilder = builder;
     this.controlMessageHandler = new PartitionDataWriterMessageHandler();
+    this.partitionsByKey = new ConcurrentHashMap<>();
     if(builder.schema != null) {
       this.state.setProp(WRITER_LATEST_SCHEMA, builder.getSchema());
     }
     long cacheExpiryInterval = this.state.getPropAsLong(PARTITIONED_WRITER_CACHE_TTL_SECONDS, DEFAULT_PARTITIONED_WRITER_CACHE_TTL_SECONDS);
     log.debug("PartitionedDataWriter: Setting cache expiry interval to {} seconds", cacheExpiryInterval);
 
-    this.partitionWriters = CacheBuilder.newBuilder()
-        .expireAfterAccess(cacheExpiryInterval, TimeUnit.SECONDS)
+    this.sizeEvictedWritersFinalState = new State();
+    this.sizeEvictedWritersDescriptors = new ArrayList<>();
+    this.estimatedBufferedBytesPerWriter = this.state.getPropAsLong(PARTITIONED_WRITER_ESTIMATED_BUFFERED_BYTES,
+        DEFAULT_PARTITIONED_WRITER_ESTIMATED_BUFFERED_BYTES);
+    long maxOpenWriters = getMaxOpenWriters(this.state, this.estimatedBufferedBytesPerWriter);
+
+    CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder()
+        .expireAfterAccess(cacheExpiryInterval, TimeUnit.SECONDS);
+    if (maxOpenWriters < Long.MAX_VALUE) {
+      log.info("PartitionedDataWriter: Bounding the number of open writers to {}", maxOpenWriters);
+      // A single segment makes the size-based eviction strictly least-recently-used.
+      cacheBuilder.maximumSize(maxOpenWriters).concurrencyLevel(1);
+    }
+
+    if (GobblinMetrics.isEnabled(this.state)) {
+      MetricContext metricContext = Instrumented.getMetricContext(this.state, PartitionedDataWriter.class);
+      this.evictionsMeter = Optional.of(metricContext.meter(PARTITIONED_WRITER_EVICTIONS_METER));
+      metricContext.register(metricContext.newContextAwareGauge(PARTITIONED_WRITER_OPEN_WRITERS_GAUGE,
+          () -> PartitionedDataWriter.this.partitionWriters.size()));
+      metricContext.register(metricContext.newContextAwareGauge(PARTITIONED_WRITER_BUFFERED_BYTES_GAUGE,
+          () -> PartitionedDataWriter.this.getEstimatedBufferedBytes()));
+    } else {
+      this.evictionsMeter = Optional.absent();
+    }
+
+    this.partitionWriters = cacheBuilder
         .removalListener(new RemovalListener<GenericRecord, DataWriter<D>>() {
       @Override
       public void onRemoval(RemovalNotification<GenericRecord, DataWriter<D>> notification) {
         synchronized (PartitionedDataWriter.this) {
+          // The interned partition of the removed writer is not needed anymore
+          partitionsByKey.clear();
           if (notification.getValue() != null) {
+            DataWriter<D> writer = notification.getValue();
             try {
-              DataWriter<D> writer = notification.getValue();
+              if (notification.getCause() == RemovalCause.SIZE) {
+                commitEvictedWriter(notification.getKey(), writer);
+              }
               totalRecordsFromEvictedWriters += writer.recordsWritten();
               totalBytesFromEvictedWriters += writer.bytesWritten();
-              writer.close();
-            } catch (IOException e) {
-              log.error("Exception {} encountered when closing data writer on cache eviction", e);
-              //Should propagate the exception to avoid committing/publishing corrupt files.
-              throw new RuntimeException(e);
+            } catch (IOException | RuntimeException e) {
+              log.error("Exception {} encountered when committing data writer on cache eviction", e);
+              addEvictedWriterFailure(e);
+            } finally {
+              // The writer is closed even if its commit failed, so its resources are not leaked
+              try {
+                writer.close();
+              } catch (IOException | RuntimeException e) {
+                log.error("Exception {} encountered when closing data writer on cache eviction", e);
+                addEvictedWriterFailure(e);
+              }
             }
           }
         }
@@ -197,6 +280,7 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
             .checkArgument(this.builder.get().validatePartitionSchema(this.partitioner.get().partitionSchema()), String
                 .format("Writer %s does not support schema from partitioner %s",
                     builder.getClass().getCanonicalName(), this.partitioner.getClass().getCanonicalName()));
+        this.keyedPartitioner = getKeyedPartitioner(this.partitioner.get());
       } catch (ReflectiveOperationException roe) {
         throw new IOException(roe);
       }
@@ -224,34 +308,173 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
       this.isWatermarkCapable = this.isDataWriterWatermarkCapable(dataWriter);
       this.partitionWriters.put(NON_PARTITIONED_WRITER_KEY, writer);
       this.partitioner = Optional.absent();
+      this.keyedPartitioner = Optional.absent();
       this.builder = Optional.absent();
     }
   }
 
+  /**
+   * @return the partitioner if it is a {@link KeyedWriterPartitioner} that is keyed and doesn't override
+   * {@link WriterPartitioner#partitionForRecord(Object)}, since the override would be bypassed by the key lookup.
+   */
+  @SuppressWarnings("unchecked")
+  private Optional<KeyedWriterPartitioner<D, Object>> getKeyedPartitioner(WriterPartitioner partitioner) {
+    if (!(partitioner instanceof KeyedWriterPartitioner) || !((KeyedWriterPartitioner) partitioner).isKeyed()) {
+      return Optional.absent();
+    }
+    try {
+      if (partitioner.getClass().getMethod("partitionForRecord", Object.class).getDeclaringClass()
+          != KeyedWriterPartitioner.class) {
+        log.info("{} overrides partitionForRecord, partitions are not looked up by key",
+            partitioner.getClass().getName());
+        return Optional.absent();
+      }
+    } catch (NoSuchMethodException nsme) {
+      return Optional.absent();
+    }
+    return Optional.of((KeyedWriterPartitioner<D, Object>) partitioner);
+  }
+
+  private static long getMaxOpenWriters(State state, long estimatedBufferedBytesPerWriter) {
+    long maxOpenWriters = state.getPropAsLong(PARTITIONED_WRITER_CACHE_MAX_SIZE, DEFAULT_PARTITIONED_WRITER_CACHE_MAX_SIZE);
+    if (estimatedBufferedBytesPerWriter > 0) {
+      long maxBufferedBytes =
+          state.getPropAsLong(PARTITIONED_WRITER_MAX_BUFFERED_BYTES, DEFAULT_PARTITIONED_WRITER_MAX_BUFFERED_BYTES);
+      maxOpenWriters = Math.min(maxOpenWriters, maxBufferedBytes / estimatedBufferedBytesPerWriter);
+    }
+    Preconditions.checkArgument(maxOpenWriters > 0, "The writer pool must allow at least one open writer.");
+    return maxOpenWriters;
+  }
+
+  /**
+   * Commit a writer evicted because the pool is full, and keep what is needed from it for
+   * {@link #getFinalState()} and {@link #serializePartitionInfoToState()}. Like {@link CloseOnFlushWriterWrapper} does
+   * on flush, the data is committed before the writer is closed. A later record of the same partition goes to a new
+   * writer with a new writer id.
+   */
+  private void commitEvictedWriter(GenericRecord partition, DataWriter<D> writer)
+      throws IOException {
+    log.info("Evicting the least recently used writer for partition {}", partition);
+    writer.commit();
+
+    if (writer instanceof FinalState) {
+      State partitionFinalState = ((FinalState) writer).getFinalState();
+      if (this.shouldPartition) {
+        for (String key : partitionFinalState.getPropertyNames()) {
+          // Prevent overwriting final state across writers, including writers of the same partition
+          partitionFinalState.setProp(key + "_" + AvroUtils.serializeAsPath(partition, false, true) + "_evicted"
+              + this.sizeEvictedWriters, partitionFinalState.getProp(key));
+        }
+      }
+      this.sizeEvictedWritersFinalState.addAll(partitionFinalState);
+    }
+
+    Descriptor descriptor = writer.getDataDescriptor();
+    if (descriptor instanceof PartitionDescriptor && !this.sizeEvictedWritersDescriptors.contains(descriptor)) {
+      this.sizeEvictedWritersDescriptors.add((PartitionDescriptor) descriptor);
+    }
+
+    this.sizeEvictedWriters++;
+    Instrumented.markMeter(this.evictionsMeter);
+  }
+
+  /**
+   * Keep a failure to commit or close an evicted writer. It should be propagated to avoid committing/publishing
+   * corrupt files.
+   */
+  private void addEvictedWriterFailure(Exception e) {
+    if (this.evictedWriterFailure == null) {
+      this.evictedWriterFailure = e instanceof IOException ? (IOException) e : new IOException(e);
+    } else {
+      this.evictedWriterFailure.addSuppressed(e);
+    }
+  }
+
+  /**
+   * Rethrow the failure to commit or close an evicted writer, if any.
+   */
+  private void checkEvictedWriters() throws IOException {
+    if (this.evictedWriterFailure != null) {
+      throw new IOException("Failed to commit or close an evicted writer.", this.evictedWriterFailure);
+    }
+  }
+
+  /**
+   * @return an estimate of the number of bytes buffered by open writers: the number of open writers times
+   * {@link #PARTITIONED_WRITER_ESTIMATED_BUFFERED_BYTES}. The buffers of the writers are not measured.
+   */
+  public long getEstimatedBufferedBytes() {
+    return this.partitionWriters.size() * this.estimatedBufferedBytesPerWriter;
+  }
+
   private boolean isDataWriterWatermarkCapable(DataWriter<D> dataWriter) {
     return (dataWriter instanceof WatermarkAwareWriter) && (((WatermarkAwareWriter) dataWriter).isWatermarkCapable());
   }
 
   @Override
   public void writeEnvelope(RecordEnvelope<D> recordEnvelope) throws IOException {
+    checkEvictedWriters();
     try {
       DataWriter<D> writer = getDataWriterForRecord(recordEnvelope.getRecord());
       writer.writeEnvelope(recordEnvelope);
     } catch (ExecutionException ee) {
       throw new IOException(ee);
     }
+    checkEvictedWriters();
   }
 
   private DataWriter<D> getDataWriterForRecord(D record)
       throws ExecutionException {
-    GenericRecord partition =
-        this.shouldPartition ? this.partitioner.get().partitionForRecord(record) : NON_PARTITIONED_WRITER_KEY;
+    GenericRecord partition;
+    if (!this.shouldPartition) {
+      partition = NON_PARTITIONED_WRITER_KEY;
+    } else if (this.keyedPartitioner.isPresent()) {
+      partition = getPartitionForKey(this.keyedPartitioner.get(), record);
+    } else {
+      partition = this.partitioner.get().partitionForRecord(record);
+    }
     return this.partitionWriters.get(partition);
   }
 
+  /**
+   * Get the partition of a record from its partition key. The partition {@link GenericRecord} is only built the first
+   * time a key is seen, and it caches its hash code, so the lookup in {@link #partitionWriters} is cheap: the interned
+   * partition is found by identity instead of comparing all fields.
+   */
+  private GenericRecord getPartitionForKey(KeyedWriterPartitioner<D, Object> keyedPartitioner, D record) {
+    Object key = keyedPartitioner.partitionKeyForRecord(record);
+    GenericRecord partition = this.partitionsByKey.get(key);
+    if (partition == null) {
+      partition = new InternedPartition(keyedPartitioner.partitionForKey(key));
+      this.partitionsByKey.put(key, partition);
+    }
+    return partition;
+  }
+
+  /**
+   * A copy of a partition {@link GenericRecord} that caches its hash code. It must not be modified.
+   */
+  private static class InternedPartition extends GenericData.Record {
+    private final int hashCode;
+
+    InternedPartition(GenericRecord partition) {
+      super(partition.getSchema());
+      for (Schema.Field field : partition.getSchema().getFields()) {
+        put(field.pos(), partition.get(field.pos()));
+      }
+      this.hashCode = super.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+  }
+
   @Override
   public synchronized void commit()
       throws IOException {
+    checkEvictedWriters();
     int writersCommitted = 0;
     for (Map.Entry<GenericRecord, DataWriter<D>> entry : this.partitionWriters.asMap().entrySet()) {
       try {
@@ -352,6 +575,7 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
           state.addAll(partitionFinalState);
         }
       }
+      state.addAll(this.sizeEvictedWritersFinalState);
       state.setProp("RecordsWritten", recordsWritten());
       state.setProp("BytesWritten", bytesWritten());
     } catch (Exception exception) {
@@ -423,7 +647,7 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
    * Serialize partitions info to {@link #state} if they are any
    */
   private void serializePartitionInfoToState() {
-    List<PartitionDescriptor> descriptors = new ArrayList<>();
+    List<PartitionDescriptor> descriptors = new ArrayList<>(this.sizeEvictedWritersDescriptors);
 
     for (DataWriter writer : partitionWriters.asMap().values()) {
       Descriptor descriptor = writer.getDataDescriptor();
@@ -437,7 +661,9 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
         continue;
       }
 
-      descriptors.add((PartitionDescriptor)descriptor);
+      if (!descriptors.contains(descriptor)) {
+        descriptors.add((PartitionDescriptor) descriptor);
+      }
     }
 
     if (descriptors.size() > 0) {
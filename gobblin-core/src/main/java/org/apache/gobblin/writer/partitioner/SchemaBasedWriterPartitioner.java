@@ -27,8 +27,11 @@ import org.apache.gobblin.configuration.State;
 /**
  * A {@link WriterPartitioner} that partitions a record based on its schema. Partition record is returned with
  * field {@link #SCHEMA_STRING} containing the record's schema as a string.
+ *
+ * The partition key is the record's {@link Schema} itself, which caches its hash code, so the schema is only turned
+ * into a string once per partition.
  */
-public class SchemaBasedWriterPartitioner implements WriterPartitioner<GenericRecord> {
+public class SchemaBasedWriterPartitioner implements KeyedWriterPartitioner<GenericRecord, Schema> {
 
   public static final String SCHEMA_STRING = "schemaString";
   private static final Schema SCHEMA = SchemaBuilder.record("Schema").namespace("gobblin.writer.partitioner")
@@ -42,9 +45,14 @@ public class SchemaBasedWriterPartitioner implements WriterPartitioner<GenericRe
   }
 
   @Override
-  public GenericRecord partitionForRecord(GenericRecord record) {
+  public Schema partitionKeyForRecord(GenericRecord record) {
+    return record.getSchema();
+  }
+
+  @Override
+  public GenericRecord partitionForKey(Schema key) {
     GenericRecord partition = new GenericData.Record(SCHEMA);
-    partition.put(SCHEMA_STRING, record.getSchema().toString());
+    partition.put(SCHEMA_STRING, key.toString());
     return partition;
   }
 }
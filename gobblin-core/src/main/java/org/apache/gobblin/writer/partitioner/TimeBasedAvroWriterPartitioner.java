@@ -18,11 +18,16 @@
 package org.apache.gobblin.writer.partitioner;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +47,10 @@ import org.apache.gobblin.util.ForkOperatorUtils;
  * "header.timestamp" field, its value will be used, otherwise "device.timestamp" will be used.
  *
  * If a record contains none of the specified fields, or if no field is specified, the current timestamp will be used.
+ *
+ * The field paths are split once, and the position of each field is resolved once per record {@link Schema}, instead
+ * of going through {@link AvroUtils#getFieldValue(GenericRecord, String)} for every record. Like
+ * {@link AvroUtils#getFieldValue(GenericRecord, String)}, paths can go through records, maps and array indexes.
  */
 @Slf4j
 public class TimeBasedAvroWriterPartitioner extends TimeBasedWriterPartitioner<GenericRecord> {
@@ -50,7 +59,7 @@ public class TimeBasedAvroWriterPartitioner extends TimeBasedWriterPartitioner<G
   public static final String WRITER_PARTITION_ENABLE_PARSE_AS_STRING =
       ConfigurationKeys.WRITER_PREFIX + ".partition.enableParseAsString";
 
-  private final Optional<List<String>> partitionColumns;
+  private final List<FieldPath> partitionColumnPaths;
   private final boolean enableParseAsString;
 
   public TimeBasedAvroWriterPartitioner(State state) {
@@ -59,7 +68,14 @@ public class TimeBasedAvroWriterPartitioner extends TimeBasedWriterPartitioner<G
 
   public TimeBasedAvroWriterPartitioner(State state, int numBranches, int branchId) {
     super(state, numBranches, branchId);
-    this.partitionColumns = getWriterPartitionColumns(state, numBranches, branchId);
+    Optional<List<String>> partitionColumns = getWriterPartitionColumns(state, numBranches, branchId);
+    ImmutableList.Builder<FieldPath> paths = ImmutableList.builder();
+    if (partitionColumns.isPresent()) {
+      for (String partitionColumn : partitionColumns.get()) {
+        paths.add(new FieldPath(partitionColumn));
+      }
+    }
+    this.partitionColumnPaths = paths.build();
     this.enableParseAsString = getEnableParseAsString(state, numBranches, branchId);
     log.info("Enable parse as string: {}", this.enableParseAsString);
   }
@@ -101,19 +117,86 @@ public class TimeBasedAvroWriterPartitioner extends TimeBasedWriterPartitioner<G
   }
 
   /**
-   * Retrieve the value of the partition column field specified by this.partitionColumns
+   * Retrieve the value of the partition column field specified by {@link #WRITER_PARTITION_COLUMNS}
    */
   private Optional<Object> getWriterPartitionColumnValue(GenericRecord record) {
-    if (!this.partitionColumns.isPresent()) {
-      return Optional.absent();
+    for (FieldPath partitionColumnPath : this.partitionColumnPaths) {
+      Object fieldValue = partitionColumnPath.getValue(record);
+      if (fieldValue != null) {
+        return Optional.of(fieldValue);
+      }
     }
+    return Optional.absent();
+  }
 
-    for (String partitionColumn : this.partitionColumns.get()) {
-      Optional<Object> fieldValue = AvroUtils.getFieldValue(record, partitionColumn);
-      if (fieldValue.isPresent()) {
-        return fieldValue;
+  /**
+   * A field location such as "header.timestamp", split once into its steps. The position of a field in a record is
+   * cached for the last seen {@link Schema} of each step, so it is only looked up by name when the schema changes.
+   */
+  private static class FieldPath {
+    private static final Splitter SPLITTER = Splitter.on(AvroUtils.FIELD_LOCATION_DELIMITER).omitEmptyStrings().trimResults();
+
+    private final String[] steps;
+    private final Utf8[] utf8Steps;
+    private final ResolvedField[] resolvedFields;
+
+    FieldPath(String fieldLocation) {
+      List<String> pathList = SPLITTER.splitToList(fieldLocation);
+      this.steps = pathList.toArray(new String[0]);
+      this.utf8Steps = new Utf8[this.steps.length];
+      for (int i = 0; i < this.steps.length; i++) {
+        this.utf8Steps[i] = new Utf8(this.steps[i]);
       }
+      this.resolvedFields = new ResolvedField[this.steps.length];
+    }
+
+    /**
+     * @return the value at this path, or null if any step is missing.
+     */
+    Object getValue(GenericRecord record) {
+      if (this.steps.length == 0) {
+        return null;
+      }
+      Object data = record;
+      for (int i = 0; i < this.steps.length && data != null; i++) {
+        if (data instanceof GenericRecord) {
+          data = getFromRecord((GenericRecord) data, i);
+        } else if (data instanceof Map) {
+          Map map = (Map) data;
+          Object value = map.get(this.utf8Steps[i]);
+          data = value != null ? value : map.get(this.steps[i]);
+        } else if (data instanceof List) {
+          // Wildcards are not supported by AvroUtils#getFieldValue either
+          if ("*".equals(this.steps[i])) {
+            return null;
+          }
+          data = ((List) data).get(Integer.parseInt(this.steps[i]));
+        } else {
+          return null;
+        }
+      }
+      return data;
+    }
+
+    private Object getFromRecord(GenericRecord record, int step) {
+      Schema schema = record.getSchema();
+      ResolvedField resolvedField = this.resolvedFields[step];
+      if (resolvedField == null || resolvedField.schema != schema) {
+        Schema.Field field = schema.getField(this.steps[step]);
+        resolvedField = new ResolvedField(schema, field == null ? -1 : field.pos());
+        this.resolvedFields[step] = resolvedField;
+      }
+      return resolvedField.pos < 0 ? null : record.get(resolvedField.pos);
+    }
+  }
+
+  private static class ResolvedField {
+    private final Schema schema;
+    private final int pos;
+
+    ResolvedField(Schema schema, int pos) {
+      this.schema = schema;
+      this.pos = pos;
     }
-    return Optional.absent();
   }
 }
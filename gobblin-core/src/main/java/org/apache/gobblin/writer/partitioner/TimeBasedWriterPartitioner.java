@@ -27,10 +27,12 @@ import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeFieldType;
 import org.joda.time.DateTimeZone;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Enums;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
@@ -54,9 +56,14 @@ import org.apache.gobblin.util.ForkOperatorUtils;
  * A prefix and a suffix can be added to the partition, e.g., the partition path can be
  * 'prefix/2015/11/05/suffix'.
  *
+ * The partition key of a record is a {@link Long}: the value of the granularity field, or the start of the time bucket
+ * of the lowest time unit in the pattern. The bucket of the last record is remembered, so records of the same bucket
+ * don't need any date computation or formatting, and the partition {@link GenericRecord} is only built by
+ * {@link #partitionForKey(Long)}.
+ *
  * @author Ziyang Liu
  */
-public abstract class TimeBasedWriterPartitioner<D> implements WriterPartitioner<D> {
+public abstract class TimeBasedWriterPartitioner<D> implements KeyedWriterPartitioner<D, Long> {
 
   public static final String WRITER_PARTITION_PREFIX = ConfigurationKeys.WRITER_PREFIX + ".partition.prefix";
   public static final String WRITER_PARTITION_SUFFIX = ConfigurationKeys.WRITER_PREFIX + ".partition.suffix";
@@ -80,6 +87,9 @@ public abstract class TimeBasedWriterPartitioner<D> implements WriterPartitioner
   protected final TimeUnit timeUnit;
   private final Optional<DateTimeFormatter> timestampToPathFormatter;
   private final Schema schema;
+  // The time unit of a partition, or null if the partitioned path pattern can't be bucketed.
+  private final DateTimeFieldType bucketFieldType;
+  private volatile TimeBucket lastBucket;
 
   public TimeBasedWriterPartitioner(State state, int numBranches, int branchId) {
     this.writerPartitionPrefix = getWriterPartitionPrefix(state, numBranches, branchId);
@@ -89,6 +99,7 @@ public abstract class TimeBasedWriterPartitioner<D> implements WriterPartitioner
     this.timeUnit = getTimeUnit(state, numBranches, branchId);
     this.timestampToPathFormatter = getTimestampToPathFormatter(state, numBranches, branchId);
     this.schema = getSchema();
+    this.bucketFieldType = getBucketFieldType(state, numBranches, branchId);
   }
 
   private static String getWriterPartitionPrefix(State state, int numBranches, int branchId) {
@@ -120,6 +131,62 @@ public abstract class TimeBasedWriterPartitioner<D> implements WriterPartitioner
     return Optional.absent();
   }
 
+  private DateTimeFieldType getBucketFieldType(State state, int numBranches, int branchId) {
+    if (!this.timestampToPathFormatter.isPresent()) {
+      return this.granularity.getDateTimeFieldType();
+    }
+    String pattern =
+        state.getProp(ForkOperatorUtils.getPropertyNameForBranch(WRITER_PARTITION_PATTERN, numBranches, branchId));
+    return getLowestBucketFieldType(pattern);
+  }
+
+  /**
+   * @return the finest time unit used by a {@link DateTimeFormat} pattern, such that all timestamps in a bucket of that
+   * unit are formatted the same way, or null if there's no such unit (e.g. the pattern has milliseconds).
+   */
+  @VisibleForTesting
+  static DateTimeFieldType getLowestBucketFieldType(String pattern) {
+    // Ordered from the coarsest to the finest unit
+    DateTimeFieldType[] units = { DateTimeFieldType.year(), DateTimeFieldType.monthOfYear(),
+        DateTimeFieldType.dayOfMonth(), DateTimeFieldType.hourOfDay(), DateTimeFieldType.minuteOfHour(),
+        DateTimeFieldType.secondOfMinute() };
+    int lowest = 0;
+    boolean quoted = false;
+    for (char c : pattern.toCharArray()) {
+      if (c == '\'') {
+        quoted = !quoted;
+        continue;
+      }
+      if (quoted || !Character.isLetter(c)) {
+        continue;
+      }
+      switch (c) {
+        case 'G': case 'C': case 'Y': case 'y': case 'x':
+          break;
+        case 'M':
+          lowest = Math.max(lowest, 1);
+          break;
+        // Weeks are bucketed by day since a week can span two months or years
+        case 'w': case 'e': case 'E': case 'D': case 'd':
+          lowest = Math.max(lowest, 2);
+          break;
+        case 'a': case 'K': case 'h': case 'H': case 'k':
+          lowest = Math.max(lowest, 3);
+          break;
+        case 'm':
+          lowest = Math.max(lowest, 4);
+          break;
+        case 's':
+          lowest = Math.max(lowest, 5);
+          break;
+        default:
+          // Milliseconds, time zones whose offset changes across daylight saving time, and anything unknown
+          return null;
+      }
+    }
+    return units[lowest];
+  }
+
   private static DateTimeZone getTimeZone(State state, int numBranches, int branchId) {
     String propName = ForkOperatorUtils.getPropertyNameForBranch(WRITER_PARTITION_TIMEZONE, numBranches, branchId);
     return DateTimeZone.forID(state.getProp(propName, DEFAULT_WRITER_PARTITION_TIMEZONE));
@@ -142,10 +209,31 @@ public abstract class TimeBasedWriterPartitioner<D> implements WriterPartitioner
     return this.schema;
   }
 
-  @SuppressWarnings("fallthrough")
+  /**
+   * Records are keyed by their timestamp if the pattern can't be bucketed, so writers don't look them up by key.
+   */
+  @Override
+  public boolean isKeyed() {
+    return this.bucketFieldType != null;
+  }
+
   @Override
-  public GenericRecord partitionForRecord(D record) {
+  public Long partitionKeyForRecord(D record) {
     long timestamp = timeUnit.toMillis(getRecordTimestamp(record));
+    if (this.bucketFieldType == null) {
+      return timestamp;
+    }
+
+    TimeBucket bucket = this.lastBucket;
+    if (bucket == null || timestamp < bucket.start || timestamp >= bucket.end) {
+      bucket = getTimeBucket(timestamp);
+      this.lastBucket = bucket;
+    }
+    return bucket.key;
+  }
+
+  @Override
+  public GenericRecord partitionForKey(Long key) {
     GenericRecord partition = new GenericData.Record(this.schema);
     if (!Strings.isNullOrEmpty(this.writerPartitionPrefix)) {
       partition.put(PREFIX, this.writerPartitionPrefix);
@@ -155,16 +243,37 @@ public abstract class TimeBasedWriterPartitioner<D> implements WriterPartitioner
     }
 
     if (this.timestampToPathFormatter.isPresent()) {
-      String partitionedPath = getPartitionedPath(timestamp);
+      String partitionedPath = getPartitionedPath(key);
       partition.put(PARTITIONED_PATH, partitionedPath);
     } else {
-      DateTime dateTime = new DateTime(timestamp, this.timeZone);
-      partition.put(this.granularity.toString(), this.granularity.getField(dateTime));
+      partition.put(this.granularity.toString(), key.intValue());
     }
 
     return partition;
   }
 
+  private TimeBucket getTimeBucket(long timestamp) {
+    DateTime start = new DateTime(timestamp, this.timeZone).property(this.bucketFieldType).roundFloorCopy();
+    DateTime end = start.withFieldAdded(this.bucketFieldType.getDurationType(), 1);
+    long key = this.timestampToPathFormatter.isPresent() ? start.getMillis() : start.get(this.bucketFieldType);
+    return new TimeBucket(start.getMillis(), end.getMillis(), key);
+  }
+
+  /**
+   * The time range [start, end) of a partition and its key.
+   */
+  private static class TimeBucket {
+    private final long start;
+    private final long end;
+    private final Long key;
+
+    TimeBucket(long start, long end, long key) {
+      this.start = start;
+      this.end = end;
+      this.key = key;
+    }
+  }
+
   private Schema getDateTimeFormatBasedSchema() {
     FieldAssembler<Schema> assembler =
         SchemaBuilder.record("GenericRecordTimePartition").namespace("gobblin.writer.partitioner").fields();
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.converter.avro;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.io.IOUtils;
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.SourceState;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.csv.CsvToJsonConverter;
+import org.apache.gobblin.converter.csv.CsvToJsonConverterV2;
+import org.apache.gobblin.source.workunit.Extract;
+import org.apache.gobblin.source.workunit.WorkUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+
+/**
+ * Unit test for {@link CsvToAvroConverter}
+ */
+@Test(groups = {"gobblin.converter"})
+public class CsvToAvroConverterTest {
+  private static final String[] LINES = {
+      "20160924,desktop,Dynamic Segment,42935,0.0446255968324211,1590.4702457202748,348380,8.1141260044252945,232467,206.98603475430664,33028",
+      "20160925,mobile,null,-12,1e-3,,+7,8,NULL,206,0",
+      "20160926,tablet",
+      "\"2016,09,27\",\"say \"\"hi\"\"\",,1,2,3,4,5,6,7,8,extra"
+  };
+
+  @Test
+  public void testSameAsCsvToJsonToAvro()
+      throws Exception {
+    String schema = IOUtils.toString(getClass().getResourceAsStream("/converter/csv/schema_with_11_fields.json"),
+        StandardCharsets.UTF_8);
+
+    WorkUnitState state = createState();
+    state.setProp(ConfigurationKeys.CONVERTER_CSV_TO_JSON_ENCLOSEDCHAR, "\"");
+
+    CsvToJsonConverter csvToJson = new CsvToJsonConverter();
+    JsonArray jsonSchema = csvToJson.convertSchema(schema, state);
+    JsonIntermediateToAvroConverter jsonToAvro = new JsonIntermediateToAvroConverter();
+    Schema expectedSchema = jsonToAvro.convertSchema(jsonSchema, state);
+
+    CsvToAvroConverter converter = new CsvToAvroConverter();
+    converter.init(state);
+    Schema avroSchema = converter.convertSchema(schema, state);
+    Assert.assertEquals(avroSchema, expectedSchema);
+
+    for (String line : LINES) {
+      JsonObject json = csvToJson.convertRecord(jsonSchema, line, state).iterator().next();
+      GenericRecord expected = jsonToAvro.convertRecord(expectedSchema, json, state).iterator().next();
+      GenericRecord actual = converter.convertRecord(avroSchema, line, state).iterator().next();
+      Assert.assertEquals(actual.toString(), expected.toString(), line);
+    }
+    Assert.assertEquals(converter.convertRecord(avroSchema, LINES[3], state).iterator().next().get("DeviceCategory")
+        .toString(), "say \"hi\"");
+  }
+
+  @Test
+  public void testCustomOrder()
+      throws Exception {
+    String schema = "[{\"columnName\":\"city\",\"dataType\":{\"type\":\"string\"}},"
+        + "{\"columnName\":\"country\",\"isNullable\":true,\"dataType\":{\"type\":\"string\"}},"
+        + "{\"columnName\":\"zip_code\",\"dataType\":{\"type\":\"long\"}}]";
+    WorkUnitState state = createState();
+    state.setProp(CsvToJsonConverterV2.CUSTOM_ORDERING, "2,-1,0");
+
+    CsvToAvroConverter converter = new CsvToAvroConverter();
+    converter.init(state);
+    Schema avroSchema = converter.convertSchema(schema, state);
+    GenericRecord record = converter.convertRecord(avroSchema, "94043,2029,Mountain view", state).iterator().next();
+
+    Assert.assertEquals(record.get("city").toString(), "Mountain view");
+    Assert.assertNull(record.get("country"));
+    Assert.assertEquals(record.get("zip_code"), 94043L);
+  }
+
+  @Test
+  public void testTokenizer()
+      throws IOException {
+    CsvToAvroConverter.LineTokenizer tokenizer = new CsvToAvroConverter.LineTokenizer(',', '"');
+    Assert.assertEquals(tokenizer.tokenize("a,\"b,c\",,\"d\r\ne\""), 4);
+    Assert.assertEquals(column(tokenizer, 0), "a");
+    Assert.assertEquals(column(tokenizer, 1), "b,c");
+    Assert.assertTrue(tokenizer.isNull(2));
+    Assert.assertEquals(column(tokenizer, 3), "d\ne");
+
+    Assert.assertEquals(tokenizer.tokenize(""), 1);
+    Assert.assertTrue(tokenizer.isNull(0));
+
+    try {
+      tokenizer.tokenize("a,\"b");
+      Assert.fail("Expected an unclosed quote to fail");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  private static String column(CsvToAvroConverter.LineTokenizer tokenizer, int column) {
+    return tokenizer.sources[column].substring(tokenizer.starts[column], tokenizer.ends[column]);
+  }
+
+  private static WorkUnitState createState() {
+    WorkUnit workUnit = new WorkUnit(new SourceState(),
+        new Extract(new SourceState(), Extract.TableType.SNAPSHOT_ONLY, "namespace", "dummy_table"));
+    WorkUnitState state = new WorkUnitState(workUnit);
+    state.setProp(ConfigurationKeys.CONVERTER_CSV_TO_JSON_DELIMITER, ",");
+    return state;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.converter.avro;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.SourceState;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.DataConversionException;
+import org.apache.gobblin.source.workunit.Extract;
+import org.apache.gobblin.source.workunit.WorkUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+
+/**
+ * Unit test for {@link JsonBytesToAvroConverter}
+ */
+@Test(groups = {"gobblin.converter"})
+public class JsonBytesToAvroConverterTest {
+  private static final String SCHEMA =
+      "[{\"columnName\":\"id\",\"dataType\":{\"type\":\"long\"}},"
+          + "{\"columnName\":\"name\",\"isNullable\":true,\"dataType\":{\"type\":\"string\"}}]";
+
+  @Test
+  public void testSameAsJsonIntermediateToAvroConverter()
+      throws Exception {
+    for (String resource : new String[]{"/converter/schema.json", "/converter/complex1.json",
+        "/converter/complex2.json", "/converter/complex3.json"}) {
+      JsonObject testData = new JsonParser().parse(
+          new InputStreamReader(getClass().getResourceAsStream(resource), StandardCharsets.UTF_8)).getAsJsonObject();
+      JsonArray jsonSchema = testData.get("schema").getAsJsonArray();
+      JsonObject jsonRecord = testData.get("record").getAsJsonObject();
+
+      JsonIntermediateToAvroConverter treeConverter = new JsonIntermediateToAvroConverter();
+      Schema expectedSchema = treeConverter.convertSchema(jsonSchema, createState());
+      GenericRecord expectedRecord =
+          treeConverter.convertRecord(expectedSchema, jsonRecord, createState()).iterator().next();
+
+      JsonBytesToAvroConverter converter = new JsonBytesToAvroConverter();
+      WorkUnitState state = createState();
+      Schema schema = converter.convertSchema(jsonSchema.toString(), state);
+      GenericRecord record = converter.convertRecord(schema,
+          jsonRecord.toString().getBytes(StandardCharsets.UTF_8), state).iterator().next();
+
+      Assert.assertEquals(schema, expectedSchema, resource);
+      Assert.assertEquals(record.toString(), expectedRecord.toString(), resource);
+    }
+  }
+
+  @Test
+  public void testNullable()
+      throws Exception {
+    JsonBytesToAvroConverter converter = new JsonBytesToAvroConverter();
+    WorkUnitState state = createState();
+    Schema schema = converter.convertSchema(SCHEMA, state);
+
+    GenericRecord record = converter.convertRecord(schema,
+        "{\"id\": 12, \"name\": null}".getBytes(StandardCharsets.UTF_8), state).iterator().next();
+    Assert.assertEquals(record.get("id"), 12L);
+    Assert.assertNull(record.get("name"));
+  }
+
+  @Test
+  public void testDropRecords()
+      throws Exception {
+    JsonBytesToAvroConverter converter = new JsonBytesToAvroConverter();
+    WorkUnitState state = createState();
+    state.setProp(ConfigurationKeys.CONVERTER_AVRO_MAX_CONVERSION_FAILURES, 2);
+    Schema schema = converter.convertSchema(SCHEMA, state);
+
+    // id is not nullable, so the first failure drops the record and the second fails the conversion
+    Iterator<GenericRecord> records = converter.convertRecord(schema,
+        "{\"id\": null, \"name\": \"a\"}".getBytes(StandardCharsets.UTF_8), state).iterator();
+    Assert.assertFalse(records.hasNext());
+    try {
+      converter.convertRecord(schema, "{\"id\": null}".getBytes(StandardCharsets.UTF_8), state);
+      Assert.fail("Expected the conversion to fail once the maximum number of failures is reached");
+    } catch (DataConversionException e) {
+      // expected
+    }
+  }
+
+  @Test(expectedExceptions = DataConversionException.class)
+  public void testNotAnObject()
+      throws Exception {
+    JsonBytesToAvroConverter converter = new JsonBytesToAvroConverter();
+    WorkUnitState state = createState();
+    Schema schema = converter.convertSchema(SCHEMA, state);
+    converter.convertRecord(schema, "[1, 2]".getBytes(StandardCharsets.UTF_8), state);
+  }
+
+  private static WorkUnitState createState() {
+    WorkUnit workUnit = new WorkUnit(new SourceState(),
+        new Extract(new SourceState(), Extract.TableType.SNAPSHOT_ONLY, "namespace", "dummy_table"));
+    WorkUnitState state = new WorkUnitState(workUnit);
+    state.setProp(ConfigurationKeys.CONVERTER_AVRO_TIME_FORMAT, "HH:mm:ss");
+    state.setProp(ConfigurationKeys.CONVERTER_AVRO_DATE_TIMEZONE, "PST");
+    return state;
+  }
+}
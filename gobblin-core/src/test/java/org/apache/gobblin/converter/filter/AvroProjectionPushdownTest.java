@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.converter.filter;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.IdentityConverter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+
+
+@Test(groups = { "gobblin.converter.filter" })
+public class AvroProjectionPushdownTest {
+  private static final String PICK_FIELDS = "name,nested1.nested1_string,nested1.nested2_union.nested2_string";
+
+  @Test
+  public void testFilterAndPick() throws Exception {
+    Schema inputSchema =
+        new Schema.Parser().parse(getClass().getResourceAsStream("/converter/pickfields_nested_with_union.avsc"));
+    String filterValue = readRecords(inputSchema).get(0).get("date_of_birth").toString();
+
+    WorkUnitState state = new WorkUnitState();
+    state.setProp(ConfigurationKeys.EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED, true);
+    state.setProp(ConfigurationKeys.CONVERTER_CLASSES_KEY,
+        AvroFilterConverter.class.getName() + "," + AvroFieldsPickConverter.class.getName());
+    state.setProp(ConfigurationKeys.CONVERTER_FILTER_FIELD_NAME, "date_of_birth");
+    state.setProp(ConfigurationKeys.CONVERTER_FILTER_FIELD_VALUE, filterValue);
+    state.setProp(ConfigurationKeys.CONVERTER_AVRO_FIELD_PICK_FIELDS, PICK_FIELDS);
+
+    Optional<Schema> readerSchema = AvroProjectionPushdown.getReaderSchema(state, inputSchema);
+    Assert.assertTrue(readerSchema.isPresent());
+    Assert.assertEquals(readerSchema.get().getFields().size(), 3);
+    Assert.assertNotNull(readerSchema.get().getField("date_of_birth"));
+    Assert.assertNull(readerSchema.get().getField("nested1").schema().getField("nested1_int"));
+
+    // The chain outputs the same records whether the extractor projects the records or not
+    List<GenericRecord> expected = convert(inputSchema, readRecords(inputSchema), state);
+    List<GenericRecord> actual = convert(readerSchema.get(), readRecords(readerSchema.get()), state);
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(actual.size(), expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertEquals(actual.get(i).toString(), expected.get(i).toString());
+    }
+  }
+
+  @Test
+  public void testNoProjection() throws Exception {
+    Schema inputSchema =
+        new Schema.Parser().parse(getClass().getResourceAsStream("/converter/pickfields_nested_with_union.avsc"));
+
+    WorkUnitState state = new WorkUnitState();
+    state.setProp(ConfigurationKeys.CONVERTER_CLASSES_KEY, AvroFieldsPickConverter.class.getName());
+    state.setProp(ConfigurationKeys.CONVERTER_AVRO_FIELD_PICK_FIELDS, PICK_FIELDS);
+    // Disabled by default
+    Assert.assertFalse(AvroProjectionPushdown.getReaderSchema(state, inputSchema).isPresent());
+
+    state.setProp(ConfigurationKeys.EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED, true);
+    Assert.assertTrue(AvroProjectionPushdown.getReaderSchema(state, inputSchema).isPresent());
+
+    // A converter that may read any field comes first
+    state.setProp(ConfigurationKeys.CONVERTER_CLASSES_KEY,
+        IdentityConverter.class.getName() + "," + AvroFieldsPickConverter.class.getName());
+    Assert.assertFalse(AvroProjectionPushdown.getReaderSchema(state, inputSchema).isPresent());
+
+    // The chain doesn't limit its output
+    state.setProp(ConfigurationKeys.CONVERTER_CLASSES_KEY, AvroFilterConverter.class.getName());
+    state.setProp(ConfigurationKeys.CONVERTER_FILTER_FIELD_NAME, "date_of_birth");
+    Assert.assertFalse(AvroProjectionPushdown.getReaderSchema(state, inputSchema).isPresent());
+  }
+
+  private List<GenericRecord> readRecords(Schema readerSchema) throws Exception {
+    try (DataFileReader<GenericRecord> reader = new DataFileReader<>(
+        new File(getClass().getResource("/converter/pickfields_nested_with_union.avro").toURI()),
+        new GenericDatumReader<GenericRecord>(null, readerSchema))) {
+      return Lists.newArrayList((Iterable<GenericRecord>) reader);
+    }
+  }
+
+  private static List<GenericRecord> convert(Schema inputSchema, List<GenericRecord> records, WorkUnitState state)
+      throws Exception {
+    List<GenericRecord> output = Lists.newArrayList();
+    try (AvroFilterConverter filter = new AvroFilterConverter();
+        AvroFieldsPickConverter pick = new AvroFieldsPickConverter()) {
+      filter.init(state);
+      pick.init(state);
+      Schema filteredSchema = filter.convertSchema(inputSchema, state);
+      Schema outputSchema = pick.convertSchema(filteredSchema, state);
+      for (GenericRecord record : records) {
+        for (GenericRecord filtered : filter.convertRecord(filteredSchema, record, state)) {
+          output.addAll(Lists.newArrayList(pick.convertRecord(outputSchema, filtered, state)));
+        }
+      }
+    }
+    return output;
+  }
+}
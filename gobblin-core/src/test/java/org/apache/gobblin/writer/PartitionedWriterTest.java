@@ -20,6 +20,9 @@ package org.apache.gobblin.writer;
 import java.io.IOException;
 import java.util.List;
 
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.testng.util.Strings;
@@ -32,6 +35,7 @@ import org.apache.gobblin.dataset.PartitionDescriptor;
 import org.apache.gobblin.stream.FlushControlMessage;
 import org.apache.gobblin.stream.RecordEnvelope;
 import org.apache.gobblin.writer.test.TestPartitionAwareWriterBuilder;
+import org.apache.gobblin.writer.partitioner.KeyedWriterPartitioner;
 import org.apache.gobblin.writer.test.TestPartitioner;
 
 
@@ -192,4 +196,152 @@ public class PartitionedWriterTest {
     Assert.assertEquals(writer.getTotalRecordsFromEvictedWriters(), 2L);
     Assert.assertEquals(writer.getTotalBytesFromEvictedWriters(), 2L);
   }
+
+  @Test
+  public void testPartitionWriterPoolEviction()
+      throws IOException {
+    State state = new State();
+    state.setProp(ConfigurationKeys.WRITER_PARTITIONER_CLASS, TestPartitioner.class.getCanonicalName());
+    state.setProp(PartitionedDataWriter.PARTITIONED_WRITER_CACHE_MAX_SIZE, 2);
+    state.setProp(PartitionedDataWriter.PARTITIONED_WRITER_ESTIMATED_BUFFERED_BYTES, 100);
+    // The bytes budget only allows a single open writer
+    state.setProp(PartitionedDataWriter.PARTITIONED_WRITER_MAX_BUFFERED_BYTES, 150);
+    TestPartitionAwareWriterBuilder builder = new TestPartitionAwareWriterBuilder();
+
+    PartitionedDataWriter writer = new PartitionedDataWriter<String, String>(builder, state);
+
+    String record1 = "abc";
+    writer.writeEnvelope(new RecordEnvelope(record1));
+    Assert.assertEquals(builder.actions.size(), 2);
+    builder.actions.clear();
+    Assert.assertEquals(writer.getEstimatedBufferedBytes(), 100L);
+
+    // The writer of partition "a" is committed and closed to make room for partition "1"
+    String record2 = "123";
+    writer.writeEnvelope(new RecordEnvelope(record2));
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.BUILD, "1");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.COMMIT, "a");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.CLOSE, "a");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.WRITE, "1");
+    Assert.assertTrue(builder.actions.isEmpty());
+    Assert.assertEquals(writer.getSizeEvictedWriters(), 1L);
+
+    // Partition "a" reappears and rolls to a new writer
+    writer.writeEnvelope(new RecordEnvelope(record1));
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.BUILD, "a");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.COMMIT, "1");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.CLOSE, "1");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.WRITE, "a");
+    Assert.assertTrue(builder.actions.isEmpty());
+    Assert.assertEquals(writer.getSizeEvictedWriters(), 2L);
+
+    Assert.assertEquals(writer.recordsWritten(), 3);
+    Assert.assertEquals(writer.bytesWritten(), 3);
+    Assert.assertEquals(writer.getEstimatedBufferedBytes(), 100L);
+
+    writer.close();
+    List<PartitionDescriptor> partitions = PartitionedDataWriter.getPartitionInfoAndClean(state, 0);
+    Assert.assertEquals(partitions.size(), 2);
+  }
+
+  @Test
+  public void testPartitionWriterPoolEvictionFailure()
+      throws IOException {
+    State state = new State();
+    state.setProp(ConfigurationKeys.WRITER_PARTITIONER_CLASS, TestPartitioner.class.getCanonicalName());
+    state.setProp(PartitionedDataWriter.PARTITIONED_WRITER_CACHE_MAX_SIZE, 1);
+    TestPartitionAwareWriterBuilder builder = new TestPartitionAwareWriterBuilder();
+
+    PartitionedDataWriter writer = new PartitionedDataWriter<String, String>(builder, state);
+    writer.writeEnvelope(new RecordEnvelope("abc"));
+
+    // The commit of the evicted writer of partition "a" fails
+    builder.failCommits = true;
+    try {
+      writer.writeEnvelope(new RecordEnvelope("123"));
+      Assert.fail("The failed commit of an evicted writer should fail the write.");
+    } catch (IOException ioe) {
+      Assert.assertTrue(ioe.getCause().getMessage().contains("partition a"));
+    }
+    // The evicted writer is closed even though its commit failed
+    Assert.assertTrue(builder.actions.contains(
+        new TestPartitionAwareWriterBuilder.Action(TestPartitionAwareWriterBuilder.Actions.CLOSE, "a", null)));
+
+    builder.failCommits = false;
+    try {
+      writer.commit();
+      Assert.fail("The failed commit of an evicted writer should fail the commit.");
+    } catch (IOException ioe) {
+      // expected
+    }
+    writer.close();
+  }
+
+  @Test
+  public void testKeyedPartitioner()
+      throws IOException {
+    State state = new State();
+    state.setProp(ConfigurationKeys.WRITER_PARTITIONER_CLASS, TestKeyedPartitioner.class.getName());
+    TestPartitionAwareWriterBuilder builder = new TestPartitionAwareWriterBuilder();
+    PartitionedDataWriter writer = new PartitionedDataWriter<String, String>(builder, state);
+
+    writer.writeEnvelope(new RecordEnvelope("abc"));
+    writer.writeEnvelope(new RecordEnvelope("axy"));
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.BUILD, "a");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.WRITE, "a");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.WRITE, "a");
+    writer.close();
+
+    // The override of partitionForRecord is used instead of the keys
+    state.setProp(ConfigurationKeys.WRITER_PARTITIONER_CLASS, TestOverridingKeyedPartitioner.class.getName());
+    builder = new TestPartitionAwareWriterBuilder();
+    writer = new PartitionedDataWriter<String, String>(builder, state);
+
+    writer.writeEnvelope(new RecordEnvelope("abc"));
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.BUILD, "c");
+    writer.close();
+  }
+
+  public static class TestKeyedPartitioner implements KeyedWriterPartitioner<String, Character> {
+    private final TestPartitioner testPartitioner;
+
+    public TestKeyedPartitioner(State state, int numBranches, int branchId) {
+      this.testPartitioner = new TestPartitioner(state, numBranches, branchId);
+    }
+
+    @Override
+    public Schema partitionSchema() {
+      return this.testPartitioner.partitionSchema();
+    }
+
+    @Override
+    public Character partitionKeyForRecord(String record) {
+      return record.toLowerCase().charAt(0);
+    }
+
+    @Override
+    public GenericRecord partitionForKey(Character key) {
+      GenericRecord partition = new GenericData.Record(partitionSchema());
+      partition.put(TestPartitioner.PARTITION, key);
+      return partition;
+    }
+  }
+
+  public static class TestOverridingKeyedPartitioner extends TestKeyedPartitioner {
+
+    public TestOverridingKeyedPartitioner(State state, int numBranches, int branchId) {
+      super(state, numBranches, branchId);
+    }
+
+    @Override
+    public GenericRecord partitionForRecord(String record) {
+      return partitionForKey(record.toLowerCase().charAt(record.length() - 1));
+    }
+  }
+
+  private void assertAction(TestPartitionAwareWriterBuilder.Action action, TestPartitionAwareWriterBuilder.Actions type,
+      String partition) {
+    Assert.assertEquals(action.getType(), type);
+    Assert.assertEquals(action.getPartition(), partition);
+  }
 }
@@ -26,6 +26,7 @@ import org.apache.avro.generic.GenericRecordBuilder;
 import org.apache.avro.util.Utf8;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.fs.Path;
+import org.joda.time.DateTimeFieldType;
 
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
@@ -165,6 +166,51 @@ public class TimeBasedAvroWriterPartitionerTest {
     Assert.assertEquals(partitioner.getRecordTimestamp(genericRecordBuilder.build()), 1557786583L);
   }
 
+  @Test
+  public void testPartitionKey() {
+    State state = getBasicState();
+    TimeBasedAvroWriterPartitioner partitioner = new TimeBasedAvroWriterPartitioner(state);
+    GenericRecordBuilder genericRecordBuilder = new GenericRecordBuilder(getRecordSchema("long"));
+
+    // Both timestamps are on 2015/01/01 in the default timezone
+    GenericRecord record1 = genericRecordBuilder.set("timestamp", 1420099200000L).build();
+    GenericRecord record2 = genericRecordBuilder.set("timestamp", 1420099200000L + 3600000L).build();
+    // 2015/01/02
+    GenericRecord record3 = genericRecordBuilder.set("timestamp", 1420185600000L).build();
+
+    Long key1 = partitioner.partitionKeyForRecord(record1);
+    Assert.assertEquals(partitioner.partitionKeyForRecord(record2), key1);
+    Assert.assertNotEquals(partitioner.partitionKeyForRecord(record3), key1);
+    Assert.assertEquals(partitioner.partitionForKey(key1).get(TimeBasedWriterPartitioner.PARTITIONED_PATH),
+        "2015/01/01");
+    Assert.assertEquals(partitioner.partitionForRecord(record3).get(TimeBasedWriterPartitioner.PARTITIONED_PATH),
+        "2015/01/02");
+
+    // Granularity based partitions only keep the value of the granularity field
+    state.removeProp(TimeBasedWriterPartitioner.WRITER_PARTITION_PATTERN);
+    state.setProp(TimeBasedWriterPartitioner.WRITER_PARTITION_GRANULARITY, "hour");
+    partitioner = new TimeBasedAvroWriterPartitioner(state);
+    Assert.assertEquals(partitioner.partitionKeyForRecord(record1), partitioner.partitionKeyForRecord(record3));
+    Assert.assertEquals(partitioner.partitionForRecord(record1).get("HOUR"), 0);
+    Assert.assertEquals(partitioner.partitionForRecord(record2).get("HOUR"), 1);
+  }
+
+  @Test
+  public void testGetLowestBucketFieldType() {
+    Assert.assertEquals(TimeBasedWriterPartitioner.getLowestBucketFieldType("yyyy/MM/dd"),
+        DateTimeFieldType.dayOfMonth());
+    Assert.assertEquals(TimeBasedWriterPartitioner.getLowestBucketFieldType("yyyy/MM/dd/HH"),
+        DateTimeFieldType.hourOfDay());
+    Assert.assertEquals(TimeBasedWriterPartitioner.getLowestBucketFieldType("'hourly'/yyyy/MM"),
+        DateTimeFieldType.monthOfYear());
+    Assert.assertEquals(TimeBasedWriterPartitioner.getLowestBucketFieldType("yyyy/ww"),
+        DateTimeFieldType.dayOfMonth());
+    Assert.assertNull(TimeBasedWriterPartitioner.getLowestBucketFieldType("yyyy/MM/dd/HH/mm/ss/SSS"));
+    // The zone offset changes across daylight saving time
+    Assert.assertNull(TimeBasedWriterPartitioner.getLowestBucketFieldType("yyyy/MM/dd/Z"));
+    Assert.assertNull(TimeBasedWriterPartitioner.getLowestBucketFieldType("yyyy/MM/dd/z"));
+  }
+
   @AfterClass
   public void tearDown() throws IOException {
     FileUtils.deleteDirectory(new File(TEST_ROOT_DIR));
@@ -37,6 +37,7 @@ import lombok.Data;
 public class TestPartitionAwareWriterBuilder extends PartitionAwareDataWriterBuilder<String, String> {
 
   public final Queue<Action> actions = Queues.newArrayDeque();
+  public boolean failCommits = false;
 
   public enum Actions {
     BUILD, WRITE, COMMIT, CLEANUP, CLOSE
@@ -92,6 +93,9 @@ public class TestPartitionAwareWriterBuilder extends PartitionAwareDataWriterBui
     public void commit()
         throws IOException {
       actions.add(new Action(Actions.COMMIT, this.partition, null));
+      if (failCommits) {
+        throw new IOException("Failed to commit partition " + this.partition);
+      }
     }
 
     @Override
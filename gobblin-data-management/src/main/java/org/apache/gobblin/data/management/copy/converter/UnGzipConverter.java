@@ -19,6 +19,7 @@ package org.apache.gobblin.data.management.copy.converter;
 
 import javax.annotation.Nullable;
 
+import org.apache.gobblin.codec.ParallelGzipCodec;
 import org.apache.gobblin.converter.Converter;
 import org.apache.gobblin.util.io.StreamUtils;
 
@@ -36,7 +37,8 @@ import com.google.common.collect.Lists;
 /**
  * A {@link Converter} that converts an archived {@link InputStream} to a tar {@link InputStream}. Wraps the given
  * archived (.tar.gz or .tgz) {@link InputStream} with {@link GZIPInputStream} Use this converter if the
- * {@link InputStream} from source is compressed.
+ * {@link InputStream} from source is compressed. Files written by {@link ParallelGzipCodec} are decompressed
+ * concurrently.
  * It also converts the destination file name by removing tar and gz extensions.
  */
 public class UnGzipConverter extends DistcpConverter {
@@ -50,7 +52,7 @@ public class UnGzipConverter extends DistcpConverter {
     return new Function<InputStream, InputStream>() {
       @Nullable @Override public InputStream apply(InputStream input) {
         try {
-          return StreamUtils.convertStream(new GZIPInputStream(input));
+          return StreamUtils.convertStream(new ParallelGzipCodec().decodeInputStream(input));
         } catch (IOException ioe) {
           throw new RuntimeException(ioe);
         }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.data.management.copy.writer;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.codahale.metrics.Meter;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import org.apache.gobblin.broker.gobblin_scopes.GobblinScopeTypes;
+import org.apache.gobblin.data.management.copy.CopyableFile;
+import org.apache.gobblin.util.io.StreamThrottler;
+
+
+/**
+ * A copy of a file, or of a split of a file, to be made by a {@link CopyStrategy}.
+ */
+@Getter
+@Builder
+public class CopyRequest {
+
+  private final CopyableFile copyableFile;
+
+  /** The stream opened by the extractor, at {@link #sourceOffset}. */
+  private final InputStream inputStream;
+
+  /**
+   * Whether {@link #inputStream} outputs the bytes of the origin file as they are, i.e. no converter transforms
+   * them. Strategies that read the origin file directly can only be used if it does.
+   */
+  private final boolean rawInputStream;
+
+  /** Position in the origin file of the first byte to copy. */
+  private final long sourceOffset;
+
+  /** Maximum number of bytes to copy, or null to copy until the end of the file. */
+  private final Long maxBytes;
+
+  private final FileSystem targetFs;
+  private final Path target;
+  private final short replication;
+  private final long blockSize;
+  private final int bufferSize;
+
+  /** The encryption config of the writer, or null if the output is not encrypted. */
+  private final Map<String, Object> encryptionConfig;
+
+  private final StreamThrottler<GobblinScopeTypes> throttler;
+  private final URI sourceURI;
+  private final URI targetURI;
+
+  /** Meter of the bytes copied, or null if instrumentation is disabled. */
+  private final Meter copySpeedMeter;
+}
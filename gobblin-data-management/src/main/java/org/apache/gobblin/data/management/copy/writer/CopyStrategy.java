@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.data.management.copy.writer;
+
+import java.io.IOException;
+
+
+/**
+ * A way for {@link FileAwareInputStreamDataWriter} to copy the bytes of a file, or of a split of a file, to its
+ * staging path.
+ *
+ * <p>
+ *   The strategies listed in {@link FileAwareInputStreamDataWriter#GOBBLIN_COPY_STRATEGIES} are tried in order, and
+ *   the first one that can copy a file is used. {@link StreamCopyStrategy}, which can copy any file, is always tried
+ *   last. Implementations must have a public no-argument constructor, must throttle the copy with the
+ *   {@link org.apache.gobblin.util.io.StreamThrottler} of the {@link CopyRequest}, and must close its input stream.
+ * </p>
+ */
+public interface CopyStrategy {
+
+  /**
+   * @return whether this strategy can copy the file of the {@link CopyRequest}
+   */
+  boolean canCopy(CopyRequest request) throws IOException;
+
+  /**
+   * Copy the file of the {@link CopyRequest} to {@link CopyRequest#getTarget()}, which doesn't exist yet.
+   *
+   * @return the number of bytes copied
+   */
+  long copy(CopyRequest request) throws IOException;
+}
@@ -19,7 +19,6 @@ package org.apache.gobblin.data.management.copy.writer;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Iterator;
@@ -42,6 +41,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.base.Strings;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,8 +53,8 @@ import org.apache.gobblin.commit.SpeculativeAttemptAwareConstruct;
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.IdentityConverter;
 import org.apache.gobblin.crypto.EncryptionConfigParser;
-import org.apache.gobblin.crypto.EncryptionFactory;
 import org.apache.gobblin.data.management.copy.CopyConfiguration;
 import org.apache.gobblin.data.management.copy.CopyEntity;
 import org.apache.gobblin.data.management.copy.CopySource;
@@ -66,6 +66,7 @@ import org.apache.gobblin.data.management.copy.recovery.RecoveryHelper;
 import org.apache.gobblin.data.management.copy.splitter.DistcpFileSplitter;
 import org.apache.gobblin.instrumented.writer.InstrumentedDataWriter;
 import org.apache.gobblin.state.ConstructState;
+import org.apache.gobblin.util.ClassAliasResolver;
 import org.apache.gobblin.util.FileListUtils;
 import org.apache.gobblin.util.FinalState;
 import org.apache.gobblin.util.ForkOperatorUtils;
@@ -73,7 +74,6 @@ import org.apache.gobblin.util.PathUtils;
 import org.apache.gobblin.util.WriterUtils;
 import org.apache.gobblin.util.io.StreamCopier;
 import org.apache.gobblin.util.io.StreamThrottler;
-import org.apache.gobblin.util.io.ThrottledInputStream;
 import org.apache.gobblin.writer.DataWriter;
 
 
@@ -90,6 +90,11 @@ public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileA
   public static final boolean DEFAULT_GOBBLIN_COPY_TASK_OVERWRITE_ON_COMMIT = false;
   public static final String STAGING_DIR_SUFFIX = "/taskStaging";
   public static final String DATASET_STAGING_DIR_PATH = "dataset.staging.dir.path";
+  /**
+   * Comma separated aliases or class names of the {@link CopyStrategy}s to try, in order, before copying files
+   * through streams with the {@link StreamCopyStrategy}.
+   */
+  public static final String GOBBLIN_COPY_STRATEGIES = "gobblin.copy.strategies";
 
   protected final AtomicLong bytesWritten = new AtomicLong();
   protected final AtomicLong filesWritten = new AtomicLong();
@@ -105,6 +110,8 @@ public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileA
   private final boolean checkFileSize;
   private final Options.Rename renameOptions;
   private final FileContext fileContext;
+  private final List<CopyStrategy> copyStrategies;
+  private final boolean rawInputStream;
 
   protected final Meter copySpeedMeter;
 
@@ -179,6 +186,10 @@ public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileA
     } else {
       this.renameOptions = Options.Rename.NONE;
     }
+
+    this.copyStrategies = createCopyStrategies(state);
+    this.rawInputStream = state.getPropAsList(ConfigurationKeys.CONVERTER_CLASSES_KEY, "").stream()
+        .allMatch(converterClass -> converterClass.equals(IdentityConverter.class.getName()));
   }
 
   public FileAwareInputStreamDataWriter(State state, int numBranches, int branchId)
@@ -263,44 +274,78 @@ public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileA
         return;
       }
 
-      OutputStream os =
-          this.fs.create(writeAt, true, this.fs.getConf().getInt("io.file.buffer.size", 4096), replication, blockSize);
-      if (encryptionConfig != null) {
-        os = EncryptionFactory.buildStreamCryptoProvider(encryptionConfig).encodeOutputStream(os);
-      }
+      StreamThrottler<GobblinScopeTypes> throttler;
       try {
-        FileSystem defaultFS = FileSystem.get(new Configuration());
-        StreamThrottler<GobblinScopeTypes> throttler =
-            this.taskBroker.getSharedResource(new StreamThrottler.Factory<GobblinScopeTypes>(), new EmptyKey());
-        ThrottledInputStream throttledInputStream = throttler.throttleInputStream().inputStream(inputStream)
-            .sourceURI(copyableFile.getOrigin().getPath().makeQualified(defaultFS.getUri(), defaultFS.getWorkingDirectory()).toUri())
-            .targetURI(this.fs.makeQualified(writeAt).toUri()).build();
-        StreamCopier copier = new StreamCopier(throttledInputStream, os, maxBytes).withBufferSize(this.bufferSize);
-
-        log.info("File {}: Starting copy", copyableFile.getOrigin().getPath());
-
-        if (isInstrumentationEnabled()) {
-          copier.withCopySpeedMeter(this.copySpeedMeter);
-        }
-        long numBytes = copier.copy();
-        if ((this.checkFileSize || mustMatchMaxBytes) && numBytes != expectedBytes) {
-          throw new IOException(String.format("Incomplete write: expected %d, wrote %d bytes.",
-              expectedBytes, numBytes));
-        }
-        this.bytesWritten.addAndGet(numBytes);
-        if (isInstrumentationEnabled()) {
-          log.info("File {}: copied {} bytes, average rate: {} B/s", copyableFile.getOrigin().getPath(),
-              this.copySpeedMeter.getCount(), this.copySpeedMeter.getMeanRate());
-        } else {
-          log.info("File {} copied.", copyableFile.getOrigin().getPath());
-        }
+        throttler = this.taskBroker.getSharedResource(new StreamThrottler.Factory<GobblinScopeTypes>(), new EmptyKey());
       } catch (NotConfiguredException nce) {
         log.warn("Broker error. Some features of stream copier may not be available.", nce);
-      } finally {
-        os.close();
+        this.fs.create(writeAt, true, this.fs.getConf().getInt("io.file.buffer.size", 4096), replication, blockSize)
+            .close();
         inputStream.close();
+        return;
+      }
+
+      FileSystem defaultFS = FileSystem.get(new Configuration());
+      CopyRequest request = CopyRequest.builder()
+          .copyableFile(copyableFile)
+          .inputStream(inputStream)
+          .rawInputStream(this.rawInputStream)
+          .sourceOffset(record.getSplit().isPresent() ? record.getSplit().get().getLowPosition() : 0)
+          .maxBytes(maxBytes)
+          .targetFs(this.fs)
+          .target(writeAt)
+          .replication(replication)
+          .blockSize(blockSize)
+          .bufferSize(this.bufferSize)
+          .encryptionConfig(this.encryptionConfig)
+          .throttler(throttler)
+          .sourceURI(copyableFile.getOrigin().getPath().makeQualified(defaultFS.getUri(), defaultFS.getWorkingDirectory()).toUri())
+          .targetURI(this.fs.makeQualified(writeAt).toUri())
+          .copySpeedMeter(isInstrumentationEnabled() ? this.copySpeedMeter : null)
+          .build();
+      CopyStrategy copyStrategy = selectCopyStrategy(request);
+
+      log.info("File {}: Starting copy with {}", copyableFile.getOrigin().getPath(),
+          copyStrategy.getClass().getSimpleName());
+
+      long numBytes = copyStrategy.copy(request);
+      if ((this.checkFileSize || mustMatchMaxBytes) && numBytes != expectedBytes) {
+        throw new IOException(String.format("Incomplete write: expected %d, wrote %d bytes.",
+            expectedBytes, numBytes));
+      }
+      this.bytesWritten.addAndGet(numBytes);
+      if (isInstrumentationEnabled()) {
+        log.info("File {}: copied {} bytes, average rate: {} B/s", copyableFile.getOrigin().getPath(),
+            this.copySpeedMeter.getCount(), this.copySpeedMeter.getMeanRate());
+      } else {
+        log.info("File {} copied.", copyableFile.getOrigin().getPath());
+      }
+    }
+  }
+
+  private CopyStrategy selectCopyStrategy(CopyRequest request) throws IOException {
+    for (CopyStrategy copyStrategy : this.copyStrategies) {
+      if (copyStrategy.canCopy(request)) {
+        return copyStrategy;
+      }
+    }
+    return new StreamCopyStrategy();
+  }
+
+  private static List<CopyStrategy> createCopyStrategies(State state) throws IOException {
+    if (!state.contains(GOBBLIN_COPY_STRATEGIES)) {
+      return Collections.emptyList();
+    }
+    ClassAliasResolver<CopyStrategy> aliasResolver = new ClassAliasResolver<>(CopyStrategy.class);
+    List<CopyStrategy> copyStrategies = Lists.newArrayList();
+    for (String copyStrategy : state.getPropAsList(GOBBLIN_COPY_STRATEGIES, "")) {
+      try {
+        copyStrategies.add(aliasResolver.resolveClass(copyStrategy).newInstance());
+      } catch (ReflectiveOperationException roe) {
+        throw new IOException("Could not create copy strategy " + copyStrategy, roe);
       }
     }
+    return copyStrategies;
   }
 
   /**
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.data.management.copy.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.hadoop.fs.ChecksumFileSystem;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+
+import com.google.common.base.Optional;
+import com.google.common.io.Closer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.annotation.Alias;
+import org.apache.gobblin.util.limiter.Limiter;
+
+
+/**
+ * A {@link CopyStrategy} that copies a file from and to the local file system with {@link FileChannel#transferTo},
+ * so the bytes are copied by the kernel without going through the JVM heap.
+ *
+ * <p>
+ *   It is only used when the origin file and the staging path are both on the local file system, the input stream
+ *   is not transformed by converters, the output is not encrypted, and the origin file has no checksum file (as the
+ *   checksum would not be verified). The bytes copied are throttled in chunks of the buffer size.
+ * </p>
+ */
+@Slf4j
+@Alias(value = "localFileChannel")
+public class LocalFileChannelCopyStrategy implements CopyStrategy {
+
+  private static final String LOCAL_SCHEME = "file";
+
+  @Override
+  public boolean canCopy(CopyRequest request) throws IOException {
+    if (!request.isRawInputStream() || request.getEncryptionConfig() != null
+        || !getLocalFile(request.getTargetFs(), request.getTarget()).isPresent()) {
+      return false;
+    }
+    Path origin = request.getCopyableFile().getOrigin().getPath();
+    if (!LOCAL_SCHEME.equals(origin.toUri().getScheme())) {
+      return false;
+    }
+    File checksumFile = new File(ChecksumFileSystem.getChecksumFile(origin).toUri().getPath());
+    return !checksumFile.exists();
+  }
+
+  @Override
+  public long copy(CopyRequest request) throws IOException {
+    File origin = new File(request.getCopyableFile().getOrigin().getPath().toUri().getPath());
+    File target = getLocalFile(request.getTargetFs(), request.getTarget()).get();
+    Limiter limiter = request.getThrottler().getLimiter(request.getSourceURI(), request.getTargetURI());
+    long chunkSize = Math.max(request.getBufferSize(), 1);
+
+    try (Closer closer = Closer.create()) {
+      closer.register(request.getInputStream());
+      FileChannel source = closer.register(FileChannel.open(origin.toPath(), StandardOpenOption.READ));
+      // Like the stream copy, overwrite the staging file a previous attempt may have left
+      FileChannel sink = closer.register(FileChannel.open(target.toPath(), StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+
+      long end = source.size();
+      if (request.getMaxBytes() != null) {
+        end = Math.min(end, request.getSourceOffset() + request.getMaxBytes());
+      }
+      long position = request.getSourceOffset();
+      while (position < end) {
+        long count = Math.min(chunkSize, end - position);
+        if (limiter.acquirePermits(count) == null) {
+          throw new IOException("Could not acquire permits.");
+        }
+        long transferred = source.transferTo(position, count, sink);
+        if (transferred <= 0) {
+          break;
+        }
+        position += transferred;
+        if (request.getCopySpeedMeter() != null) {
+          request.getCopySpeedMeter().mark(transferred);
+        }
+      }
+      return position - request.getSourceOffset();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while copying " + origin, ie);
+    }
+  }
+
+  private static Optional<File> getLocalFile(FileSystem fs, Path path) {
+    if (fs instanceof LocalFileSystem) {
+      return Optional.of(((LocalFileSystem) fs).pathToFile(path));
+    }
+    if (fs instanceof RawLocalFileSystem) {
+      return Optional.of(((RawLocalFileSystem) fs).pathToFile(path));
+    }
+    return Optional.absent();
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.data.management.copy.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.hadoop.fs.FileSystem;
+
+import org.apache.gobblin.crypto.EncryptionFactory;
+import org.apache.gobblin.util.io.StreamCopier;
+import org.apache.gobblin.util.io.ThrottledInputStream;
+
+
+/**
+ * A {@link CopyStrategy} that copies the input stream of the extractor to an output stream of the target
+ * {@link FileSystem} with a {@link StreamCopier}. It can copy any file, and encrypts the output if configured to.
+ */
+public class StreamCopyStrategy implements CopyStrategy {
+
+  @Override
+  public boolean canCopy(CopyRequest request) {
+    return true;
+  }
+
+  @Override
+  public long copy(CopyRequest request) throws IOException {
+    FileSystem fs = request.getTargetFs();
+    OutputStream os = fs.create(request.getTarget(), true, fs.getConf().getInt("io.file.buffer.size", 4096),
+        request.getReplication(), request.getBlockSize());
+    if (request.getEncryptionConfig() != null) {
+      os = EncryptionFactory.buildStreamCryptoProvider(request.getEncryptionConfig()).encodeOutputStream(os);
+    }
+    try {
+      ThrottledInputStream throttledInputStream = request.getThrottler().throttleInputStream()
+          .inputStream(request.getInputStream()).sourceURI(request.getSourceURI()).targetURI(request.getTargetURI())
+          .build();
+      StreamCopier copier = new StreamCopier(throttledInputStream, os, request.getMaxBytes())
+          .withBufferSize(request.getBufferSize());
+      if (request.getCopySpeedMeter() != null) {
+        copier.withCopySpeedMeter(request.getCopySpeedMeter());
+      }
+      return copier.copy();
+    } finally {
+      os.close();
+      request.getInputStream().close();
+    }
+  }
+}
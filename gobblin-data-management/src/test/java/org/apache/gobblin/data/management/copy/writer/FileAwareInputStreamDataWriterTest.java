@@ -160,6 +160,44 @@ public class FileAwareInputStreamDataWriterTest {
         streamString.substring(0, (int) splitLen));
   }
 
+  @Test
+  public void testWriteWithLocalFileChannel() throws Exception {
+    String fileContents = "testLocalFileChannelContents";
+    File originFile = new File(testTempPath.toString(), "origin_" + RandomStringUtils.randomAlphabetic(5));
+    Files.write(fileContents.getBytes("UTF-8"), originFile);
+
+    FileStatus status = fs.getFileStatus(testTempPath);
+    OwnerAndPermission ownerAndPermission =
+        new OwnerAndPermission(status.getOwner(), status.getGroup(), new FsPermission(FsAction.ALL, FsAction.ALL, FsAction.ALL));
+    CopyableFile cf = CopyableFileUtils.getTestCopyableFile(ownerAndPermission);
+    cf.setOrigin(new FileStatus(originFile.length(), false, 0, 0L, 0L, new Path(originFile.toURI())));
+
+    CopyableDatasetMetadata metadata = new CopyableDatasetMetadata(new TestCopyableDataset(new Path("/source")));
+
+    WorkUnitState state = TestUtils.createTestWorkUnitState();
+    state.setProp(ConfigurationKeys.WRITER_STAGING_DIR, new Path(testTempPath, "staging").toString());
+    state.setProp(ConfigurationKeys.WRITER_OUTPUT_DIR, new Path(testTempPath, "output").toString());
+    state.setProp(ConfigurationKeys.WRITER_FILE_PATH, RandomStringUtils.randomAlphabetic(5));
+    state.setProp(FileAwareInputStreamDataWriter.GOBBLIN_COPY_STRATEGIES, LocalFileChannelCopyStrategy.class.getName());
+    state.setProp(FileAwareInputStreamDataWriter.GOBBLIN_COPY_CHECK_FILESIZE, true);
+
+    CopySource.serializeCopyEntity(state, cf);
+    CopySource.serializeCopyableDataset(state, metadata);
+
+    FileAwareInputStreamDataWriter dataWriter = new FileAwareInputStreamDataWriter(state, 1, 0);
+
+    // The origin file is transferred directly, the stream opened by the extractor is only closed
+    FileAwareInputStream fileAwareInputStream = FileAwareInputStream.builder().file(cf)
+        .inputStream(StreamUtils.convertStream(IOUtils.toInputStream("unused"))).build();
+    dataWriter.write(fileAwareInputStream);
+    dataWriter.commit();
+
+    Path writtenFilePath = new Path(new Path(state.getProp(ConfigurationKeys.WRITER_OUTPUT_DIR),
+        cf.getDatasetAndPartition(metadata).identifier()), cf.getDestination());
+    Assert.assertEquals(IOUtils.toString(new FileInputStream(writtenFilePath.toString())), fileContents);
+    Assert.assertEquals(dataWriter.bytesWritten(), fileContents.length());
+  }
+
   @Test
   public void testWriteWithEncryption() throws Exception {
     byte[] streamString = "testEncryptedContents".getBytes("UTF-8");
@@ -49,6 +49,14 @@ public interface DatasetStateStore<T extends State> extends StateStore<T> {
 
   public Map<String, T> getLatestDatasetStatesByUrns(String jobName) throws IOException;
 
+  /**
+   * Get a {@link Map} from dataset URNs to the latest dataset states projected down to their watermarks. Stores that
+   * do not keep such a projection return the full dataset states.
+   */
+  default Map<String, T> getLatestWatermarkProjectionsByUrns(String jobName) throws IOException {
+    return getLatestDatasetStatesByUrns(jobName);
+  }
+
   public T getLatestDatasetState(String storeName, String datasetUrn) throws IOException;
 
   public void persistDatasetState(String datasetUrn, T datasetState) throws IOException;
@@ -106,10 +106,13 @@ public class MetricContext extends MetricRegistry implements ReportableContext,
   // is alive.
   private final Set<ContextAwareMetric> contextAwareMetricsSet;
 
+  private final boolean isRoot;
+
   protected MetricContext(String name, MetricContext parent, List<Tag<?>> tags, boolean isRoot) throws NameConflictException {
     Preconditions.checkArgument(!Strings.isNullOrEmpty(name));
 
     this.closer = Closer.create();
+    this.isRoot = isRoot;
 
     try {
       this.innerMetricContext = this.closer.register(new InnerMetricContext(this, name, parent, tags));
@@ -600,7 +603,8 @@ public class MetricContext extends MetricRegistry implements ReportableContext,
   }
 
   /**
-   * Send a notification to all targets of this context and to the parent of this context.
+   * Send a notification to all targets of this context and to the parent of this context. A detached context, which
+   * has no parent, sends the notification to the {@link RootMetricContext} instead.
    * @param notification {@link org.apache.gobblin.metrics.notification.Notification} to send.
    */
   public void sendNotification(final Notification notification) {
@@ -618,6 +622,8 @@ public class MetricContext extends MetricRegistry implements ReportableContext,
 
     if(getParent().isPresent()) {
       getParent().get().sendNotification(notification);
+    } else if (!this.isRoot) {
+      RootMetricContext.get().sendNotification(notification);
     }
     timer.stop();
   }
@@ -647,6 +653,7 @@ public class MetricContext extends MetricRegistry implements ReportableContext,
 
     private String name;
     private MetricContext parent = null;
+    private boolean detached = false;
     private final List<Tag<?>> tags = Lists.newArrayList();
 
     public Builder(String name) {
@@ -670,6 +677,19 @@ public class MetricContext extends MetricRegistry implements ReportableContext,
       return this;
     }
 
+    /**
+     * Build a {@link MetricContext} without a parent, so updates to its metrics are not applied to the metrics of the
+     * same name in any other {@link MetricContext}. The built {@link MetricContext} is still reported and sends its
+     * notifications to the {@link RootMetricContext}.
+     *
+     * @return {@code this}
+     */
+    public Builder detached() {
+      Preconditions.checkState(this.parent == null, "Cannot detach a child context from its parent");
+      this.detached = true;
+      return this;
+    }
+
     /**
      * Add a single {@link Tag}.
      *
@@ -733,7 +753,7 @@ public class MetricContext extends MetricRegistry implements ReportableContext,
      * @throws NameConflictException if the parent {@link MetricContext} already has a child with this name.
      */
     public MetricContext buildStrict() throws NameConflictException {
-      if(this.parent == null) {
+      if(this.parent == null && !this.detached) {
         hasParent(RootMetricContext.get());
       }
       return new MetricContext(this.name, this.parent, this.tags, false);
@@ -30,6 +30,7 @@ public class TaskEvent {
   public static final String TASK_STATE = "TaskStateEvent";
   public static final String TASK_FAILED = "TaskFailed";
   public static final String TASK_COMMITTED_EVENT_NAME = "taskCommitted";
+  public static final String TASK_STAGE_BREAKDOWN_EVENT_NAME = "taskStageBreakdown";
 
   public static final String METADATA_TASK_ID = "taskId";
   public static final String METADATA_TASK_ATTEMPT_ID = "taskAttemptId";
@@ -18,6 +18,7 @@
 package org.apache.gobblin.metrics;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.SortedSet;
@@ -36,9 +37,12 @@ import com.codahale.metrics.Meter;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.Timer;
+import com.google.common.base.Function;
+import com.google.common.collect.Lists;
 
 import static org.apache.gobblin.metrics.test.TestConstants.*;
 
+import org.apache.gobblin.metrics.notification.Notification;
 import org.apache.gobblin.metrics.reporter.ContextAwareScheduledReporter;
 
 
@@ -201,6 +205,38 @@ public class MetricContextTest {
     Assert.assertEquals(jobRecordSizeDist.getSnapshot().getMax(), 14l);
   }
 
+  @Test
+  public void testDetachedContext() throws IOException {
+    String meterName = "detached.meter." + UUID.randomUUID().toString();
+    MetricContext detachedContext = MetricContext.builder(CONTEXT_NAME + "_" + UUID.randomUUID().toString())
+        .detached()
+        .addTag(new Tag<String>(JOB_ID_KEY, JOB_ID_PREFIX + 1))
+        .build();
+    Assert.assertFalse(detachedContext.getParent().isPresent());
+    Assert.assertEquals(detachedContext.getTags().get(0).getValue(), JOB_ID_PREFIX + 1);
+
+    detachedContext.contextAwareMeter(meterName).mark(5);
+    Assert.assertEquals(detachedContext.contextAwareMeter(meterName).getCount(), 5l);
+    Assert.assertFalse(RootMetricContext.get().getMeters().containsKey(meterName));
+
+    final List<Notification> notifications = Lists.newArrayList();
+    UUID targetKey = RootMetricContext.get().addNotificationTarget(new Function<Notification, Void>() {
+      @Override
+      public Void apply(Notification input) {
+        notifications.add(input);
+        return null;
+      }
+    });
+    try {
+      Notification notification = new Notification() { };
+      detachedContext.sendNotification(notification);
+      Assert.assertTrue(notifications.contains(notification));
+    } finally {
+      RootMetricContext.get().removeNotificationTarget(targetKey);
+      detachedContext.close();
+    }
+  }
+
   @Test
   public void testContextAwareTimer() {
     ContextAwareTimer jobTotalDuration = this.context.contextAwareTimer(TOTAL_DURATION);
@@ -275,6 +275,15 @@ public class GobblinMetrics {
         : parentContext.childBuilder(id).addTags(tags).build();
   }
 
+  /**
+   * Create a {@link GobblinMetrics} whose {@link MetricContext} is detached, see
+   * {@link MetricContext.Builder#detached()}.
+   */
+  protected GobblinMetrics(String id, List<Tag<?>> tags) {
+    this.id = id;
+    this.metricContext = new MetricContext.Builder(id).detached().addTags(tags).build();
+  }
+
   /**
    * Get the wrapped {@link com.codahale.metrics.MetricRegistry} instance.
    *
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.codec;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+
+/**
+ * Holds the worker pool shared by all {@link ParallelBlockEncodingOutputStream}s and
+ * {@link ParallelBlockDecodingInputStream}s of a JVM. The pool has one daemon thread per available processor; each
+ * stream bounds the number of blocks it has in flight so the pool cannot be flooded by a single writer.
+ */
+public class BlockCodecExecutors {
+
+  private static class Holder {
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("BlockCodec-%d").build());
+  }
+
+  /**
+   * @return the worker pool shared by the block codec streams of this JVM
+   */
+  public static ExecutorService getSharedExecutor() {
+    return Holder.SHARED_EXECUTOR;
+  }
+
+  /**
+   * @return the default number of blocks a single stream may have in flight
+   */
+  public static int getDefaultMaxPendingBlocks() {
+    return 2 * Runtime.getRuntime().availableProcessors();
+  }
+
+  private BlockCodecExecutors() {
+    // can't instantiate
+  }
+}
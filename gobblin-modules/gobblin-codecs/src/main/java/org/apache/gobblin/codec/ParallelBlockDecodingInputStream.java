@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * The reverse of {@link ParallelBlockEncodingOutputStream}: reads self-delimited encoded blocks from the underlying
+ * stream, decodes up to {@code maxPendingBlocks} of them ahead of the reader on an {@link ExecutorService} and
+ * returns the decoded bytes in order.
+ */
+public class ParallelBlockDecodingInputStream extends InputStream {
+
+  /**
+   * Splits an encoded stream into blocks and decodes them. {@link #decode(byte[])} must be thread safe,
+   * {@link #readBlock(InputStream)} is only called from the reading thread.
+   */
+  public interface BlockDecoder {
+    /**
+     * Read the next encoded block from the given stream.
+     * @return the encoded block, or null if the stream is exhausted
+     */
+    byte[] readBlock(InputStream in) throws IOException;
+
+    byte[] decode(byte[] encodedBlock) throws IOException;
+  }
+
+  private final InputStream in;
+  private final BlockDecoder decoder;
+  private final int maxPendingBlocks;
+  private final ExecutorService executor;
+
+  private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+  private byte[] currentBlock = new byte[0];
+  private int currentBlockPos = 0;
+  private boolean endOfInput = false;
+  private boolean closed = false;
+
+  public ParallelBlockDecodingInputStream(InputStream in, BlockDecoder decoder, int maxPendingBlocks,
+      ExecutorService executor) {
+    Preconditions.checkArgument(maxPendingBlocks > 0, "Max pending blocks must be positive");
+    this.in = in;
+    this.decoder = decoder;
+    this.maxPendingBlocks = maxPendingBlocks;
+    this.executor = executor;
+  }
+
+  @Override
+  public int read()
+      throws IOException {
+    if (!fillCurrentBlock()) {
+      return -1;
+    }
+    return this.currentBlock[this.currentBlockPos++] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len)
+      throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!fillCurrentBlock()) {
+      return -1;
+    }
+    int toCopy = Math.min(len, this.currentBlock.length - this.currentBlockPos);
+    System.arraycopy(this.currentBlock, this.currentBlockPos, b, off, toCopy);
+    this.currentBlockPos += toCopy;
+    return toCopy;
+  }
+
+  @Override
+  public int available()
+      throws IOException {
+    ensureOpen();
+    return this.currentBlock.length - this.currentBlockPos;
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    if (this.closed) {
+      return;
+    }
+
+    this.closed = true;
+    for (Future<byte[]> pendingBlock : this.pendingBlocks) {
+      pendingBlock.cancel(true);
+    }
+    this.pendingBlocks.clear();
+    this.in.close();
+  }
+
+  /**
+   * Make sure the current block has unread bytes, moving on to the next decoded block if necessary.
+   * @return false if all blocks have been read
+   */
+  private boolean fillCurrentBlock()
+      throws IOException {
+    ensureOpen();
+    while (this.currentBlockPos == this.currentBlock.length) {
+      submitBlocks();
+      if (this.pendingBlocks.isEmpty()) {
+        return false;
+      }
+      this.currentBlock = ParallelBlockEncodingOutputStream.await(this.pendingBlocks.poll());
+      this.currentBlockPos = 0;
+    }
+    return true;
+  }
+
+  private void submitBlocks()
+      throws IOException {
+    while (!this.endOfInput && this.pendingBlocks.size() < this.maxPendingBlocks) {
+      final byte[] encodedBlock = this.decoder.readBlock(this.in);
+      if (encodedBlock == null) {
+        this.endOfInput = true;
+      } else {
+        this.pendingBlocks.add(this.executor.submit(() -> this.decoder.decode(encodedBlock)));
+      }
+    }
+  }
+
+  private void ensureOpen()
+      throws IOException {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+}
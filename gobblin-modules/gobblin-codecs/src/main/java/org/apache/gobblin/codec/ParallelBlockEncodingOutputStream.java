@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.codec;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * An {@link OutputStream} that cuts the bytes written to it into fixed size blocks, encodes the blocks concurrently
+ * on an {@link ExecutorService} and writes the encoded blocks to the underlying stream in the order they were cut.
+ *
+ * <p>
+ *   At most {@code maxPendingBlocks} blocks are in flight at any time; writers block once that many blocks are being
+ *   encoded. Like {@link java.util.zip.GZIPOutputStream}, {@link #flush()} only writes out the blocks that are complete;
+ *   a partial block is encoded when it fills up or when the stream is closed. A stream that is closed without any
+ *   bytes written to it still writes one (empty) encoded block so that the output is a valid encoding.
+ * </p>
+ */
+public class ParallelBlockEncodingOutputStream extends OutputStream {
+
+  /**
+   * Encodes a single block. Implementations must be thread safe.
+   */
+  public interface BlockEncoder {
+    byte[] encode(byte[] block, int offset, int length) throws IOException;
+  }
+
+  private final OutputStream out;
+  private final BlockEncoder encoder;
+  private final int blockSize;
+  private final int maxPendingBlocks;
+  private final ExecutorService executor;
+
+  private final Deque<PendingBlock> pendingBlocks = new ArrayDeque<>();
+  private final Deque<byte[]> freeBuffers = new ArrayDeque<>();
+
+  private byte[] buffer;
+  private int bufferPos = 0;
+  private boolean anyBlockSubmitted = false;
+  private boolean closed = false;
+
+  public ParallelBlockEncodingOutputStream(OutputStream out, BlockEncoder encoder, int blockSize,
+      int maxPendingBlocks, ExecutorService executor) {
+    Preconditions.checkArgument(blockSize > 0, "Block size must be positive");
+    Preconditions.checkArgument(maxPendingBlocks > 0, "Max pending blocks must be positive");
+    this.out = out;
+    this.encoder = encoder;
+    this.blockSize = blockSize;
+    this.maxPendingBlocks = maxPendingBlocks;
+    this.executor = executor;
+    this.buffer = new byte[blockSize];
+  }
+
+  @Override
+  public void write(int b)
+      throws IOException {
+    ensureOpen();
+    this.buffer[this.bufferPos++] = (byte) b;
+    if (this.bufferPos == this.blockSize) {
+      submitBlock();
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len)
+      throws IOException {
+    ensureOpen();
+    while (len > 0) {
+      int toCopy = Math.min(len, this.blockSize - this.bufferPos);
+      System.arraycopy(b, off, this.buffer, this.bufferPos, toCopy);
+      this.bufferPos += toCopy;
+      off += toCopy;
+      len -= toCopy;
+      if (this.bufferPos == this.blockSize) {
+        submitBlock();
+      }
+    }
+  }
+
+  @Override
+  public void flush()
+      throws IOException {
+    ensureOpen();
+    writeBlocks(0);
+    this.out.flush();
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    if (this.closed) {
+      return;
+    }
+
+    try {
+      if (this.bufferPos > 0 || !this.anyBlockSubmitted) {
+        submitBlock();
+      }
+      writeBlocks(0);
+    } finally {
+      this.closed = true;
+      for (PendingBlock pendingBlock : this.pendingBlocks) {
+        pendingBlock.encodedBlock.cancel(true);
+      }
+      this.pendingBlocks.clear();
+      this.out.close();
+    }
+  }
+
+  private void submitBlock()
+      throws IOException {
+    final byte[] block = this.buffer;
+    final int length = this.bufferPos;
+    this.pendingBlocks.add(new PendingBlock(block, this.executor.submit(() -> this.encoder.encode(block, 0, length))));
+    this.anyBlockSubmitted = true;
+
+    this.buffer = this.freeBuffers.isEmpty() ? new byte[this.blockSize] : this.freeBuffers.pop();
+    this.bufferPos = 0;
+
+    writeBlocks(this.maxPendingBlocks - 1);
+  }
+
+  /**
+   * Write out encoded blocks in order until at most {@code maxRemaining} blocks are pending. Blocks at the head of
+   * the queue that are already encoded are written out regardless.
+   */
+  private void writeBlocks(int maxRemaining)
+      throws IOException {
+    while (!this.pendingBlocks.isEmpty()
+        && (this.pendingBlocks.size() > maxRemaining || this.pendingBlocks.peek().encodedBlock.isDone())) {
+      PendingBlock pendingBlock = this.pendingBlocks.poll();
+      this.out.write(await(pendingBlock.encodedBlock));
+      this.freeBuffers.push(pendingBlock.block);
+    }
+  }
+
+  private void ensureOpen()
+      throws IOException {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  static byte[] await(Future<byte[]> future)
+      throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a block codec task");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private static class PendingBlock {
+    private final byte[] block;
+    private final Future<byte[]> encodedBlock;
+
+    PendingBlock(byte[] block, Future<byte[]> encodedBlock) {
+      this.block = block;
+      this.encodedBlock = encodedBlock;
+    }
+  }
+}
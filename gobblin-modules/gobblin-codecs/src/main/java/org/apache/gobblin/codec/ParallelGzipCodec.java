@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * GZIP compression and decompression that (de)compresses blocks of data concurrently.
+ *
+ * <p>
+ *   Every block is written as a separate gzip member, and the concatenation of the members is a regular gzip file
+ *   that any gzip reader decompresses as a whole. Each member carries a "GB" extra field with the size of the member
+ *   in bytes, which lets {@link #decodeInputStream(InputStream)} find the member boundaries without inflating and
+ *   decompress members concurrently. Streams written by other gzip implementations are decompressed sequentially
+ *   with a {@link GZIPInputStream}.
+ * </p>
+ */
+public class ParallelGzipCodec implements StreamCodec {
+  public static final String TAG = GzipCodec.TAG;
+
+  public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int FEXTRA = 4;
+  private static final byte SUBFIELD_ID1 = 'G';
+  private static final byte SUBFIELD_ID2 = 'B';
+  /** 10 bytes of fixed header, 2 bytes of extra field length, 4 bytes of subfield header and 4 bytes of member size */
+  private static final int HEADER_LENGTH = 20;
+  private static final int TRAILER_LENGTH = 8;
+
+  private static final ThreadLocal<Deflater> DEFLATER =
+      ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+  private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+  private final int blockSize;
+  private final int maxPendingBlocks;
+  private final ExecutorService executor;
+
+  public ParallelGzipCodec() {
+    this(DEFAULT_BLOCK_SIZE, BlockCodecExecutors.getDefaultMaxPendingBlocks());
+  }
+
+  public ParallelGzipCodec(int blockSize, int maxPendingBlocks) {
+    this(blockSize, maxPendingBlocks, BlockCodecExecutors.getSharedExecutor());
+  }
+
+  public ParallelGzipCodec(int blockSize, int maxPendingBlocks, ExecutorService executor) {
+    Preconditions.checkArgument(blockSize > 0, "Block size must be positive");
+    this.blockSize = blockSize;
+    this.maxPendingBlocks = maxPendingBlocks;
+    this.executor = executor;
+  }
+
+  @Override
+  public OutputStream encodeOutputStream(OutputStream origStream)
+      throws IOException {
+    return new ParallelBlockEncodingOutputStream(origStream, ParallelGzipCodec::compressMember, this.blockSize,
+        this.maxPendingBlocks, this.executor);
+  }
+
+  @Override
+  public InputStream decodeInputStream(InputStream origStream)
+      throws IOException {
+    PushbackInputStream in = new PushbackInputStream(origStream, HEADER_LENGTH);
+    byte[] header = new byte[HEADER_LENGTH];
+    int headerLength = readUpTo(in, header);
+    in.unread(header, 0, headerLength);
+
+    if (headerLength == HEADER_LENGTH && getMemberSize(header) > 0) {
+      return new ParallelBlockDecodingInputStream(in, MEMBER_DECODER, this.maxPendingBlocks, this.executor);
+    }
+    return new GZIPInputStream(in);
+  }
+
+  @Override
+  public String getTag() {
+    return TAG;
+  }
+
+  private static final ParallelBlockDecodingInputStream.BlockDecoder MEMBER_DECODER =
+      new ParallelBlockDecodingInputStream.BlockDecoder() {
+        @Override
+        public byte[] readBlock(InputStream in)
+            throws IOException {
+          byte[] header = new byte[HEADER_LENGTH];
+          int headerLength = readUpTo(in, header);
+          if (headerLength == 0) {
+            return null;
+          }
+
+          int memberSize = headerLength == HEADER_LENGTH ? getMemberSize(header) : -1;
+          if (memberSize < HEADER_LENGTH + TRAILER_LENGTH) {
+            throw new IOException("Expected a gzip member with a block size extra field");
+          }
+
+          byte[] member = new byte[memberSize];
+          System.arraycopy(header, 0, member, 0, HEADER_LENGTH);
+          if (readUpTo(in, member, HEADER_LENGTH, memberSize - HEADER_LENGTH) != memberSize - HEADER_LENGTH) {
+            throw new EOFException("Unexpected end of gzip member");
+          }
+          return member;
+        }
+
+        @Override
+        public byte[] decode(byte[] member)
+            throws IOException {
+          return decompressMember(member);
+        }
+      };
+
+  private static byte[] compressMember(byte[] block, int offset, int length) {
+    CRC32 crc = new CRC32();
+    crc.update(block, offset, length);
+
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + HEADER_LENGTH + TRAILER_LENGTH);
+    compressed.write(new byte[HEADER_LENGTH], 0, HEADER_LENGTH);
+
+    Deflater deflater = DEFLATER.get();
+    deflater.reset();
+    deflater.setInput(block, offset, length);
+    deflater.finish();
+    byte[] chunk = new byte[Math.max(512, Math.min(length, 64 * 1024))];
+    while (!deflater.finished()) {
+      int deflated = deflater.deflate(chunk);
+      compressed.write(chunk, 0, deflated);
+    }
+
+    writeIntLE(compressed, (int) crc.getValue());
+    writeIntLE(compressed, length);
+
+    byte[] member = compressed.toByteArray();
+    writeHeader(member, member.length);
+    return member;
+  }
+
+  private static byte[] decompressMember(byte[] member)
+      throws IOException {
+    int uncompressedSize = readIntLE(member, member.length - 4);
+    byte[] block = new byte[uncompressedSize];
+
+    Inflater inflater = INFLATER.get();
+    inflater.reset();
+    inflater.setInput(member, HEADER_LENGTH, member.length - HEADER_LENGTH - TRAILER_LENGTH);
+    try {
+      int inflated = 0;
+      while (inflated < uncompressedSize && !inflater.finished()) {
+        int n = inflater.inflate(block, inflated, uncompressedSize - inflated);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        inflated += n;
+      }
+      if (inflated != uncompressedSize) {
+        throw new IOException("Corrupt gzip member: expected " + uncompressedSize + " bytes, inflated " + inflated);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt gzip member", e);
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(block, 0, uncompressedSize);
+    if ((int) crc.getValue() != readIntLE(member, member.length - TRAILER_LENGTH)) {
+      throw new IOException("Corrupt gzip member: CRC mismatch");
+    }
+    return block;
+  }
+
+  private static void writeHeader(byte[] member, int memberSize) {
+    member[0] = (byte) GZIP_MAGIC;
+    member[1] = (byte) (GZIP_MAGIC >> 8);
+    member[2] = Deflater.DEFLATED;
+    member[3] = FEXTRA;
+    // 4-7: modification time is not set, 8: no extra flags
+    member[9] = (byte) 0xff; // unknown OS
+    member[10] = 8; // extra field length
+    member[11] = 0;
+    member[12] = SUBFIELD_ID1;
+    member[13] = SUBFIELD_ID2;
+    member[14] = 4; // subfield length
+    member[15] = 0;
+    writeIntLE(member, 16, memberSize);
+  }
+
+  /**
+   * @return the member size recorded in the given gzip header, or -1 if the header does not carry it
+   */
+  private static int getMemberSize(byte[] header) {
+    if ((header[0] & 0xff | (header[1] & 0xff) << 8) != GZIP_MAGIC || header[2] != Deflater.DEFLATED
+        || header[3] != FEXTRA || header[10] != 8 || header[11] != 0 || header[12] != SUBFIELD_ID1
+        || header[13] != SUBFIELD_ID2 || header[14] != 4 || header[15] != 0) {
+      return -1;
+    }
+    return readIntLE(header, 16);
+  }
+
+  private static int readUpTo(InputStream in, byte[] buffer)
+      throws IOException {
+    return readUpTo(in, buffer, 0, buffer.length);
+  }
+
+  private static int readUpTo(InputStream in, byte[] buffer, int offset, int length)
+      throws IOException {
+    int read = 0;
+    while (read < length) {
+      int n = in.read(buffer, offset + read, length - read);
+      if (n < 0) {
+        break;
+      }
+      read += n;
+    }
+    return read;
+  }
+
+  private static void writeIntLE(ByteArrayOutputStream out, int value) {
+    out.write(value);
+    out.write(value >> 8);
+    out.write(value >> 16);
+    out.write(value >> 24);
+  }
+
+  private static void writeIntLE(byte[] buffer, int offset, int value) {
+    buffer[offset] = (byte) value;
+    buffer[offset + 1] = (byte) (value >> 8);
+    buffer[offset + 2] = (byte) (value >> 16);
+    buffer[offset + 3] = (byte) (value >> 24);
+  }
+
+  private static int readIntLE(byte[] buffer, int offset) {
+    return (buffer[offset] & 0xff) | (buffer[offset + 1] & 0xff) << 8 | (buffer[offset + 2] & 0xff) << 16
+        | (buffer[offset + 3] & 0xff) << 24;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ParallelGzipCodecTest {
+  @Test
+  public void testRoundTrip()
+      throws IOException {
+    // Use a small block size so that the data spans many gzip members
+    ParallelGzipCodec codec = new ParallelGzipCodec(1000, 3);
+    byte[] original = randomText(100 * 1000 + 17);
+
+    byte[] compressed = encode(codec, original);
+
+    Assert.assertEquals(IOUtils.toByteArray(codec.decodeInputStream(new ByteArrayInputStream(compressed))), original);
+    // The concatenated members must be readable by any gzip reader
+    Assert.assertEquals(IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed))), original);
+  }
+
+  @Test
+  public void testEmptyStream()
+      throws IOException {
+    ParallelGzipCodec codec = new ParallelGzipCodec(1000, 3);
+    byte[] compressed = encode(codec, new byte[0]);
+
+    Assert.assertTrue(compressed.length > 0);
+    Assert.assertEquals(IOUtils.toByteArray(codec.decodeInputStream(new ByteArrayInputStream(compressed))), new byte[0]);
+    Assert.assertEquals(IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed))), new byte[0]);
+  }
+
+  @Test
+  public void testDecodeRegularGzip()
+      throws IOException {
+    byte[] original = randomText(10 * 1000);
+    ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    OutputStream os = new GZIPOutputStream(sink);
+    os.write(original);
+    os.close();
+
+    InputStream decoded = new ParallelGzipCodec().decodeInputStream(new ByteArrayInputStream(sink.toByteArray()));
+    Assert.assertEquals(IOUtils.toByteArray(decoded), original);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testTruncatedMember()
+      throws IOException {
+    ParallelGzipCodec codec = new ParallelGzipCodec(1000, 3);
+    byte[] compressed = encode(codec, randomText(5000));
+
+    byte[] truncated = new byte[compressed.length - 10];
+    System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+    IOUtils.toByteArray(codec.decodeInputStream(new ByteArrayInputStream(truncated)));
+  }
+
+  private static byte[] encode(StreamCodec codec, byte[] data)
+      throws IOException {
+    ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    OutputStream os = codec.encodeOutputStream(sink);
+    // Write in uneven chunks to exercise block boundaries
+    int offset = 0;
+    while (offset < data.length) {
+      int len = Math.min(data.length - offset, 777);
+      os.write(data, offset, len);
+      offset += len;
+    }
+    os.close();
+    return sink.toByteArray();
+  }
+
+  private static byte[] randomText(int length) {
+    Random random = new Random(length);
+    byte[] text = new byte[length];
+    for (int i = 0; i < length; i++) {
+      text[i] = (byte) ('a' + random.nextInt(8));
+    }
+    return text;
+  }
+}
@@ -26,6 +26,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 
 import org.apache.gobblin.annotation.Alpha;
+import org.apache.gobblin.codec.BlockCodecExecutors;
 import org.apache.gobblin.codec.StreamCodec;
 
 import lombok.extern.slf4j.Slf4j;
@@ -40,7 +41,7 @@ import lombok.extern.slf4j.Slf4j;
 @Alpha
 public class GobblinEncryptionProvider implements CredentialStoreProvider, EncryptionProvider {
   private final static Set<String> SUPPORTED_STREAMING_ALGORITHMS =
-      ImmutableSet.of("aes_rotating", EncryptionConfigParser.ENCRYPTION_TYPE_ANY);
+      ImmutableSet.of("aes_rotating", BlockRotatingAESCodec.TAG, EncryptionConfigParser.ENCRYPTION_TYPE_ANY);
 
   /**
    * Return a set of streaming algorithms (StreamEncoders) that this factory knows how to build
@@ -77,12 +78,11 @@ public class GobblinEncryptionProvider implements CredentialStoreProvider, Encry
     switch (algorithm) {
       case EncryptionConfigParser.ENCRYPTION_TYPE_ANY:
       case "aes_rotating":
-        CredentialStore cs = CredentialStoreFactory.buildCredentialStore(parameters);
-        if (cs == null) {
-          throw new IllegalArgumentException("Failed to build credential store; can't instantiate AES");
-        }
-
-        return new RotatingAESCodec(cs);
+        return new RotatingAESCodec(buildAESCredentialStore(parameters));
+      case BlockRotatingAESCodec.TAG:
+        return new BlockRotatingAESCodec(buildAESCredentialStore(parameters),
+            EncryptionConfigParser.getBlockSize(parameters, BlockRotatingAESCodec.DEFAULT_BLOCK_SIZE),
+            EncryptionConfigParser.getMaxPendingBlocks(parameters, BlockCodecExecutors.getDefaultMaxPendingBlocks()));
       case GPGCodec.TAG:
         String password = EncryptionConfigParser.getKeystorePassword(parameters);
         String keystorePathStr = EncryptionConfigParser.getKeystorePath(parameters);
@@ -105,6 +105,15 @@ public class GobblinEncryptionProvider implements CredentialStoreProvider, Encry
     }
   }
 
+  private CredentialStore buildAESCredentialStore(Map<String, Object> parameters) {
+    CredentialStore cs = CredentialStoreFactory.buildCredentialStore(parameters);
+    if (cs == null) {
+      throw new IllegalArgumentException("Failed to build credential store; can't instantiate AES");
+    }
+
+    return cs;
+  }
+
   /**
    * Build a credential store with the given parameters.
    */
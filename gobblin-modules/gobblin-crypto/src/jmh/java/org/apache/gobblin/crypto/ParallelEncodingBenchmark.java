@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.crypto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import org.apache.gobblin.codec.GzipCodec;
+import org.apache.gobblin.codec.ParallelGzipCodec;
+import org.apache.gobblin.codec.StreamCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Compares the single threaded gzip and AES codecs with their block parallel counterparts
+ * ({@link ParallelGzipCodec} and {@link BlockRotatingAESCodec}) when writing a 16MB file in 64KB records.
+ */
+@Fork(3)
+public class ParallelEncodingBenchmark {
+  private static final int FILE_SIZE = 16 * 1024 * 1024;
+
+  @State(value = Scope.Benchmark)
+  public static class ParallelEncodingBenchmarkState {
+    @Param({"262144", "1048576"})
+    public int blockSize;
+
+    public byte[] SixtyFourKBytes;
+
+    public EncodingBenchmark.SimpleCredentialStore credStore;
+
+    @Setup
+    public void setup() throws Exception {
+      // Mildly compressible data so that gzip has real work to do
+      Random r = new Random();
+      SixtyFourKBytes = new byte[64 * 1024];
+      for (int i = 0; i < SixtyFourKBytes.length; i++) {
+        SixtyFourKBytes[i] = (byte) ('a' + r.nextInt(16));
+      }
+      credStore = new EncodingBenchmark.SimpleCredentialStore();
+    }
+  }
+
+  @Benchmark
+  public byte[] writeGzip(ParallelEncodingBenchmarkState state) throws IOException {
+    return writeFile(new GzipCodec(), state);
+  }
+
+  @Benchmark
+  public byte[] writeParallelGzip(ParallelEncodingBenchmarkState state) throws IOException {
+    return writeFile(new ParallelGzipCodec(state.blockSize, Runtime.getRuntime().availableProcessors() * 2), state);
+  }
+
+  @Benchmark
+  public byte[] writeRotatingAES(ParallelEncodingBenchmarkState state) throws IOException {
+    return writeFile(new RotatingAESCodec(state.credStore), state);
+  }
+
+  @Benchmark
+  public byte[] writeBlockRotatingAES(ParallelEncodingBenchmarkState state) throws IOException {
+    return writeFile(new BlockRotatingAESCodec(state.credStore, state.blockSize,
+        Runtime.getRuntime().availableProcessors() * 2), state);
+  }
+
+  private static byte[] writeFile(StreamCodec codec, ParallelEncodingBenchmarkState state) throws IOException {
+    ByteArrayOutputStream sink = new ByteArrayOutputStream(FILE_SIZE);
+    OutputStream os = codec.encodeOutputStream(sink);
+    for (int written = 0; written < FILE_SIZE; written += state.SixtyFourKBytes.length) {
+      os.write(state.SixtyFourKBytes);
+    }
+    os.close();
+
+    return sink.toByteArray();
+  }
+}
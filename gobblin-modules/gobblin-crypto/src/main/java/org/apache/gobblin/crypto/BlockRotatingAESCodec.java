@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.crypto;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.io.IOUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.IvParameterSpec;
+
+import org.apache.gobblin.codec.BlockCodecExecutors;
+import org.apache.gobblin.codec.ParallelBlockDecodingInputStream;
+import org.apache.gobblin.codec.ParallelBlockEncodingOutputStream;
+
+
+/**
+ * A variant of {@link RotatingAESCodec} that encrypts blocks of data concurrently.
+ *
+ * The output is a sequence of frames, one per block of plaintext:
+ *
+ * 1. A header [keyId][ivLength][base64 encoded iv][length of the base64 encoded ciphertext as 10 ASCII digits]
+ * 2. The base64 encoded AES/CBC ciphertext of the block.
+ *
+ * All frames of a stream use the same randomly selected key, but every frame has its own IV so frames can be
+ * encrypted and decrypted independently of each other. The output is not readable by {@link RotatingAESCodec}.
+ */
+public class BlockRotatingAESCodec extends RotatingAESCodec {
+  public static final String TAG = "aes_rotating_blocks";
+
+  public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+  private static final int KEY_ID_LEN = 4;
+  private static final int IV_LEN_LEN = 3;
+  private static final int PAYLOAD_LEN_LEN = 10;
+  private static final int MAX_BASE64_IV_LEN = 32;
+
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+  private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+    try {
+      return Cipher.getInstance("AES/CBC/PKCS5Padding");
+    } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+      throw new IllegalStateException("Error creating AES algorithm? Should always exist in JRE", e);
+    }
+  });
+
+  private final int blockSize;
+  private final int maxPendingBlocks;
+  private final ExecutorService executor;
+
+  public BlockRotatingAESCodec(CredentialStore credentialStore) {
+    this(credentialStore, DEFAULT_BLOCK_SIZE, BlockCodecExecutors.getDefaultMaxPendingBlocks());
+  }
+
+  public BlockRotatingAESCodec(CredentialStore credentialStore, int blockSize, int maxPendingBlocks) {
+    this(credentialStore, blockSize, maxPendingBlocks, BlockCodecExecutors.getSharedExecutor());
+  }
+
+  public BlockRotatingAESCodec(CredentialStore credentialStore, int blockSize, int maxPendingBlocks,
+      ExecutorService executor) {
+    super(credentialStore);
+    this.blockSize = blockSize;
+    this.maxPendingBlocks = maxPendingBlocks;
+    this.executor = executor;
+  }
+
+  @Override
+  public OutputStream encodeOutputStream(OutputStream origStream)
+      throws IOException {
+    final KeyRecord key = selectRandomKey();
+    return new ParallelBlockEncodingOutputStream(origStream,
+        (block, offset, length) -> encryptBlock(key, block, offset, length), this.blockSize, this.maxPendingBlocks,
+        this.executor);
+  }
+
+  @Override
+  public InputStream decodeInputStream(InputStream origStream)
+      throws IOException {
+    return new ParallelBlockDecodingInputStream(origStream, new FrameDecoder(), this.maxPendingBlocks, this.executor);
+  }
+
+  @Override
+  public String getTag() {
+    return TAG;
+  }
+
+  private static byte[] encryptBlock(KeyRecord key, byte[] block, int offset, int length)
+      throws IOException {
+    byte[] iv = new byte[16];
+    SECURE_RANDOM.nextBytes(iv);
+
+    byte[] ciphertext;
+    try {
+      Cipher cipher = CIPHER.get();
+      cipher.init(Cipher.ENCRYPT_MODE, key.getSecretKey(), new IvParameterSpec(iv));
+      ciphertext = cipher.doFinal(block, offset, length);
+    } catch (InvalidKeyException e) {
+      throw new IllegalStateException("Key " + key.getKeyId() + " is illegal - please check credential store");
+    } catch (GeneralSecurityException e) {
+      throw new IOException("Failed to encrypt block", e);
+    }
+
+    String base64Iv = Base64.getEncoder().encodeToString(iv);
+    byte[] payload = Base64.getEncoder().encode(ciphertext);
+    byte[] header = String.format("%04d%03d%s%010d", key.getKeyId(), base64Iv.length(), base64Iv, payload.length)
+        .getBytes(StandardCharsets.UTF_8);
+
+    byte[] frame = new byte[header.length + payload.length];
+    System.arraycopy(header, 0, frame, 0, header.length);
+    System.arraycopy(payload, 0, frame, header.length, payload.length);
+    return frame;
+  }
+
+  /**
+   * Reads frames off the encrypted stream and decrypts them.
+   */
+  private class FrameDecoder implements ParallelBlockDecodingInputStream.BlockDecoder {
+
+    @Override
+    public byte[] readBlock(InputStream in)
+        throws IOException {
+      byte[] prefix = new byte[KEY_ID_LEN + IV_LEN_LEN];
+      int prefixLen = IOUtils.read(in, prefix);
+      if (prefixLen == 0) {
+        return null;
+      } else if (prefixLen < prefix.length) {
+        throw new EOFException("Unexpected end of stream while reading frame header");
+      }
+
+      int ivLen = parseNumber(prefix, KEY_ID_LEN, IV_LEN_LEN, "IV len");
+      if (ivLen < 0 || ivLen > MAX_BASE64_IV_LEN) {
+        throw new IOException("Corrupted data suspected; expected IVLen to be between 0 and " + MAX_BASE64_IV_LEN
+            + ", read " + ivLen);
+      }
+
+      byte[] ivAndPayloadLen = new byte[ivLen + PAYLOAD_LEN_LEN];
+      IOUtils.readFully(in, ivAndPayloadLen);
+      int payloadLen = parseNumber(ivAndPayloadLen, ivLen, PAYLOAD_LEN_LEN, "payload len");
+
+      byte[] frame = new byte[prefix.length + ivAndPayloadLen.length + payloadLen];
+      System.arraycopy(prefix, 0, frame, 0, prefix.length);
+      System.arraycopy(ivAndPayloadLen, 0, frame, prefix.length, ivAndPayloadLen.length);
+      IOUtils.readFully(in, frame, prefix.length + ivAndPayloadLen.length, payloadLen);
+      return frame;
+    }
+
+    @Override
+    public byte[] decode(byte[] frame)
+        throws IOException {
+      int keyId = parseNumber(frame, 0, KEY_ID_LEN, "keyId");
+      KeyRecord key = getKey(keyId);
+      if (key == null) {
+        throw new IOException("Cannot load key " + keyId + " which is specified in input stream");
+      }
+
+      int ivLen = parseNumber(frame, KEY_ID_LEN, IV_LEN_LEN, "IV len");
+      int ivStart = KEY_ID_LEN + IV_LEN_LEN;
+      int payloadStart = ivStart + ivLen + PAYLOAD_LEN_LEN;
+      ByteBuffer ciphertext =
+          Base64.getDecoder().decode(ByteBuffer.wrap(frame, payloadStart, frame.length - payloadStart));
+
+      try {
+        Cipher cipher = CIPHER.get();
+        if (ivLen > 0) {
+          ByteBuffer iv = Base64.getDecoder().decode(ByteBuffer.wrap(frame, ivStart, ivLen));
+          cipher.init(Cipher.DECRYPT_MODE, key.getSecretKey(),
+              new IvParameterSpec(iv.array(), iv.arrayOffset() + iv.position(), iv.remaining()));
+        } else {
+          cipher.init(Cipher.DECRYPT_MODE, key.getSecretKey());
+        }
+        return cipher.doFinal(ciphertext.array(), ciphertext.arrayOffset() + ciphertext.position(),
+            ciphertext.remaining());
+      } catch (GeneralSecurityException e) {
+        throw new IOException("Failed to decrypt frame with key " + keyId, e);
+      }
+    }
+
+    private int parseNumber(byte[] buffer, int offset, int length, String name)
+        throws IOException {
+      try {
+        return Integer.parseInt(new String(buffer, offset, length, StandardCharsets.UTF_8));
+      } catch (NumberFormatException e) {
+        throw new IOException("Expected to parse " + length + " bytes of stream as an ASCII " + name);
+      }
+    }
+  }
+}
@@ -92,12 +92,12 @@ public class RotatingAESCodec implements StreamCodec {
     return new DecodingStreamInstance(origStream).wrapInputStream();
   }
 
-  private synchronized KeyRecord getKey(Integer key) {
+  synchronized KeyRecord getKey(Integer key) {
     fillKeyRecords();
     return keyRecords_cache.get(key);
   }
 
-  private synchronized KeyRecord selectRandomKey() {
+  synchronized KeyRecord selectRandomKey() {
     KeyRecord[] keyRecords = getKeyRecords();
     if (keyRecords.length == 0) {
       throw new IllegalStateException("Couldn't find any valid keys in store!");
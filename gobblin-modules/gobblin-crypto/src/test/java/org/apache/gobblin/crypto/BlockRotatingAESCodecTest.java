@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.crypto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class BlockRotatingAESCodecTest {
+  @Test
+  public void testStreams()
+      throws IOException {
+    final byte[] toWrite = "hello world".getBytes(StandardCharsets.UTF_8);
+
+    BlockRotatingAESCodec encryptor = new BlockRotatingAESCodec(new RotatingAESCodecTest.SimpleCredentialStore());
+    byte[] encryptedBytes = encode(encryptor, toWrite);
+
+    // keyId, base64 IV length and the base64 IV are written in the same format as RotatingAESCodec
+    Assert.assertEquals(new String(encryptedBytes, 0, 7, StandardCharsets.UTF_8), "0001024");
+
+    InputStream decoderIn = encryptor.decodeInputStream(new ByteArrayInputStream(encryptedBytes));
+    Assert.assertEquals(IOUtils.toByteArray(decoderIn), toWrite, "Expected decoded output to match encoded output");
+  }
+
+  @Test
+  public void testManyBlocks()
+      throws IOException {
+    byte[] original = new byte[1000 * 1000 + 3];
+    new Random().nextBytes(original);
+
+    BlockRotatingAESCodec encryptor =
+        new BlockRotatingAESCodec(new RotatingAESCodecTest.SimpleCredentialStore(), 16384, 4);
+    byte[] encryptedBytes = encode(encryptor, original);
+
+    InputStream decoderIn = encryptor.decodeInputStream(new ByteArrayInputStream(encryptedBytes));
+    Assert.assertEquals(IOUtils.toByteArray(decoderIn), original, "Expected decoded output to match encoded output");
+  }
+
+  @Test
+  public void testEmptyStream()
+      throws IOException {
+    BlockRotatingAESCodec encryptor = new BlockRotatingAESCodec(new RotatingAESCodecTest.SimpleCredentialStore());
+    byte[] encryptedBytes = encode(encryptor, new byte[0]);
+
+    Assert.assertTrue(encryptedBytes.length > 0);
+    InputStream decoderIn = encryptor.decodeInputStream(new ByteArrayInputStream(encryptedBytes));
+    Assert.assertEquals(IOUtils.toByteArray(decoderIn), new byte[0]);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testUnknownKey()
+      throws IOException {
+    byte[] encryptedBytes =
+        encode(new BlockRotatingAESCodec(new RotatingAESCodecTest.SimpleCredentialStore()), new byte[100]);
+    // Rewrite keyId 1 to keyId 2 which the credential store does not know about
+    encryptedBytes[3] = '2';
+
+    BlockRotatingAESCodec decryptor = new BlockRotatingAESCodec(new RotatingAESCodecTest.SimpleCredentialStore());
+    IOUtils.toByteArray(decryptor.decodeInputStream(new ByteArrayInputStream(encryptedBytes)));
+  }
+
+  private static byte[] encode(BlockRotatingAESCodec encryptor, byte[] data)
+      throws IOException {
+    ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    OutputStream os = encryptor.encodeOutputStream(sink);
+    os.write(data);
+    os.close();
+    return sink.toByteArray();
+  }
+}
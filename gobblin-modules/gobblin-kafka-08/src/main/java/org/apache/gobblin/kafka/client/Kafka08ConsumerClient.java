@@ -19,12 +19,14 @@ package org.apache.gobblin.kafka.client;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterators;
@@ -80,7 +82,8 @@ public class Kafka08ConsumerClient extends AbstractBaseKafkaConsumerClient {
 
   private final ConcurrentMap<String, SimpleConsumer> activeConsumers = Maps.newConcurrentMap();
 
-  private Kafka08ConsumerClient(Config config) {
+  @VisibleForTesting
+  Kafka08ConsumerClient(Config config) {
     super(config);
     bufferSize = ConfigUtils.getInt(config, CONFIG_KAFKA_BUFFER_SIZE_BYTES, CONFIG_KAFKA_BUFFER_SIZE_BYTES_DEFAULT);
     clientName = ConfigUtils.getString(config, CONFIG_KAFKA_CLIENT_NAME, CONFIG_KAFKA_CLIENT_NAME_DEFAULT);
@@ -175,7 +178,8 @@ public class Kafka08ConsumerClient extends AbstractBaseKafkaConsumerClient {
     return this.getSimpleConsumer(hostAndPort.toString());
   }
 
-  private SimpleConsumer createSimpleConsumer(String broker) {
+  @VisibleForTesting
+  SimpleConsumer createSimpleConsumer(String broker) {
     List<String> hostPort = Splitter.on(':').trimResults().omitEmptyStrings().splitToList(broker);
     return createSimpleConsumer(hostPort.get(0), Integer.parseInt(hostPort.get(1)));
   }
@@ -200,6 +204,73 @@ public class Kafka08ConsumerClient extends AbstractBaseKafkaConsumerClient {
     return getOffset(partition, offsetRequestInfo);
   }
 
+  @Override
+  public Map<KafkaPartition, Long> getEarliestOffsets(Collection<KafkaPartition> partitions)
+      throws KafkaOffsetRetrievalFailureException {
+    return getOffsets(partitions, kafka.api.OffsetRequest.EarliestTime());
+  }
+
+  @Override
+  public Map<KafkaPartition, Long> getLatestOffsets(Collection<KafkaPartition> partitions)
+      throws KafkaOffsetRetrievalFailureException {
+    return getOffsets(partitions, kafka.api.OffsetRequest.LatestTime());
+  }
+
+  /**
+   * Get the offsets of many partitions with a single {@link OffsetRequest} per leader broker.
+   */
+  private Map<KafkaPartition, Long> getOffsets(Collection<KafkaPartition> partitions, long time)
+      throws KafkaOffsetRetrievalFailureException {
+    Map<HostAndPort, List<KafkaPartition>> partitionsByLeader = Maps.newHashMap();
+    for (KafkaPartition partition : partitions) {
+      partitionsByLeader.computeIfAbsent(partition.getLeader().getHostAndPort(), k -> Lists.newArrayList())
+          .add(partition);
+    }
+
+    Map<KafkaPartition, Long> offsets = Maps.newHashMapWithExpectedSize(partitions.size());
+    for (Map.Entry<HostAndPort, List<KafkaPartition>> entry : partitionsByLeader.entrySet()) {
+      Map<TopicAndPartition, PartitionOffsetRequestInfo> offsetRequestInfo = Maps.newHashMap();
+      for (KafkaPartition partition : entry.getValue()) {
+        offsetRequestInfo.put(new TopicAndPartition(partition.getTopicName(), partition.getId()),
+            new PartitionOffsetRequestInfo(time, 1));
+      }
+      offsets.putAll(getOffsets(entry.getKey(), entry.getValue(), offsetRequestInfo));
+    }
+    return offsets;
+  }
+
+  private Map<KafkaPartition, Long> getOffsets(HostAndPort leader, List<KafkaPartition> partitions,
+      Map<TopicAndPartition, PartitionOffsetRequestInfo> offsetRequestInfo) throws KafkaOffsetRetrievalFailureException {
+    SimpleConsumer consumer = this.getSimpleConsumer(leader);
+    for (int i = 0; i < this.fetchOffsetRetries; i++) {
+      try {
+        OffsetResponse offsetResponse =
+            consumer.getOffsetsBefore(new OffsetRequest(offsetRequestInfo, kafka.api.OffsetRequest.CurrentVersion(),
+                this.clientName));
+        if (offsetResponse.hasError()) {
+          throw new RuntimeException("offsetReponse from leader " + leader + " has error");
+        }
+        Map<KafkaPartition, Long> offsets = Maps.newHashMapWithExpectedSize(partitions.size());
+        for (KafkaPartition partition : partitions) {
+          offsets.put(partition, offsetResponse.offsets(partition.getTopicName(), partition.getId())[0]);
+        }
+        return offsets;
+      } catch (Exception e) {
+        log.warn(String.format("Fetching offsets for %d partitions from leader %s has failed %d time(s). Reason: %s",
+            partitions.size(), leader, i + 1, e));
+        if (i < this.fetchOffsetRetries - 1) {
+          try {
+            Thread.sleep((long) ((i + Math.random()) * 1000));
+          } catch (InterruptedException e2) {
+            log.error("Caught interrupted exception between retries of getting offsets. " + e2);
+          }
+        }
+      }
+    }
+    throw new KafkaOffsetRetrievalFailureException(String.format("Fetching offsets for %d partitions from leader %s has failed.",
+        partitions.size(), leader));
+  }
+
   private long getOffset(KafkaPartition partition, Map<TopicAndPartition, PartitionOffsetRequestInfo> offsetRequestInfo)
       throws KafkaOffsetRetrievalFailureException {
     SimpleConsumer consumer = this.getSimpleConsumer(partition.getLeader().getHostAndPort());
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.kafka.client;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import kafka.javaapi.OffsetRequest;
+import kafka.javaapi.OffsetResponse;
+import kafka.javaapi.consumer.SimpleConsumer;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.source.extractor.extract.kafka.KafkaOffsetRetrievalFailureException;
+import org.apache.gobblin.source.extractor.extract.kafka.KafkaPartition;
+
+
+public class Kafka08ConsumerClientTest {
+
+  @Test
+  public void testGetOffsets() throws Exception {
+    KafkaPartition partition0 = createPartition(0, "broker1:9092");
+    KafkaPartition partition1 = createPartition(1, "broker1:9092");
+    KafkaPartition partition2 = createPartition(2, "broker2:9092");
+
+    SimpleConsumer consumer1 = createConsumer(ImmutableMap.of(0, 5L, 1, 7L));
+    SimpleConsumer consumer2 = createConsumer(ImmutableMap.of(2, 9L));
+    Map<String, SimpleConsumer> consumers = ImmutableMap.of("broker1:9092", consumer1, "broker2:9092", consumer2);
+
+    try (Kafka08ConsumerClient client = createClient(consumers)) {
+      Assert.assertEquals(client.getEarliestOffsets(Arrays.asList(partition0, partition1, partition2)),
+          ImmutableMap.of(partition0, 5L, partition1, 7L, partition2, 9L));
+      Assert.assertEquals(client.getLatestOffsets(Arrays.asList(partition0, partition1, partition2)),
+          ImmutableMap.of(partition0, 5L, partition1, 7L, partition2, 9L));
+    }
+
+    // A single request per leader broker for each lookup, covering all of its partitions
+    Mockito.verify(consumer1, Mockito.times(2)).getOffsetsBefore(Mockito.any(OffsetRequest.class));
+    Mockito.verify(consumer2, Mockito.times(2)).getOffsetsBefore(Mockito.any(OffsetRequest.class));
+  }
+
+  @Test(expectedExceptions = KafkaOffsetRetrievalFailureException.class)
+  public void testGetOffsetsFailure() throws Exception {
+    SimpleConsumer consumer = Mockito.mock(SimpleConsumer.class);
+    OffsetResponse offsetResponse = Mockito.mock(OffsetResponse.class);
+    Mockito.when(offsetResponse.hasError()).thenReturn(true);
+    Mockito.when(consumer.getOffsetsBefore(Mockito.any(OffsetRequest.class))).thenReturn(offsetResponse);
+
+    try (Kafka08ConsumerClient client = createClient(ImmutableMap.of("broker1:9092", consumer))) {
+      client.getLatestOffsets(Arrays.asList(createPartition(0, "broker1:9092")));
+    }
+  }
+
+  private static KafkaPartition createPartition(int id, String leader) {
+    return new KafkaPartition.Builder().withId(id).withTopicName("test_topic").withLeaderId(id)
+        .withLeaderHostAndPort(leader).build();
+  }
+
+  private static SimpleConsumer createConsumer(Map<Integer, Long> offsets) {
+    SimpleConsumer consumer = Mockito.mock(SimpleConsumer.class);
+    OffsetResponse offsetResponse = Mockito.mock(OffsetResponse.class);
+    for (Map.Entry<Integer, Long> entry : offsets.entrySet()) {
+      Mockito.when(offsetResponse.offsets("test_topic", entry.getKey())).thenReturn(new long[]{entry.getValue()});
+    }
+    Mockito.when(consumer.getOffsetsBefore(Mockito.any(OffsetRequest.class))).thenReturn(offsetResponse);
+    return consumer;
+  }
+
+  private static Kafka08ConsumerClient createClient(final Map<String, SimpleConsumer> consumers) {
+    Map<String, Object> configMap = Maps.newHashMap();
+    configMap.put(ConfigurationKeys.KAFKA_BROKERS, "broker1:9092");
+    configMap.put(Kafka08ConsumerClient.CONFIG_KAFKA_FETCH_OFFSET_NUM_TRIES, 1);
+    Config config = ConfigFactory.parseMap(configMap);
+
+    return new Kafka08ConsumerClient(config) {
+      @Override
+      SimpleConsumer createSimpleConsumer(String broker) {
+        return consumers.get(broker);
+      }
+    };
+  }
+}
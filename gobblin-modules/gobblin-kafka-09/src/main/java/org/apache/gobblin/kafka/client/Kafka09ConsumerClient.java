@@ -160,6 +160,56 @@ public class Kafka09ConsumerClient<K, V> extends AbstractBaseKafkaConsumerClient
     return this.consumer.position(topicPartition);
   }
 
+  /**
+   * Assigns all <code>partitions</code> at once and seeks them to the beginning together, so that looking up the
+   * offsets of many partitions does not reassign the consumer for every partition.
+   */
+  @Override
+  public Map<KafkaPartition, Long> getEarliestOffsets(Collection<KafkaPartition> partitions)
+      throws KafkaOffsetRetrievalFailureException {
+    Map<KafkaPartition, TopicPartition> topicPartitions = toTopicPartitions(partitions);
+    this.consumer.assign(Lists.newArrayList(topicPartitions.values()));
+    this.consumer.seekToBeginning(topicPartitions.values().toArray(new TopicPartition[topicPartitions.size()]));
+
+    return getPositions(topicPartitions);
+  }
+
+  /**
+   * Assigns all <code>partitions</code> at once and seeks them to the end together, so that looking up the
+   * offsets of many partitions does not reassign the consumer for every partition.
+   */
+  @Override
+  public Map<KafkaPartition, Long> getLatestOffsets(Collection<KafkaPartition> partitions)
+      throws KafkaOffsetRetrievalFailureException {
+    Map<KafkaPartition, TopicPartition> topicPartitions = toTopicPartitions(partitions);
+    this.consumer.assign(Lists.newArrayList(topicPartitions.values()));
+    this.consumer.seekToEnd(topicPartitions.values().toArray(new TopicPartition[topicPartitions.size()]));
+
+    return getPositions(topicPartitions);
+  }
+
+  private static Map<KafkaPartition, TopicPartition> toTopicPartitions(Collection<KafkaPartition> partitions) {
+    Map<KafkaPartition, TopicPartition> topicPartitions = new HashMap<>();
+    for (KafkaPartition partition : partitions) {
+      topicPartitions.put(partition, new TopicPartition(partition.getTopicName(), partition.getId()));
+    }
+    return topicPartitions;
+  }
+
+  private Map<KafkaPartition, Long> getPositions(Map<KafkaPartition, TopicPartition> topicPartitions)
+      throws KafkaOffsetRetrievalFailureException {
+    Map<KafkaPartition, Long> offsets = new HashMap<>();
+    for (Map.Entry<KafkaPartition, TopicPartition> entry : topicPartitions.entrySet()) {
+      try {
+        offsets.put(entry.getKey(), this.consumer.position(entry.getValue()));
+      } catch (RuntimeException e) {
+        throw new KafkaOffsetRetrievalFailureException(
+            String.format("Fetching offset for partition %s has failed: %s", entry.getKey(), e));
+      }
+    }
+    return offsets;
+  }
+
   @Override
   public Iterator<KafkaConsumerRecord> consume(KafkaPartition partition, long nextOffset, long maxOffset) {
 
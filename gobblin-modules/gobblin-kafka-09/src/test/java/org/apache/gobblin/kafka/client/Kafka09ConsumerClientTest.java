@@ -73,4 +73,30 @@ public class Kafka09ConsumerClientTest {
     }
 
   }
+
+  @Test
+  public void testGetOffsets() throws Exception {
+    Config testConfig = ConfigFactory.parseMap(ImmutableMap.of(ConfigurationKeys.KAFKA_BROKERS, "test"));
+    MockConsumer<String, String> consumer = new MockConsumer<String, String>(OffsetResetStrategy.NONE);
+
+    HashMap<TopicPartition, Long> beginningOffsets = new HashMap<>();
+    beginningOffsets.put(new TopicPartition("test_topic", 0), 5L);
+    beginningOffsets.put(new TopicPartition("test_topic", 1), 7L);
+    consumer.updateBeginningOffsets(beginningOffsets);
+
+    HashMap<TopicPartition, Long> endOffsets = new HashMap<>();
+    endOffsets.put(new TopicPartition("test_topic", 0), 50L);
+    endOffsets.put(new TopicPartition("test_topic", 1), 70L);
+    consumer.updateEndOffsets(endOffsets);
+
+    KafkaPartition partition0 = new KafkaPartition.Builder().withId(0).withTopicName("test_topic").build();
+    KafkaPartition partition1 = new KafkaPartition.Builder().withId(1).withTopicName("test_topic").build();
+
+    try (Kafka09ConsumerClient<String, String> kafka09Client = new Kafka09ConsumerClient<>(testConfig, consumer);) {
+      Assert.assertEquals(kafka09Client.getEarliestOffsets(Arrays.asList(partition0, partition1)),
+          ImmutableMap.of(partition0, 5L, partition1, 7L));
+      Assert.assertEquals(kafka09Client.getLatestOffsets(Arrays.asList(partition0, partition1)),
+          ImmutableMap.of(partition0, 50L, partition1, 70L));
+    }
+  }
 }
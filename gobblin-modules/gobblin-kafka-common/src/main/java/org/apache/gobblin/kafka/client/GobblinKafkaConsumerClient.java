@@ -74,6 +74,25 @@ public interface GobblinKafkaConsumerClient extends Closeable {
    */
   public long getLatestOffset(KafkaPartition partition) throws KafkaOffsetRetrievalFailureException;
 
+  /**
+   * Get the earliest available offset for a {@link Collection} of {@link KafkaPartition}s. NOTE: The default implementation
+   * is not efficient i.e. it will make a getEarliestOffset() call for every {@link KafkaPartition}. Individual implementations
+   * of {@link GobblinKafkaConsumerClient} should override this method to retrieve the offsets of many partitions in as few
+   * requests as the underlying kafka-client allows.
+   *
+   * @param partitions for which earliest offset is retrieved
+   *
+   * @throws KafkaOffsetRetrievalFailureException - If the offset of any of the <code>partitions</code> cannot be retrieved
+   */
+  public default Map<KafkaPartition, Long> getEarliestOffsets(Collection<KafkaPartition> partitions)
+      throws KafkaOffsetRetrievalFailureException {
+    Map<KafkaPartition, Long> offsetMap = Maps.newHashMap();
+    for (KafkaPartition partition: partitions) {
+      offsetMap.put(partition, getEarliestOffset(partition));
+    }
+    return offsetMap;
+  }
+
   /**
    * Get the latest available offset for a {@link Collection} of {@link KafkaPartition}s. NOTE: The default implementation
    * is not efficient i.e. it will make a getLatestOffset() call for every {@link KafkaPartition}. Individual implementations
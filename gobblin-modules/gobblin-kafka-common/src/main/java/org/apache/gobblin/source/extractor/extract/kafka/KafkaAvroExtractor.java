@@ -32,6 +32,7 @@ import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.filter.AvroProjectionPushdown;
 import org.apache.gobblin.kafka.client.ByteArrayBasedKafkaRecord;
 import org.apache.gobblin.metrics.kafka.KafkaSchemaRegistry;
 import org.apache.gobblin.metrics.kafka.SchemaRegistryException;
@@ -47,6 +48,11 @@ import org.apache.gobblin.util.AvroUtils;
  * schema registry is not used (i.e., property {@link KafkaSchemaRegistry#KAFKA_SCHEMA_REGISTRY_CLASS} is not
  * specified, method {@link #getExtractorSchema()} should be overriden.
  *
+ * If {@link org.apache.gobblin.configuration.ConfigurationKeys#EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED} is set, records
+ * are decoded with the extractor schema limited to the fields the converters need as the reader schema, see
+ * {@link AvroProjectionPushdown}. The schema returned by {@link #getRecordSchema(byte[])} is still the full schema the
+ * record was written with.
+ *
  * @author Ziyang Liu
  */
 @Slf4j
@@ -58,6 +64,8 @@ public abstract class KafkaAvroExtractor<K> extends KafkaExtractor<Schema, Gener
 
   protected final Optional<KafkaSchemaRegistry<K, Schema>> schemaRegistry;
   protected final Optional<Schema> schema;
+  // The schema of the extracted records: the extractor schema, limited to the projected fields if any
+  private final Optional<Schema> outputSchema;
   protected final Optional<GenericDatumReader<Record>> reader;
 
   public KafkaAvroExtractor(WorkUnitState state) {
@@ -66,8 +74,11 @@ public abstract class KafkaAvroExtractor<K> extends KafkaExtractor<Schema, Gener
         ? Optional.of(KafkaSchemaRegistry.<K, Schema> get(state.getProperties()))
         : Optional.<KafkaSchemaRegistry<K, Schema>> absent();
     this.schema = getExtractorSchema();
-    if (this.schema.isPresent()) {
-      this.reader = Optional.of(new GenericDatumReader<Record>(this.schema.get()));
+    this.outputSchema = this.schema.isPresent()
+        ? Optional.of(AvroProjectionPushdown.getReaderSchema(state, this.schema.get()).or(this.schema.get()))
+        : this.schema;
+    if (this.outputSchema.isPresent()) {
+      this.reader = Optional.of(new GenericDatumReader<Record>(this.outputSchema.get()));
     } else {
       log.error(String.format("Cannot find latest schema for topic %s. This topic will be skipped", this.topicName));
       this.reader = Optional.absent();
@@ -102,7 +113,7 @@ public abstract class KafkaAvroExtractor<K> extends KafkaExtractor<Schema, Gener
 
   @Override
   public Schema getSchema() {
-    return this.schema.or(DEFAULT_SCHEMA);
+    return this.outputSchema.or(DEFAULT_SCHEMA);
   }
 
   @Override
@@ -129,7 +140,7 @@ public abstract class KafkaAvroExtractor<K> extends KafkaExtractor<Schema, Gener
    */
   @Override
   protected GenericRecord convertRecord(GenericRecord record) throws IOException {
-    return AvroUtils.convertRecordSchema(record, this.schema.get());
+    return AvroUtils.convertRecordSchema(record, this.outputSchema.get());
   }
 
   /**
@@ -48,6 +48,8 @@ import org.apache.gobblin.source.extractor.Extractor;
 import org.apache.gobblin.source.extractor.extract.EventBasedExtractor;
 import org.apache.gobblin.util.ClassAliasResolver;
 import org.apache.gobblin.util.ConfigUtils;
+import org.apache.gobblin.util.jfr.EventSpan;
+import org.apache.gobblin.util.jfr.FlightRecorderEvents;
 
 
 /**
@@ -67,6 +69,9 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
   private final TimeUnit recordCreationTimestampUnit;
 
   private Iterator<KafkaConsumerRecord> messageIterator = null;
+  // Flight Recorder event of the message buffer being processed, from its fetch to the fetch of the next one
+  private EventSpan recordBatchEvent = null;
+  private long recordBatchRecords;
   @Getter
   private int currentPartitionIdx = INITIAL_PARTITION_IDX;
   @Getter
@@ -75,6 +80,7 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
   protected static final int INITIAL_PARTITION_IDX = -1;
 
   protected static final Long MAX_LOG_DECODING_ERRORS = 5L;
+  private static final String RECORD_BATCH_EVENT_SOURCE = "kafka";
 
   protected final WorkUnitState workUnitState;
   protected final String topicName;
@@ -87,6 +93,9 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
 
   protected D currentPartitionLastSuccessfulRecord = null;
 
+  private final boolean prefetchEnabled;
+  private KafkaMessageBufferPrefetcher prefetcher = null;
+
   public KafkaExtractor(WorkUnitState state) {
     super(state);
     this.workUnitState = state;
@@ -113,6 +122,8 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
 
     this.recordCreationTimestampFieldName = this.workUnitState.getProp(KafkaSource.RECORD_CREATION_TIMESTAMP_FIELD, null);
     this.recordCreationTimestampUnit = TimeUnit.valueOf(this.workUnitState.getProp(KafkaSource.RECORD_CREATION_TIMESTAMP_UNIT, TimeUnit.MILLISECONDS.name()));
+    this.prefetchEnabled = this.workUnitState.getPropAsBoolean(KafkaSource.EXTRACTOR_PREFETCH_ENABLED,
+        KafkaSource.DEFAULT_EXTRACTOR_PREFETCH_ENABLED);
   }
 
   @Override
@@ -149,6 +160,9 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
       }
       if (this.messageIterator == null || !this.messageIterator.hasNext()) {
         try {
+          finishRecordBatchEvent();
+          this.recordBatchEvent = FlightRecorderEvents.beginRecordBatch(RECORD_BATCH_EVENT_SOURCE,
+              getCurrentPartition().toString());
           long fetchStartTime = System.nanoTime();
           this.messageIterator = fetchNextMessageBuffer();
           this.statsTracker.onFetchNextMessageBuffer(this.currentPartitionIdx, fetchStartTime);
@@ -189,6 +203,7 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
               (this.recordCreationTimestampFieldName != null) ? nextValidMessage
                   .getRecordCreationTimestamp(this.recordCreationTimestampFieldName, this.recordCreationTimestampUnit) : 0L);
           this.currentPartitionLastSuccessfulRecord = record;
+          this.recordBatchRecords++;
           return record;
         } catch (Throwable t) {
           statsTracker.onUndecodeableRecord(this.currentPartitionIdx);
@@ -229,6 +244,11 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
   public void shutdown()
       throws JobShutdownException {
     this.shutdownRequested.set(true);
+    try {
+      closePrefetcher();
+    } catch (IOException ioe) {
+      throw new JobShutdownException("Failed to stop prefetching message buffers: " + ioe.getMessage());
+    }
   }
 
   private boolean allPartitionsFinished() {
@@ -251,6 +271,7 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
    * and switch metric context to the new partition.
    */
   private void moveToNextPartition() {
+    finishRecordBatchEvent();
     if (this.currentPartitionIdx == INITIAL_PARTITION_IDX) {
       LOG.info("Pulling topic " + this.topicName);
       this.currentPartitionIdx = 0;
@@ -273,6 +294,14 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
     }
   }
 
+  private void finishRecordBatchEvent() {
+    if (this.recordBatchEvent != null) {
+      this.recordBatchEvent.finish(this.recordBatchRecords);
+      this.recordBatchEvent = null;
+      this.recordBatchRecords = 0;
+    }
+  }
+
   protected long getLastSuccessfulRecordHeaderTimestamp() {
     return 0;
   }
@@ -285,11 +314,46 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
     switchMetricContext(Lists.<Tag<?>> newArrayList(new Tag<>("kafka_partition", currentPartitionId)));
   }
 
-  private Iterator<KafkaConsumerRecord> fetchNextMessageBuffer() {
+  private Iterator<KafkaConsumerRecord> fetchNextMessageBuffer() throws Exception {
+    if (this.prefetchEnabled) {
+      return takePrefetchedMessageBuffer();
+    }
     return this.kafkaConsumerClient.consume(this.partitions.get(this.currentPartitionIdx),
         this.nextWatermark.get(this.currentPartitionIdx), this.highWatermark.get(this.currentPartitionIdx));
   }
 
+  /**
+   * Take the next message buffer of the current partition from the {@link KafkaMessageBufferPrefetcher}, which is
+   * started on the first fetch.
+   */
+  private Iterator<KafkaConsumerRecord> takePrefetchedMessageBuffer() throws Exception {
+    if (this.prefetcher == null) {
+      this.prefetcher = new KafkaMessageBufferPrefetcher(this.kafkaConsumerClient, this.partitions, this.nextWatermark,
+          this.highWatermark,
+          this.workUnitState.getPropAsInt(KafkaSource.EXTRACTOR_PREFETCH_MAX_BUFFERS,
+              KafkaSource.DEFAULT_EXTRACTOR_PREFETCH_MAX_BUFFERS),
+          this.workUnitState.getPropAsLong(KafkaSource.EXTRACTOR_PREFETCH_MAX_BYTES,
+              KafkaSource.DEFAULT_EXTRACTOR_PREFETCH_MAX_BYTES));
+      this.prefetcher.start();
+    }
+
+    KafkaMessageBufferPrefetcher.MessageBuffer buffer = this.prefetcher.nextMessageBuffer(this.currentPartitionIdx);
+    if (buffer == null) {
+      return null;
+    }
+    this.statsTracker.onPrefetchedMessageBuffer(this.currentPartitionIdx, buffer.getFetchTimeNanos());
+    if (buffer.getFetchFailure() != null) {
+      throw new IOException("Prefetching message buffer failed", buffer.getFetchFailure());
+    }
+    return buffer.getRecords().iterator();
+  }
+
+  private void closePrefetcher() throws IOException {
+    if (this.prefetcher != null) {
+      this.prefetcher.close();
+    }
+  }
+
   private boolean shouldLogError() {
     return this.statsTracker.getDecodingErrorCount(this.currentPartitionIdx) <= MAX_LOG_DECODING_ERRORS;
   }
@@ -314,6 +378,7 @@ public abstract class KafkaExtractor<S, D> extends EventBasedExtractor<S, D> {
 
   @Override
   public void close() throws IOException {
+    closePrefetcher();
     if (!allPartitionsFinished() && currentPartitionIdx != INITIAL_PARTITION_IDX) {
       this.statsTracker.updateStatisticsForCurrentPartition(currentPartitionIdx, readStartTime, getLastSuccessfulRecordHeaderTimestamp());
     }
@@ -72,6 +72,7 @@ public class KafkaExtractorStatsTracker {
   private static final String READ_RECORD_TIME = "readRecordTime";
   private static final String DECODE_RECORD_TIME = "decodeRecordTime";
   private static final String FETCH_MESSAGE_BUFFER_TIME = "fetchMessageBufferTime";
+  private static final String PREFETCH_MESSAGE_BUFFER_TIME = "prefetchMessageBufferTime";
   private static final String LAST_RECORD_HEADER_TIMESTAMP = "lastRecordHeaderTimestamp";
   private static final String OBSERVED_LATENCY_HISTOGRAM = "observedLatencyHistogram";
 
@@ -165,6 +166,9 @@ public class KafkaExtractorStatsTracker {
     private long partitionTotalSize;
     private long decodeRecordTime;
     private long fetchMessageBufferTime;
+    // time spent fetching on the background thread when prefetching is enabled, fetchMessageBufferTime is then
+    // the time the extractor waited for prefetched buffers
+    private long prefetchMessageBufferTime;
     private long readRecordTime;
     private long startFetchEpochTime;
     private long stopFetchEpochTime;
@@ -282,6 +286,19 @@ public class KafkaExtractorStatsTracker {
     });
   }
 
+  /**
+   * A method that is called when the extractor takes a message buffer that was fetched ahead of time on a background
+   * thread. The time the extractor waited for the buffer is reported through {@link #onFetchNextMessageBuffer(int, long)}.
+   * @param partitionIdx the index of Kafka partition
+   * @param prefetchTimeNanos the time the background thread spent fetching the buffer.
+   */
+  public void onPrefetchedMessageBuffer(int partitionIdx, long prefetchTimeNanos) {
+    this.statsMap.computeIfPresent(this.partitions.get(partitionIdx), (k, v) -> {
+      v.prefetchMessageBufferTime += prefetchTimeNanos;
+      return v;
+    });
+  }
+
   /**
    * A method when a partition has been processed.
    * @param partitionIdx the index of Kafka partition
@@ -410,6 +427,8 @@ public class KafkaExtractorStatsTracker {
     tagsForPartition.put(DECODE_RECORD_TIME, Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getDecodeRecordTime())));
     tagsForPartition.put(FETCH_MESSAGE_BUFFER_TIME,
         Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getFetchMessageBufferTime())));
+    tagsForPartition.put(PREFETCH_MESSAGE_BUFFER_TIME,
+        Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getPrefetchMessageBufferTime())));
     tagsForPartition.put(READ_RECORD_TIME, Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getReadRecordTime())));
     tagsForPartition.put(UNDECODABLE_MESSAGE_COUNT, Long.toString(stats.getDecodingErrorCount()));
     tagsForPartition.put(LAST_RECORD_HEADER_TIMESTAMP, Long.toString(stats.getLastSuccessfulRecordHeaderTimestamp()));
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.source.extractor.extract.kafka;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.kafka.client.GobblinKafkaConsumerClient;
+import org.apache.gobblin.kafka.client.KafkaConsumerRecord;
+import org.apache.gobblin.util.ExecutorsUtils;
+
+
+/**
+ * Fetches message buffers of the partitions of a {@link KafkaExtractor} ahead of time on a background I/O thread, so
+ * that fetching the next buffer overlaps with decoding the current one.
+ *
+ * <p>
+ *   Partitions are fetched in the order the extractor reads them, from their low watermark up to their high
+ *   watermark. Since a {@link GobblinKafkaConsumerClient} is not thread-safe, all calls to it are made from the I/O
+ *   thread. At most {@link #maxPrefetchedBuffers} buffers holding no more than {@link #maxPrefetchedBytes} bytes are
+ *   kept ahead of the reader; at least one buffer is always allowed so that a single large buffer cannot stall the
+ *   pipeline.
+ * </p>
+ */
+@Slf4j
+class KafkaMessageBufferPrefetcher implements Closeable {
+
+  private final GobblinKafkaConsumerClient kafkaConsumerClient;
+  private final List<KafkaPartition> partitions;
+  private final long[] nextOffsets;
+  private final long[] highWatermarks;
+  private final int maxPrefetchedBuffers;
+  private final long maxPrefetchedBytes;
+  private final ExecutorService ioExecutor;
+
+  private final Deque<MessageBuffer> prefetchedBuffers = new ArrayDeque<>();
+  private long prefetchedBytes = 0;
+  private boolean fetchingFinished = false;
+  private volatile boolean closed = false;
+
+  /**
+   * A message buffer fetched for a partition, or the failure to fetch it.
+   */
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  @Getter
+  static class MessageBuffer {
+    private final int partitionIdx;
+    private final List<KafkaConsumerRecord> records;
+    private final Throwable fetchFailure;
+    /** Time in nanoseconds the I/O thread spent fetching this buffer. */
+    private final long fetchTimeNanos;
+    private final long sizeInBytes;
+  }
+
+  KafkaMessageBufferPrefetcher(GobblinKafkaConsumerClient kafkaConsumerClient, List<KafkaPartition> partitions,
+      MultiLongWatermark nextWatermark, MultiLongWatermark highWatermark, int maxPrefetchedBuffers,
+      long maxPrefetchedBytes) {
+    Preconditions.checkArgument(maxPrefetchedBuffers > 0, "Must allow at least one prefetched buffer");
+    this.kafkaConsumerClient = kafkaConsumerClient;
+    this.partitions = partitions;
+    this.nextOffsets = new long[partitions.size()];
+    this.highWatermarks = new long[partitions.size()];
+    for (int i = 0; i < partitions.size(); i++) {
+      this.nextOffsets[i] = nextWatermark.get(i);
+      this.highWatermarks[i] = highWatermark.get(i);
+    }
+    this.maxPrefetchedBuffers = maxPrefetchedBuffers;
+    this.maxPrefetchedBytes = maxPrefetchedBytes;
+    this.ioExecutor = Executors.newSingleThreadExecutor(
+        ExecutorsUtils.newDaemonThreadFactory(Optional.of(log), Optional.of("KafkaMessageBufferPrefetcher-%d")));
+  }
+
+  /**
+   * Start fetching message buffers in the background.
+   */
+  void start() {
+    this.ioExecutor.submit(this::fetchAllPartitions);
+  }
+
+  /**
+   * Get the next message buffer of the partition at <code>partitionIdx</code>, blocking until it has been fetched.
+   *
+   * @return the next buffer, or null if the partition has no more messages to fetch or this prefetcher is closed.
+   */
+  synchronized MessageBuffer nextMessageBuffer(int partitionIdx) throws InterruptedException {
+    while (true) {
+      while (this.prefetchedBuffers.isEmpty() && !this.fetchingFinished && !this.closed) {
+        wait();
+      }
+      MessageBuffer buffer = this.prefetchedBuffers.peekFirst();
+      if (buffer == null || buffer.getPartitionIdx() > partitionIdx) {
+        // The I/O thread has moved past this partition
+        return null;
+      }
+      this.prefetchedBuffers.pollFirst();
+      this.prefetchedBytes -= buffer.getSizeInBytes();
+      notifyAll();
+      if (buffer.getPartitionIdx() == partitionIdx) {
+        return buffer;
+      }
+      // Drop buffers of partitions the reader has already moved past
+    }
+  }
+
+  private void fetchAllPartitions() {
+    try {
+      for (int partitionIdx = 0; partitionIdx < this.partitions.size() && !this.closed; partitionIdx++) {
+        fetchPartition(partitionIdx);
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable t) {
+      log.error("Unexpected failure prefetching Kafka message buffers", t);
+    } finally {
+      synchronized (this) {
+        this.fetchingFinished = true;
+        notifyAll();
+      }
+    }
+  }
+
+  private void fetchPartition(int partitionIdx) throws InterruptedException {
+    KafkaPartition partition = this.partitions.get(partitionIdx);
+    while (this.nextOffsets[partitionIdx] < this.highWatermarks[partitionIdx] && !this.closed) {
+      long fetchStartTime = System.nanoTime();
+      List<KafkaConsumerRecord> records;
+      Throwable fetchFailure = null;
+      try {
+        Iterator<KafkaConsumerRecord> messageIterator = this.kafkaConsumerClient
+            .consume(partition, this.nextOffsets[partitionIdx], this.highWatermarks[partitionIdx]);
+        // Materialize the buffer here, consumer clients may decode lazily through the returned iterator
+        records = messageIterator == null ? Collections.<KafkaConsumerRecord>emptyList()
+            : Lists.newArrayList(messageIterator);
+      } catch (Throwable t) {
+        records = Collections.emptyList();
+        fetchFailure = t;
+      }
+      long fetchTimeNanos = System.nanoTime() - fetchStartTime;
+
+      long sizeInBytes = 0;
+      for (KafkaConsumerRecord record : records) {
+        sizeInBytes += Math.max(record.getValueSizeInBytes(), 0);
+        this.nextOffsets[partitionIdx] = Math.max(this.nextOffsets[partitionIdx], record.getNextOffset());
+      }
+      put(new MessageBuffer(partitionIdx, records, fetchFailure, fetchTimeNanos, sizeInBytes));
+
+      // Same as the extractor, a failed or empty fetch ends the partition
+      if (fetchFailure != null || records.isEmpty()) {
+        return;
+      }
+    }
+  }
+
+  private synchronized void put(MessageBuffer buffer) throws InterruptedException {
+    while (!this.closed && !this.prefetchedBuffers.isEmpty()
+        && (this.prefetchedBuffers.size() >= this.maxPrefetchedBuffers
+        || this.prefetchedBytes + buffer.getSizeInBytes() > this.maxPrefetchedBytes)) {
+      wait();
+    }
+    this.prefetchedBuffers.addLast(buffer);
+    this.prefetchedBytes += buffer.getSizeInBytes();
+    notifyAll();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.closed = true;
+    synchronized (this) {
+      this.prefetchedBuffers.clear();
+      this.prefetchedBytes = 0;
+      notifyAll();
+    }
+    ExecutorsUtils.shutdownExecutorService(this.ioExecutor, Optional.of(log), 10, TimeUnit.SECONDS);
+  }
+}
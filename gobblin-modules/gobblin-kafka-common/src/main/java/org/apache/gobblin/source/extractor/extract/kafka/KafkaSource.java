@@ -39,6 +39,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -134,6 +135,21 @@ public abstract class KafkaSource<S, D> extends EventBasedSource<S, D> {
   public static final Boolean DEFAULT_OBSERVED_LATENCY_MEASUREMENT_ENABLED = false;
   public static final String RECORD_CREATION_TIMESTAMP_FIELD = "gobblin.kafka.recordCreationTimestampField";
   public static final String RECORD_CREATION_TIMESTAMP_UNIT = "gobblin.kafka.recordCreationTimestampUnit";
+  // If enabled, the extractor fetches message buffers on a background thread while it decodes the current buffer
+  public static final String EXTRACTOR_PREFETCH_ENABLED = "gobblin.kafka.extractor.prefetch.enabled";
+  public static final boolean DEFAULT_EXTRACTOR_PREFETCH_ENABLED = false;
+  public static final String EXTRACTOR_PREFETCH_MAX_BUFFERS = "gobblin.kafka.extractor.prefetch.maxBuffers";
+  public static final int DEFAULT_EXTRACTOR_PREFETCH_MAX_BUFFERS = 4;
+  public static final String EXTRACTOR_PREFETCH_MAX_BYTES = "gobblin.kafka.extractor.prefetch.maxBytes";
+  public static final long DEFAULT_EXTRACTOR_PREFETCH_MAX_BYTES = 64 * 1024 * 1024L;
+  // Properties of the previous work unit states read by this source and its work unit size estimators. The previous
+  // states are read from the watermark projections of the state store if it retains all of them.
+  public static final List<String> WATERMARK_PROJECTION_RETAINED_PROPERTIES = ImmutableList.of(
+      "topic\\.name",
+      "(partition\\.id|leader\\.id|leader\\.hostandport)(\\.\\d+)?",
+      "(offsetFetchEpochTime|startFetchEpochTime|stopFetchEpochTime)(\\.\\d+)?",
+      ".+\\.avg\\.record\\.(size|millis)",
+      Pattern.quote(ConfigurationKeys.KAFKA_SOURCE_AVG_FETCH_TIME_CAP));
 
   private final Set<String> moveToLatestTopics = Sets.newTreeSet(String.CASE_INSENSITIVE_ORDER);
   private final Map<KafkaPartition, Long> previousOffsets = Maps.newConcurrentMap();
@@ -386,8 +402,10 @@ public abstract class KafkaSource<S, D> extends EventBasedSource<S, D> {
 
     List<WorkUnit> workUnits = Lists.newArrayList();
     List<KafkaPartition> topicPartitions = topic.getPartitions();
+    Map<KafkaPartition, Offsets> kafkaOffsets = getKafkaOffsets(topicPartitions);
     for (KafkaPartition partition : topicPartitions) {
-      WorkUnit workUnit = getWorkUnitForTopicPartition(partition, state, topicSpecificState);
+      WorkUnit workUnit =
+          getWorkUnitForTopicPartition(partition, kafkaOffsets.get(partition), state, topicSpecificState);
       if (workUnit != null) {
         // For disqualified topics, for each of its workunits set the high watermark to be the same
         // as the low watermark, so that it will be skipped.
@@ -417,20 +435,57 @@ public abstract class KafkaSource<S, D> extends EventBasedSource<S, D> {
     workUnit.setProp(ConfigurationKeys.WORK_UNIT_HIGH_WATER_MARK_KEY, workUnit.getLowWaterMark());
   }
 
-  private WorkUnit getWorkUnitForTopicPartition(KafkaPartition partition, SourceState state,
-      Optional<State> topicSpecificState) {
-    Offsets offsets = new Offsets();
-
-    boolean failedToGetKafkaOffsets = false;
+  /**
+   * Get the earliest and latest Kafka offsets of the given partitions with the bulk lookups of the consumer client.
+   * If a bulk lookup fails, offsets are looked up one partition at a time so that a single bad partition does not
+   * fail the others. Partitions whose offsets cannot be retrieved are absent from the returned map.
+   */
+  private Map<KafkaPartition, Offsets> getKafkaOffsets(List<KafkaPartition> partitions) {
+    Map<KafkaPartition, Offsets> kafkaOffsets = Maps.newHashMapWithExpectedSize(partitions.size());
+    GobblinKafkaConsumerClient consumerClient = this.kafkaConsumerClient.get();
 
     try (Timer.Context context = this.metricContext.timer(OFFSET_FETCH_TIMER).time()) {
-      offsets.setOffsetFetchEpochTime(System.currentTimeMillis());
-      offsets.setEarliestOffset(this.kafkaConsumerClient.get().getEarliestOffset(partition));
-      offsets.setLatestOffset(this.kafkaConsumerClient.get().getLatestOffset(partition));
+      long offsetFetchEpochTime = System.currentTimeMillis();
+      Map<KafkaPartition, Long> earliestOffsets = consumerClient.getEarliestOffsets(partitions);
+      Map<KafkaPartition, Long> latestOffsets = consumerClient.getLatestOffsets(partitions);
+      for (KafkaPartition partition : partitions) {
+        if (!earliestOffsets.containsKey(partition) || !latestOffsets.containsKey(partition)) {
+          throw new KafkaOffsetRetrievalFailureException("Bulk offset lookup did not return offsets for " + partition);
+        }
+        Offsets offsets = new Offsets();
+        offsets.setOffsetFetchEpochTime(offsetFetchEpochTime);
+        offsets.setEarliestOffset(earliestOffsets.get(partition));
+        offsets.setLatestOffset(latestOffsets.get(partition));
+        kafkaOffsets.put(partition, offsets);
+      }
+      return kafkaOffsets;
     } catch (Throwable t) {
-      failedToGetKafkaOffsets = true;
-      LOG.error("Caught error in creating work unit for {}", partition, t);
+      LOG.warn(String.format("Failed to retrieve offsets of %d partitions in bulk, retrieving them one at a time",
+          partitions.size()), t);
+      kafkaOffsets.clear();
+    }
+
+    for (KafkaPartition partition : partitions) {
+      try (Timer.Context context = this.metricContext.timer(OFFSET_FETCH_TIMER).time()) {
+        Offsets offsets = new Offsets();
+        offsets.setOffsetFetchEpochTime(System.currentTimeMillis());
+        offsets.setEarliestOffset(consumerClient.getEarliestOffset(partition));
+        offsets.setLatestOffset(consumerClient.getLatestOffset(partition));
+        kafkaOffsets.put(partition, offsets);
+      } catch (Throwable t) {
+        LOG.error("Caught error in creating work unit for {}", partition, t);
+      }
     }
+    return kafkaOffsets;
+  }
+
+  /**
+   * @param kafkaOffsets earliest and latest offsets of the partition in Kafka, or null if they could not be retrieved
+   */
+  private WorkUnit getWorkUnitForTopicPartition(KafkaPartition partition, Offsets kafkaOffsets, SourceState state,
+      Optional<State> topicSpecificState) {
+    boolean failedToGetKafkaOffsets = kafkaOffsets == null;
+    Offsets offsets = failedToGetKafkaOffsets ? new Offsets() : kafkaOffsets;
 
     long previousOffset = 0;
     long previousOffsetFetchEpochTime = 0;
@@ -662,15 +717,18 @@ public abstract class KafkaSource<S, D> extends EventBasedSource<S, D> {
     this.previousOffsetFetchEpochTimes.clear();
     this.previousStartFetchEpochTimes.clear();
     this.previousStopFetchEpochTimes.clear();
-    Map<String, Iterable<WorkUnitState>> workUnitStatesByDatasetUrns = state.getPreviousWorkUnitStatesByDatasetUrns();
+    List<WorkUnitState> previousWorkUnitStates =
+        state.getPreviousWatermarkStates(WATERMARK_PROJECTION_RETAINED_PROPERTIES);
+    Set<String> datasetUrns = Sets.newHashSet();
+    for (WorkUnitState workUnitState : previousWorkUnitStates) {
+      datasetUrns.add(workUnitState.getProp(ConfigurationKeys.DATASET_URN_KEY, ConfigurationKeys.DEFAULT_DATASET_URN));
+    }
 
-    if (!workUnitStatesByDatasetUrns.isEmpty() &&
-            !(workUnitStatesByDatasetUrns.size() == 1 && workUnitStatesByDatasetUrns.keySet().iterator().next()
-        .equals(""))) {
+    if (!datasetUrns.isEmpty() && !(datasetUrns.size() == 1 && datasetUrns.iterator().next().equals(""))) {
       this.isDatasetStateEnabled.set(true);
     }
 
-    for (WorkUnitState workUnitState : state.getPreviousWorkUnitStates()) {
+    for (WorkUnitState workUnitState : previousWorkUnitStates) {
       List<KafkaPartition> partitions = KafkaUtils.getPartitions(workUnitState);
       WorkUnit workUnit = workUnitState.getWorkunit();
 
@@ -29,6 +29,7 @@ import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.SourceState;
 import org.apache.gobblin.configuration.WorkUnitState;
 import org.apache.gobblin.source.extractor.extract.kafka.KafkaPartition;
+import org.apache.gobblin.source.extractor.extract.kafka.KafkaSource;
 import org.apache.gobblin.source.extractor.extract.kafka.KafkaUtils;
 import org.apache.gobblin.source.workunit.WorkUnit;
 
@@ -78,7 +79,8 @@ public class KafkaAvgRecordSizeBasedWorkUnitSizeEstimator implements KafkaWorkUn
 
   private void readPreAvgRecordSizes(SourceState state) {
     this.estAvgSizes.clear();
-    for (WorkUnitState workUnitState : state.getPreviousWorkUnitStates()) {
+    for (WorkUnitState workUnitState : state
+        .getPreviousWatermarkStates(KafkaSource.WATERMARK_PROJECTION_RETAINED_PROPERTIES)) {
       List<KafkaPartition> partitions = KafkaUtils.getPartitions(workUnitState);
       for (KafkaPartition partition : partitions) {
         if (KafkaUtils.containsPartitionAvgRecordSize(workUnitState, partition)) {
@@ -32,6 +32,7 @@ import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.SourceState;
 import org.apache.gobblin.configuration.WorkUnitState;
 import org.apache.gobblin.source.extractor.extract.kafka.KafkaPartition;
+import org.apache.gobblin.source.extractor.extract.kafka.KafkaSource;
 import org.apache.gobblin.source.extractor.extract.kafka.KafkaUtils;
 import org.apache.gobblin.source.workunit.WorkUnit;
 
@@ -109,7 +110,8 @@ public class KafkaAvgRecordTimeBasedWorkUnitSizeEstimator implements KafkaWorkUn
   private void readPrevAvgRecordMillis(SourceState state) {
     Map<String, List<Double>> prevAvgMillis = Maps.newHashMap();
 
-    for (WorkUnitState workUnitState : state.getPreviousWorkUnitStates()) {
+    for (WorkUnitState workUnitState : state
+        .getPreviousWatermarkStates(KafkaSource.WATERMARK_PROJECTION_RETAINED_PROPERTIES)) {
       List<KafkaPartition> partitions = KafkaUtils.getPartitions(workUnitState);
       for (KafkaPartition partition : partitions) {
         if (KafkaUtils.containsPartitionAvgRecordMillis(workUnitState, partition)) {
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.source.extractor.extract.kafka;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Set;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.typesafe.config.Config;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.filter.AvroProjectionAware;
+import org.apache.gobblin.kafka.client.ByteArrayBasedKafkaRecord;
+import org.apache.gobblin.kafka.client.GobblinKafkaConsumerClient;
+import org.apache.gobblin.source.extractor.WatermarkInterval;
+import org.apache.gobblin.source.workunit.WorkUnit;
+
+
+public class FixedSchemaKafkaAvroExtractorTest {
+  private static final String TOPIC = "testTopic";
+  private static final Schema SCHEMA = SchemaBuilder.record("TestRecord").namespace("org.apache.gobblin.test")
+      .fields()
+      .requiredString("id")
+      .requiredInt("count")
+      .requiredString("name")
+      .endRecord();
+
+  @Test
+  public void testDecodeRecord() throws IOException {
+    GenericRecord record = decode(getWorkUnitState(), buildRecord());
+    Assert.assertEquals(record.getSchema(), SCHEMA);
+    Assert.assertEquals(record.get("id").toString(), "id1");
+    Assert.assertEquals(record.get("count"), 42);
+    Assert.assertEquals(record.get("name").toString(), "name1");
+  }
+
+  @Test
+  public void testDecodeRecordWithProjection() throws IOException {
+    WorkUnitState state = getWorkUnitState();
+    state.setProp(ConfigurationKeys.EXTRACT_AVRO_PROJECTION_PUSHDOWN_ENABLED, true);
+    state.setProp(ConfigurationKeys.CONVERTER_CLASSES_KEY, PickIdAndNameConverter.class.getName());
+
+    // The payload is written with the full schema, the field in the middle must be skipped
+    GenericRecord record = decode(state, buildRecord());
+    Assert.assertEquals(record.getSchema().getFields().size(), 2);
+    Assert.assertNull(record.getSchema().getField("count"));
+    Assert.assertEquals(record.get("id").toString(), "id1");
+    Assert.assertEquals(record.get("name").toString(), "name1");
+  }
+
+  private static GenericRecord decode(WorkUnitState state, GenericRecord record) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    new GenericDatumWriter<GenericRecord>(SCHEMA).write(record, encoder);
+    encoder.flush();
+
+    ByteArrayBasedKafkaRecord kafkaRecord = Mockito.mock(ByteArrayBasedKafkaRecord.class);
+    Mockito.when(kafkaRecord.getMessageBytes()).thenReturn(out.toByteArray());
+    FixedSchemaKafkaAvroExtractor extractor = new FixedSchemaKafkaAvroExtractor(state);
+    GenericRecord decoded = extractor.decodeRecord(kafkaRecord);
+    Assert.assertEquals(decoded.getSchema(), extractor.getSchema());
+    return decoded;
+  }
+
+  private static GenericRecord buildRecord() {
+    GenericRecord record = new GenericData.Record(SCHEMA);
+    record.put("id", "id1");
+    record.put("count", 42);
+    record.put("name", "name1");
+    return record;
+  }
+
+  private static WorkUnitState getWorkUnitState() {
+    WorkUnit workUnit = WorkUnit.createEmpty();
+    workUnit.setWatermarkInterval(new WatermarkInterval(new MultiLongWatermark(Lists.newArrayList(0L)),
+        new MultiLongWatermark(Lists.newArrayList(10L))));
+    WorkUnitState state = new WorkUnitState(workUnit, new State());
+    state.setProp(KafkaSource.TOPIC_NAME, TOPIC);
+    state.setProp(KafkaSource.GOBBLIN_KAFKA_CONSUMER_CLIENT_FACTORY_CLASS, MockConsumerClientFactory.class.getName());
+    state.setProp(FixedSchemaKafkaAvroExtractor.STATIC_SCHEMA_ROOT_KEY + "." + TOPIC, SCHEMA.toString());
+    return state;
+  }
+
+  public static class MockConsumerClientFactory implements GobblinKafkaConsumerClient.GobblinKafkaConsumerClientFactory {
+    @Override
+    public GobblinKafkaConsumerClient create(Config config) {
+      return Mockito.mock(GobblinKafkaConsumerClient.class);
+    }
+  }
+
+  /**
+   * Declares the fields a converter keeping "id" and "name" needs.
+   */
+  public static class PickIdAndNameConverter implements AvroProjectionAware {
+    @Override
+    public Set<String> getReadFields(WorkUnitState state) {
+      return ImmutableSet.of();
+    }
+
+    @Override
+    public Optional<Set<String>> getOutputFields(WorkUnitState state) {
+      return Optional.<Set<String>>of(ImmutableSet.of("id", "name"));
+    }
+  }
+}
@@ -138,6 +138,14 @@ public class KafkaExtractorStatsTrackerTest {
     Assert.assertTrue(this.extractorStatsTracker.getStatsMap().get(kafkaPartitions.get(1)).getFetchMessageBufferTime() > 0);
   }
 
+  @Test
+  public void testOnPrefetchedMessageBuffer() {
+    Assert.assertEquals(this.extractorStatsTracker.getStatsMap().get(kafkaPartitions.get(1)).getPrefetchMessageBufferTime(), 0);
+    this.extractorStatsTracker.onPrefetchedMessageBuffer(1, 100L);
+    this.extractorStatsTracker.onPrefetchedMessageBuffer(1, 50L);
+    Assert.assertEquals(this.extractorStatsTracker.getStatsMap().get(kafkaPartitions.get(1)).getPrefetchMessageBufferTime(), 150);
+  }
+
   @Test
   public void testOnPartitionReadComplete() throws InterruptedException {
     Assert.assertEquals(this.extractorStatsTracker.getStatsMap().get(kafkaPartitions.get(1)).getReadRecordTime(), 0);
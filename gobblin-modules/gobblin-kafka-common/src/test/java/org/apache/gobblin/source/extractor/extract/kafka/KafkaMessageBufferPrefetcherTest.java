@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.source.extractor.extract.kafka;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+import org.apache.gobblin.kafka.client.BaseKafkaConsumerRecord;
+import org.apache.gobblin.kafka.client.GobblinKafkaConsumerClient;
+import org.apache.gobblin.kafka.client.KafkaConsumerRecord;
+
+
+public class KafkaMessageBufferPrefetcherTest {
+  private static final KafkaPartition PARTITION0 = new KafkaPartition.Builder().withTopicName("test-topic").withId(0).build();
+  private static final KafkaPartition PARTITION1 = new KafkaPartition.Builder().withTopicName("test-topic").withId(1).build();
+
+  /**
+   * Each fetch returns at most two records starting at the requested offset, so every partition takes several fetches.
+   */
+  private static GobblinKafkaConsumerClient mockConsumerClient() {
+    GobblinKafkaConsumerClient client = Mockito.mock(GobblinKafkaConsumerClient.class);
+    Mockito.when(client.consume(Mockito.any(KafkaPartition.class), Mockito.anyLong(), Mockito.anyLong()))
+        .thenAnswer(invocation -> {
+          KafkaPartition partition = (KafkaPartition) invocation.getArguments()[0];
+          long nextOffset = (Long) invocation.getArguments()[1];
+          long maxOffset = (Long) invocation.getArguments()[2];
+          List<KafkaConsumerRecord> records = Lists.newArrayList();
+          for (long offset = nextOffset; offset < Math.min(nextOffset + 2, maxOffset); offset++) {
+            records.add(new BaseKafkaConsumerRecord(offset, 10, partition.getTopicName(), partition.getId()) { });
+          }
+          return records.iterator();
+        });
+    return client;
+  }
+
+  private static List<Long> readOffsets(KafkaMessageBufferPrefetcher prefetcher, int partitionIdx) throws Exception {
+    List<Long> offsets = Lists.newArrayList();
+    KafkaMessageBufferPrefetcher.MessageBuffer buffer;
+    while ((buffer = prefetcher.nextMessageBuffer(partitionIdx)) != null) {
+      Assert.assertNull(buffer.getFetchFailure());
+      for (KafkaConsumerRecord record : buffer.getRecords()) {
+        offsets.add(record.getOffset());
+      }
+    }
+    return offsets;
+  }
+
+  @Test
+  public void testPrefetchAllPartitions() throws Exception {
+    MultiLongWatermark lowWatermark = new MultiLongWatermark(Arrays.asList(0L, 10L));
+    MultiLongWatermark highWatermark = new MultiLongWatermark(Arrays.asList(5L, 13L));
+
+    // A byte cap below a single buffer must still let buffers through one at a time
+    try (KafkaMessageBufferPrefetcher prefetcher = new KafkaMessageBufferPrefetcher(mockConsumerClient(),
+        Arrays.asList(PARTITION0, PARTITION1), lowWatermark, highWatermark, 2, 1)) {
+      prefetcher.start();
+      Assert.assertEquals(readOffsets(prefetcher, 0), Arrays.asList(0L, 1L, 2L, 3L, 4L));
+      Assert.assertEquals(readOffsets(prefetcher, 1), Arrays.asList(10L, 11L, 12L));
+    }
+  }
+
+  @Test
+  public void testSkipPartition() throws Exception {
+    MultiLongWatermark lowWatermark = new MultiLongWatermark(Arrays.asList(0L, 10L));
+    MultiLongWatermark highWatermark = new MultiLongWatermark(Arrays.asList(100L, 13L));
+
+    try (KafkaMessageBufferPrefetcher prefetcher = new KafkaMessageBufferPrefetcher(mockConsumerClient(),
+        Arrays.asList(PARTITION0, PARTITION1), lowWatermark, highWatermark, 4, Long.MAX_VALUE)) {
+      prefetcher.start();
+      Assert.assertEquals(prefetcher.nextMessageBuffer(0).getRecords().size(), 2);
+      // Moving on to the next partition drops the remaining buffers of the first one
+      Assert.assertEquals(readOffsets(prefetcher, 1), Arrays.asList(10L, 11L, 12L));
+    }
+  }
+}
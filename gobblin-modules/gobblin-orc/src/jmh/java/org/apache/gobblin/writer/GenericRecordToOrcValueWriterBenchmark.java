@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.apache.orc.TypeDescription;
+import org.apache.orc.storage.ql.exec.vector.VectorizedRowBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.gobblin.configuration.WorkUnitState;
+
+
+/**
+ * Benchmarks the conversion of {@link GenericRecord}s into ORC {@link VectorizedRowBatch}es by
+ * {@link GenericRecordToOrcValueWriter}, which is the CPU-heavy part of {@link GobblinOrcWriter}.
+ *
+ * The batch is reset whenever it is full, the same way {@link GobblinOrcWriter#write(GenericRecord)} does it, but
+ * nothing is written to disk so that only the conversion is measured.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 3)
+@BenchmarkMode(value = Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GenericRecordToOrcValueWriterBenchmark {
+  private static final int NUM_RECORDS = 1000;
+
+  @State(value = Scope.Thread)
+  public static class ValueWriterState {
+    @Param({"1000", "10000"})
+    public int batchSize;
+
+    @Param({"false", "true"})
+    public boolean smartSizing;
+
+    private GenericRecordToOrcValueWriter valueWriter;
+    private VectorizedRowBatch rowBatch;
+    private List<GenericRecord> records;
+
+    @Setup
+    public void setup() {
+      Schema schema = SchemaBuilder.record("BenchmarkRecord").namespace("org.apache.gobblin.writer").fields()
+          .requiredInt("intField")
+          .requiredLong("longField")
+          .requiredDouble("doubleField")
+          .requiredBoolean("booleanField")
+          .requiredString("stringField")
+          .optionalString("nullableStringField")
+          .name("arrayField").type().array().items().longType().noDefault()
+          .name("mapField").type().map().values().stringType().noDefault()
+          .endRecord();
+
+      WorkUnitState state = new WorkUnitState();
+      state.setProp(GobblinOrcWriter.ORC_WRITER_PREFIX + "enabledMulValueColumnVectorSmartSizing", smartSizing);
+      TypeDescription orcSchema = AvroOrcSchemaConverter.getOrcSchema(schema);
+      valueWriter = new GenericRecordToOrcValueWriter(orcSchema, schema, state);
+      rowBatch = orcSchema.createRowBatch(batchSize);
+
+      Random random = new Random(1);
+      records = new ArrayList<>(NUM_RECORDS);
+      for (int i = 0; i < NUM_RECORDS; i++) {
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("intField", random.nextInt());
+        record.put("longField", random.nextLong());
+        record.put("doubleField", random.nextDouble());
+        record.put("booleanField", random.nextBoolean());
+        record.put("stringField", "string-" + random.nextLong());
+        record.put("nullableStringField", random.nextBoolean() ? null : new Utf8("utf8-" + random.nextLong()));
+        List<Long> array = new ArrayList<>();
+        for (int j = random.nextInt(20); j > 0; j--) {
+          array.add(random.nextLong());
+        }
+        record.put("arrayField", array);
+        Map<String, String> map = new HashMap<>();
+        for (int j = random.nextInt(10); j > 0; j--) {
+          map.put("key-" + j, "value-" + random.nextInt());
+        }
+        record.put("mapField", map);
+        records.add(record);
+      }
+    }
+  }
+
+  @Benchmark
+  public VectorizedRowBatch writeRecords(ValueWriterState state) throws IOException {
+    VectorizedRowBatch rowBatch = state.rowBatch;
+    for (GenericRecord record : state.records) {
+      state.valueWriter.write(record, rowBatch);
+      if (rowBatch.size == state.batchSize) {
+        rowBatch.reset();
+      }
+    }
+    return rowBatch;
+  }
+}
@@ -19,6 +19,9 @@ package org.apache.gobblin.writer;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
@@ -27,7 +30,6 @@ import java.util.Set;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericData;
-import org.apache.avro.generic.GenericEnumSymbol;
 import org.apache.avro.generic.GenericFixed;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.util.Utf8;
@@ -62,6 +64,8 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
   private static final String ENLARGE_FACTOR_KEY = GobblinOrcWriter.ORC_WRITER_PREFIX + "enlargeFactor";
   private static final int DEFAULT_ENLARGE_FACTOR = 3;
 
+  private static final int INITIAL_STRING_ENCODE_BUFFER_SIZE = 1024;
+
   private boolean enabledSmartSizing;
   private int enlargeFactor;
 
@@ -83,10 +87,24 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
     void addValue(int rowId, int column, Object data, ColumnVector output);
   }
 
+  /**
+   * Codes for top-level primitive columns that are written inline in {@link #write(GenericRecord, VectorizedRowBatch)}
+   * instead of going through the {@link Converter} interface. Columns of any other type use {@link #NON_PRIMITIVE}.
+   */
+  private static final int NON_PRIMITIVE = 0;
+  private static final int BOOLEAN_COLUMN = 1;
+  private static final int INT_COLUMN = 2;
+  private static final int LONG_COLUMN = 3;
+  private static final int FLOAT_COLUMN = 4;
+  private static final int DOUBLE_COLUMN = 5;
+
   private final Converter[] converters;
+  // The per-column plan compiled once from the schema, see NON_PRIMITIVE and friends.
+  private final int[] columnKinds;
 
   public GenericRecordToOrcValueWriter(TypeDescription typeDescription, Schema avroSchema) {
     converters = buildConverters(typeDescription, avroSchema);
+    columnKinds = buildColumnKinds(typeDescription);
     this.enabledSmartSizing = DEFAULT_ENABLE_SMART_ARRAY_ENLARGE;
     this.enlargeFactor = DEFAULT_ENLARGE_FACTOR;
   }
@@ -104,12 +122,32 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
     int row = output.size++;
     for (int c = 0; c < converters.length; ++c) {
       ColumnVector col = output.cols[c];
-      if (value.get(c) == null) {
+      Object data = value.get(c);
+      if (data == null) {
         col.noNulls = false;
         col.isNull[row] = true;
-      } else {
-        col.isNull[row] = false;
-        converters[c].addValue(row, c, value.get(c), col);
+        continue;
+      }
+      col.isNull[row] = false;
+      // Primitive columns are written directly to keep the hot loop free of megamorphic calls to Converter#addValue.
+      switch (columnKinds[c]) {
+        case BOOLEAN_COLUMN:
+          ((LongColumnVector) col).vector[row] = (boolean) data ? 1 : 0;
+          break;
+        case INT_COLUMN:
+          ((LongColumnVector) col).vector[row] = (int) data;
+          break;
+        case LONG_COLUMN:
+          ((LongColumnVector) col).vector[row] = (long) data;
+          break;
+        case FLOAT_COLUMN:
+          ((DoubleColumnVector) col).vector[row] = (float) data;
+          break;
+        case DOUBLE_COLUMN:
+          ((DoubleColumnVector) col).vector[row] = (double) data;
+          break;
+        default:
+          converters[c].addValue(row, c, data, col);
       }
     }
   }
@@ -156,19 +194,60 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
     }
   }
 
+  /**
+   * Converts string-like values into a {@link BytesColumnVector}.
+   *
+   * {@link Utf8} values are referenced directly (honoring {@link Utf8#getByteLength()} since the backing array can be
+   * larger than the content). {@link String} values are encoded into a reusable scratch buffer and copied into the
+   * shared buffer of the column vector, which is recycled across batches, so no byte array is allocated per value.
+   */
   static class StringConverter implements Converter {
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private ByteBuffer scratch = ByteBuffer.allocate(INITIAL_STRING_ENCODE_BUFFER_SIZE);
+    // The column vector whose shared buffer has been initialized by this converter.
+    private ColumnVector initializedOutput;
+
     public void addValue(int rowId, int column, Object data, ColumnVector output) {
-      final byte[] value;
-      if (data instanceof GenericEnumSymbol) {
-        value = data.toString().getBytes(StandardCharsets.UTF_8);
-      } else if (data instanceof Enum) {
-        value = ((Enum) data).name().getBytes(StandardCharsets.UTF_8);
-      } else if (data instanceof Utf8) {
-        value = ((Utf8) data).getBytes();
+      BytesColumnVector cv = (BytesColumnVector) output;
+      if (data instanceof Utf8) {
+        Utf8 utf8 = (Utf8) data;
+        cv.setRef(rowId, utf8.getBytes(), 0, utf8.getByteLength());
+        return;
+      }
+
+      final String value;
+      if (data instanceof Enum) {
+        value = ((Enum) data).name();
       } else {
-        value = ((String) data).getBytes(StandardCharsets.UTF_8);
+        // Covers String, GenericEnumSymbol and any other CharSequence.
+        value = data.toString();
       }
-      ((BytesColumnVector) output).setRef(rowId, value, 0, value.length);
+      encode(value);
+      if (initializedOutput != output) {
+        // The buffer of a freshly created vector is only allocated on its first reset.
+        cv.initBuffer();
+        initializedOutput = output;
+      }
+      cv.setVal(rowId, scratch.array(), 0, scratch.position());
+    }
+
+    private void encode(String value) {
+      // UTF-8 never needs more than 3 bytes per UTF-16 char.
+      int maxBytes = value.length() * 3;
+      if (scratch.capacity() < maxBytes) {
+        scratch = ByteBuffer.allocate(Math.max(maxBytes, scratch.capacity() * 2));
+      }
+      scratch.clear();
+      encoder.reset();
+      CoderResult result = encoder.encode(CharBuffer.wrap(value), scratch, true);
+      if (!result.isUnderflow()) {
+        // Fall back to the replacing encoder of String for malformed input.
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        scratch = ByteBuffer.wrap(bytes);
+        scratch.position(bytes.length);
+        return;
+      }
+      encoder.flush(scratch);
     }
   }
 
@@ -259,6 +338,8 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
     private final Converter children;
     // Keep track of total number of rows being added to help calculate row's avg size.
     private int rowsAdded;
+    // Keep track of total number of elements being added, used for pre-sizing the child vector of a new batch.
+    private long elementsAdded;
 
     ListConverter(TypeDescription schema, Schema avroSchema) {
       children = buildConverter(schema.getChildren().get(0), avroSchema.getElementType());
@@ -269,6 +350,10 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
       rowsAdded += 1;
       List value = (List) data;
       ListColumnVector cv = (ListColumnVector) output;
+      if (cv.childCount == 0) {
+        presize(rowsAdded - 1, elementsAdded, cv.isNull.length, cv.child);
+      }
+      elementsAdded += value.size();
 
       // record the length and start of the list elements
       cv.lengths[rowId] = value.size();
@@ -300,6 +385,8 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
     private final Converter valueConverter;
     // Keep track of total number of rows being added to help calculate row's avg size.
     private int rowsAdded;
+    // Keep track of total number of entries being added, used for pre-sizing the child vectors of a new batch.
+    private long entriesAdded;
 
     MapConverter(TypeDescription schema, Schema avroSchema) {
       keyConverter = buildConverter(schema.getChildren().get(0), SchemaBuilder.builder().stringType());
@@ -312,6 +399,10 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
       Map<Object, Object> map = (Map<Object, Object>) data;
       Set<Map.Entry<Object, Object>> entries = map.entrySet();
       MapColumnVector cv = (MapColumnVector) output;
+      if (cv.childCount == 0) {
+        presize(rowsAdded - 1, entriesAdded, cv.isNull.length, cv.keys, cv.values);
+      }
+      entriesAdded += entries.size();
 
       // record the length and start of the list elements
       cv.lengths[rowId] = entries.size();
@@ -359,6 +450,25 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
     return enabledSmartSizing ? currentSize + (currentSize / rowsAdded + 1) * batchSize : enlargeFactor * currentSize;
   }
 
+  /**
+   * When smart-sizing is enabled, grow the child vectors of a multi-valued column at the beginning of a batch to the
+   * size predicted by the average number of children per row seen so far, so that the resize in the middle of a batch,
+   * which has to copy over all existing children, is mostly avoided.
+   */
+  private void presize(int previousRows, long previousChildren, int batchSize, ColumnVector... childVectors) {
+    if (!enabledSmartSizing || previousRows <= 0) {
+      return;
+    }
+    long expected = (previousChildren / previousRows + 1) * batchSize;
+    int expectedSize = (int) Math.min(expected, Integer.MAX_VALUE - 8);
+    for (ColumnVector childVector : childVectors) {
+      if (childVector.isNull.length < expectedSize) {
+        // Nothing has been written into the children in this batch yet, so there's nothing to preserve.
+        childVector.ensureSize(expectedSize, false);
+      }
+    }
+  }
+
   private Converter buildConverter(TypeDescription schema, Schema avroSchema) {
     switch (schema.getCategory()) {
       case BOOLEAN:
@@ -396,6 +506,33 @@ public class GenericRecordToOrcValueWriter implements OrcValueWriter<GenericReco
     }
   }
 
+  private static int[] buildColumnKinds(TypeDescription schema) {
+    List<TypeDescription> children = schema.getChildren();
+    int[] result = new int[children.size()];
+    for (int c = 0; c < children.size(); ++c) {
+      switch (children.get(c).getCategory()) {
+        case BOOLEAN:
+          result[c] = BOOLEAN_COLUMN;
+          break;
+        case INT:
+          result[c] = INT_COLUMN;
+          break;
+        case LONG:
+          result[c] = LONG_COLUMN;
+          break;
+        case FLOAT:
+          result[c] = FLOAT_COLUMN;
+          break;
+        case DOUBLE:
+          result[c] = DOUBLE_COLUMN;
+          break;
+        default:
+          result[c] = NON_PRIMITIVE;
+      }
+    }
+    return result;
+  }
+
   private Converter[] buildConverters(TypeDescription schema, Schema avroSchema) {
     if (schema.getCategory() != TypeDescription.Category.STRUCT) {
       throw new IllegalArgumentException("Top level must be a struct " + schema);
@@ -20,6 +20,7 @@ package org.apache.gobblin.writer;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -27,6 +28,7 @@ import java.util.stream.Collectors;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -39,10 +41,12 @@ import org.apache.orc.TypeDescription;
 import org.apache.orc.Writer;
 import org.apache.orc.mapred.OrcStruct;
 import org.apache.orc.mapred.OrcUnion;
+import org.apache.orc.storage.ql.exec.vector.BytesColumnVector;
 import org.apache.orc.storage.ql.exec.vector.VectorizedRowBatch;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.google.common.base.Strings;
 import com.google.common.io.Files;
 
 import lombok.extern.slf4j.Slf4j;
@@ -135,6 +139,46 @@ public class GenericRecordToOrcValueWriterTest {
     Assert.assertEquals(valueWriter.resizeCount, 2);
   }
 
+  @Test
+  public void testStringConverterWithStrings() {
+    // Values of different lengths, including multi-byte characters and one larger than the initial scratch buffer
+    String[] values = {"abcdef", "a", "", "h\u00e9llo \u2713", Strings.repeat("xyz", 1000), "bc"};
+    BytesColumnVector cv = new BytesColumnVector(values.length);
+    GenericRecordToOrcValueWriter.StringConverter converter = new GenericRecordToOrcValueWriter.StringConverter();
+    for (int i = 0; i < values.length; i++) {
+      converter.addValue(i, 0, values[i], cv);
+    }
+
+    // Each value is copied out of the reused scratch buffer, so earlier rows are not overwritten by later ones
+    for (int i = 0; i < values.length; i++) {
+      Assert.assertEquals(getString(cv, i), values[i]);
+    }
+  }
+
+  @Test
+  public void testStringConverterWithUtf8() {
+    // The backing arrays of these values are larger than their content
+    Utf8 longer = new Utf8("abcdef").setByteLength(3);
+    Utf8 shorter = new Utf8("xyz").setByteLength(1);
+    Utf8 empty = new Utf8("abc").setByteLength(0);
+    Utf8[] values = {longer, shorter, empty, new Utf8("h\u00e9llo")};
+    BytesColumnVector cv = new BytesColumnVector(values.length);
+    GenericRecordToOrcValueWriter.StringConverter converter = new GenericRecordToOrcValueWriter.StringConverter();
+    for (int i = 0; i < values.length; i++) {
+      converter.addValue(i, 0, values[i], cv);
+    }
+
+    Assert.assertEquals(getString(cv, 0), "abc");
+    Assert.assertEquals(getString(cv, 1), "x");
+    Assert.assertEquals(getString(cv, 2), "");
+    Assert.assertEquals(getString(cv, 3), "h\u00e9llo");
+    Assert.assertEquals(cv.length[3], 6);
+  }
+
+  private static String getString(BytesColumnVector cv, int row) {
+    return new String(cv.vector[row], cv.start[row], cv.length[row], StandardCharsets.UTF_8);
+  }
+
   /**
    * Accessing "fields" using reflection to work-around access modifiers.
    */
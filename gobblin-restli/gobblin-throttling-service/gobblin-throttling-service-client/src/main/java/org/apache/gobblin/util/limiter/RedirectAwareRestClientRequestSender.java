@@ -22,11 +22,13 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
 import com.linkedin.common.callback.Callback;
 import com.linkedin.r2.RemoteInvocationException;
 import com.linkedin.r2.RetriableRequestException;
@@ -57,6 +59,9 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * A {@link RequestSender} that handles redirects and unreachable uris transparently.
+ *
+ * The server a resource is redirected to is remembered, so that requests for resources of a sharded throttling
+ * service go directly to the server owning them. Other resources are sent to the server of the last redirect.
  */
 @Slf4j
 public class RedirectAwareRestClientRequestSender extends RestClientRequestSender {
@@ -100,6 +105,8 @@ public class RedirectAwareRestClientRequestSender extends RestClientRequestSende
   private volatile RestClient restClient;
   @Getter
   private volatile String currentServerPrefix;
+  // Server prefix each resource was last redirected to
+  private final ConcurrentMap<String, String> resourcePrefixes = Maps.newConcurrentMap();
 
   private String lastLogPrefix = "";
   private AtomicInteger requestsSinceLastLog = new AtomicInteger(0);
@@ -166,6 +173,34 @@ public class RedirectAwareRestClientRequestSender extends RestClientRequestSende
     return this.restClient;
   }
 
+  @Override
+  protected RestClient getRestClient(PermitRequest request) {
+    String prefix = this.resourcePrefixes.get(request.getResource());
+    if (prefix == null || prefix.equals(this.currentServerPrefix)) {
+      return this.restClient;
+    }
+    try {
+      return getRestClientForPrefix(prefix);
+    } catch (NotConfiguredException nce) {
+      this.resourcePrefixes.remove(request.getResource(), prefix);
+      return this.restClient;
+    }
+  }
+
+  /**
+   * @return the server prefix requests for the resource are sent to.
+   */
+  @VisibleForTesting
+  String getServerPrefix(String resource) {
+    String prefix = this.resourcePrefixes.get(resource);
+    return prefix == null ? this.currentServerPrefix : prefix;
+  }
+
+  private RestClient getRestClientForPrefix(String uri) throws NotConfiguredException {
+    return (RestClient) this.broker.getSharedResource(new SharedRestClientFactory(),
+        new UriRestClientKey(RestliLimiterFactory.RESTLI_SERVICE_NAME, uri));
+  }
+
   @Override
   protected Callback<Response<PermitAllocation>> decorateCallback(PermitRequest request,
       Callback<Response<PermitAllocation>> callback) {
@@ -183,8 +218,7 @@ public class RedirectAwareRestClientRequestSender extends RestClientRequestSende
       log.error(String.format("Switching to server prefix %s due to: %s", uri, reason), errorCause);
     }
     this.currentServerPrefix = uri;
-    this.restClient = (RestClient) this.broker.getSharedResource(new SharedRestClientFactory(),
-          new UriRestClientKey(RestliLimiterFactory.RESTLI_SERVICE_NAME, uri));
+    this.restClient = getRestClientForPrefix(uri);
   }
 
   /**
@@ -210,8 +244,9 @@ public class RedirectAwareRestClientRequestSender extends RestClientRequestSende
           }
           RestLiResponseException responseExc = (RestLiResponseException) error;
           String newUri = (String) responseExc.getErrorDetails().get("Location");
-          RedirectAwareRestClientRequestSender.this.updateRestClient(
-              SharedRestClientFactory.resolveUriPrefix(new URI(newUri)), "301 redirect", null);
+          String newPrefix = SharedRestClientFactory.resolveUriPrefix(new URI(newUri));
+          RedirectAwareRestClientRequestSender.this.resourcePrefixes.put(this.originalRequest.getResource(), newPrefix);
+          RedirectAwareRestClientRequestSender.this.updateRestClient(newPrefix, "301 redirect", null);
           this.exponentialBackoff.awaitNextRetry();
           sendRequest(this.originalRequest, this);
         } else if (error instanceof RemoteInvocationException
@@ -220,7 +255,9 @@ public class RedirectAwareRestClientRequestSender extends RestClientRequestSende
           if (this.retries > RedirectAwareRestClientRequestSender.this.connectionPrefixes.size() + MIN_RETRIES) {
             this.underlying.onError(new NonRetriableException("Failed to connect to all available connection prefixes.", error));
           }
-          updateRestClient(getNextConnectionPrefix(), "Failed to communicate with " + getCurrentServerPrefix(), error);
+          String failedPrefix = getServerPrefix(this.originalRequest.getResource());
+          RedirectAwareRestClientRequestSender.this.resourcePrefixes.remove(this.originalRequest.getResource());
+          updateRestClient(getNextConnectionPrefix(), "Failed to communicate with " + failedPrefix, error);
           this.exponentialBackoff.awaitNextRetry();
           sendRequest(this.originalRequest, this);
         } else {
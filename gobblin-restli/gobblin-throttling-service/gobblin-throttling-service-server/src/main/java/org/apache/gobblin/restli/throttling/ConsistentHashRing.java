@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.restli.throttling;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.google.common.base.Optional;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+
+/**
+ * An immutable consistent hash ring assigning keys to members.
+ *
+ * Each member is placed at several points of the ring, derived from its name, and a key is owned by the member at the
+ * first point following the hash of the key. When a member joins or leaves the ring, only the keys at the points it
+ * takes or gives up change owners.
+ *
+ * @param <T> type of the members.
+ */
+public class ConsistentHashRing<T> {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+  /**
+   * @param members members of the ring by name. The names must be the same in all processes building the ring.
+   * @param pointsPerMember number of points of the ring each member is placed at.
+   */
+  public ConsistentHashRing(Map<String, T> members, int pointsPerMember) {
+    for (Map.Entry<String, T> member : members.entrySet()) {
+      for (int i = 0; i < pointsPerMember; i++) {
+        this.ring.put(hash(member.getKey() + "#" + i), member.getValue());
+      }
+    }
+  }
+
+  /**
+   * @return the member owning the key, or absent if the ring has no members.
+   */
+  public Optional<T> getOwner(String key) {
+    if (this.ring.isEmpty()) {
+      return Optional.absent();
+    }
+    Map.Entry<Long, T> entry = this.ring.ceilingEntry(hash(key));
+    return Optional.of(entry == null ? this.ring.firstEntry().getValue() : entry.getValue());
+  }
+
+  private static long hash(String key) {
+    return HASH_FUNCTION.hashString(key, StandardCharsets.UTF_8).asLong();
+  }
+}
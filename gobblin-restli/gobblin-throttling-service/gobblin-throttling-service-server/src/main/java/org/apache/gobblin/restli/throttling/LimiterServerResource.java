@@ -57,6 +57,9 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Restli resource for allocating permits through Rest calls. Simply calls a {@link Limiter} in the server configured
  * through {@link SharedResourcesBroker}.
+ *
+ * In a highly available cluster, requests to a server that is not the leader, or in a sharded cluster, requests to a
+ * server that does not own the resource, are answered with a 301 to the right server.
  */
 @Alpha
 @Slf4j
@@ -69,6 +72,7 @@ public class LimiterServerResource extends ComplexKeyResourceAsyncTemplate<Permi
   public static final String METRIC_CONTEXT_INJECT_NAME = "limiterResourceMetricContext";
   public static final String REQUEST_TIMER_INJECT_NAME = "limiterResourceRequestTimer";
   public static final String LEADER_FINDER_INJECT_NAME = "leaderFinder";
+  public static final String RESOURCE_OWNER_FINDER_INJECT_NAME = "resourceOwnerFinder";
 
   public static final String REQUEST_TIMER_NAME = "limiterServer.requestTimer";
   public static final String PERMITS_REQUESTED_METER_NAME = "limiterServer.permitsRequested";
@@ -89,6 +93,9 @@ public class LimiterServerResource extends ComplexKeyResourceAsyncTemplate<Permi
   @Inject @Named(LEADER_FINDER_INJECT_NAME)
   Optional<LeaderFinder<URIMetadata>> leaderFinderOpt;
 
+  @Inject @Named(RESOURCE_OWNER_FINDER_INJECT_NAME)
+  Optional<ResourceOwnerFinder<URIMetadata>> resourceOwnerFinderOpt;
+
   @Inject
   Sleeper sleeper;
 
@@ -122,6 +129,13 @@ public class LimiterServerResource extends ComplexKeyResourceAsyncTemplate<Permi
             String.format("New leader <a href=\"%s\">%s</a>", leaderUri, leaderUri));
         exception.setErrorDetails(new DataMap(ImmutableMap.of(LOCATION_301, leaderUri.toString())));
         throw exception;
+      } else if (this.resourceOwnerFinderOpt.isPresent() && !this.resourceOwnerFinderOpt.get().isOwner(resourceId)) {
+        URI ownerUri = this.resourceOwnerFinderOpt.get().getOwnerMetadata(resourceId).getUri();
+
+        RestLiServiceException exception = new RestLiServiceException(HttpStatus.S_301_MOVED_PERMANENTLY,
+            String.format("Resource owned by <a href=\"%s\">%s</a>", ownerUri, ownerUri));
+        exception.setErrorDetails(new DataMap(ImmutableMap.of(LOCATION_301, ownerUri.toString())));
+        throw exception;
       } else {
         ThrottlingPolicy policy = (ThrottlingPolicy) this.broker.getSharedResource(new ThrottlingPolicyFactory(),
             new SharedLimiterKey(request.getResource()));
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.restli.throttling;
+
+import com.google.common.util.concurrent.Service;
+
+
+/**
+ * An interface to find which process in a cluster of processes owns a resource.
+ *
+ * Multiple processes that instantiate equivalent {@link ResourceOwnerFinder}s agree on a single owner for each
+ * resource once they have seen the same processes join and leave the cluster. Each process can verify
+ * whether it owns a resource using {@link #isOwner(String)}, and it can obtain the metadata of the owner using
+ * {@link #getOwnerMetadata(String)}.
+ *
+ * @param <T>
+ */
+public interface ResourceOwnerFinder<T extends LeaderFinder.Metadata> extends Service {
+
+  /**
+   * @return true if the current process owns the resource.
+   */
+  boolean isOwner(String resourceId);
+
+  /**
+   * @return The metadata of the process owning the resource.
+   */
+  T getOwnerMetadata(String resourceId);
+
+  /**
+   * @return The metadata of the current process.
+   */
+  T getLocalMetadata();
+}
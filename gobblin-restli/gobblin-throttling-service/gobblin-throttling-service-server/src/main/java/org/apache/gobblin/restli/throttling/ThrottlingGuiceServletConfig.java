@@ -80,8 +80,13 @@ public class ThrottlingGuiceServletConfig extends GuiceServletContextListener im
 
   public static final String ZK_STRING_KEY = THROTTLING_SERVER_PREFIX + "ha.zkString";
   public static final String HA_CLUSTER_NAME = THROTTLING_SERVER_PREFIX + "ha.clusterName";
+  /**
+   * If true, resources are partitioned across all the servers of the cluster instead of being served by a single leader.
+   */
+  public static final String HA_SHARDED = THROTTLING_SERVER_PREFIX + "ha.sharded";
 
   private Optional<LeaderFinder<URIMetadata>> _leaderFinder;
+  private Optional<ResourceOwnerFinder<URIMetadata>> _resourceOwnerFinder;
   private Config _config;
   private Sleeper _sleeper = null;
   private Injector _injector;
@@ -112,12 +117,19 @@ public class ThrottlingGuiceServletConfig extends GuiceServletContextListener im
   public void initialize(Config config) {
     try {
       this._config = config;
-      this._leaderFinder = getLeaderFinder(this._config);
+      boolean sharded = this._config.hasPath(HA_SHARDED) && this._config.getBoolean(HA_SHARDED);
+      this._leaderFinder = sharded ? Optional.<LeaderFinder<URIMetadata>>absent() : getLeaderFinder(this._config);
       if (this._leaderFinder.isPresent()) {
         this._leaderFinder.get().startAsync();
         this._leaderFinder.get().awaitRunning(100, TimeUnit.SECONDS);
       }
-      this._injector = createInjector(this._config, this._leaderFinder);
+      this._resourceOwnerFinder = sharded ? getResourceOwnerFinder(this._config)
+          : Optional.<ResourceOwnerFinder<URIMetadata>>absent();
+      if (this._resourceOwnerFinder.isPresent()) {
+        this._resourceOwnerFinder.get().startAsync();
+        this._resourceOwnerFinder.get().awaitRunning(100, TimeUnit.SECONDS);
+      }
+      this._injector = createInjector(this._config, this._leaderFinder, this._resourceOwnerFinder);
     } catch (URISyntaxException | IOException | TimeoutException exc) {
       log.error(String.format("Error in %s initialization.", ThrottlingGuiceServletConfig.class.getSimpleName()), exc);
       throw new RuntimeException(exc);
@@ -129,7 +141,8 @@ public class ThrottlingGuiceServletConfig extends GuiceServletContextListener im
     return this._injector;
   }
 
-  private Injector createInjector(final Config config, final Optional<LeaderFinder<URIMetadata>> leaderFinder) {
+  private Injector createInjector(final Config config, final Optional<LeaderFinder<URIMetadata>> leaderFinder,
+      final Optional<ResourceOwnerFinder<URIMetadata>> resourceOwnerFinder) {
     final SharedResourcesBroker<ThrottlingServerScopes> topLevelBroker =
         SharedResourcesBrokerFactory.createDefaultTopLevelBroker(config, ThrottlingServerScopes.GLOBAL.defaultScopeInstance());
 
@@ -158,6 +171,8 @@ public class ThrottlingGuiceServletConfig extends GuiceServletContextListener im
 
           bind(new TypeLiteral<Optional<LeaderFinder<URIMetadata>>>() {
           }).annotatedWith(Names.named(LimiterServerResource.LEADER_FINDER_INJECT_NAME)).toInstance(leaderFinder);
+          bind(new TypeLiteral<Optional<ResourceOwnerFinder<URIMetadata>>>() {
+          }).annotatedWith(Names.named(LimiterServerResource.RESOURCE_OWNER_FINDER_INJECT_NAME)).toInstance(resourceOwnerFinder);
 
           List<RestFilter> restFilters = new ArrayList<>();
           restFilters.add(new ServerCompressionFilter(EncodingType.SNAPPY.getHttpName()));
@@ -180,21 +195,38 @@ public class ThrottlingGuiceServletConfig extends GuiceServletContextListener im
   private static Optional<LeaderFinder<URIMetadata>> getLeaderFinder(Config config) throws URISyntaxException,
                                                                                            IOException {
     if (config.hasPath(ZK_STRING_KEY)) {
-      Preconditions.checkArgument(config.hasPath(LISTENING_PORT), "Missing required config " + LISTENING_PORT);
       Preconditions.checkArgument(config.hasPath(HA_CLUSTER_NAME), "Missing required config " + HA_CLUSTER_NAME);
 
-      int port = config.getInt(LISTENING_PORT);
-      String hostname = config.hasPath(HOSTNAME) ? config.getString(HOSTNAME) : InetAddress.getLocalHost().getCanonicalHostName();
-
       String clusterName = config.getString(HA_CLUSTER_NAME);
       String zkString = config.getString(ZK_STRING_KEY);
 
       return Optional.<LeaderFinder<URIMetadata>>of(new ZookeeperLeaderElection<>(zkString, clusterName,
-          new URIMetadata(new URI("http", null, hostname, port, null, null, null))));
+          getLocalMetadata(config)));
     }
     return Optional.absent();
   }
 
+  private static Optional<ResourceOwnerFinder<URIMetadata>> getResourceOwnerFinder(Config config)
+      throws URISyntaxException, IOException {
+    Preconditions.checkArgument(config.hasPath(ZK_STRING_KEY), "Missing required config " + ZK_STRING_KEY);
+    Preconditions.checkArgument(config.hasPath(HA_CLUSTER_NAME), "Missing required config " + HA_CLUSTER_NAME);
+
+    String clusterName = config.getString(HA_CLUSTER_NAME);
+    String zkString = config.getString(ZK_STRING_KEY);
+
+    return Optional.<ResourceOwnerFinder<URIMetadata>>of(new ZookeeperShardMembership<>(zkString, clusterName,
+        getLocalMetadata(config)));
+  }
+
+  private static URIMetadata getLocalMetadata(Config config) throws URISyntaxException, IOException {
+    Preconditions.checkArgument(config.hasPath(LISTENING_PORT), "Missing required config " + LISTENING_PORT);
+
+    int port = config.getInt(LISTENING_PORT);
+    String hostname = config.hasPath(HOSTNAME) ? config.getString(HOSTNAME) : InetAddress.getLocalHost().getCanonicalHostName();
+
+    return new URIMetadata(new URI("http", null, hostname, port, null, null, null));
+  }
+
   @Override
   public void contextDestroyed(ServletContextEvent servletContextEvent) {
     close();
@@ -208,6 +240,10 @@ public class ThrottlingGuiceServletConfig extends GuiceServletContextListener im
         this._leaderFinder.get().stopAsync();
         this._leaderFinder.get().awaitTerminated(2, TimeUnit.SECONDS);
       }
+      if (this._resourceOwnerFinder.isPresent()) {
+        this._resourceOwnerFinder.get().stopAsync();
+        this._resourceOwnerFinder.get().awaitTerminated(2, TimeUnit.SECONDS);
+      }
     } catch (TimeoutException te) {
       // Do nothing
     }
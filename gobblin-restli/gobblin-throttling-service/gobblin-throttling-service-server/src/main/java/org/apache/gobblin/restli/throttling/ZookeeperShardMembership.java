@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.restli.throttling;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.framework.state.ConnectionState;
+import org.apache.curator.framework.state.ConnectionStateListener;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.AbstractIdleService;
+
+import org.apache.gobblin.util.SerializationUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * A {@link ResourceOwnerFinder} using Zookeeper.
+ *
+ * Each process registers an ephemeral node with its metadata in the cluster, and watches the nodes of the other
+ * processes. Resources are assigned to the processes of the cluster with a {@link ConsistentHashRing} keyed by
+ * {@link org.apache.gobblin.restli.throttling.LeaderFinder.Metadata#getShortName()}, so all the processes agree on
+ * the owners once they have seen the same members, and a process restarting with the same metadata gets the same
+ * resources back.
+ */
+@Slf4j
+public class ZookeeperShardMembership<T extends LeaderFinder.Metadata> extends AbstractIdleService
+    implements ResourceOwnerFinder<T> {
+
+  public static final int POINTS_PER_MEMBER = 128;
+
+  private final String membersNode;
+  private final T localMetadata;
+  private final String zkConnectString;
+
+  private CuratorFramework zooKeeper;
+  private String nodePath;
+  private volatile ConsistentHashRing<T> ring = new ConsistentHashRing<>(Maps.<String, T>newHashMap(), 0);
+  private volatile Set<String> memberNames = ImmutableSet.of();
+
+  /**
+   * @param zkConnectString Zookeeper connect string.
+   * @param clusterName Cluster name. Processes in the same cluster are identified by the cluster name.
+   * @param localMetadata {@link org.apache.gobblin.restli.throttling.LeaderFinder.Metadata} for the local process.
+   */
+  public ZookeeperShardMembership(String zkConnectString, String clusterName, T localMetadata) {
+    this.zkConnectString = zkConnectString;
+    this.localMetadata = localMetadata;
+    if (!clusterName.startsWith("/")) {
+      clusterName = "/" + clusterName;
+    }
+    this.membersNode = clusterName + "/shardMembers";
+  }
+
+  @Override
+  public boolean isOwner(String resourceId) {
+    return getOwnerMetadata(resourceId).getShortName().equals(this.localMetadata.getShortName());
+  }
+
+  @Override
+  public T getOwnerMetadata(String resourceId) {
+    return this.ring.getOwner(resourceId).or(this.localMetadata);
+  }
+
+  @Override
+  public T getLocalMetadata() {
+    return this.localMetadata;
+  }
+
+  @Override
+  protected void startUp() throws Exception {
+    this.zooKeeper = CuratorFrameworkFactory.builder().retryPolicy(new ExponentialBackoffRetry(100, 3))
+        .connectString(this.zkConnectString).build();
+    this.zooKeeper.start();
+    if (!this.zooKeeper.blockUntilConnected(1, TimeUnit.SECONDS)) {
+      throw new RuntimeException("Could not connect to Zookeeper.");
+    }
+    this.zooKeeper.getConnectionStateListenable().addListener(new ConnectionStateListener() {
+      @Override
+      public void stateChanged(CuratorFramework client, ConnectionState newState) {
+        if (newState == ConnectionState.RECONNECTED) {
+          // The ephemeral node is gone if the session expired
+          register();
+        }
+      }
+    });
+    register();
+  }
+
+  @Override
+  protected void shutDown() throws Exception {
+    if (this.zooKeeper != null) {
+      this.zooKeeper.close();
+    }
+  }
+
+  private synchronized void register() {
+    try {
+      if (this.nodePath == null || this.zooKeeper.checkExists().forPath(this.nodePath) == null) {
+        this.nodePath = this.zooKeeper.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL_SEQUENTIAL)
+            .forPath(this.membersNode + "/m_", SerializationUtils.serializeIntoBytes(this.localMetadata));
+      }
+      refreshMembers();
+    } catch (Exception exc) {
+      throw new RuntimeException("Could not register in " + this.membersNode, exc);
+    }
+  }
+
+  private synchronized void refreshMembers() {
+    try {
+      List<String> children = this.zooKeeper.getChildren().usingWatcher(new MembersWatcher()).forPath(this.membersNode);
+      Map<String, T> members = Maps.newHashMap();
+      for (String child : children) {
+        try {
+          T metadata = deserializeMetadata(this.zooKeeper.getData().forPath(this.membersNode + "/" + child));
+          members.put(metadata.getShortName(), metadata);
+        } catch (KeeperException.NoNodeException nne) {
+          // The member left since the children were listed, the watcher will refresh the members again
+        }
+      }
+      this.ring = new ConsistentHashRing<>(members, POINTS_PER_MEMBER);
+      this.memberNames = ImmutableSet.copyOf(members.keySet());
+      log.info("Shard members of {}: {}", this.membersNode, members.keySet());
+    } catch (Exception exc) {
+      log.error("Could not refresh the shard members of " + this.membersNode, exc);
+    }
+  }
+
+  /**
+   * @return the short names of the members this process has seen.
+   */
+  @VisibleForTesting
+  Set<String> getMemberNames() {
+    return this.memberNames;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T deserializeMetadata(byte[] bytes) throws IOException {
+    return (T) SerializationUtils.deserializeFromBytes(bytes, LeaderFinder.Metadata.class);
+  }
+
+  /**
+   * Refreshes the members and re-registers itself, as Zookeeper watches only fire once. Membership changes while the
+   * service is starting are not dropped, only once the service is stopping does the watch end.
+   */
+  public class MembersWatcher implements Watcher {
+    @Override
+    public void process(WatchedEvent event) {
+      State state = ZookeeperShardMembership.this.state();
+      if (state == State.STARTING || state == State.RUNNING) {
+        refreshMembers();
+      }
+    }
+  }
+}
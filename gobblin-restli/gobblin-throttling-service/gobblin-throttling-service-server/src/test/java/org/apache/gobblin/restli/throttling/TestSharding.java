@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.restli.throttling;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.apache.curator.test.TestingServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.io.Closer;
+import com.linkedin.restli.common.ComplexResourceKey;
+import com.linkedin.restli.common.EmptyRecord;
+import com.linkedin.restli.server.RestLiServiceException;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+
+public class TestSharding {
+
+  private static final int RESOURCES = 20;
+
+  @Test
+  public void test() throws Exception {
+
+    try(Closer closer = Closer.create()) {
+      Map<String, String> configMap = Maps.newHashMap();
+
+      TestingServer zkTestingServer = closer.register(new TestingServer(-1));
+      configMap.put(ThrottlingGuiceServletConfig.ZK_STRING_KEY, zkTestingServer.getConnectString());
+      configMap.put(ThrottlingGuiceServletConfig.HA_CLUSTER_NAME, TestSharding.class.getSimpleName() + "_cluster");
+      configMap.put(ThrottlingGuiceServletConfig.HA_SHARDED, "true");
+      Config config = ConfigFactory.parseMap(configMap);
+
+      ThrottlingGuiceServletConfig server2011 = createServerAtPort(config, 2011);
+      ThrottlingGuiceServletConfig server2012 = createServerAtPort(config, 2012);
+
+      // Wait until both servers have seen each other
+      int resourcesOwnedBy2011 = 0;
+      for (int attempt = 0; attempt < 50; attempt++) {
+        resourcesOwnedBy2011 = 0;
+        boolean consistent = true;
+        for (int i = 0; i < RESOURCES; i++) {
+          int owner2011 = getOwnerPort(server2011, 2011, "resource" + i);
+          int owner2012 = getOwnerPort(server2012, 2012, "resource" + i);
+          consistent &= owner2011 == owner2012;
+          resourcesOwnedBy2011 += owner2011 == 2011 ? 1 : 0;
+        }
+        if (consistent && resourcesOwnedBy2011 > 0 && resourcesOwnedBy2011 < RESOURCES) {
+          break;
+        }
+        Thread.sleep(100);
+      }
+      Assert.assertTrue(resourcesOwnedBy2011 > 0 && resourcesOwnedBy2011 < RESOURCES,
+          "Resources owned by 2011: " + resourcesOwnedBy2011);
+      for (int i = 0; i < RESOURCES; i++) {
+        Assert.assertEquals(getOwnerPort(server2011, 2011, "resource" + i), getOwnerPort(server2012, 2012, "resource" + i));
+      }
+
+      server2011.close();
+
+      // All resources move to the remaining server
+      int resourcesOwnedBy2012 = 0;
+      for (int attempt = 0; attempt < 50 && resourcesOwnedBy2012 < RESOURCES; attempt++) {
+        resourcesOwnedBy2012 = 0;
+        for (int i = 0; i < RESOURCES; i++) {
+          resourcesOwnedBy2012 += getOwnerPort(server2012, 2012, "resource" + i) == 2012 ? 1 : 0;
+        }
+        Thread.sleep(100);
+      }
+      Assert.assertEquals(resourcesOwnedBy2012, RESOURCES);
+
+      server2012.close();
+    }
+
+  }
+
+  @Test
+  public void testMembershipChangeDuringStartup() throws Exception {
+    try (Closer closer = Closer.create()) {
+      TestingServer zkTestingServer = closer.register(new TestingServer(-1));
+      String zkConnectString = zkTestingServer.getConnectString();
+      String clusterName = TestSharding.class.getSimpleName() + "_startup_cluster";
+
+      final ZookeeperShardMembership<URIMetadata> joiningDuringStartup =
+          new ZookeeperShardMembership<>(zkConnectString, clusterName, createMetadata(3001));
+      ZookeeperShardMembership<URIMetadata> starting =
+          new ZookeeperShardMembership<URIMetadata>(zkConnectString, clusterName, createMetadata(3000)) {
+            @Override
+            protected void startUp() throws Exception {
+              super.startUp();
+              // Another member joins while this one is still starting
+              joiningDuringStartup.startAsync().awaitRunning();
+              awaitMembers(this, 2);
+            }
+          };
+      ZookeeperShardMembership<URIMetadata> joiningAfterStartup =
+          new ZookeeperShardMembership<>(zkConnectString, clusterName, createMetadata(3002));
+
+      try {
+        starting.startAsync().awaitRunning();
+        Assert.assertEquals(starting.getMemberNames().size(), 2);
+
+        // The watch is still registered after the change seen during startup
+        joiningAfterStartup.startAsync().awaitRunning();
+        Assert.assertTrue(awaitMembers(starting, 3), "Members: " + starting.getMemberNames());
+      } finally {
+        joiningAfterStartup.stopAsync().awaitTerminated();
+        joiningDuringStartup.stopAsync().awaitTerminated();
+        starting.stopAsync().awaitTerminated();
+      }
+    }
+  }
+
+  private static boolean awaitMembers(ZookeeperShardMembership<?> membership, int members)
+      throws InterruptedException {
+    for (int attempt = 0; attempt < 50; attempt++) {
+      if (membership.getMemberNames().size() == members) {
+        return true;
+      }
+      Thread.sleep(100);
+    }
+    return false;
+  }
+
+  private static URIMetadata createMetadata(int port) throws Exception {
+    return new URIMetadata(new URI("http://localhost:" + port));
+  }
+
+  /**
+   * @return the port of the server owning the resource according to the given server.
+   */
+  private int getOwnerPort(ThrottlingGuiceServletConfig guiceServletConfig, int port, String resource)
+      throws Exception {
+    try {
+      PermitAllocation allocation = sendRequestToServer(guiceServletConfig, resource, 10);
+      Assert.assertTrue(allocation.getPermits() >= 1);
+      return port;
+    } catch (RestLiServiceException exc) {
+      Assert.assertTrue(exc.hasErrorDetails());
+      Assert.assertTrue(exc.getErrorDetails().containsKey(LimiterServerResource.LOCATION_301));
+      return new URI(exc.getErrorDetails().get(LimiterServerResource.LOCATION_301).toString()).getPort();
+    }
+  }
+
+  private ThrottlingGuiceServletConfig createServerAtPort(Config baseConfig, int port) {
+    ThrottlingGuiceServletConfig guiceServletConfig = new ThrottlingGuiceServletConfig();
+    guiceServletConfig.initialize(baseConfig.withFallback(ConfigFactory.parseMap(
+        ImmutableMap.of(ThrottlingGuiceServletConfig.LISTENING_PORT, port))));
+    return guiceServletConfig;
+  }
+
+  private PermitAllocation sendRequestToServer(ThrottlingGuiceServletConfig guiceServletConfig, String resource,
+      long permits) {
+    return guiceServletConfig.getLimiterResource()
+        .getSync(new ComplexResourceKey<>(createPermitRequest(resource, permits), new EmptyRecord()));
+  }
+
+  private PermitRequest createPermitRequest(String resource, long permits) {
+    PermitRequest request = new PermitRequest();
+    request.setPermits(permits);
+    request.setRequestorIdentifier("requestor");
+    request.setResource(resource);
+    return request;
+  }
+
+}
@@ -28,6 +28,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -481,9 +482,19 @@ public abstract class AbstractJobLauncher implements JobLauncher {
             }
           });
 
-          // If it is a streaming source, workunits cannot be counted
-          this.jobContext.getJobState().setProp(NUM_WORKUNITS,
-              workUnitStream.isSafeToMaterialize() ? workUnitStream.getMaterializedWorkUnitCollection().size() : 0);
+          // If it is a streaming source, workunits cannot be counted. A pipelined launch counts them as they are
+          // dispatched instead of materializing the stream up front.
+          final AtomicInteger dispatchedWorkUnits = new AtomicInteger();
+          if (isPipelinedLaunchEnabled()) {
+            workUnitStream = workUnitStream.transform(workUnit -> {
+              dispatchedWorkUnits.incrementAndGet();
+              return workUnit;
+            });
+            this.jobContext.getJobState().setProp(NUM_WORKUNITS, 0);
+          } else {
+            this.jobContext.getJobState().setProp(NUM_WORKUNITS,
+                workUnitStream.isSafeToMaterialize() ? workUnitStream.getMaterializedWorkUnitCollection().size() : 0);
+          }
 
           // dump the work unit if tracking logs are enabled
           if (jobState.getPropAsBoolean(ConfigurationKeys.WORK_UNIT_ENABLE_TRACKING_LOGS)) {
@@ -507,6 +518,9 @@ public abstract class AbstractJobLauncher implements JobLauncher {
           // Start the job and wait for it to finish
           runWorkUnitStream(workUnitStream);
           jobRunTimer.stop(this.multiEventMetadataGenerator.getMetadata(this.jobContext,EventName.JOB_RUN));
+          if (isPipelinedLaunchEnabled()) {
+            this.jobContext.getJobState().setProp(NUM_WORKUNITS, dispatchedWorkUnits.get());
+          }
 
           this.eventSubmitter
               .submit(CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.UPPER_CAMEL, "JOB_" + jobState.getState()));
@@ -688,6 +702,34 @@ public abstract class AbstractJobLauncher implements JobLauncher {
     runWorkUnits(materializeWorkUnitList(workUnitStream));
   }
 
+  /**
+   * Whether this launcher runs a {@link WorkUnitStream} as it is consumed, i.e. its {@link #runWorkUnitStream(WorkUnitStream)}
+   * does not require a materialized stream. Launchers returning true honor
+   * {@link ConfigurationKeys#WORK_UNIT_PIPELINED_LAUNCH_ENABLED}.
+   */
+  protected boolean supportsPipelinedLaunch() {
+    return false;
+  }
+
+  /**
+   * @return true if work units of this job should be dispatched to execution as the source produces them, in which case
+   * the launcher avoids any step that would materialize the {@link WorkUnitStream} before running it.
+   *
+   * A pipelined launch is disabled if the leftover staging data is cleaned per task: all tasks must be cleaned up before
+   * any task starts, since the tasks of a table share their staging and output directories.
+   */
+  protected boolean isPipelinedLaunchEnabled() {
+    JobState jobState = this.jobContext.getJobState();
+    return isPipelinedLaunchRequested() && (!this.jobContext.shouldCleanupStagingDataPerTask()
+        || jobState.getPropAsBoolean(ConfigurationKeys.CLEANUP_STAGING_DATA_BY_INITIALIZER, false));
+  }
+
+  private boolean isPipelinedLaunchRequested() {
+    return supportsPipelinedLaunch() && this.jobContext.getJobState()
+        .getPropAsBoolean(ConfigurationKeys.WORK_UNIT_PIPELINED_LAUNCH_ENABLED,
+            ConfigurationKeys.DEFAULT_WORK_UNIT_PIPELINED_LAUNCH_ENABLED);
+  }
+
   /**
    * Materialize a {@link WorkUnitStream} into an in-memory list. Note that infinite work unit streams cannot be materialized.
    */
@@ -913,6 +955,10 @@ public abstract class AbstractJobLauncher implements JobLauncher {
 
     try {
       if (this.jobContext.shouldCleanupStagingDataPerTask()) {
+        if (isPipelinedLaunchRequested()) {
+          LOG.warn(String.format("Pipelined launch is disabled since staging data is cleaned per task. Set %s to false "
+              + "to enable it.", ConfigurationKeys.CLEANUP_STAGING_DATA_PER_TASK));
+        }
         if (workUnits.isSafeToMaterialize()) {
           Closer closer = Closer.create();
           Map<String, ParallelRunner> parallelRunners = Maps.newHashMap();
@@ -86,6 +86,15 @@ public class BoundedBlockingRecordQueue<T> {
     return offered;
   }
 
+  /**
+   * Check if the queue is full, in which case a {@link #put(Object)} waits for an empty space to become available.
+   *
+   * @return whether the queue is full
+   */
+  public boolean isFull() {
+    return this.blockingQueue.remainingCapacity() == 0;
+  }
+
   /**
    * Get a record from the head of the queue, waiting (up to the configured timeout time)
    * for a record to become available.
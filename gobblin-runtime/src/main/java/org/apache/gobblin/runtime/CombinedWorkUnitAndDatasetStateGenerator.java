@@ -68,4 +68,12 @@ public class CombinedWorkUnitAndDatasetStateGenerator implements CombinedWorkUni
     }
     return new CombinedWorkUnitAndDatasetState(workUnitStates, datasetStateMap);
   }
+
+  @Override
+  public List<WorkUnitState> getPreviousWatermarkStates()
+      throws Exception {
+    Map<String, JobState.DatasetState> datasetStateMap =
+        this.datasetStateStore.getLatestWatermarkProjectionsByUrns(this.jobName);
+    return JobState.workUnitStatesFromDatasetStates(datasetStateMap.values());
+  }
 }
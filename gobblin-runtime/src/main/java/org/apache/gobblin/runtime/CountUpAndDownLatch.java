@@ -29,6 +29,7 @@ import java.util.concurrent.TimeoutException;
 class CountUpAndDownLatch extends CountDownLatch {
 
   private final Phaser phaser;
+  private final Object countDownMonitor = new Object();
 
   public CountUpAndDownLatch(int count) {
     super(0);
@@ -64,9 +65,31 @@ class CountUpAndDownLatch extends CountDownLatch {
     return phase;
   }
 
+  /**
+   * Wait until the count drops below the given threshold.
+   *
+   * @return true if the count dropped below the threshold, false if the timeout elapsed first.
+   */
+  public boolean awaitCountBelow(long threshold, long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (this.countDownMonitor) {
+      while (getCount() >= threshold) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(this.countDownMonitor, remaining);
+      }
+      return true;
+    }
+  }
+
   @Override
   public void countDown() {
     this.phaser.arriveAndDeregister();
+    synchronized (this.countDownMonitor) {
+      this.countDownMonitor.notifyAll();
+    }
   }
 
   public void countUp() {
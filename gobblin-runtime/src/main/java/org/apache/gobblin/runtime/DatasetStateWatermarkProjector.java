@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.typesafe.config.Config;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.source.workunit.WorkUnit;
+import org.apache.gobblin.util.ConfigUtils;
+
+
+/**
+ * Projects {@link JobState.DatasetState}s down to what incremental sources need from the previous run: the low,
+ * expected high and actual high watermarks and the working state of each task, plus the task and work unit
+ * properties matching {@link ConfigurationKeys#STATE_STORE_WATERMARK_PROJECTION_RETAINED_PROPERTIES}.
+ *
+ * <p>
+ *   Dataset-level properties other than the dataset URN and skipped task states are not retained.
+ * </p>
+ */
+public class DatasetStateWatermarkProjector {
+
+  private static final Set<String> ALWAYS_RETAINED_PROPERTIES = ImmutableSet.of(
+      ConfigurationKeys.DATASET_URN_KEY,
+      ConfigurationKeys.JOB_ID_KEY,
+      ConfigurationKeys.TASK_ID_KEY,
+      ConfigurationKeys.WORK_UNIT_WORKING_STATE_KEY,
+      ConfigurationKeys.WATERMARK_INTERVAL_VALUE_KEY,
+      ConfigurationKeys.WORK_UNIT_LOW_WATER_MARK_KEY,
+      ConfigurationKeys.WORK_UNIT_HIGH_WATER_MARK_KEY,
+      ConfigurationKeys.WORK_UNIT_STATE_ACTUAL_HIGH_WATER_MARK_KEY,
+      ConfigurationKeys.WORK_UNIT_STATE_RUNTIME_HIGH_WATER_MARK);
+
+  private final List<Pattern> retainedPropertyPatterns;
+
+  public DatasetStateWatermarkProjector(List<String> retainedPropertyRegexes) {
+    this.retainedPropertyPatterns = Lists.newArrayList();
+    for (String regex : retainedPropertyRegexes) {
+      this.retainedPropertyPatterns.add(Pattern.compile(regex));
+    }
+  }
+
+  public DatasetStateWatermarkProjector(Config config) {
+    this(ConfigUtils.getStringList(config, ConfigurationKeys.STATE_STORE_WATERMARK_PROJECTION_RETAINED_PROPERTIES));
+  }
+
+  /**
+   * Project a {@link JobState.DatasetState} down to the watermarks and retained properties of its tasks.
+   */
+  public JobState.DatasetState project(JobState.DatasetState datasetState) {
+    JobState.DatasetState projection = new JobState.DatasetState(datasetState.getJobName(), datasetState.getJobId());
+    projection.setId(datasetState.getId());
+    projection.setDatasetUrn(datasetState.getDatasetUrn());
+    projection.setStartTime(datasetState.getStartTime());
+    projection.setEndTime(datasetState.getEndTime());
+    projection.setDuration(datasetState.getDuration());
+    projection.setState(datasetState.getState());
+    projection.setTaskCount(datasetState.getTaskCount());
+    for (TaskState taskState : datasetState.getTaskStates()) {
+      projection.addTaskState(project(taskState));
+    }
+    return projection;
+  }
+
+  private TaskState project(TaskState taskState) {
+    WorkUnit workUnit = WorkUnit.createEmpty();
+    Properties workUnitProps = taskState.getWorkunit().getProperties();
+    for (String key : workUnitProps.stringPropertyNames()) {
+      if (isRetained(key)) {
+        workUnit.setProp(key, workUnitProps.getProperty(key));
+      }
+    }
+
+    WorkUnitState workUnitState = new WorkUnitState(workUnit, new State());
+    // The properties of a task state include the ones of its work unit, only keep the ones the task overrides
+    Properties taskProps = taskState.getProperties();
+    for (String key : taskProps.stringPropertyNames()) {
+      String value = taskProps.getProperty(key);
+      if (isRetained(key) && !value.equals(workUnit.getProp(key))) {
+        workUnitState.setProp(key, value);
+      }
+    }
+    workUnitState.setProp(ConfigurationKeys.JOB_ID_KEY, taskState.getJobId());
+    workUnitState.setProp(ConfigurationKeys.TASK_ID_KEY, taskState.getTaskId());
+
+    TaskState projection = new TaskState(workUnitState);
+    projection.setStartTime(taskState.getStartTime());
+    projection.setEndTime(taskState.getEndTime());
+    projection.setTaskDuration(taskState.getTaskDuration());
+    return projection;
+  }
+
+  private boolean isRetained(String key) {
+    if (ALWAYS_RETAINED_PROPERTIES.contains(key)) {
+      return true;
+    }
+    for (Pattern pattern : this.retainedPropertyPatterns) {
+      if (pattern.matcher(key).matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
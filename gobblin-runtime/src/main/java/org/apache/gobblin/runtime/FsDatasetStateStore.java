@@ -50,6 +50,7 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigValue;
 
@@ -93,6 +94,10 @@ public class FsDatasetStateStore extends FsStateStore<JobState.DatasetState> imp
   private int threadPoolOfGettingDatasetState;
   private static final long CACHE_SIZE = 100;
   private LoadingCache<Path, DatasetUrnStateStoreNameParser> stateStoreNameParserLoadingCache;
+  private Optional<DatasetStateWatermarkProjector> watermarkProjector = Optional.absent();
+
+  /** Suffix of the tables holding the watermark projections of the current dataset states. */
+  public static final String WATERMARK_PROJECTION_TABLE_SUFFIX = ".wms";
 
   protected static DatasetStateStore<JobState.DatasetState> createStateStore(Config config, String className) {
     // Add all job configuration properties so they are picked up by Hadoop
@@ -126,6 +131,13 @@ public class FsDatasetStateStore extends FsStateStore<JobState.DatasetState> imp
                 }
               });
 
+      if (ConfigUtils.getBoolean(config, ConfigurationKeys.STATE_STORE_WATERMARK_PROJECTION_ENABLED,
+          ConfigurationKeys.DEFAULT_STATE_STORE_WATERMARK_PROJECTION_ENABLED)) {
+        return (DatasetStateStore<JobState.DatasetState>) GobblinConstructorUtils
+            .invokeLongestConstructor(Class.forName(className), stateStoreFs, stateStoreRootDir,
+                threadPoolOfGettingDatasetState, stateStoreNameParserLoadingCache,
+                new DatasetStateWatermarkProjector(config));
+      }
       return (DatasetStateStore<JobState.DatasetState>) GobblinConstructorUtils
           .invokeLongestConstructor(Class.forName(className), stateStoreFs, stateStoreRootDir,
               threadPoolOfGettingDatasetState, stateStoreNameParserLoadingCache);
@@ -151,6 +163,17 @@ public class FsDatasetStateStore extends FsStateStore<JobState.DatasetState> imp
     this.stateStoreNameParserLoadingCache = stateStoreNameParserLoadingCache;
   }
 
+  /**
+   * Constructor of a {@link FsDatasetStateStore} that also persists a watermark projection of every dataset state,
+   * see {@link #getLatestWatermarkProjectionsByUrns(String)}.
+   */
+  public FsDatasetStateStore(FileSystem fs, String storeRootDir, Integer threadPoolSize,
+      LoadingCache<Path, DatasetUrnStateStoreNameParser> stateStoreNameParserLoadingCache,
+      DatasetStateWatermarkProjector watermarkProjector) {
+    this(fs, storeRootDir, threadPoolSize, stateStoreNameParserLoadingCache);
+    this.watermarkProjector = Optional.of(watermarkProjector);
+  }
+
   public FsDatasetStateStore(FileSystem fs, String storeRootDir, Integer threadPoolSize) {
     this(fs, storeRootDir, threadPoolSize, null);
   }
@@ -308,10 +331,68 @@ public class FsDatasetStateStore extends FsStateStore<JobState.DatasetState> imp
       return ImmutableMap.of();
     }
 
+    return getDatasetStatesByUrns(jobName, Arrays.asList(stateStoreFileStatuses));
+  }
+
+  /**
+   * Get a {@link Map} from dataset URNs to the watermark projections of the latest {@link JobState.DatasetState}s.
+   *
+   * <p>
+   *   The projections only hold the watermarks, working states and retained properties of the tasks, see
+   *   {@link DatasetStateWatermarkProjector}. They are much cheaper to read than the full dataset states for jobs with
+   *   many tasks. The full {@link JobState.DatasetState} is returned for a dataset that has no projection or whose
+   *   projection is older than its latest dataset state, e.g. if projections were enabled after the last run.
+   * </p>
+   *
+   * @param jobName the job name
+   * @return a {@link Map} from dataset URNs to the projections of the latest {@link JobState.DatasetState}s
+   * @throws IOException if there's something wrong reading the {@link JobState.DatasetState}s
+   */
+  @Override
+  public Map<String, JobState.DatasetState> getLatestWatermarkProjectionsByUrns(final String jobName)
+      throws IOException {
+    Path stateStorePath = new Path(this.storeRootDir, jobName);
+    if (!this.fs.exists(stateStorePath)) {
+      return ImmutableMap.of();
+    }
+
+    final String currentSuffix = CURRENT_DATASET_STATE_FILE_SUFFIX + DATASET_STATE_STORE_TABLE_SUFFIX;
+    final String projectionSuffix = CURRENT_DATASET_STATE_FILE_SUFFIX + WATERMARK_PROJECTION_TABLE_SUFFIX;
+    FileStatus[] stateStoreFileStatuses = this.fs.listStatus(stateStorePath, new PathFilter() {
+      @Override
+      public boolean accept(Path path) {
+        return path.getName().endsWith(currentSuffix) || path.getName().endsWith(projectionSuffix);
+      }
+    });
+
+    if (stateStoreFileStatuses == null || stateStoreFileStatuses.length == 0) {
+      return ImmutableMap.of();
+    }
+
+    // Pick the projection of a dataset state over the dataset state itself unless the projection is stale
+    Map<String, FileStatus> latestFileStatusesByTablePrefix = Maps.newHashMap();
+    for (FileStatus fileStatus : stateStoreFileStatuses) {
+      String tableName = fileStatus.getPath().getName();
+      boolean isProjection = tableName.endsWith(projectionSuffix);
+      String tablePrefix = tableName.substring(0,
+          tableName.length() - (isProjection ? projectionSuffix.length() : currentSuffix.length()));
+      FileStatus other = latestFileStatusesByTablePrefix.get(tablePrefix);
+      if (other == null || (isProjection ? fileStatus.getModificationTime() >= other.getModificationTime()
+          : fileStatus.getModificationTime() > other.getModificationTime())) {
+        latestFileStatusesByTablePrefix.put(tablePrefix, fileStatus);
+      }
+    }
+
+    return getDatasetStatesByUrns(jobName, latestFileStatusesByTablePrefix.values());
+  }
+
+  private Map<String, JobState.DatasetState> getDatasetStatesByUrns(final String jobName,
+      Collection<FileStatus> stateStoreFileStatuses)
+      throws IOException {
     final Map<String, JobState.DatasetState> datasetStatesByUrns = new ConcurrentHashMap<>();
 
     Iterator<Callable<Void>> callableIterator = Iterators
-        .transform(Arrays.asList(stateStoreFileStatuses).iterator(), new Function<FileStatus, Callable<Void>>() {
+        .transform(stateStoreFileStatuses.iterator(), new Function<FileStatus, Callable<Void>>() {
           @Override
           public Callable<Void> apply(final FileStatus stateStoreFileStatus) {
             return new Callable<Void>() {
@@ -390,12 +471,19 @@ public class FsDatasetStateStore extends FsStateStore<JobState.DatasetState> imp
     put(jobName, tableName, datasetState);
     createAlias(jobName, tableName, getAliasName(datasetStatestoreName));
 
+    if (this.watermarkProjector.isPresent()) {
+      // Written after the alias so that it is never older than the dataset state it is a projection of
+      put(jobName, getWatermarkProjectionTableName(datasetStatestoreName),
+          this.watermarkProjector.get().project(datasetState));
+    }
+
     Path originalDatasetUrnPath = new Path(new Path(this.storeRootDir, jobName), getAliasName(datasetUrn));
     // This should only happen for the first time.
     if (!Strings.isNullOrEmpty(datasetUrn) && !datasetStatestoreName.equals(datasetUrn) && this.fs
         .exists(originalDatasetUrnPath)) {
       LOGGER.info("Removing previous datasetUrn path: " + originalDatasetUrnPath);
       fs.delete(originalDatasetUrnPath, true);
+      fs.delete(new Path(originalDatasetUrnPath.getParent(), getWatermarkProjectionTableName(datasetUrn)), true);
     }
   }
 
@@ -422,6 +510,12 @@ public class FsDatasetStateStore extends FsStateStore<JobState.DatasetState> imp
         : datasetStatestoreName + "-" + CURRENT_DATASET_STATE_FILE_SUFFIX + DATASET_STATE_STORE_TABLE_SUFFIX;
   }
 
+  private static String getWatermarkProjectionTableName(String datasetStatestoreName) {
+    return Strings.isNullOrEmpty(datasetStatestoreName) ? CURRENT_DATASET_STATE_FILE_SUFFIX
+        + WATERMARK_PROJECTION_TABLE_SUFFIX
+        : datasetStatestoreName + "-" + CURRENT_DATASET_STATE_FILE_SUFFIX + WATERMARK_PROJECTION_TABLE_SUFFIX;
+  }
+
   @Override
   public List<FsDatasetStateStoreEntryManager> getMetadataForTables(StateStorePredicate predicate)
       throws IOException {
@@ -434,7 +528,9 @@ public class FsDatasetStateStore extends FsStateStore<JobState.DatasetState> imp
       return Lists.newArrayList();
     }
 
-    Stream<FileStatus> tables = stores.flatMap(this::lsStream);
+    // Watermark projections are not tables of their own
+    Stream<FileStatus> tables = stores.flatMap(this::lsStream)
+        .filter(status -> !status.getPath().getName().endsWith(WATERMARK_PROJECTION_TABLE_SUFFIX));
 
     return tables.map(this::parseMetadataFromPath).filter(predicate::apply).collect(Collectors.toList());
   }
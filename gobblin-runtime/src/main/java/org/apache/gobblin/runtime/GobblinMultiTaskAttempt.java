@@ -24,7 +24,9 @@ import java.lang.management.MemoryUsage;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -41,11 +43,15 @@ import com.github.rholder.retry.Retryer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.typesafe.config.Config;
 
 import javax.annotation.Nullable;
+import lombok.AccessLevel;
 import lombok.Setter;
 
 import org.apache.gobblin.annotation.Alpha;
@@ -101,6 +107,8 @@ public class GobblinMultiTaskAttempt {
   }
 
   private static final String TASK_STATE_STORE_SUCCESS_MARKER_SUFFIX = ".suc";
+  // Suffix of the task attempt id of the speculative attempt of a task, which keeps its staged output separate
+  private static final String SPECULATIVE_ATTEMPT_ID_SUFFIX = "_speculative";
   private final Logger log;
   private final Iterator<WorkUnit> workUnits;
   private final String jobId;
@@ -112,9 +120,28 @@ public class GobblinMultiTaskAttempt {
   private final Optional<StateStore<TaskState>> taskStateStoreOptional;
   private final SharedResourcesBroker<GobblinScopeTypes> jobBroker;
   private final TaskEventMetadataGenerator taskEventMetadataGenerator;
+  private final int submissionWindowSize;
   @Setter
   private Predicate<GobblinMultiTaskAttempt> interruptionPredicate = (gmta) -> false;
   private List<Task> tasks;
+  // Interval at which the progress of the running tasks is logged and the stragglers are speculated
+  @Setter(AccessLevel.PACKAGE)
+  @VisibleForTesting
+  private long taskProgressCheckIntervalMillis = TimeUnit.SECONDS.toMillis(10);
+
+  // Detects the straggler tasks to speculate, present if speculative execution of stragglers is enabled
+  private final Optional<StragglerDetector> stragglerDetector;
+  private final double maxSpeculativeTasksRatio;
+  // Work units of the tasks that may be speculated, by task id
+  private final Map<String, WorkUnit> speculatableWorkUnits = Maps.newHashMap();
+  // Ids of the tasks that have been speculated
+  private final Set<String> speculatedTaskIds = Sets.newHashSet();
+  // Original and speculative attempts of the speculated tasks whose winning attempt is not known yet, by task id
+  private final Map<String, Pair<Task, Task>> speculativeAttempts = Maps.newLinkedHashMap();
+  // Attempts that lost to another attempt of the same task, which are discarded instead of committed
+  private final List<Task> discardedTasks = Lists.newArrayList();
+  // Original and speculative attempts of the speculated tasks whose speculative attempt won
+  private final List<Pair<Task, Task>> winningSpeculativeAttempts = Lists.newArrayList();
 
   /**
    * Additional commit steps that may be added by different launcher, and can be environment specific.
@@ -139,6 +166,26 @@ public class GobblinMultiTaskAttempt {
     this.jobBroker = jobBroker;
     this.tasks = new ArrayList<>();
     this.taskEventMetadataGenerator = TaskEventMetadataUtils.getTaskEventMetadataGenerator(jobState);
+    this.submissionWindowSize = getSubmissionWindowSize(jobState);
+    this.stragglerDetector = jobState.getPropAsBoolean(ConfigurationKeys.TASK_SPECULATION_ENABLED_KEY,
+        ConfigurationKeys.DEFAULT_TASK_SPECULATION_ENABLED)
+        ? Optional.of(new StragglerDetector(jobState)) : Optional.<StragglerDetector>absent();
+    this.maxSpeculativeTasksRatio = jobState.getPropAsDouble(ConfigurationKeys.TASK_SPECULATION_MAX_TASKS_RATIO_KEY,
+        ConfigurationKeys.DEFAULT_TASK_SPECULATION_MAX_TASKS_RATIO);
+  }
+
+  /**
+   * Get the maximum number of in-flight tasks. Pipelined launches default to twice the task executor pool size so
+   * that the source is only pulled as fast as tasks are executed, other launches default to an unbounded window.
+   */
+  private static int getSubmissionWindowSize(JobState jobState) {
+    int defaultWindowSize = 0;
+    if (jobState.getPropAsBoolean(ConfigurationKeys.WORK_UNIT_PIPELINED_LAUNCH_ENABLED,
+        ConfigurationKeys.DEFAULT_WORK_UNIT_PIPELINED_LAUNCH_ENABLED)) {
+      defaultWindowSize = 2 * jobState.getPropAsInt(ConfigurationKeys.TASK_EXECUTOR_THREADPOOL_SIZE_KEY,
+          ConfigurationKeys.DEFAULT_TASK_EXECUTOR_THREADPOOL_SIZE);
+    }
+    return jobState.getPropAsInt(ConfigurationKeys.TASK_SUBMISSION_WINDOW_SIZE_KEY, defaultWindowSize);
   }
 
   /**
@@ -174,13 +221,19 @@ public class GobblinMultiTaskAttempt {
         }
         log.info(String.format("%d out of %d tasks of job %s are running in container %s", countDownLatch.getCount(),
             countDownLatch.getRegisteredParties(), jobId, containerIdOptional.or("")));
-        if (countDownLatch.await(10, TimeUnit.SECONDS)) {
+        if (this.stragglerDetector.isPresent()) {
+          resolveSpeculativeAttempts();
+          speculateStragglers(countDownLatch);
+        }
+        if (countDownLatch.await(this.taskProgressCheckIntervalMillis, TimeUnit.MILLISECONDS)) {
           break;
         }
       }
     } catch (InterruptedException interrupt) {
       log.info("Job interrupted by InterrupedException.");
       interruptTaskExecution(countDownLatch);
+    } finally {
+      finishSpeculation();
     }
     log.info("All assigned tasks of job {} have completed in container {}", jobId, containerIdOptional.or(""));
   }
@@ -188,7 +241,7 @@ public class GobblinMultiTaskAttempt {
   private void interruptTaskExecution(CountDownLatch countDownLatch)
       throws InterruptedException {
     log.info("Job interrupted. Attempting a graceful shutdown of the job.");
-    this.tasks.forEach(Task::shutdown);
+    getAllAttempts().forEach(Task::shutdown);
     if (!countDownLatch.await(5, TimeUnit.SECONDS)) {
       log.warn("Graceful shutdown of job timed out. Killing all outstanding tasks.");
       try {
@@ -206,6 +259,15 @@ public class GobblinMultiTaskAttempt {
    */
   public void commit()
       throws IOException {
+    for (Task discardedTask : this.discardedTasks) {
+      log.info("Discarding the losing attempt {} of task {}",
+          discardedTask.getTaskState().getTaskAttemptId().or(""), discardedTask.getTaskId());
+      discardedTask.discard();
+    }
+    // The metrics of a speculative attempt only count towards the job once it won and its original attempt stopped
+    for (Pair<Task, Task> attempts : this.winningSpeculativeAttempts) {
+      TaskMetrics.promoteSpeculativeAttempt(attempts.getSecond().getTaskState(), attempts.getFirst().getTaskState());
+    }
     if (this.tasks == null || this.tasks.isEmpty()) {
       log.warn("No tasks to be committed in container " + containerIdOptional.or(""));
       return;
@@ -253,15 +315,16 @@ public class GobblinMultiTaskAttempt {
   public void shutdownTasks()
       throws InterruptedException {
     log.info("Shutting down tasks");
-    for (Task task : this.tasks) {
+    List<Task> tasks = getAllAttempts();
+    for (Task task : tasks) {
       task.shutdown();
     }
 
-    for (Task task : this.tasks) {
+    for (Task task : tasks) {
       task.awaitShutdown(1000);
     }
 
-    for (Task task : this.tasks) {
+    for (Task task : tasks) {
       if (task.cancel()) {
         log.info("Task {} cancelled.", task.getTaskId());
       } else {
@@ -392,6 +455,11 @@ public class GobblinMultiTaskAttempt {
     // Caller of this method should handle tasks with submission failures accordingly.
     boolean areAllTasksSubmitted = true;
     while (this.workUnits.hasNext()) {
+      // Only pull the next work unit once there is room for its task in the submission window
+      if (this.submissionWindowSize > 0 && !awaitSubmissionWindow(countDownLatch)) {
+        log.info("Stopped submitting tasks of job {} as task execution is being interrupted.", this.jobId);
+        break;
+      }
       WorkUnit workUnit = this.workUnits.next();
       String taskId = workUnit.getProp(ConfigurationKeys.TASK_ID_KEY);
 
@@ -400,17 +468,10 @@ public class GobblinMultiTaskAttempt {
         continue;
       }
 
-      SubscopedBrokerBuilder<GobblinScopeTypes, ?> taskBrokerBuilder =
-          this.jobBroker.newSubscopedBuilder(new TaskScopeInstance(taskId));
-      WorkUnitState workUnitState = new WorkUnitState(workUnit, this.jobState, taskBrokerBuilder);
-      workUnitState.setId(taskId);
-      workUnitState.setProp(ConfigurationKeys.JOB_ID_KEY, this.jobId);
-      workUnitState.setProp(ConfigurationKeys.TASK_ID_KEY, taskId);
-      workUnitState.setProp(ConfigurationKeys.TASK_START_TIME_MILLIS_KEY, Long.toString(System.currentTimeMillis()));
-
-      if (this.containerIdOptional.isPresent()) {
-        workUnitState.setProp(ConfigurationKeys.TASK_ATTEMPT_ID_KEY, this.containerIdOptional.get());
-      }
+      // Speculation needs a task attempt id for the writers to stage the output of each attempt separately
+      Optional<String> taskAttemptId = this.stragglerDetector.isPresent()
+          ? Optional.of(this.containerIdOptional.or(taskId)) : this.containerIdOptional;
+      WorkUnitState workUnitState = createWorkUnitState(workUnit, taskId, taskAttemptId, taskId);
 
       // Create a new task from the work unit and submit the task to run.
       // If an exception occurs here then the count down latch is decremented
@@ -422,6 +483,9 @@ public class GobblinMultiTaskAttempt {
         this.taskStateTracker.registerNewTask(task);
         task.setTaskFuture(this.taskExecutor.submit(task));
         tasks.add(task);
+        if (this.stragglerDetector.isPresent()) {
+          this.speculatableWorkUnits.put(taskId, workUnit);
+        }
       } catch (Throwable e) {
         if (e instanceof OutOfMemoryError) {
           log.error("Encountering memory error in task creation/execution stage, please investigate memory usage:", e);
@@ -458,6 +522,180 @@ public class GobblinMultiTaskAttempt {
     return new Pair<>(tasks, areAllTasksSubmitted);
   }
 
+  private WorkUnitState createWorkUnitState(WorkUnit workUnit, String taskId, Optional<String> taskAttemptId,
+      String taskScopeId) {
+    SubscopedBrokerBuilder<GobblinScopeTypes, ?> taskBrokerBuilder =
+        this.jobBroker.newSubscopedBuilder(new TaskScopeInstance(taskScopeId));
+    WorkUnitState workUnitState = new WorkUnitState(workUnit, this.jobState, taskBrokerBuilder);
+    workUnitState.setId(taskId);
+    workUnitState.setProp(ConfigurationKeys.JOB_ID_KEY, this.jobId);
+    workUnitState.setProp(ConfigurationKeys.TASK_ID_KEY, taskId);
+    workUnitState.setProp(ConfigurationKeys.TASK_START_TIME_MILLIS_KEY, Long.toString(System.currentTimeMillis()));
+
+    if (taskAttemptId.isPresent()) {
+      workUnitState.setProp(ConfigurationKeys.TASK_ATTEMPT_ID_KEY, taskAttemptId.get());
+    }
+    return workUnitState;
+  }
+
+  /**
+   * Launch a speculative attempt of the straggler tasks found by the {@link #stragglerDetector}, up to
+   * {@link ConfigurationKeys#TASK_SPECULATION_MAX_TASKS_RATIO_KEY} of the tasks. Only tasks that are safe for
+   * speculative execution are speculated, and each task at most once. A straggler whose writers are not built yet is
+   * not known to be safe, it is checked again the next time the stragglers are speculated.
+   */
+  private void speculateStragglers(CountUpAndDownLatch countDownLatch) {
+    int maxSpeculatedTasks = Math.max(1, (int) (this.maxSpeculativeTasksRatio * this.speculatableWorkUnits.size()));
+    if (this.speculatedTaskIds.size() >= maxSpeculatedTasks) {
+      return;
+    }
+
+    Map<String, Task> tasksById = Maps.newHashMap();
+    List<StragglerDetector.TaskProgress> progress = Lists.newArrayList();
+    for (Task task : this.tasks) {
+      // Tasks created by a TaskFactory do not report the records they pulled
+      if (!(task instanceof TaskIFaceWrapper)) {
+        tasksById.put(task.getTaskId(), task);
+        progress.add(StragglerDetector.TaskProgress.of(task));
+      }
+    }
+
+    for (String taskId : this.stragglerDetector.get().findStragglers(progress)) {
+      if (this.speculatedTaskIds.size() >= maxSpeculatedTasks) {
+        break;
+      }
+      Task straggler = tasksById.get(taskId);
+      if (this.speculatedTaskIds.contains(taskId) || !this.speculatableWorkUnits.containsKey(taskId)
+          || !straggler.getTaskState().getTaskAttemptId().isPresent()
+          || !straggler.isSpeculativeAttemptSafeToLaunch()) {
+        continue;
+      }
+      this.speculatedTaskIds.add(taskId);
+      launchSpeculativeAttempt(straggler, countDownLatch);
+    }
+  }
+
+  private void launchSpeculativeAttempt(Task original, CountUpAndDownLatch countDownLatch) {
+    String taskId = original.getTaskId();
+    String speculativeAttemptId = original.getTaskState().getTaskAttemptId().get() + SPECULATIVE_ATTEMPT_ID_SUFFIX;
+    log.info("Launching speculative attempt {} of straggler task {} with progress {}", speculativeAttemptId, taskId,
+        original.getProgress());
+
+    WorkUnitState workUnitState = createWorkUnitState(WorkUnit.copyOf(this.speculatableWorkUnits.get(taskId)), taskId,
+        Optional.of(speculativeAttemptId), taskId + SPECULATIVE_ATTEMPT_ID_SUFFIX);
+    // The speculative attempt reports its metrics separately from the original attempt
+    workUnitState.setProp(ConfigurationKeys.TASK_IS_SPECULATIVE_ATTEMPT_KEY, true);
+    // The speculative attempt is not registered with the task state tracker, which tracks tasks by id, its reporter
+    // for the original attempt is cancelled when the winning attempt commits
+    countDownLatch.countUp();
+    Task speculative = null;
+    try {
+      speculative = createTaskWithRetry(workUnitState, countDownLatch);
+      speculative.setTaskFuture(this.taskExecutor.submit(speculative));
+      this.speculativeAttempts.put(taskId, new Pair<>(original, speculative));
+    } catch (Throwable t) {
+      log.warn("Failed to launch a speculative attempt of task " + taskId, t);
+      if (speculative == null || !speculative.hasTaskFuture()) {
+        countDownLatch.countDown();
+      } else {
+        speculative.cancel();
+      }
+    }
+  }
+
+  /**
+   * Pick the winning attempt of the speculated tasks whose attempts completed: the first attempt that completed
+   * successfully, or the original attempt if both failed. The losing attempt is cancelled if it is still running, and
+   * discarded instead of committed.
+   */
+  private void resolveSpeculativeAttempts() {
+    for (Iterator<Pair<Task, Task>> iterator = this.speculativeAttempts.values().iterator(); iterator.hasNext(); ) {
+      Pair<Task, Task> attempts = iterator.next();
+      Task original = attempts.getFirst();
+      Task speculative = attempts.getSecond();
+
+      Task winner;
+      Task loser;
+      if (isCompletedSuccessfully(original)) {
+        winner = original;
+        loser = speculative;
+      } else if (isCompletedSuccessfully(speculative)) {
+        winner = speculative;
+        loser = original;
+      } else if (original.isCompleted() && speculative.isCompleted()) {
+        winner = original;
+        loser = speculative;
+      } else {
+        continue;
+      }
+
+      log.info("Attempt {} of task {} won", winner.getTaskState().getTaskAttemptId().or(""), winner.getTaskId());
+      if (winner == speculative) {
+        this.tasks.set(this.tasks.indexOf(original), speculative);
+        this.winningSpeculativeAttempts.add(attempts);
+      }
+      discardAttempt(loser);
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Resolve the speculated tasks once their attempts stopped running, the original attempt wins if task execution got
+   * interrupted before either attempt completed.
+   */
+  private void finishSpeculation() {
+    resolveSpeculativeAttempts();
+    for (Pair<Task, Task> attempts : this.speculativeAttempts.values()) {
+      discardAttempt(attempts.getSecond());
+    }
+    this.speculativeAttempts.clear();
+  }
+
+  private void discardAttempt(Task task) {
+    if (!task.isCompleted()) {
+      task.shutdown();
+      task.cancel();
+    }
+    this.discardedTasks.add(task);
+  }
+
+  private static boolean isCompletedSuccessfully(Task task) {
+    return task.isCompleted() && task.getTaskState().getWorkingState() != WorkUnitState.WorkingState.FAILED;
+  }
+
+  /**
+   * @return the tasks of this attempt and the speculative attempts of the speculated tasks that are still running
+   */
+  private List<Task> getAllAttempts() {
+    List<Task> attempts = Lists.newArrayList(this.tasks);
+    for (Pair<Task, Task> speculativeAttempt : this.speculativeAttempts.values()) {
+      attempts.add(speculativeAttempt.getSecond());
+    }
+    return attempts;
+  }
+
+  /**
+   * Block until fewer than {@link #submissionWindowSize} submitted tasks are still running.
+   *
+   * @return false if task execution got interrupted while waiting.
+   */
+  private boolean awaitSubmissionWindow(CountUpAndDownLatch countDownLatch) {
+    try {
+      while (!countDownLatch.awaitCountBelow(this.submissionWindowSize, 10, TimeUnit.SECONDS)) {
+        if (this.interruptionPredicate.test(this)) {
+          return false;
+        }
+        log.info("{} tasks of job {} are running in container {}, waiting for a slot in the submission window",
+            countDownLatch.getCount(), this.jobId, this.containerIdOptional.or(""));
+      }
+      return true;
+    } catch (InterruptedException ie) {
+      // Preserve the interrupt so that the wait in run() interrupts task execution
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
   private void printMemoryUsage() {
     MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
     MemoryUsage heapMemory = memoryBean.getHeapMemoryUsage();
@@ -540,7 +778,7 @@ public class GobblinMultiTaskAttempt {
    * {@link JobMetrics#attemptRemove(String, Tag)}.
    */
   public void cleanMetrics() {
-    tasks.forEach(task -> {
+    Iterables.concat(this.tasks, this.discardedTasks).forEach(task -> {
       TaskMetrics.remove(task);
       JobMetrics.attemptRemove(this.jobId, new JobMetrics.CreatorTag(task.getTaskId()));
     });
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+
+/**
+ * A {@link BlockingQueue} of tasks that hands the queued tasks of the jobs sharing a thread pool out fairly.
+ *
+ * <p>
+ *   The tasks of each job are queued separately, in first-in-first-out order. The next task taken is the oldest task of
+ *   the job with the fewest running tasks relative to its weight, so that a job with many queued tasks cannot hold up
+ *   the tasks of the other jobs once its share of the threads is taken. Ties go to the job that ran its tasks for the
+ *   shortest total time relative to its weight, then to the job that queued its first task first.
+ * </p>
+ *
+ * <p>
+ *   The job of a task is given by {@link JobTask}, the tasks that do not implement it share a job. The thread pool must
+ *   report the start and end of each task with {@link #onTaskStart(JobTask)} and {@link #onTaskEnd(JobTask, long)}.
+ * </p>
+ */
+class JobFairTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+  /**
+   * A task of a job.
+   */
+  interface JobTask {
+
+    String getJobId();
+
+    /**
+     * @return the weight of the job of the task, the share of the threads of the job is proportional to it
+     */
+    double getJobWeight();
+  }
+
+  private static final String DEFAULT_JOB_ID = "";
+  private static final double DEFAULT_JOB_WEIGHT = 1.0;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = this.lock.newCondition();
+  // Jobs with queued or running tasks, in the order they queued their first task
+  private final Map<String, JobTasks> jobs = Maps.newLinkedHashMap();
+  private int size = 0;
+
+  @Override
+  public boolean offer(Runnable task) {
+    Preconditions.checkNotNull(task);
+    this.lock.lock();
+    try {
+      JobTasks jobTasks = getOrCreateJobTasks(task);
+      jobTasks.queuedTasks.addLast(task);
+      this.size++;
+      this.notEmpty.signal();
+      return true;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public void put(Runnable task) {
+    offer(task);
+  }
+
+  @Override
+  public boolean offer(Runnable task, long timeout, TimeUnit unit) {
+    return offer(task);
+  }
+
+  @Override
+  public Runnable poll() {
+    this.lock.lock();
+    try {
+      return this.size == 0 ? null : dequeue();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable take() throws InterruptedException {
+    this.lock.lockInterruptibly();
+    try {
+      while (this.size == 0) {
+        this.notEmpty.await();
+      }
+      return dequeue();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    this.lock.lockInterruptibly();
+    try {
+      while (this.size == 0) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = this.notEmpty.awaitNanos(nanos);
+      }
+      return dequeue();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable peek() {
+    this.lock.lock();
+    try {
+      return this.size == 0 ? null : nextJob().queuedTasks.peekFirst();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean remove(Object task) {
+    this.lock.lock();
+    try {
+      for (Iterator<JobTasks> iterator = this.jobs.values().iterator(); iterator.hasNext(); ) {
+        JobTasks jobTasks = iterator.next();
+        if (jobTasks.queuedTasks.remove(task)) {
+          this.size--;
+          if (jobTasks.isIdle()) {
+            iterator.remove();
+          }
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    this.lock.lock();
+    try {
+      return this.size;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> c, int maxElements) {
+    Preconditions.checkArgument(c != this);
+    this.lock.lock();
+    try {
+      int drained = 0;
+      while (this.size > 0 && drained < maxElements) {
+        c.add(dequeue());
+        drained++;
+      }
+      return drained;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * @return an iterator over a snapshot of the queued tasks, which supports removing tasks from this queue
+   */
+  @Override
+  public Iterator<Runnable> iterator() {
+    final List<Runnable> snapshot = Lists.newArrayList();
+    this.lock.lock();
+    try {
+      for (JobTasks jobTasks : this.jobs.values()) {
+        snapshot.addAll(jobTasks.queuedTasks);
+      }
+    } finally {
+      this.lock.unlock();
+    }
+
+    final Iterator<Runnable> snapshotIterator = snapshot.iterator();
+    return new Iterator<Runnable>() {
+      private Runnable last;
+
+      @Override
+      public boolean hasNext() {
+        return snapshotIterator.hasNext();
+      }
+
+      @Override
+      public Runnable next() {
+        this.last = snapshotIterator.next();
+        return this.last;
+      }
+
+      @Override
+      public void remove() {
+        Preconditions.checkState(this.last != null);
+        JobFairTaskQueue.this.remove(this.last);
+        this.last = null;
+      }
+    };
+  }
+
+  /**
+   * Called by the thread pool when it starts running a task taken from this queue.
+   */
+  void onTaskStart(JobTask task) {
+    this.lock.lock();
+    try {
+      getOrCreateJobTasks(task).runningTasks++;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Called by the thread pool when a task started with {@link #onTaskStart(JobTask)} ends.
+   * @param runTimeNanos how long the task ran
+   */
+  void onTaskEnd(JobTask task, long runTimeNanos) {
+    this.lock.lock();
+    try {
+      JobTasks jobTasks = this.jobs.get(task.getJobId());
+      if (jobTasks == null) {
+        return;
+      }
+      jobTasks.runningTasks--;
+      jobTasks.runTimeNanos += runTimeNanos;
+      if (jobTasks.isIdle()) {
+        this.jobs.remove(task.getJobId());
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of running tasks of a job, for testing
+   */
+  int getRunningTasks(String jobId) {
+    this.lock.lock();
+    try {
+      JobTasks jobTasks = this.jobs.get(jobId);
+      return jobTasks == null ? 0 : jobTasks.runningTasks;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private JobTasks getOrCreateJobTasks(Object task) {
+    String jobId = DEFAULT_JOB_ID;
+    double jobWeight = DEFAULT_JOB_WEIGHT;
+    if (task instanceof JobTask) {
+      jobId = ((JobTask) task).getJobId();
+      jobWeight = ((JobTask) task).getJobWeight();
+    }
+    JobTasks jobTasks = this.jobs.get(jobId);
+    if (jobTasks == null) {
+      jobTasks = new JobTasks();
+      this.jobs.put(jobId, jobTasks);
+    }
+    jobTasks.weight = jobWeight > 0 ? jobWeight : DEFAULT_JOB_WEIGHT;
+    return jobTasks;
+  }
+
+  private Runnable dequeue() {
+    Runnable task = nextJob().queuedTasks.pollFirst();
+    this.size--;
+    return task;
+  }
+
+  /**
+   * @return the job to take the next task from, must only be called when a task is queued
+   */
+  private JobTasks nextJob() {
+    JobTasks next = null;
+    for (JobTasks jobTasks : this.jobs.values()) {
+      if (!jobTasks.queuedTasks.isEmpty() && (next == null || jobTasks.compareTo(next) < 0)) {
+        next = jobTasks;
+      }
+    }
+    return next;
+  }
+
+  private static class JobTasks implements Comparable<JobTasks> {
+    private final ArrayDeque<Runnable> queuedTasks = new ArrayDeque<>();
+    private double weight = DEFAULT_JOB_WEIGHT;
+    private int runningTasks = 0;
+    private long runTimeNanos = 0;
+
+    private boolean isIdle() {
+      return this.queuedTasks.isEmpty() && this.runningTasks == 0;
+    }
+
+    @Override
+    public int compareTo(JobTasks other) {
+      int result = Double.compare(this.runningTasks / this.weight, other.runningTasks / other.weight);
+      return result != 0 ? result : Double.compare(this.runTimeNanos / this.weight, other.runTimeNanos / other.weight);
+    }
+  }
+}
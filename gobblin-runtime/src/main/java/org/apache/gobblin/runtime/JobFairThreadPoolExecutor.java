@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import org.apache.gobblin.util.ExecutorsUtils;
+
+
+/**
+ * A {@link ThreadPoolExecutor} whose idle threads take the queued tasks of the jobs sharing it fairly, see
+ * {@link JobFairTaskQueue}, and which can adapt its size to how much of their time its tasks are blocked.
+ *
+ * <p>
+ *   The pool starts with its minimum size. If the maximum size is larger, {@link #resize()} is expected to be called
+ *   periodically. It measures the CPU time of the threads running tasks against the time they ran since the last call,
+ *   and sizes the pool so that the running threads would use the target share of the CPUs: a pool of CPU-bound tasks
+ *   shrinks back to its minimum size, a pool of tasks mostly blocked on I/O grows. The pool only grows while tasks are
+ *   queued.
+ * </p>
+ *
+ * <p>
+ *   The {@link ThreadMXBean} does not measure the CPU time of virtual threads, so a pool of virtual threads must have a
+ *   fixed size.
+ * </p>
+ */
+class JobFairThreadPoolExecutor extends ThreadPoolExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JobFairThreadPoolExecutor.class);
+
+  // Shortest busy thread time measured to resize the pool
+  private static final long MIN_MEASURED_NANOS = TimeUnit.SECONDS.toNanos(1);
+  // Lowest share of their time the running threads are assumed to use a CPU, so the pool does not grow unbounded
+  private static final double MIN_CPU_SHARE = 0.01;
+
+  private final JobFairTaskQueue taskQueue;
+  private final int minPoolSize;
+  private final int maxPoolSize;
+  private final double targetCpuUtilization;
+  private final int availableProcessors = Runtime.getRuntime().availableProcessors();
+  private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+  // Time and CPU time of the threads running tasks when they were last measured
+  private final ConcurrentMap<Thread, ThreadTimes> runningThreads = Maps.newConcurrentMap();
+  // Time and CPU time of the threads that ended a task since the last resize, from their last measure
+  private final AtomicLong endedTaskNanos = new AtomicLong();
+  private final AtomicLong endedTaskCpuNanos = new AtomicLong();
+
+  /**
+   * @param minPoolSize the initial and minimum number of threads
+   * @param maxPoolSize the maximum number of threads, the pool has a fixed size if it is not larger than the minimum
+   * @param targetCpuUtilization the share of the CPUs the running threads should use, between 0 and 1
+   */
+  JobFairThreadPoolExecutor(int minPoolSize, int maxPoolSize, double targetCpuUtilization,
+      ThreadFactory threadFactory) {
+    this(new JobFairTaskQueue(), minPoolSize, maxPoolSize, targetCpuUtilization, threadFactory);
+  }
+
+  private JobFairThreadPoolExecutor(JobFairTaskQueue taskQueue, int minPoolSize, int maxPoolSize,
+      double targetCpuUtilization, ThreadFactory threadFactory) {
+    super(minPoolSize, minPoolSize, 0L, TimeUnit.MILLISECONDS, taskQueue, threadFactory);
+    Preconditions.checkArgument(targetCpuUtilization > 0 && targetCpuUtilization <= 1,
+        "Target CPU utilization should be between 0 and 1");
+    this.taskQueue = taskQueue;
+    this.minPoolSize = minPoolSize;
+    this.maxPoolSize = Math.max(minPoolSize, maxPoolSize);
+    this.targetCpuUtilization = targetCpuUtilization;
+
+    if (isAdaptive()) {
+      if (!this.threadMXBean.isThreadCpuTimeSupported()) {
+        LOG.warn("Thread CPU time is not supported by the JVM, the task executor thread pool will not be resized");
+      } else if (!this.threadMXBean.isThreadCpuTimeEnabled()) {
+        this.threadMXBean.setThreadCpuTimeEnabled(true);
+      }
+    }
+  }
+
+  /**
+   * @return whether the pool may change its size
+   */
+  boolean isAdaptive() {
+    return this.maxPoolSize > this.minPoolSize;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (command instanceof JobFairTaskQueue.JobTask && !(command instanceof RunnableFuture)) {
+      super.execute(newTaskFor(command, null));
+    } else if (command instanceof RunnableFuture) {
+      super.execute(command);
+    } else {
+      super.execute(ExecutorsUtils.loggingDecorator(command));
+    }
+  }
+
+  @Override
+  protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+    if (runnable instanceof JobFairTaskQueue.JobTask) {
+      return new JobFutureTask<>(ExecutorsUtils.loggingDecorator(runnable), value,
+          (JobFairTaskQueue.JobTask) runnable);
+    }
+    return super.newTaskFor(ExecutorsUtils.loggingDecorator(runnable), value);
+  }
+
+  @Override
+  protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+    return super.newTaskFor(ExecutorsUtils.loggingDecorator(callable));
+  }
+
+  @Override
+  protected void beforeExecute(Thread thread, Runnable task) {
+    super.beforeExecute(thread, task);
+    if (task instanceof JobFutureTask) {
+      ((JobFutureTask<?>) task).startNanos = System.nanoTime();
+      this.taskQueue.onTaskStart((JobFutureTask<?>) task);
+    }
+    if (isAdaptive()) {
+      this.runningThreads.put(thread, measure(thread));
+    }
+  }
+
+  @Override
+  protected void afterExecute(Runnable task, Throwable throwable) {
+    if (isAdaptive()) {
+      Thread thread = Thread.currentThread();
+      ThreadTimes last = this.runningThreads.remove(thread);
+      if (last != null) {
+        ThreadTimes now = measure(thread);
+        this.endedTaskNanos.addAndGet(now.nanos - last.nanos);
+        this.endedTaskCpuNanos.addAndGet(now.cpuNanos - last.cpuNanos);
+      }
+    }
+    if (task instanceof JobFutureTask) {
+      JobFutureTask<?> jobTask = (JobFutureTask<?>) task;
+      this.taskQueue.onTaskEnd(jobTask, System.nanoTime() - jobTask.startNanos);
+    }
+    super.afterExecute(task, throwable);
+  }
+
+  /**
+   * Resize the pool to the number of threads that would use the target share of the CPUs, given the share of their
+   * time the running threads used a CPU since the last call.
+   */
+  synchronized void resize() {
+    if (!isAdaptive() || !this.threadMXBean.isThreadCpuTimeSupported()) {
+      return;
+    }
+
+    long busyNanos = this.endedTaskNanos.getAndSet(0);
+    long cpuNanos = this.endedTaskCpuNanos.getAndSet(0);
+    for (Map.Entry<Thread, ThreadTimes> entry : this.runningThreads.entrySet()) {
+      ThreadTimes now = measure(entry.getKey());
+      ThreadTimes last = entry.getValue();
+      // The thread ended its task and is accounted for by afterExecute if the entry was removed concurrently
+      if (this.runningThreads.replace(entry.getKey(), last, now)) {
+        busyNanos += now.nanos - last.nanos;
+        cpuNanos += now.cpuNanos - last.cpuNanos;
+      }
+    }
+    if (busyNanos < MIN_MEASURED_NANOS) {
+      return;
+    }
+
+    int poolSize = getTargetPoolSize(busyNanos, cpuNanos);
+    int currentPoolSize = getMaximumPoolSize();
+    if (poolSize > currentPoolSize && getQueue().isEmpty()) {
+      return;
+    }
+    if (poolSize != currentPoolSize) {
+      LOG.info(String.format("Resizing the task executor thread pool from %d to %d threads, the running threads used "
+          + "a CPU %.0f%% of their time", currentPoolSize, poolSize, 100.0 * cpuNanos / busyNanos));
+      setPoolSize(poolSize);
+    }
+  }
+
+  @VisibleForTesting
+  int getTargetPoolSize(long busyNanos, long cpuNanos) {
+    double cpuShare = Math.max((double) cpuNanos / busyNanos, MIN_CPU_SHARE);
+    int poolSize = (int) Math.ceil(this.availableProcessors * this.targetCpuUtilization / cpuShare);
+    return Math.min(Math.max(poolSize, this.minPoolSize), this.maxPoolSize);
+  }
+
+  JobFairTaskQueue getTaskQueue() {
+    return this.taskQueue;
+  }
+
+  private void setPoolSize(int poolSize) {
+    // The maximum pool size cannot be set below the core pool size
+    if (poolSize > getMaximumPoolSize()) {
+      setMaximumPoolSize(poolSize);
+      setCorePoolSize(poolSize);
+    } else {
+      setCorePoolSize(poolSize);
+      setMaximumPoolSize(poolSize);
+    }
+  }
+
+  private ThreadTimes measure(Thread thread) {
+    long cpuNanos = this.threadMXBean.getThreadCpuTime(thread.getId());
+    return new ThreadTimes(System.nanoTime(), Math.max(cpuNanos, 0));
+  }
+
+  private static class ThreadTimes {
+    private final long nanos;
+    private final long cpuNanos;
+
+    private ThreadTimes(long nanos, long cpuNanos) {
+      this.nanos = nanos;
+      this.cpuNanos = cpuNanos;
+    }
+  }
+
+  private static class JobFutureTask<T> extends FutureTask<T> implements JobFairTaskQueue.JobTask {
+    private final String jobId;
+    private final double jobWeight;
+    private volatile long startNanos;
+
+    private JobFutureTask(Runnable runnable, T value, JobFairTaskQueue.JobTask jobTask) {
+      super(runnable, value);
+      this.jobId = jobTask.getJobId();
+      this.jobWeight = jobTask.getJobWeight();
+    }
+
+    @Override
+    public String getJobId() {
+      return this.jobId;
+    }
+
+    @Override
+    public double getJobWeight() {
+      return this.jobWeight;
+    }
+  }
+}
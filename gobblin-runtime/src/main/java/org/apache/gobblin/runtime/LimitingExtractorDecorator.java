@@ -17,6 +17,7 @@
 
 package org.apache.gobblin.runtime;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.List;
 import java.util.Properties;
@@ -35,6 +36,7 @@ import org.apache.gobblin.source.extractor.Extractor;
 import org.apache.gobblin.source.extractor.limiter.LimiterConfigurationKeys;
 import org.apache.gobblin.source.workunit.WorkUnit;
 import org.apache.gobblin.util.Decorator;
+import org.apache.gobblin.util.limiter.CountBasedLimiter;
 import org.apache.gobblin.util.limiter.Limiter;
 
 
@@ -49,6 +51,16 @@ import org.apache.gobblin.util.limiter.Limiter;
  *   The first case is useful for throttling at above the task level, e.g., at the job level.
  * </p>
  *
+ * <p>
+ *   If {@link LimiterConfigurationKeys#LIMITER_RESERVOIR_MAX_PERMITS} is larger than 1, permits are acquired in
+ *   chunks and handed out to records locally, so that the {@link Limiter} is not called for every record. The chunk
+ *   size adapts to the rate at which records are read, between 1 and the maximum, and shrinks when the
+ *   {@link Limiter} cannot grant a whole chunk, e.g. at the end of a count limit. A chunk is released once it is
+ *   drained, and the permits left in it on {@link #close()} are given back to a {@link CountBasedLimiter}, so a
+ *   shared count limit is not lost to the reservoirs of finished extractors. As a chunk is released only as a whole,
+ *   reservoirs are meant for {@link org.apache.gobblin.util.limiter.NonRefillableLimiter}s.
+ * </p>
+ *
  * @param <S> output schema type
  * @param <D> output record type
  *
@@ -63,10 +75,25 @@ public class LimitingExtractorDecorator<S, D> implements Extractor<S, D>, Decora
   public static final String LIMITER_STOP_CAUSE_KEY = "limiterStopCause";
   public static final String LIMITER_STOP_CAUSE_VALUE = "LimiterPermitAcquireFailure";
   private EventSubmitter eventSubmitter;
+
+  private final long reservoirMaxPermits;
+  private final long reservoirRefillIntervalMillis;
+  // Permits acquired from the limiter and not handed out yet
+  private long reservoirPermits = 0;
+  // Held until the reservoir is drained, so that refillable limiters get the chunk back only once it is used
+  private Closeable reservoirPermit;
+  private long reservoirChunkSize = 1;
+  private long lastRefillMillis = 0;
+
   public LimitingExtractorDecorator(Extractor<S, D> extractor, Limiter limiter, TaskState state) {
     this.extractor = extractor;
     this.limiter = limiter;
     this.taskState = state;
+    this.reservoirMaxPermits = state.getPropAsLong(LimiterConfigurationKeys.LIMITER_RESERVOIR_MAX_PERMITS,
+        LimiterConfigurationKeys.DEFAULT_LIMITER_RESERVOIR_MAX_PERMITS);
+    this.reservoirRefillIntervalMillis =
+        state.getPropAsLong(LimiterConfigurationKeys.LIMITER_RESERVOIR_REFILL_INTERVAL_MILLIS,
+            LimiterConfigurationKeys.DEFAULT_LIMITER_RESERVOIR_REFILL_INTERVAL_MILLIS);
     this.limiter.start();
     this.eventSubmitter = new EventSubmitter.Builder(TaskMetrics.get(taskState).getMetricContext(), "gobblin.runtime.task").build();
   }
@@ -125,6 +152,9 @@ public class LimitingExtractorDecorator<S, D> implements Extractor<S, D>, Decora
 
   @Override
   public D readRecord(@Deprecated D reuse) throws DataRecordException, IOException {
+    if (this.reservoirMaxPermits > 1) {
+      return readRecordWithReservoir(reuse);
+    }
     try (Closer closer = Closer.create()) {
       if (closer.register(this.limiter.acquirePermits(1)) != null) {
         return this.extractor.readRecord(reuse);
@@ -137,6 +167,71 @@ public class LimitingExtractorDecorator<S, D> implements Extractor<S, D>, Decora
     }
   }
 
+  private D readRecordWithReservoir(D reuse) throws DataRecordException, IOException {
+    try {
+      if (this.reservoirPermits == 0 && !refillReservoir()) {
+        submitLimiterStopMetadataEvents();
+        return null;
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while trying to acquire the next permits", ie);
+    }
+    this.reservoirPermits--;
+    D record = null;
+    try {
+      record = this.extractor.readRecord(reuse);
+      return record;
+    } finally {
+      if (record == null) {
+        // No record was read with the permit, including when the read failed, keep it so that it is returned on close
+        this.reservoirPermits++;
+      }
+    }
+  }
+
+  /**
+   * Acquire the next chunk of permits, halving the chunk size until the {@link Limiter} grants it.
+   *
+   * @return false if the {@link Limiter} doesn't grant a single permit
+   */
+  private boolean refillReservoir() throws InterruptedException, IOException {
+    long now = System.currentTimeMillis();
+    if (this.lastRefillMillis > 0) {
+      this.reservoirChunkSize = now - this.lastRefillMillis < this.reservoirRefillIntervalMillis
+          ? Math.min(this.reservoirChunkSize * 2, this.reservoirMaxPermits) : Math.max(this.reservoirChunkSize / 2, 1);
+    }
+    this.lastRefillMillis = now;
+    releaseReservoir();
+
+    for (long permits = this.reservoirChunkSize; permits >= 1; permits /= 2) {
+      Closeable permit = this.limiter.acquirePermits(permits);
+      if (permit != null) {
+        this.reservoirPermit = permit;
+        this.reservoirChunkSize = permits;
+        this.reservoirPermits = permits;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Release the current chunk of permits, giving back the permits that were not handed out to records if the
+   * {@link Limiter} supports it, so that other users of a shared {@link Limiter} can still acquire them.
+   */
+  private void releaseReservoir() throws IOException {
+    if (this.reservoirPermits > 0 && this.limiter instanceof CountBasedLimiter) {
+      ((CountBasedLimiter) this.limiter).releasePermits(this.reservoirPermits);
+    }
+    this.reservoirPermits = 0;
+    if (this.reservoirPermit != null) {
+      Closeable permit = this.reservoirPermit;
+      this.reservoirPermit = null;
+      permit.close();
+    }
+  }
+
   @Override
   public long getExpectedRecordCount() {
     return this.extractor.getExpectedRecordCount();
@@ -153,7 +248,11 @@ public class LimitingExtractorDecorator<S, D> implements Extractor<S, D>, Decora
     try {
       this.extractor.close();
     } finally {
-      this.limiter.stop();
+      try {
+        releaseReservoir();
+      } finally {
+        this.limiter.stop();
+      }
     }
   }
 }
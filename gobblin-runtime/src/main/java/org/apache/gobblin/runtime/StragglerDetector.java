@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import lombok.Value;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
+
+
+/**
+ * Finds the straggler tasks of a {@link GobblinMultiTaskAttempt}: the running tasks that ran for at least
+ * {@link ConfigurationKeys#TASK_SPECULATION_MIN_RUN_TIME_SECONDS_KEY} and pull records slower than
+ * {@link ConfigurationKeys#TASK_SPECULATION_SLOW_TASK_RATIO_KEY} of the median records per second of the tasks.
+ *
+ * <p>
+ *   The median is computed from the completed tasks and the running tasks that ran for the minimum run time, and only
+ *   once there are {@link ConfigurationKeys#TASK_SPECULATION_MIN_PEER_TASKS_KEY} of them.
+ * </p>
+ */
+class StragglerDetector {
+
+  /**
+   * The progress of a task.
+   */
+  @Value
+  static class TaskProgress {
+    String taskId;
+    long recordsPulled;
+    long runTimeMillis;
+    boolean completed;
+
+    static TaskProgress of(Task task) {
+      return new TaskProgress(task.getTaskId(), task.getRecordsPulled(), task.getRunTimeMillis(), task.isCompleted());
+    }
+
+    private double getRecordsPerSecond() {
+      return this.runTimeMillis <= 0 ? 0 : this.recordsPulled * 1000.0 / this.runTimeMillis;
+    }
+  }
+
+  private final long minRunTimeMillis;
+  private final double slowTaskRatio;
+  private final int minPeerTasks;
+
+  StragglerDetector(State state) {
+    this(TimeUnit.SECONDS.toMillis(state.getPropAsLong(ConfigurationKeys.TASK_SPECULATION_MIN_RUN_TIME_SECONDS_KEY,
+            ConfigurationKeys.DEFAULT_TASK_SPECULATION_MIN_RUN_TIME_SECONDS)),
+        state.getPropAsDouble(ConfigurationKeys.TASK_SPECULATION_SLOW_TASK_RATIO_KEY,
+            ConfigurationKeys.DEFAULT_TASK_SPECULATION_SLOW_TASK_RATIO),
+        state.getPropAsInt(ConfigurationKeys.TASK_SPECULATION_MIN_PEER_TASKS_KEY,
+            ConfigurationKeys.DEFAULT_TASK_SPECULATION_MIN_PEER_TASKS));
+  }
+
+  StragglerDetector(long minRunTimeMillis, double slowTaskRatio, int minPeerTasks) {
+    Preconditions.checkArgument(slowTaskRatio > 0 && slowTaskRatio < 1, "Slow task ratio should be between 0 and 1");
+    Preconditions.checkArgument(minPeerTasks > 0, "Minimum number of peer tasks should be positive");
+    this.minRunTimeMillis = minRunTimeMillis;
+    this.slowTaskRatio = slowTaskRatio;
+    this.minPeerTasks = minPeerTasks;
+  }
+
+  /**
+   * @param tasks the progress of the tasks of a task attempt
+   * @return the ids of the straggler tasks, slowest first
+   */
+  List<String> findStragglers(Collection<TaskProgress> tasks) {
+    List<Double> peerRates = Lists.newArrayList();
+    List<TaskProgress> candidates = Lists.newArrayList();
+    for (TaskProgress task : tasks) {
+      if (task.isCompleted() || task.getRunTimeMillis() >= this.minRunTimeMillis) {
+        peerRates.add(task.getRecordsPerSecond());
+      }
+      if (!task.isCompleted() && task.getRunTimeMillis() >= this.minRunTimeMillis) {
+        candidates.add(task);
+      }
+    }
+    if (peerRates.size() < this.minPeerTasks || candidates.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    double threshold = this.slowTaskRatio * median(peerRates);
+    List<TaskProgress> stragglers = Lists.newArrayList();
+    for (TaskProgress candidate : candidates) {
+      if (candidate.getRecordsPerSecond() < threshold) {
+        stragglers.add(candidate);
+      }
+    }
+    stragglers.sort((t1, t2) -> Double.compare(t1.getRecordsPerSecond(), t2.getRecordsPerSecond()));
+
+    List<String> stragglerIds = Lists.newArrayListWithCapacity(stragglers.size());
+    for (TaskProgress straggler : stragglers) {
+      stragglerIds.add(straggler.getTaskId());
+    }
+    return stragglerIds;
+  }
+
+  private static double median(List<Double> values) {
+    Collections.sort(values);
+    int middle = values.size() / 2;
+    return values.size() % 2 == 1 ? values.get(middle) : (values.get(middle - 1) + values.get(middle)) / 2;
+  }
+}
@@ -32,10 +32,13 @@ import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.converter.Converter;
 import org.apache.gobblin.fork.ForkOperator;
 import org.apache.gobblin.fork.Forker;
+import org.apache.gobblin.instrumented.StageTimer;
+import org.apache.gobblin.instrumented.TaskStageTimings;
 import org.apache.gobblin.qualitychecker.row.RowLevelPolicyChecker;
 import org.apache.gobblin.records.RecordStreamProcessor;
 import org.apache.gobblin.records.RecordStreamWithMetadata;
 import org.apache.gobblin.runtime.fork.Fork;
+import org.apache.gobblin.runtime.fork.RecordQueueWaitTimer;
 import org.apache.gobblin.source.extractor.Extractor;
 import org.apache.gobblin.source.extractor.StreamingExtractor;
 import org.apache.gobblin.util.ExponentialBackoff;
@@ -141,7 +144,23 @@ public class StreamModelTaskRunner {
       RecordStreamWithMetadata<?, ?> forkedStream = forkedStreams.getForkedStreams().get(fidx);
       if (forkedStream != null) {
         if (isForkAsync) {
+          Optional<StageTimer> stageTimer =
+              TaskStageTimings.getStageTimer(this.taskState, TaskStageTimings.FORK_QUEUE_WAIT_STAGE);
+          RecordQueueWaitTimer queueWaitTimer =
+              stageTimer.isPresent() ? new RecordQueueWaitTimer(stageTimer.get()) : null;
+          if (queueWaitTimer != null) {
+            forkedStream = forkedStream.mapRecords(r -> {
+              queueWaitTimer.beforePut(r);
+              return r;
+            });
+          }
           forkedStream = forkedStream.mapStream(f -> f.observeOn(Schedulers.from(this.taskExecutor.getForkExecutor()), false, bufferSize));
+          if (queueWaitTimer != null) {
+            forkedStream = forkedStream.mapRecords(r -> {
+              queueWaitTimer.afterTake(r);
+              return r;
+            });
+          }
         }
         Fork fork = new Fork(this.taskContext, forkedStream.getGlobalMetadata().getSchema(), forkedStreams.getForkedStreams().size(), fidx, this.taskMode);
         fork.consumeRecordStream(forkedStream);
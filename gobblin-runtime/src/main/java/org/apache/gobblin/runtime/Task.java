@@ -64,6 +64,7 @@ import org.apache.gobblin.fork.CopyHelper;
 import org.apache.gobblin.fork.CopyNotSupportedException;
 import org.apache.gobblin.fork.Copyable;
 import org.apache.gobblin.fork.ForkOperator;
+import org.apache.gobblin.instrumented.TaskStageTimings;
 import org.apache.gobblin.instrumented.extractor.InstrumentedExtractorBase;
 import org.apache.gobblin.instrumented.extractor.InstrumentedExtractorDecorator;
 import org.apache.gobblin.metrics.MetricContext;
@@ -88,6 +89,8 @@ import org.apache.gobblin.state.ConstructState;
 import org.apache.gobblin.stream.RecordEnvelope;
 import org.apache.gobblin.util.ConfigUtils;
 import org.apache.gobblin.util.TaskEventMetadataUtils;
+import org.apache.gobblin.util.jfr.EventSpan;
+import org.apache.gobblin.util.jfr.FlightRecorderEvents;
 import org.apache.gobblin.writer.AcknowledgableWatermark;
 import org.apache.gobblin.writer.DataWriter;
 import org.apache.gobblin.writer.FineGrainedWatermarkTracker;
@@ -132,6 +135,11 @@ public class Task implements TaskIFace {
 
   private static final String TASK_STATE = "taskState";
   private static final String FAILED_TASK_EVENT = "failedTask";
+  private static final String RECORD_BATCH_EVENT_SOURCE = "task";
+  // Number of records pulled covered by each Flight Recorder record batch event
+  private static final int RECORD_BATCH_EVENT_SIZE = 1000;
+  private static final String CLOSE_COMMIT_STEP = "close";
+  private static final String PUBLISH_COMMIT_STEP = "publish";
 
   private final String jobId;
   private final String taskId;
@@ -160,9 +168,13 @@ public class Task implements TaskIFace {
   private final Closer closer;
   private final TaskEventMetadataGenerator taskEventMetadataGenerator;
 
-  private long startTime;
+  private volatile long startTime;
+  // Time this task was marked completed, 0 until then
+  private volatile long completionTimeMillis;
   private volatile long lastRecordPulledTimestampMillis;
   private final AtomicLong recordsPulled;
+  // Flight Recorder event of the batch of records being pulled, only used by the thread pulling records
+  private EventSpan recordBatchEvent;
 
   private final AtomicBoolean shutdownRequested;
   private volatile long shutdownRequestedTime = Long.MAX_VALUE;
@@ -343,6 +355,22 @@ public class Task implements TaskIFace {
     }
   }
 
+  public long getRecordsPulled() {
+    return this.recordsPulled.get();
+  }
+
+  /**
+   * @return how long this task ran until it completed or until now, 0 if it has not started
+   */
+  public long getRunTimeMillis() {
+    long startTime = this.startTime;
+    if (startTime == 0) {
+      return 0;
+    }
+    long completionTime = this.completionTimeMillis;
+    return (completionTime > 0 ? completionTime : System.currentTimeMillis()) - startTime;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public void run() {
@@ -394,6 +422,13 @@ public class Task implements TaskIFace {
     } catch (Throwable t) {
       failTask(t);
     } finally {
+      // Reporting must not keep the task from being marked completed, or the job would wait for it forever
+      try {
+        finishRecordBatchEvent();
+        submitTaskStageBreakdownEvent();
+      } catch (RuntimeException e) {
+        LOG.error(String.format("Failed to report the stage breakdown of task %s", this.taskId), e);
+      }
       synchronized (this) {
         if (this.taskFuture == null || !this.taskFuture.isCancelled()) {
           this.taskStateTracker.onTaskRunCompletion(this);
@@ -558,8 +593,26 @@ public class Task implements TaskIFace {
   }
 
   protected void onRecordExtract() {
-    this.recordsPulled.incrementAndGet();
+    long recordsPulled = this.recordsPulled.incrementAndGet();
     this.lastRecordPulledTimestampMillis = System.currentTimeMillis();
+
+    if (this.recordBatchEvent == null) {
+      this.recordBatchEvent = FlightRecorderEvents.beginRecordBatch(RECORD_BATCH_EVENT_SOURCE, this.taskId);
+    }
+    if (recordsPulled % RECORD_BATCH_EVENT_SIZE == 0) {
+      this.recordBatchEvent.finish(RECORD_BATCH_EVENT_SIZE);
+      this.recordBatchEvent = null;
+    }
+  }
+
+  /**
+   * Finish the Flight Recorder event of the last, partial batch of records pulled.
+   */
+  private void finishRecordBatchEvent() {
+    if (this.recordBatchEvent != null) {
+      this.recordBatchEvent.finish(this.recordsPulled.get() % RECORD_BATCH_EVENT_SIZE);
+      this.recordBatchEvent = null;
+    }
   }
 
   private void failTask(Throwable t) {
@@ -764,6 +817,7 @@ public class Task implements TaskIFace {
    * Mark the completion of this {@link Task}.
    */
   public void markTaskCompletion() {
+    this.completionTimeMillis = System.currentTimeMillis();
     if (this.countDownLatch.isPresent()) {
       this.countDownLatch.get().countDown();
     }
@@ -771,6 +825,13 @@ public class Task implements TaskIFace {
     this.taskState.setProp(ConfigurationKeys.TASK_RETRIES_KEY, this.retryCount.get());
   }
 
+  /**
+   * @return whether this {@link Task} was marked completed by {@link #markTaskCompletion()}
+   */
+  public boolean isCompleted() {
+    return this.completionTimeMillis > 0;
+  }
+
   @Override
   public String toString() {
     return this.taskId;
@@ -946,6 +1007,7 @@ public class Task implements TaskIFace {
 
       this.submitTaskCommittedEvent();
 
+      EventSpan closeEvent = FlightRecorderEvents.beginCommitStep(this.taskId, CLOSE_COMMIT_STEP);
       try {
         closer.close();
       } catch (Throwable t) {
@@ -954,6 +1016,8 @@ public class Task implements TaskIFace {
           LOG.error("Setting the task state to failed.");
           failTask(t);
         }
+      } finally {
+        closeEvent.finish();
       }
 
       for (Map.Entry<Optional<Fork>, Optional<Future<?>>> forkAndFuture : this.forks.entrySet()) {
@@ -971,7 +1035,12 @@ public class Task implements TaskIFace {
           // If data should be published by the task, publish the data and set the task state to COMMITTED.
           // Task data can only be published after all forks have been closed by closer.close().
           if (this.taskState.getWorkingState() == WorkUnitState.WorkingState.SUCCESSFUL) {
-            publishTaskData();
+            EventSpan publishEvent = FlightRecorderEvents.beginCommitStep(this.taskId, PUBLISH_COMMIT_STEP);
+            try {
+              publishTaskData();
+            } finally {
+              publishEvent.finish();
+            }
             this.taskState.setWorkingState(WorkUnitState.WorkingState.COMMITTED);
           }
         }
@@ -986,6 +1055,23 @@ public class Task implements TaskIFace {
     }
   }
 
+  /**
+   * Discard this task instead of committing it, e.g. when it lost to a speculative attempt of the same work unit:
+   * cancel its forks and close its resources, which cleans up the staged output of its writers.
+   */
+  public void discard() {
+    for (Map.Entry<Optional<Fork>, Optional<Future<?>>> forkAndFuture : this.forks.entrySet()) {
+      if (forkAndFuture.getKey().isPresent() && forkAndFuture.getValue().isPresent()) {
+        forkAndFuture.getValue().get().cancel(true);
+      }
+    }
+    try {
+      this.closer.close();
+    } catch (Throwable t) {
+      LOG.error(String.format("Failed to close all open resources of discarded task %s", this.taskId), t);
+    }
+  }
+
   protected void submitTaskCommittedEvent() {
     MetricContext taskMetricContext = TaskMetrics.get(this.taskState).getMetricContext();
     EventSubmitter eventSubmitter = new EventSubmitter.Builder(taskMetricContext, "gobblin.runtime.task").build();
@@ -997,6 +1083,29 @@ public class Task implements TaskIFace {
     eventSubmitter.submit(TaskEvent.TASK_COMMITTED_EVENT_NAME, metadataMap);
   }
 
+  /**
+   * Submit the latencies of the stages of this task, if {@link TaskStageTimings#ENABLED_KEY} is set.
+   */
+  protected void submitTaskStageBreakdownEvent() {
+    Optional<TaskStageTimings> taskStageTimings = TaskStageTimings.getTaskStageTimings(this.taskState);
+    if (!taskStageTimings.isPresent()) {
+      return;
+    }
+    Map<String, String> breakdown = taskStageTimings.get().getBreakdown();
+    LOG.info("Stage breakdown of task {}: {}", this.taskId, breakdown);
+
+    MetricContext taskMetricContext = TaskMetrics.get(this.taskState).getMetricContext();
+    EventSubmitter eventSubmitter = new EventSubmitter.Builder(taskMetricContext, "gobblin.runtime.task").build();
+    Map<String, String> metadataMap = Maps.newHashMap();
+    metadataMap.putAll(
+        this.taskEventMetadataGenerator.getMetadata(this.taskState, TaskEvent.TASK_STAGE_BREAKDOWN_EVENT_NAME));
+    metadataMap.putAll(breakdown);
+    metadataMap.putAll(ImmutableMap
+        .of(TaskEvent.METADATA_TASK_ID, this.taskId, TaskEvent.METADATA_TASK_ATTEMPT_ID,
+            this.taskState.getTaskAttemptId().or("")));
+    eventSubmitter.submit(TaskEvent.TASK_STAGE_BREAKDOWN_EVENT_NAME, metadataMap);
+  }
+
   /**
    * @return true if the current {@link Task} is safe to have duplicate attempts; false, otherwise.
    */
@@ -1021,6 +1130,30 @@ public class Task implements TaskIFace {
     return true;
   }
 
+  /**
+   * A stricter version of {@link #isSpeculativeExecutionSafe()} used before launching a speculative attempt of this
+   * {@link Task}. Writers are built lazily, so a {@link Task} that has not pulled any record yet has no writer whose
+   * safety could be checked and is not considered safe.
+   *
+   * @return true if a speculative attempt of this {@link Task} can be launched; false, otherwise.
+   */
+  public boolean isSpeculativeAttemptSafeToLaunch() {
+    if (getRecordsPulled() == 0 || !isSpeculativeExecutionSafe()) {
+      return false;
+    }
+
+    boolean hasFork = false;
+    for (Optional<Fork> fork : this.forks.keySet()) {
+      if (fork.isPresent()) {
+        if (!fork.get().isWriterBuilt()) {
+          return false;
+        }
+        hasFork = true;
+      }
+    }
+    return hasFork;
+  }
+
   public synchronized void setTaskFuture(Future<?> taskFuture) {
     this.taskFuture = taskFuture;
   }
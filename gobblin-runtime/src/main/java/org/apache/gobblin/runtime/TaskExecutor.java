@@ -29,8 +29,10 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -63,14 +65,43 @@ import static com.codahale.metrics.MetricRegistry.name;
 /**
  * A class for executing {@link Task}s and retrying failed ones as well as for executing {@link Fork}s.
  *
+ * <p>
+ *   In the {@link Mode#FIXED} mode, tasks run on a fixed size thread pool in the order they are submitted. In the
+ *   {@link Mode#FAIR} mode, the threads are shared among the jobs running tasks on this executor according to their
+ *   weights, see {@link JobFairTaskQueue}, the thread pool grows up to its maximum size when the running tasks are
+ *   mostly blocked, and the tasks of the jobs enabling
+ *   {@link ConfigurationKeys#TASK_EXECUTOR_VIRTUAL_THREADS_ENABLED_KEY} run on virtual threads if the JVM supports
+ *   them.
+ * </p>
+ *
  * @author Yinan Li
  */
 public class TaskExecutor extends AbstractIdleService {
 
   private static final Logger LOG = LoggerFactory.getLogger(TaskExecutor.class);
 
+  /**
+   * How the task executor schedules tasks, see {@link ConfigurationKeys#TASK_EXECUTOR_MODE_KEY}.
+   */
+  public enum Mode {
+    FIXED,
+    FAIR
+  }
+
+  private final Mode mode;
+
   // Thread pool executor for running tasks
-  private final ScheduledExecutorService taskExecutor;
+  private final ExecutorService taskExecutor;
+
+  // Scheduler for the retries of failed tasks, which is the task executor itself in the FIXED mode
+  private final ScheduledExecutorService taskScheduler;
+
+  // Executor for running the tasks of the jobs enabling virtual threads in the FAIR mode, if the JVM supports them
+  private final Optional<JobFairThreadPoolExecutor> virtualThreadTaskExecutor;
+
+  private final long resizeIntervalInSeconds;
+
+  private final AtomicBoolean virtualThreadsUnsupportedLogged = new AtomicBoolean(false);
 
   // A separate thread pool executor for running forks of tasks
   @Getter
@@ -146,16 +177,38 @@ public class TaskExecutor extends AbstractIdleService {
    * Constructor used internally.
    */
   private TaskExecutor(int taskExecutorThreadPoolSize, int coreRetryThreadPoolSize, long retryIntervalInSeconds,
-                       int queuedTaskTimeMaxSize, long queuedTaskTimeMaxAge, int timerWindowSize) {
+                       int queuedTaskTimeMaxSize, long queuedTaskTimeMaxAge, int timerWindowSize, Mode mode,
+                       int taskExecutorThreadPoolMaxSize, double targetCpuUtilization, long resizeIntervalInSeconds,
+                       int maxVirtualThreads) {
     Preconditions.checkArgument(taskExecutorThreadPoolSize > 0, "Task executor thread pool size should be positive");
     Preconditions.checkArgument(retryIntervalInSeconds > 0, "Task retry interval should be positive");
     Preconditions.checkArgument(queuedTaskTimeMaxSize > 0, "Queued task time max size should be positive");
     Preconditions.checkArgument(queuedTaskTimeMaxAge > 0, "Queued task time max age should be positive");
-
-    // Currently a fixed-size thread pool is used to execute tasks. We probably need to revisit this later.
-    this.taskExecutor = ExecutorsUtils.loggingDecorator(Executors.newScheduledThreadPool(
-        taskExecutorThreadPoolSize,
-        ExecutorsUtils.newThreadFactory(Optional.of(LOG), Optional.of("TaskExecutor-%d"))));
+    Preconditions.checkArgument(resizeIntervalInSeconds > 0, "Task executor resize interval should be positive");
+    Preconditions.checkArgument(maxVirtualThreads > 0, "Maximum number of virtual threads should be positive");
+
+    this.mode = mode;
+    this.resizeIntervalInSeconds = resizeIntervalInSeconds;
+    if (mode == Mode.FAIR) {
+      // MDC propagation is done by the executor itself as wrapping it would hide the jobs of the tasks
+      this.taskExecutor = new JobFairThreadPoolExecutor(taskExecutorThreadPoolSize, taskExecutorThreadPoolMaxSize,
+          targetCpuUtilization, ExecutorsUtils.newThreadFactory(Optional.of(LOG), Optional.of("TaskExecutor-%d")));
+      this.taskScheduler = ExecutorsUtils.loggingDecorator(Executors.newSingleThreadScheduledExecutor(
+          ExecutorsUtils.newDaemonThreadFactory(Optional.of(LOG), Optional.of("TaskScheduler-%d"))));
+      Optional<ThreadFactory> virtualThreadFactory = ExecutorsUtils.newVirtualThreadFactory("VirtualTaskExecutor-");
+      this.virtualThreadTaskExecutor = virtualThreadFactory.isPresent()
+          ? Optional.of(new JobFairThreadPoolExecutor(maxVirtualThreads, maxVirtualThreads, 1.0,
+              virtualThreadFactory.get()))
+          : Optional.<JobFairThreadPoolExecutor>absent();
+    } else {
+      // Currently a fixed-size thread pool is used to execute tasks. We probably need to revisit this later.
+      ScheduledExecutorService scheduledTaskExecutor = ExecutorsUtils.loggingDecorator(
+          Executors.newScheduledThreadPool(taskExecutorThreadPoolSize,
+              ExecutorsUtils.newThreadFactory(Optional.of(LOG), Optional.of("TaskExecutor-%d"))));
+      this.taskExecutor = scheduledTaskExecutor;
+      this.taskScheduler = scheduledTaskExecutor;
+      this.virtualThreadTaskExecutor = Optional.absent();
+    }
 
     this.retryIntervalInSeconds = retryIntervalInSeconds;
     this.queuedTaskTimeMaxSize = queuedTaskTimeMaxSize;
@@ -195,7 +248,18 @@ public class TaskExecutor extends AbstractIdleService {
         Long.parseLong(properties.getProperty(ConfigurationKeys.QUEUED_TASK_TIME_MAX_AGE,
             Long.toString(ConfigurationKeys.DEFAULT_QUEUED_TASK_TIME_MAX_AGE))),
         Integer.parseInt(properties.getProperty(ConfigurationKeys.METRIC_TIMER_WINDOW_SIZE_IN_MINUTES,
-            Integer.toString(ConfigurationKeys.DEFAULT_METRIC_TIMER_WINDOW_SIZE_IN_MINUTES))));
+            Integer.toString(ConfigurationKeys.DEFAULT_METRIC_TIMER_WINDOW_SIZE_IN_MINUTES))),
+        Mode.valueOf(properties.getProperty(ConfigurationKeys.TASK_EXECUTOR_MODE_KEY,
+            ConfigurationKeys.DEFAULT_TASK_EXECUTOR_MODE).toUpperCase()),
+        Integer.parseInt(properties.getProperty(ConfigurationKeys.TASK_EXECUTOR_THREADPOOL_MAX_SIZE_KEY,
+            properties.getProperty(ConfigurationKeys.TASK_EXECUTOR_THREADPOOL_SIZE_KEY,
+                Integer.toString(ConfigurationKeys.DEFAULT_TASK_EXECUTOR_THREADPOOL_SIZE)))),
+        Double.parseDouble(properties.getProperty(ConfigurationKeys.TASK_EXECUTOR_TARGET_CPU_UTILIZATION_KEY,
+            Double.toString(ConfigurationKeys.DEFAULT_TASK_EXECUTOR_TARGET_CPU_UTILIZATION))),
+        Long.parseLong(properties.getProperty(ConfigurationKeys.TASK_EXECUTOR_RESIZE_INTERVAL_SECONDS_KEY,
+            Long.toString(ConfigurationKeys.DEFAULT_TASK_EXECUTOR_RESIZE_INTERVAL_SECONDS))),
+        Integer.parseInt(properties.getProperty(ConfigurationKeys.TASK_EXECUTOR_VIRTUAL_THREADS_MAX_KEY,
+            Integer.toString(ConfigurationKeys.DEFAULT_TASK_EXECUTOR_VIRTUAL_THREADS_MAX))));
   }
 
   /**
@@ -213,7 +277,18 @@ public class TaskExecutor extends AbstractIdleService {
         conf.getLong(ConfigurationKeys.QUEUED_TASK_TIME_MAX_AGE,
             ConfigurationKeys.DEFAULT_QUEUED_TASK_TIME_MAX_AGE),
         conf.getInt(ConfigurationKeys.METRIC_TIMER_WINDOW_SIZE_IN_MINUTES,
-            ConfigurationKeys.DEFAULT_METRIC_TIMER_WINDOW_SIZE_IN_MINUTES));
+            ConfigurationKeys.DEFAULT_METRIC_TIMER_WINDOW_SIZE_IN_MINUTES),
+        Mode.valueOf(conf.get(ConfigurationKeys.TASK_EXECUTOR_MODE_KEY,
+            ConfigurationKeys.DEFAULT_TASK_EXECUTOR_MODE).toUpperCase()),
+        conf.getInt(ConfigurationKeys.TASK_EXECUTOR_THREADPOOL_MAX_SIZE_KEY,
+            conf.getInt(ConfigurationKeys.TASK_EXECUTOR_THREADPOOL_SIZE_KEY,
+                ConfigurationKeys.DEFAULT_TASK_EXECUTOR_THREADPOOL_SIZE)),
+        conf.getDouble(ConfigurationKeys.TASK_EXECUTOR_TARGET_CPU_UTILIZATION_KEY,
+            ConfigurationKeys.DEFAULT_TASK_EXECUTOR_TARGET_CPU_UTILIZATION),
+        conf.getLong(ConfigurationKeys.TASK_EXECUTOR_RESIZE_INTERVAL_SECONDS_KEY,
+            ConfigurationKeys.DEFAULT_TASK_EXECUTOR_RESIZE_INTERVAL_SECONDS),
+        conf.getInt(ConfigurationKeys.TASK_EXECUTOR_VIRTUAL_THREADS_MAX_KEY,
+            ConfigurationKeys.DEFAULT_TASK_EXECUTOR_VIRTUAL_THREADS_MAX));
   }
 
   @Override
@@ -226,6 +301,16 @@ public class TaskExecutor extends AbstractIdleService {
     if (this.forkExecutor.isShutdown() || this.forkExecutor.isTerminated()) {
       throw new IllegalStateException("Fork thread pool executor is shutdown or terminated");
     }
+    if (this.taskExecutor instanceof JobFairThreadPoolExecutor
+        && ((JobFairThreadPoolExecutor) this.taskExecutor).isAdaptive()) {
+      final JobFairThreadPoolExecutor adaptiveTaskExecutor = (JobFairThreadPoolExecutor) this.taskExecutor;
+      this.taskScheduler.scheduleAtFixedRate(new Runnable() {
+        @Override
+        public void run() {
+          adaptiveTaskExecutor.resize();
+        }
+      }, this.resizeIntervalInSeconds, this.resizeIntervalInSeconds, TimeUnit.SECONDS);
+    }
   }
 
   @Override
@@ -233,12 +318,22 @@ public class TaskExecutor extends AbstractIdleService {
       throws Exception {
     LOG.info("Stopping the task executor");
     try {
+      if (this.taskScheduler != this.taskExecutor) {
+        ExecutorsUtils.shutdownExecutorService(this.taskScheduler, Optional.of(LOG));
+      }
       ExecutorsUtils.shutdownExecutorService(this.taskExecutor, Optional.of(LOG));
+      if (this.virtualThreadTaskExecutor.isPresent()) {
+        ExecutorsUtils.shutdownExecutorService(this.virtualThreadTaskExecutor.get(), Optional.of(LOG));
+      }
     } finally {
       ExecutorsUtils.shutdownExecutorService(this.forkExecutor, Optional.of(LOG));
     }
   }
 
+  public Mode getMode() {
+    return this.mode;
+  }
+
   /**
    * Execute a {@link Task}.
    *
@@ -246,7 +341,7 @@ public class TaskExecutor extends AbstractIdleService {
    */
   public void execute(Task task) {
     LOG.info(String.format("Executing task %s", task.getTaskId()));
-    this.taskExecutor.execute(new TrackingTask(task));
+    getTaskExecutor(task).execute(new TrackingTask(task));
   }
 
   /**
@@ -257,7 +352,7 @@ public class TaskExecutor extends AbstractIdleService {
    */
   public Future<?> submit(Task task) {
     LOG.info(String.format("Submitting task %s", task.getTaskId()));
-    return this.taskExecutor.submit(new TrackingTask(task));
+    return getTaskExecutor(task).submit(new TrackingTask(task));
   }
 
   /**
@@ -297,11 +392,41 @@ public class TaskExecutor extends AbstractIdleService {
     // Task retry interval increases linearly with number of retries
     long interval = task.getRetryCount() * this.retryIntervalInSeconds;
     // Schedule the retry of the failed task
-    this.taskExecutor.schedule(new TrackingTask(task, interval, TimeUnit.SECONDS), interval, TimeUnit.SECONDS);
+    final TrackingTask retriedTask = new TrackingTask(task, interval, TimeUnit.SECONDS);
+    if (this.taskScheduler == this.taskExecutor) {
+      this.taskScheduler.schedule(retriedTask, interval, TimeUnit.SECONDS);
+    } else {
+      final ExecutorService retryExecutor = getTaskExecutor(task);
+      this.taskScheduler.schedule(new Runnable() {
+        @Override
+        public void run() {
+          retryExecutor.execute(retriedTask);
+        }
+      }, interval, TimeUnit.SECONDS);
+    }
     LOG.info(String.format("Scheduled retry of failed task %s to run in %d seconds", task.getTaskId(), interval));
     task.incrementRetryCount();
   }
 
+  /**
+   * @return the executor to run a {@link Task} on, which is the virtual thread executor for the tasks of the jobs
+   *         enabling virtual threads in the {@link Mode#FAIR} mode
+   */
+  private ExecutorService getTaskExecutor(Task task) {
+    if (this.mode != Mode.FAIR || !task.getTaskState().getPropAsBoolean(
+        ConfigurationKeys.TASK_EXECUTOR_VIRTUAL_THREADS_ENABLED_KEY,
+        ConfigurationKeys.DEFAULT_TASK_EXECUTOR_VIRTUAL_THREADS_ENABLED)) {
+      return this.taskExecutor;
+    }
+    if (!this.virtualThreadTaskExecutor.isPresent()) {
+      if (this.virtualThreadsUnsupportedLogged.compareAndSet(false, true)) {
+        LOG.warn("Virtual threads are not supported by this JVM, tasks enabling them run on the thread pool instead");
+      }
+      return this.taskExecutor;
+    }
+    return this.virtualThreadTaskExecutor.get();
+  }
+
   public MetricSet getTaskExecutorQueueMetricSet() {
     return this.metricSet;
   }
@@ -416,12 +541,21 @@ public class TaskExecutor extends AbstractIdleService {
       metrics.put(name("running", "count"), runningTaskCount);
       metrics.put(name("successful", "count"), successfulTaskCount);
       metrics.put(name("failed", "count"), failedTaskCount);
+      if (taskExecutor instanceof ThreadPoolExecutor) {
+        metrics.put(name("threadpool", "size"), new Gauge<Integer>() {
+          @Override
+          public Integer getValue() {
+            return ((ThreadPoolExecutor) taskExecutor).getMaximumPoolSize();
+          }
+        });
+      }
       return Collections.unmodifiableMap(metrics);
     }
   }
 
-  private class TrackingTask implements Runnable {
+  private class TrackingTask implements Runnable, JobFairTaskQueue.JobTask {
     private Task underlyingTask;
+    private final double jobWeight;
 
     public TrackingTask(Task task) {
       this(task, 0, TimeUnit.SECONDS);
@@ -433,6 +567,18 @@ public class TaskExecutor extends AbstractIdleService {
       LOG.debug(String.format("Task %s queued to run %s.", task.getTaskId(), timeToRun <= now ? "now" : "at " + timeToRun));
       queuedTasks.putIfAbsent(task.getTaskId(), timeToRun);
       this.underlyingTask = task;
+      this.jobWeight = task.getTaskState().getPropAsDouble(ConfigurationKeys.TASK_EXECUTOR_JOB_WEIGHT_KEY,
+          ConfigurationKeys.DEFAULT_TASK_EXECUTOR_JOB_WEIGHT);
+    }
+
+    @Override
+    public String getJobId() {
+      return this.underlyingTask.getJobId();
+    }
+
+    @Override
+    public double getJobWeight() {
+      return this.jobWeight;
     }
 
     @Override
@@ -19,6 +19,7 @@ package org.apache.gobblin.runtime;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Queue;
 import java.util.concurrent.Callable;
@@ -52,6 +53,18 @@ import org.apache.gobblin.metastore.StateStore;
  * For each batch of {@link TaskState}s collected, it posts a {@link NewTaskCompletionEvent} to notify
  * parties that are interested in such events.
  *
+ * <p>
+ *   As they are collected, the properties the {@link org.apache.gobblin.source.workunit.WorkUnit}s of the
+ *   {@link TaskState}s share with the {@link JobState} are replaced by a single copy of the job properties, so that
+ *   the driver doesn't hold a copy of the job properties per task.
+ * </p>
+ *
+ * <p>
+ *   The collected {@link TaskState}s are kept in full rather than folded into per-dataset aggregates: the data
+ *   publishers, {@link SafeDatasetCommit} and the dataset state store consume the {@link TaskState}s of each
+ *   dataset at commit, see {@link JobState#createDatasetStatesByUrns()}.
+ * </p>
+ *
  * @author Yinan Li
  */
 @Slf4j
@@ -73,6 +86,9 @@ public class TaskStateCollectorService extends AbstractScheduledService {
 
   private final Path outputTaskStateDir;
 
+  // Properties of the job shared by the work units of the collected TaskStates
+  private Properties commonWorkUnitProperties;
+
   /**
    * Add a closeable action to run after each existence-checking of task state file.
    * A typical example to plug here is hive registration:
@@ -158,7 +174,8 @@ public class TaskStateCollectorService extends AbstractScheduledService {
    * <p>
    *   This method collects all available output {@link TaskState} files at the time it is called. It
    *   uses a {@link ParallelRunner} to deserialize the {@link TaskState}s. Each {@link TaskState}
-   *   file gets deleted after the {@link TaskState} it stores is successfully collected.
+   *   file gets deleted after the {@link TaskState} it stores is successfully collected. The
+   *   {@link TaskState}s are compacted by the same threads.
    * </p>
    *
    * @throws IOException if it fails to collect the output {@link TaskState}s
@@ -185,6 +202,7 @@ public class TaskStateCollectorService extends AbstractScheduledService {
           @Override
           public Void call() throws Exception {
             TaskState taskState = taskStateStore.getAll(outputTaskStateDir.getName(), taskStateName).get(0);
+            shareCommonWorkUnitProperties(taskState);
             taskStateQueue.add(taskState);
             taskStateStore.delete(outputTaskStateDir.getName(), taskStateName);
             return null;
@@ -224,4 +242,40 @@ public class TaskStateCollectorService extends AbstractScheduledService {
     // Notify the listeners for the completion of the tasks
     this.eventBus.post(new NewTaskCompletionEvent(ImmutableList.copyOf(taskStateQueue)));
   }
+
+  /**
+   * Replace the properties the work unit of a {@link TaskState} has in common with the job by
+   * {@link #commonWorkUnitProperties}, the job properties the work unit of the first collected {@link TaskState}
+   * has. Work units that don't have all of them are left as they are, so this doesn't change the properties of
+   * any {@link TaskState}.
+   */
+  private void shareCommonWorkUnitProperties(TaskState taskState) {
+    Properties workUnitProperties = taskState.getWorkunit().getProperties();
+    Properties commonProperties = getCommonWorkUnitProperties(workUnitProperties);
+
+    Properties specProperties = new Properties();
+    int commonCount = 0;
+    for (Map.Entry<Object, Object> entry : workUnitProperties.entrySet()) {
+      if (entry.getValue().equals(commonProperties.get(entry.getKey()))) {
+        commonCount++;
+      } else {
+        specProperties.put(entry.getKey(), entry.getValue());
+      }
+    }
+    if (commonCount == commonProperties.size()) {
+      taskState.setWuProperties(commonProperties, specProperties);
+    }
+  }
+
+  private synchronized Properties getCommonWorkUnitProperties(Properties workUnitProperties) {
+    if (this.commonWorkUnitProperties == null) {
+      this.commonWorkUnitProperties = new Properties();
+      for (Map.Entry<Object, Object> entry : this.jobState.getProperties().entrySet()) {
+        if (entry.getValue().equals(workUnitProperties.get(entry.getKey()))) {
+          this.commonWorkUnitProperties.put(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+    return this.commonWorkUnitProperties;
+  }
 }
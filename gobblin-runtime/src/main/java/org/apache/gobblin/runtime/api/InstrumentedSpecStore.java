@@ -164,6 +164,21 @@ public abstract class InstrumentedSpecStore implements SpecStore {
     }
   }
 
+  /**
+   * The time to read all the {@link Spec}s, including the batches read as the iterator advances, is recorded once the
+   * iterator is exhausted.
+   */
+  @Override
+  public Iterator<Spec> getSpecIterator(int batchSize) throws IOException {
+    if (!instrumentationEnabled) {
+      return getSpecIteratorImpl(batchSize);
+    } else {
+      long startTimeMillis = System.currentTimeMillis();
+      Iterator<Spec> specs = getSpecIteratorImpl(batchSize);
+      return new TimedSpecIterator(specs, this.getAllTimer, System.currentTimeMillis() - startTimeMillis);
+    }
+  }
+
   public abstract void addSpecImpl(Spec spec) throws IOException;
   public abstract Spec updateSpecImpl(Spec spec) throws IOException, SpecNotFoundException;
   public abstract boolean existsImpl(URI specUri) throws IOException;
@@ -171,9 +186,47 @@ public abstract class InstrumentedSpecStore implements SpecStore {
   public abstract boolean deleteSpecImpl(URI specUri) throws IOException;
   public abstract Collection<Spec> getSpecsImpl() throws IOException;
   public abstract Iterator<URI> getSpecURIsImpl() throws IOException;
+  public abstract Iterator<Spec> getSpecIteratorImpl(int batchSize) throws IOException;
 
   /** child classes can implement this if they want to get specs using {@link SpecSearchObject} */
   public Collection<Spec> getSpecsImpl(SpecSearchObject specUri) throws IOException {
     throw new UnsupportedOperationException();
   }
+
+  /**
+   * An {@link Iterator} of {@link Spec}s that accumulates the time spent advancing it and updates the timer when it
+   * is exhausted.
+   */
+  private static class TimedSpecIterator implements Iterator<Spec> {
+    private final Iterator<Spec> specs;
+    private final Optional<Timer> timer;
+    private long elapsedMillis;
+    private boolean timerUpdated = false;
+
+    TimedSpecIterator(Iterator<Spec> specs, Optional<Timer> timer, long elapsedMillis) {
+      this.specs = specs;
+      this.timer = timer;
+      this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public boolean hasNext() {
+      long startTimeMillis = System.currentTimeMillis();
+      boolean hasNext = this.specs.hasNext();
+      this.elapsedMillis += System.currentTimeMillis() - startTimeMillis;
+      if (!hasNext && !this.timerUpdated) {
+        this.timerUpdated = true;
+        Instrumented.updateTimer(this.timer, this.elapsedMillis, TimeUnit.MILLISECONDS);
+      }
+      return hasNext;
+    }
+
+    @Override
+    public Spec next() {
+      long startTimeMillis = System.currentTimeMillis();
+      Spec spec = this.specs.next();
+      this.elapsedMillis += System.currentTimeMillis() - startTimeMillis;
+      return spec;
+    }
+  }
 }
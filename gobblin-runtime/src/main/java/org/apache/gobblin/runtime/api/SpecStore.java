@@ -121,6 +121,15 @@ public interface SpecStore {
    */
   Iterator<URI> getSpecURIs() throws IOException;
 
+  /**
+   * Return an iterator of all the {@link Spec}s, sorted by URI. The {@link Spec}s are read from the {@link SpecStore}
+   * in batches as the iterator advances, so that only one batch of deserialized {@link Spec}s is held at a time.
+   * @param batchSize maximum number of {@link Spec}s to read at a time.
+   * @throws IOException Exception in retrieving {@link Spec}s. Exceptions in reading a batch while iterating are
+   * rethrown as {@link RuntimeException}s.
+   */
+  Iterator<Spec> getSpecIterator(int batchSize) throws IOException;
+
   /**
    * Return an iterator of Spec URIS with certain tag.
    * Tag can be an implementation details, but provide an example here with {@link org.apache.gobblin.runtime.spec_store.MysqlSpecStore}:
@@ -33,6 +33,10 @@ import com.google.common.base.Throwables;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.converter.DataConversionException;
+import org.apache.gobblin.instrumented.StageTimer;
+import org.apache.gobblin.instrumented.TaskStageTimings;
+import org.apache.gobblin.util.jfr.EventSpan;
+import org.apache.gobblin.util.jfr.FlightRecorderEvents;
 
 
 /**
@@ -55,7 +59,10 @@ import org.apache.gobblin.converter.DataConversionException;
 @Slf4j
 @SuppressWarnings("unchecked")
 public class AsynchronousFork extends Fork {
+  private static final String RECORD_QUEUE_NAME = "forkRecordQueue";
+
   private final BoundedBlockingRecordQueue<Object> recordQueue;
+  private final Optional<RecordQueueWaitTimer> queueWaitTimer;
 
   public AsynchronousFork(TaskContext taskContext, Object schema, int branches, int index, ExecutionModel executionModel)
       throws Exception {
@@ -74,6 +81,9 @@ public class AsynchronousFork extends Fork {
                     ConfigurationKeys.DEFAULT_FORK_RECORD_QUEUE_TIMEOUT_UNIT)))
             .collectStats()
             .build();
+    Optional<StageTimer> stageTimer = TaskStageTimings.getStageTimer(taskState, TaskStageTimings.FORK_QUEUE_WAIT_STAGE);
+    this.queueWaitTimer = stageTimer.isPresent() ? Optional.of(new RecordQueueWaitTimer(stageTimer.get()))
+        : Optional.<RecordQueueWaitTimer>absent();
   }
 
   @Override
@@ -88,7 +98,18 @@ public class AsynchronousFork extends Fork {
 
   @Override
   protected boolean putRecordImpl(Object record) throws InterruptedException {
-    return this.recordQueue.put(record);
+    if (this.queueWaitTimer.isPresent()) {
+      this.queueWaitTimer.get().beforePut(record);
+    }
+    if (!this.recordQueue.isFull()) {
+      return this.recordQueue.put(record);
+    }
+    EventSpan queueFullWaitEvent = FlightRecorderEvents.beginQueueFullWait(RECORD_QUEUE_NAME + getIndex(), getTaskId());
+    try {
+      return this.recordQueue.put(record);
+    } finally {
+      queueFullWaitEvent.finish();
+    }
   }
 
   boolean processRecord() throws IOException, DataConversionException {
@@ -100,6 +121,9 @@ public class AsynchronousFork extends Fork {
           return false;
         }
       } else {
+        if (this.queueWaitTimer.isPresent()) {
+          this.queueWaitTimer.get().afterTake(record);
+        }
         this.processRecord(record);
       }
     } catch (InterruptedException ie) {
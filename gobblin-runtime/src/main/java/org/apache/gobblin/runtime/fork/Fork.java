@@ -63,6 +63,8 @@ import org.apache.gobblin.stream.ControlMessage;
 import org.apache.gobblin.stream.RecordEnvelope;
 import org.apache.gobblin.util.FinalState;
 import org.apache.gobblin.util.ForkOperatorUtils;
+import org.apache.gobblin.util.jfr.EventSpan;
+import org.apache.gobblin.util.jfr.FlightRecorderEvents;
 import org.apache.gobblin.writer.DataWriter;
 import org.apache.gobblin.writer.DataWriterBuilder;
 import org.apache.gobblin.writer.DataWriterWrapperBuilder;
@@ -367,6 +369,7 @@ public class Fork<S, D> implements Closeable, FinalState, RecordStreamConsumer<S
    *
    */
   public boolean commit() {
+    EventSpan commitEvent = FlightRecorderEvents.beginCommitStep(this.taskId, "fork" + this.index);
     try {
       if (checkDataQuality(this.convertedSchema)) {
         // Commit data if all quality checkers pass. Again, not to catch the exception
@@ -385,6 +388,8 @@ public class Fork<S, D> implements Closeable, FinalState, RecordStreamConsumer<S
       this.forkState.set(ForkState.FAILED);
       Throwables.propagate(t);
       return false;
+    } finally {
+      commitEvent.finish();
     }
   }
 
@@ -668,6 +673,13 @@ public class Fork<S, D> implements Closeable, FinalState, RecordStreamConsumer<S
     }
   }
 
+  /**
+   * @return true if the writer of this {@link Fork} has been built, which happens lazily on the first record
+   */
+  public boolean isWriterBuilt() {
+    return this.writer.isPresent();
+  }
+
   public boolean isSpeculativeExecutionSafe() {
     if (!this.writer.isPresent()) {
       return true;
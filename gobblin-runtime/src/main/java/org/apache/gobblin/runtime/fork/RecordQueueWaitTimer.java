@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime.fork;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import lombok.AllArgsConstructor;
+
+import org.apache.gobblin.instrumented.StageTimer;
+
+
+/**
+ * Times how long records wait in the first-in-first-out record queue of a {@link Fork}, from the time the task starts
+ * putting a record into the queue to the time the fork takes it.
+ *
+ * <p>
+ *   Only the records sampled by the {@link StageTimer} are remembered, along with their start time, in the order they
+ *   are put. A record taken from the queue is sampled if it is the oldest remembered record. At most
+ *   {@link #MAX_SAMPLED_RECORDS} records are remembered, the oldest one is forgotten beyond that, so that records
+ *   which are never taken (e.g. when the fork fails) do not pile up.
+ * </p>
+ */
+public class RecordQueueWaitTimer {
+
+  @VisibleForTesting
+  static final int MAX_SAMPLED_RECORDS = 1000;
+
+  private final StageTimer stageTimer;
+  private final Queue<SampledRecord> sampledRecords = new ConcurrentLinkedQueue<>();
+  // ConcurrentLinkedQueue#size() traverses the queue
+  private final AtomicInteger sampledRecordCount = new AtomicInteger();
+
+  public RecordQueueWaitTimer(StageTimer stageTimer) {
+    this.stageTimer = stageTimer;
+  }
+
+  /**
+   * Called by the task before each attempt to put a record into the queue.
+   */
+  public void beforePut(Object record) {
+    long startTimeNanos = this.stageTimer.start();
+    if (startTimeNanos != StageTimer.NOT_SAMPLED) {
+      this.sampledRecords.add(new SampledRecord(record, startTimeNanos));
+      if (this.sampledRecordCount.incrementAndGet() > MAX_SAMPLED_RECORDS) {
+        pollSampledRecord();
+      }
+    }
+  }
+
+  /**
+   * Called by the fork after taking a record from the queue.
+   */
+  public void afterTake(Object record) {
+    SampledRecord sampledRecord = this.sampledRecords.peek();
+    if (sampledRecord == null || sampledRecord.record != record) {
+      return;
+    }
+    this.stageTimer.stop(sampledRecord.startTimeNanos);
+    // Drop the record for good, it was remembered once per attempt to put it
+    while (sampledRecord != null && sampledRecord.record == record) {
+      pollSampledRecord();
+      sampledRecord = this.sampledRecords.peek();
+    }
+  }
+
+  @VisibleForTesting
+  int getSampledRecordCount() {
+    return this.sampledRecordCount.get();
+  }
+
+  private void pollSampledRecord() {
+    if (this.sampledRecords.poll() != null) {
+      this.sampledRecordCount.decrementAndGet();
+    }
+  }
+
+  @AllArgsConstructor
+  private static class SampledRecord {
+    private final Object record;
+    private final long startTimeNanos;
+  }
+}
@@ -120,6 +120,12 @@ public class LocalJobLauncher extends AbstractJobLauncher {
     }
   }
 
+  @Override
+  protected boolean supportsPipelinedLaunch() {
+    // Work units are turned into tasks as they are pulled from the stream, see GobblinMultiTaskAttempt
+    return true;
+  }
+
   @Override
   protected void runWorkUnits(List<WorkUnit> workUnits) throws Exception {
     // This should never happen
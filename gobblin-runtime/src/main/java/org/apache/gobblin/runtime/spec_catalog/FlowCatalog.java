@@ -245,6 +245,14 @@ public class FlowCatalog extends AbstractIdleService implements SpecCatalog, Mut
     return specStore.getSpecURIsWithTag(tag);
   }
 
+  /**
+   * Get an iterator of all specs from {@link SpecStore}, which reads them in batches of the given size as it advances.
+   * Prefer this over {@link #getSpecs()} to go through all the {@link FlowSpec}s.
+   */
+  public Iterator<Spec> getSpecIterator(int batchSize) throws IOException {
+    return specStore.getSpecIterator(batchSize);
+  }
+
   /**
    * Get all specs from {@link SpecStore}
    * Not suggested for {@link FlowCatalog} where the total amount of space that all {@link FlowSpec}s occupied
@@ -17,10 +17,14 @@
 
 package org.apache.gobblin.runtime.spec_store;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -35,24 +39,31 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.Files;
 import com.typesafe.config.Config;
 
 import org.apache.gobblin.runtime.api.FlowSpec;
+import org.apache.gobblin.runtime.api.FlowSpecSearchObject;
 import org.apache.gobblin.runtime.api.GobblinInstanceEnvironment;
 import org.apache.gobblin.runtime.api.InstrumentedSpecStore;
 import org.apache.gobblin.runtime.api.Spec;
 import org.apache.gobblin.runtime.api.SpecNotFoundException;
+import org.apache.gobblin.runtime.api.SpecSearchObject;
 import org.apache.gobblin.runtime.api.SpecSerDe;
+import org.apache.gobblin.util.ConfigUtils;
 import org.apache.gobblin.util.PathUtils;
 
 
 /**
  * The Spec Store for file system to persist the Spec information.
  * Note:
- * 1. This implementation has no support for caching.
+ * 1. Deserialized {@link FlowSpec}s are kept in a bounded cache of {@link #SPECSTORE_FS_CACHE_SIZE_KEY} entries, and
+ *    are read again from their file when its modification time or length changes. Each read returns a copy.
  * 2. This implementation does not performs implicit version management.
  *    For implicit version management, please use a wrapper FSSpecStore.
  */
@@ -62,6 +73,8 @@ public class FSSpecStore extends InstrumentedSpecStore {
    * Configuration properties related to Spec Store
    */
   public static final String SPECSTORE_FS_DIR_KEY = "specStore.fs.dir";
+  public static final String SPECSTORE_FS_CACHE_SIZE_KEY = "specStore.fs.cacheSize";
+  public static final int DEFAULT_SPECSTORE_FS_CACHE_SIZE = 1000;
 
   protected final Logger log;
   protected final Config sysConfig;
@@ -69,6 +82,7 @@ public class FSSpecStore extends InstrumentedSpecStore {
   protected final String fsSpecStoreDir;
   protected final Path fsSpecStoreDirPath;
   protected final SpecSerDe specSerDe;
+  private final Cache<Path, CachedSpec> specCache;
 
   public FSSpecStore(GobblinInstanceEnvironment env, SpecSerDe specSerDe)
       throws IOException {
@@ -95,6 +109,9 @@ public class FSSpecStore extends InstrumentedSpecStore {
     this.specSerDe = specSerDe;
     this.fsSpecStoreDir = this.sysConfig.getString(SPECSTORE_FS_DIR_KEY);
     this.fsSpecStoreDirPath = new Path(this.fsSpecStoreDir);
+    this.specCache = CacheBuilder.newBuilder()
+        .maximumSize(ConfigUtils.getInt(sysConfig, SPECSTORE_FS_CACHE_SIZE_KEY, DEFAULT_SPECSTORE_FS_CACHE_SIZE))
+        .build();
     this.log.info("FSSpecStore directory is: " + this.fsSpecStoreDir);
     try {
       this.fs = this.fsSpecStoreDirPath.getFileSystem(new Configuration());
@@ -124,7 +141,7 @@ public class FSSpecStore extends InstrumentedSpecStore {
     Collection<Spec> specs = Lists.newArrayList();
 
     try {
-      specs.add(readSpecFromFile(spec));
+      specs.add(getSpecFromFile(fs.getFileStatus(spec)));
     } catch (IOException e) {
       log.warn("Spec {} not found.", spec);
     }
@@ -158,6 +175,7 @@ public class FSSpecStore extends InstrumentedSpecStore {
 
     log.info(String.format("Adding Spec with URI: %s in FSSpecStore: %s", spec.getUri(), this.fsSpecStoreDirPath));
     Path specPath = getPathForURI(this.fsSpecStoreDirPath, spec.getUri(), spec.getVersion());
+    this.specCache.invalidate(fs.makeQualified(specPath));
     writeSpecToFile(specPath, spec);
   }
 
@@ -183,6 +201,7 @@ public class FSSpecStore extends InstrumentedSpecStore {
     try {
       log.info(String.format("Deleting Spec with URI: %s in FSSpecStore: %s", specUri, this.fsSpecStoreDirPath));
       Path specPath = getPathForURI(this.fsSpecStoreDirPath, specUri, version);
+      this.specCache.invalidate(fs.makeQualified(specPath));
       return fs.delete(specPath, false);
     } catch (IOException e) {
       throw new IOException(String.format("Issue in removing Spec: %s for Version: %s", specUri, version), e);
@@ -224,23 +243,77 @@ public class FSSpecStore extends InstrumentedSpecStore {
 
     Path specPath = getPathForURI(this.fsSpecStoreDirPath, specUri, version);
 
-    if (!fs.exists(specPath)) {
+    FileStatus fileStatus;
+    try {
+      fileStatus = fs.getFileStatus(specPath);
+    } catch (FileNotFoundException e) {
       throw new SpecNotFoundException(specUri);
     }
 
-    return readSpecFromFile(specPath);
+    return getSpecFromFile(fileStatus);
   }
 
   @Override
   public Collection<Spec> getSpecsImpl() throws IOException {
-    Collection<Spec> specs = Lists.newArrayList();
-    try {
-      getSpecs(this.fsSpecStoreDirPath, specs);
-    } catch (Exception e) {
-      throw new IOException(e);
+    return Lists.newArrayList(getSpecsFromFiles(listSpecFiles(this.fsSpecStoreDirPath)));
+  }
+
+  /**
+   * Search {@link FlowSpec}s by URI, flow group and flow name. As those are part of the path of the spec files, only
+   * the matching {@link FlowSpec}s are deserialized.
+   */
+  @Override
+  public Collection<Spec> getSpecsImpl(SpecSearchObject specSearchObject) throws IOException {
+    FlowSpecSearchObject flowSpecSearchObject = (FlowSpecSearchObject) specSearchObject;
+    if (!isSearchByFlowIdOnly(flowSpecSearchObject)) {
+      throw new UnsupportedOperationException(
+          "Searching specs by fields other than URI, flow group and flow name is not supported in FSSpecStore");
     }
 
-    return specs;
+    List<FileStatus> candidates;
+    if (flowSpecSearchObject.getFlowSpecUri() != null) {
+      Path specPath = getPathForURI(this.fsSpecStoreDirPath, flowSpecSearchObject.getFlowSpecUri(),
+          FlowSpec.Builder.DEFAULT_VERSION);
+      candidates = fs.exists(specPath) ? Lists.newArrayList(fs.getFileStatus(specPath))
+          : Collections.<FileStatus>emptyList();
+    } else if (flowSpecSearchObject.getFlowGroup() != null) {
+      Path groupPath = new Path(this.fsSpecStoreDirPath, flowSpecSearchObject.getFlowGroup());
+      candidates = fs.exists(groupPath) ? listSpecFiles(groupPath) : Collections.<FileStatus>emptyList();
+    } else {
+      candidates = listSpecFiles(this.fsSpecStoreDirPath);
+    }
+
+    List<FileStatus> matches = Lists.newArrayList();
+    for (FileStatus fileStatus : candidates) {
+      if ((flowSpecSearchObject.getFlowGroup() == null
+          || flowSpecSearchObject.getFlowGroup().equals(getSpecGroup(fileStatus.getPath())))
+          && (flowSpecSearchObject.getFlowName() == null
+          // Spec files are named after the flow with no extension, so flow names may contain '.'
+          || flowSpecSearchObject.getFlowName().equals(fileStatus.getPath().getName()))) {
+        matches.add(fileStatus);
+      }
+    }
+    return Lists.newArrayList(getSpecsFromFiles(matches));
+  }
+
+  private static boolean isSearchByFlowIdOnly(FlowSpecSearchObject flowSpecSearchObject) {
+    return flowSpecSearchObject.getTemplateURI() == null && flowSpecSearchObject.getUserToProxy() == null
+        && flowSpecSearchObject.getSourceIdentifier() == null && flowSpecSearchObject.getDestinationIdentifier() == null
+        && flowSpecSearchObject.getSchedule() == null && flowSpecSearchObject.getModifiedTimestamp() == null
+        && flowSpecSearchObject.getIsRunImmediately() == null && flowSpecSearchObject.getOwningGroup() == null
+        && flowSpecSearchObject.getPropertyFilter() == null;
+  }
+
+  /**
+   * The spec files are listed once, sorted by path, and deserialized one batch at a time as the iterator advances.
+   */
+  @Override
+  public Iterator<Spec> getSpecIteratorImpl(int batchSize) throws IOException {
+    Preconditions.checkArgument(batchSize > 0, "Batch size should be positive");
+
+    Iterator<List<FileStatus>> batches =
+        Iterators.partition(listSpecFiles(this.fsSpecStoreDirPath).iterator(), batchSize);
+    return Iterators.concat(Iterators.transform(batches, this::getSpecsFromFiles));
   }
 
   @Override
@@ -277,29 +350,64 @@ public class FSSpecStore extends InstrumentedSpecStore {
     return Optional.of(this.fsSpecStoreDirPath.toUri());
   }
 
+  /**
+   * @return the spec files under a directory and its subdirectories, sorted by path.
+   */
+  private List<FileStatus> listSpecFiles(Path directory) throws IOException {
+    List<FileStatus> fileStatuses = Lists.newArrayList();
+    RemoteIterator<LocatedFileStatus> it = fs.listFiles(directory, true);
+    while (it.hasNext()) {
+      fileStatuses.add(it.next());
+    }
+    Collections.sort(fileStatuses);
+    return fileStatuses;
+  }
+
   /**
    * For multiple {@link FlowSpec}s to be loaded, catch Exceptions when one of them failed to be loaded and
    * continue with the rest.
    *
-   * The {@link IOException} thrown from standard FileSystem call will be propagated, while the file-specific
-   * exception will be caught to ensure other files being able to deserialized.
-   *
-   * @param directory The directory that contains specs to be deserialized
-   * @param specs Container of specs.
+   * @param fileStatuses The files that contain specs to be deserialized
+   * @return an iterator of the specs that were deserialized.
    */
-  private void getSpecs(Path directory, Collection<Spec> specs) throws Exception {
-    FileStatus[] fileStatuses = fs.listStatus(directory);
+  private Iterator<Spec> getSpecsFromFiles(List<? extends FileStatus> fileStatuses) {
+    List<Spec> specs = Lists.newArrayListWithCapacity(fileStatuses.size());
     for (FileStatus fileStatus : fileStatuses) {
-      if (fileStatus.isDirectory()) {
-        getSpecs(fileStatus.getPath(), specs);
-      } else {
-        try {
-          specs.add(readSpecFromFile(fileStatus.getPath()));
-        } catch (Exception e) {
-          log.warn(String.format("Path[%s] cannot be correctly deserialized as Spec", fileStatus.getPath()), e);
-        }
+      try {
+        specs.add(getSpecFromFile(fileStatus));
+      } catch (Exception e) {
+        log.warn(String.format("Path[%s] cannot be correctly deserialized as Spec", fileStatus.getPath()), e);
       }
     }
+    return specs.iterator();
+  }
+
+  /**
+   * Get the Spec of a file from the cache if the file has not changed since it was cached, or read it otherwise.
+   */
+  private Spec getSpecFromFile(FileStatus fileStatus) throws IOException {
+    CachedSpec cachedSpec = this.specCache.getIfPresent(fileStatus.getPath());
+    if (cachedSpec != null && cachedSpec.isUpToDate(fileStatus)) {
+      return copyOf(cachedSpec.flowSpec);
+    }
+
+    Spec spec = readSpecFromFile(fileStatus.getPath());
+    if (spec instanceof FlowSpec) {
+      this.specCache.put(fileStatus.getPath(), new CachedSpec(fileStatus, (FlowSpec) spec));
+      return copyOf((FlowSpec) spec);
+    }
+    return spec;
+  }
+
+  /**
+   * Callers may change the properties and compilation errors of the {@link FlowSpec}s they get, so they get a copy
+   * of the cached one.
+   */
+  private static FlowSpec copyOf(FlowSpec flowSpec) {
+    Properties properties = new Properties();
+    properties.putAll(flowSpec.getConfigAsProperties());
+    return new FlowSpec(flowSpec.getUri(), flowSpec.getVersion(), flowSpec.getDescription(), flowSpec.getConfig(),
+        properties, flowSpec.getTemplateURIs(), flowSpec.getChildSpecs());
   }
 
   /***
@@ -352,4 +460,23 @@ public class FSSpecStore extends InstrumentedSpecStore {
   protected URI getURIFromPath(Path fsPath, Path fsSpecStoreDirPath) {
     return PathUtils.relativizePath(fsPath, fsSpecStoreDirPath).toUri();
   }
+
+  /**
+   * A deserialized {@link FlowSpec} along with the modification time and length of the file it was read from.
+   */
+  private static class CachedSpec {
+    private final long modificationTime;
+    private final long length;
+    private final FlowSpec flowSpec;
+
+    CachedSpec(FileStatus fileStatus, FlowSpec flowSpec) {
+      this.modificationTime = fileStatus.getModificationTime();
+      this.length = fileStatus.getLen();
+      this.flowSpec = flowSpec;
+    }
+
+    boolean isUpToDate(FileStatus fileStatus) {
+      return this.modificationTime == fileStatus.getModificationTime() && this.length == fileStatus.getLen();
+    }
+  }
 }
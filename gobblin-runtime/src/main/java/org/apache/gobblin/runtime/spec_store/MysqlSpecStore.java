@@ -26,12 +26,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 import com.google.common.base.Charsets;
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Lists;
 import com.google.common.io.ByteStreams;
 import com.google.gson.Gson;
@@ -88,6 +91,8 @@ public class MysqlSpecStore extends InstrumentedSpecStore {
   private static final String DELETE_STATEMENT = "DELETE FROM %s WHERE spec_uri = ?";
   private static final String GET_STATEMENT = "SELECT spec_uri, spec, " + NEW_COLUMN + " FROM %s WHERE ";
   private static final String GET_ALL_STATEMENT = "SELECT spec_uri, spec, " + NEW_COLUMN + " FROM %s";
+  private static final String GET_BATCH_STATEMENT = "SELECT spec_uri, spec, " + NEW_COLUMN
+      + " FROM %s WHERE spec_uri > ? ORDER BY spec_uri LIMIT ?";
   private static final String GET_ALL_URIS_STATEMENT = "SELECT spec_uri FROM %s";
   private static final String GET_ALL_STATEMENT_WITH_TAG = "SELECT spec_uri FROM %s WHERE tag = ?";
 
@@ -224,11 +229,7 @@ public class MysqlSpecStore extends InstrumentedSpecStore {
     List<Spec> specs = new ArrayList<>();
     try (ResultSet rs = statement.executeQuery()) {
       while (rs.next()) {
-        specs.add(
-            rs.getString(3) == null
-                ? this.specSerDe.deserialize(ByteStreams.toByteArray(rs.getBlob(2).getBinaryStream()))
-                : this.specSerDe.deserialize(rs.getString(2).getBytes(Charsets.UTF_8))
-        );
+        specs.add(deserializeSpec(rs));
       }
     } catch (SQLException | SpecSerDeException e) {
       log.error("Failed to deserialize spec", e);
@@ -237,6 +238,25 @@ public class MysqlSpecStore extends InstrumentedSpecStore {
     return specs;
   }
 
+  /**
+   * Deserialize the spec of the current row of a {@link ResultSet} of spec_uri, spec and spec_json.
+   */
+  private Spec deserializeSpec(ResultSet rs) throws SQLException, IOException {
+    return rs.getString(3) == null
+        ? this.specSerDe.deserialize(ByteStreams.toByteArray(rs.getBlob(2).getBinaryStream()))
+        : this.specSerDe.deserialize(rs.getString(2).getBytes(Charsets.UTF_8));
+  }
+
+  /**
+   * The specs are read in batches of consecutive spec URIs, each batch starting after the last URI of the previous one,
+   * so that specs added or deleted while iterating do not shift the batches.
+   */
+  @Override
+  public Iterator<Spec> getSpecIteratorImpl(int batchSize) throws IOException {
+    Preconditions.checkArgument(batchSize > 0, "Batch size should be positive");
+    return new SpecBatchIterator(batchSize);
+  }
+
   @Override
   public Iterator<URI> getSpecURIsImpl() throws IOException {
     try (Connection connection = this.dataSource.getConnection();
@@ -425,4 +445,54 @@ public class MysqlSpecStore extends InstrumentedSpecStore {
     statement.setBlob(++i, new ByteArrayInputStream(this.specSerDe.serialize(flowSpec)));
     statement.setString(++i, new String(this.specSerDe.serialize(flowSpec), Charsets.UTF_8));
   }
+
+  /**
+   * An iterator of the specs sorted by URI, which reads the next batch of specs when the current one is exhausted.
+   */
+  private class SpecBatchIterator extends AbstractIterator<Spec> {
+    private final int batchSize;
+    private Iterator<Spec> batch = Collections.emptyIterator();
+    private String lastSpecUri = "";
+    private boolean isLastBatch = false;
+
+    SpecBatchIterator(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    protected Spec computeNext() {
+      while (!this.batch.hasNext()) {
+        if (this.isLastBatch) {
+          return endOfData();
+        }
+        try {
+          readNextBatch();
+        } catch (IOException e) {
+          throw new RuntimeException("Failed to fetch next batch of specs due to:", e);
+        }
+      }
+      return this.batch.next();
+    }
+
+    private void readNextBatch() throws IOException {
+      List<Spec> specs = new ArrayList<>(this.batchSize);
+      try (Connection connection = MysqlSpecStore.this.dataSource.getConnection();
+          PreparedStatement statement = connection.prepareStatement(
+              String.format(GET_BATCH_STATEMENT, MysqlSpecStore.this.tableName))) {
+        statement.setString(1, this.lastSpecUri);
+        statement.setInt(2, this.batchSize);
+        try (ResultSet rs = statement.executeQuery()) {
+          while (rs.next()) {
+            this.lastSpecUri = rs.getString(1);
+            specs.add(deserializeSpec(rs));
+          }
+        }
+      } catch (SQLException | SpecSerDeException e) {
+        log.error("Failed to deserialize spec", e);
+        throw new IOException(e);
+      }
+      this.isLastBatch = specs.size() < this.batchSize;
+      this.batch = specs.iterator();
+    }
+  }
 }
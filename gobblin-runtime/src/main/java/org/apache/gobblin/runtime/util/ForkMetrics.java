@@ -71,6 +71,6 @@ public class ForkMetrics extends GobblinMetrics {
    * {@link #getForkMetricsId(State, int)}.
    */
   protected static String name(TaskState taskState, int index) {
-    return METRICS_ID_PREFIX + taskState.getJobId() + "." + taskState.getTaskId() + "." + getForkMetricsId(taskState, index);
+    return TaskMetrics.name(taskState) + "." + getForkMetricsId(taskState, index);
   }
 }
@@ -18,11 +18,17 @@
 package org.apache.gobblin.runtime.util;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.metrics.ContextAwareCounter;
+import org.apache.gobblin.metrics.ContextAwareMeter;
 import org.apache.gobblin.metrics.GobblinMetrics;
 import org.apache.gobblin.metrics.MetricContext;
 import org.apache.gobblin.metrics.Tag;
@@ -45,6 +51,15 @@ public class TaskMetrics extends GobblinMetrics {
     this.jobId = taskState.getJobId();
   }
 
+  /**
+   * A speculative attempt of a task reports its metrics in a detached {@link MetricContext} carrying the tags of the
+   * job, so its counts are kept out of the {@link JobMetrics} until it wins, see {@link #promoteSpeculativeAttempt}.
+   */
+  private TaskMetrics(TaskState taskState, MetricContext jobMetricContext) {
+    super(name(taskState), tagsForSpeculativeAttempt(taskState, jobMetricContext));
+    this.jobId = taskState.getJobId();
+  }
+
   /**
    * Get a {@link TaskMetrics} instance for the task with the given {@link TaskState} instance.
    *
@@ -55,7 +70,8 @@ public class TaskMetrics extends GobblinMetrics {
     return (TaskMetrics) GOBBLIN_METRICS_REGISTRY.getOrCreate(name(taskState), new Callable<GobblinMetrics>() {
       @Override
       public GobblinMetrics call() throws Exception {
-        return new TaskMetrics(taskState);
+        return isSpeculativeAttempt(taskState) ? new TaskMetrics(taskState, parentContextForTask(taskState))
+            : new TaskMetrics(taskState);
       }
     });
   }
@@ -85,14 +101,79 @@ public class TaskMetrics extends GobblinMetrics {
     remove(name(task));
   }
 
+  /**
+   * Apply the counts of the {@link ContextAwareCounter}s and {@link ContextAwareMeter}s of a speculative attempt that
+   * won to the same named metrics of its {@link JobMetrics}, which already count the records of the original attempt
+   * of the same task. Meters only take the records the speculative attempt read in excess of the original attempt, as
+   * meters cannot be decremented.
+   *
+   * @param speculativeState the {@link TaskState} of the winning speculative attempt
+   * @param originalState the {@link TaskState} of the discarded original attempt
+   */
+  public static void promoteSpeculativeAttempt(TaskState speculativeState, TaskState originalState) {
+    MetricContext speculativeContext = get(speculativeState).getMetricContext();
+    MetricContext originalContext = get(originalState).getMetricContext();
+    MetricContext jobContext = parentContextForTask(speculativeState);
+
+    Map<String, Long> originalCounts = Maps.newHashMap();
+    for (Counter counter : originalContext.getCounters().values()) {
+      if (counter instanceof ContextAwareCounter) {
+        originalCounts.put(((ContextAwareCounter) counter).getName(), counter.getCount());
+      }
+    }
+    for (Counter counter : speculativeContext.getCounters().values()) {
+      if (counter instanceof ContextAwareCounter) {
+        String name = ((ContextAwareCounter) counter).getName();
+        long delta = counter.getCount() - originalCounts.getOrDefault(name, 0L);
+        if (delta != 0) {
+          jobContext.contextAwareCounter(name).inc(delta);
+        }
+      }
+    }
+
+    originalCounts.clear();
+    for (Meter meter : originalContext.getMeters().values()) {
+      if (meter instanceof ContextAwareMeter) {
+        originalCounts.put(((ContextAwareMeter) meter).getName(), meter.getCount());
+      }
+    }
+    for (Meter meter : speculativeContext.getMeters().values()) {
+      if (meter instanceof ContextAwareMeter) {
+        String name = ((ContextAwareMeter) meter).getName();
+        long delta = meter.getCount() - originalCounts.getOrDefault(name, 0L);
+        if (delta > 0) {
+          jobContext.contextAwareMeter(name).mark(delta);
+        }
+      }
+    }
+  }
+
+  /**
+   * A speculative attempt gets its own metrics, keyed by its task attempt id, so that its counts can be told apart
+   * from the counts of the original attempt of the same task.
+   */
   public static String name(TaskState taskState) {
-    return METRICS_ID_PREFIX + taskState.getJobId() + "." + taskState.getTaskId();
+    String name = METRICS_ID_PREFIX + taskState.getJobId() + "." + taskState.getTaskId();
+    if (isSpeculativeAttempt(taskState)) {
+      name += "." + taskState.getTaskAttemptId().or("");
+    }
+    return name;
   }
 
   private static String name(Task task) {
     return name(task.getTaskState());
   }
 
+  private static boolean isSpeculativeAttempt(TaskState taskState) {
+    return taskState.getPropAsBoolean(ConfigurationKeys.TASK_IS_SPECULATIVE_ATTEMPT_KEY, false);
+  }
+
+  private static List<Tag<?>> tagsForSpeculativeAttempt(TaskState taskState, MetricContext jobMetricContext) {
+    List<Tag<?>> tags = Lists.newArrayList(jobMetricContext.getTags());
+    tags.addAll(tagsForTask(taskState));
+    return tags;
+  }
+
   protected static List<Tag<?>> tagsForTask(TaskState taskState) {
     List<Tag<?>> tags = Lists.newArrayList();
     tags.add(new Tag<>(TaskEvent.METADATA_TASK_ID, taskState.getTaskId()));
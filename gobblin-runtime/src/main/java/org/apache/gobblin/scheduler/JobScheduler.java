@@ -531,7 +531,9 @@ public class JobScheduler extends AbstractIdleService {
    */
   private List<Properties> loadGeneralJobConfigs()
       throws ConfigurationException, IOException {
-    List<Properties> jobConfigs = SchedulerUtils.loadGenericJobConfigs(this.properties, this.jobSpecResolver);
+    List<Properties> jobConfigs = this.listener == null
+        ? SchedulerUtils.loadGenericJobConfigs(this.properties, this.jobSpecResolver)
+        : SchedulerUtils.loadGenericJobConfigs(this.properties, this.listener.getPullFileLoader(), this.jobSpecResolver);
     LOG.info(String.format("Loaded %d job configurations", jobConfigs.size()));
     return jobConfigs;
   }
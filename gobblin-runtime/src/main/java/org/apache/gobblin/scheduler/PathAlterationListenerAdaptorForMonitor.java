@@ -36,6 +36,7 @@ import org.apache.gobblin.runtime.JobException;
 import org.apache.gobblin.runtime.listeners.EmailNotificationJobListener;
 import org.apache.gobblin.runtime.listeners.RunOnceJobListener;
 import org.apache.gobblin.util.PathUtils;
+import org.apache.gobblin.util.PullFileLoader;
 import org.apache.gobblin.util.SchedulerUtils;
 import org.apache.gobblin.util.filesystem.PathAlterationListenerAdaptor;
 
@@ -53,12 +54,19 @@ public class PathAlterationListenerAdaptorForMonitor extends PathAlterationListe
   /** Store path to job mappings. Required for correctly unscheduling. */
   private final Map<Path, String> jobNameMap;
   private final JobSpecResolver jobSpecResolver;
+  /** Kept across changes so that only the common properties files that changed are parsed again. */
+  private final PullFileLoader pullFileLoader;
 
-  PathAlterationListenerAdaptorForMonitor(Path jobConfigFileDirPath, JobScheduler jobScheduler) {
+  PathAlterationListenerAdaptorForMonitor(Path jobConfigFileDirPath, JobScheduler jobScheduler) throws IOException {
     this.jobConfigFileDirPath = jobConfigFileDirPath;
     this.jobScheduler = jobScheduler;
     this.jobNameMap = Maps.newConcurrentMap();
     this.jobSpecResolver = jobScheduler.getJobSpecResolver();
+    this.pullFileLoader = SchedulerUtils.createPullFileLoader(jobScheduler.properties, jobConfigFileDirPath);
+  }
+
+  PullFileLoader getPullFileLoader() {
+    return this.pullFileLoader;
   }
 
   private Path getJobPath(Properties jobProps) {
@@ -76,7 +84,7 @@ public class PathAlterationListenerAdaptorForMonitor extends PathAlterationListe
     String customizedInfo = "";
     try {
       Properties jobProps =
-          SchedulerUtils.loadGenericJobConfig(this.jobScheduler.properties, path, jobConfigFileDirPath, this.jobSpecResolver);
+          SchedulerUtils.loadGenericJobConfig(this.jobScheduler.properties, path, this.pullFileLoader, this.jobSpecResolver);
       LOG.debug("Loaded job properties: {}", jobProps);
       switch (action) {
         case SCHEDULE:
@@ -106,7 +114,7 @@ public class PathAlterationListenerAdaptorForMonitor extends PathAlterationListe
     String customizedInfoResult = "";
     try {
       for (Properties jobProps : SchedulerUtils.loadGenericJobConfigs(jobScheduler.properties, path,
-          jobConfigFileDirPath, this.jobSpecResolver)) {
+          this.pullFileLoader, this.jobSpecResolver)) {
         try {
           switch (action) {
             case SCHEDULE:
@@ -70,11 +70,22 @@ public class SchedulerUtils {
   public static List<Properties> loadGenericJobConfigs(Properties sysProps, JobSpecResolver resolver)
       throws ConfigurationException, IOException {
     Path rootPath = new Path(sysProps.getProperty(ConfigurationKeys.JOB_CONFIG_FILE_GENERAL_PATH_KEY));
-    PullFileLoader loader = new PullFileLoader(rootPath, rootPath.getFileSystem(new Configuration()),
-        getJobConfigurationFileExtensions(sysProps), PullFileLoader.DEFAULT_HOCON_PULL_FILE_EXTENSIONS);
+    return loadGenericJobConfigs(sysProps, createPullFileLoader(sysProps, rootPath), resolver);
+  }
+
+  /**
+   * Load job configuration from all the job configuration files under the root directory of a {@link PullFileLoader}.
+   * Reusing the same {@link PullFileLoader} across loads avoids parsing common properties files again if they have
+   * not changed.
+   * @param sysProps Gobblin framework configuration properties
+   * @param loader {@link PullFileLoader} created by {@link #createPullFileLoader(Properties, Path)}
+   * @return a list of job configurations in the form of {@link java.util.Properties}
+   */
+  public static List<Properties> loadGenericJobConfigs(Properties sysProps, PullFileLoader loader,
+      JobSpecResolver resolver) throws ConfigurationException, IOException {
     Config sysConfig = ConfigUtils.propertiesToConfig(sysProps);
     Collection<Config> configs =
-        loader.loadPullFilesRecursively(rootPath, sysConfig, true);
+        loader.loadPullFilesRecursively(loader.getRootDirectory(), sysConfig, true);
 
     List<Properties> jobConfigs = Lists.newArrayList();
     for (Config config : configs) {
@@ -100,9 +111,21 @@ public class SchedulerUtils {
   public static List<Properties> loadGenericJobConfigs(Properties sysProps, Path commonPropsPath,
       Path jobConfigPathDir, JobSpecResolver resolver)
       throws ConfigurationException, IOException {
+    return loadGenericJobConfigs(sysProps, commonPropsPath, createPullFileLoader(sysProps, jobConfigPathDir), resolver);
+  }
 
-    PullFileLoader loader = new PullFileLoader(jobConfigPathDir, jobConfigPathDir.getFileSystem(new Configuration()),
-        getJobConfigurationFileExtensions(sysProps), PullFileLoader.DEFAULT_HOCON_PULL_FILE_EXTENSIONS);
+  /**
+   * Load job configurations from job configuration files affected by changes to the given common properties file,
+   * i.e. the job configuration files in the directory of the common properties file and its subdirectories.
+   * @param sysProps Gobblin framework configuration properties
+   * @param commonPropsPath the path of common properties file with changes
+   * @param loader {@link PullFileLoader} created by {@link #createPullFileLoader(Properties, Path)} for the root job
+   *               configuration file directory
+   * @return a list of job configurations in the form of {@link java.util.Properties}
+   */
+  public static List<Properties> loadGenericJobConfigs(Properties sysProps, Path commonPropsPath,
+      PullFileLoader loader, JobSpecResolver resolver)
+      throws ConfigurationException, IOException {
     Config sysConfig = ConfigUtils.propertiesToConfig(sysProps);
     Collection<Config> configs =
         loader.loadPullFilesRecursively(commonPropsPath.getParent(), sysConfig, true);
@@ -130,15 +153,34 @@ public class SchedulerUtils {
    */
   public static Properties loadGenericJobConfig(Properties sysProps, Path jobConfigPath, Path jobConfigPathDir,
       JobSpecResolver resolver) throws ConfigurationException, IOException {
+    return loadGenericJobConfig(sysProps, jobConfigPath, createPullFileLoader(sysProps, jobConfigPathDir), resolver);
+  }
 
-    PullFileLoader loader = new PullFileLoader(jobConfigPathDir, jobConfigPathDir.getFileSystem(new Configuration()),
-        getJobConfigurationFileExtensions(sysProps), PullFileLoader.DEFAULT_HOCON_PULL_FILE_EXTENSIONS);
-
+  /**
+   * Load a given job configuration file from a general file system.
+   *
+   * @param sysProps Gobblin framework configuration properties
+   * @param jobConfigPath job configuration file to be loaded
+   * @param loader {@link PullFileLoader} created by {@link #createPullFileLoader(Properties, Path)} for the root job
+   *               configuration file directory
+   * @return a job configuration in the form of {@link java.util.Properties}
+   */
+  public static Properties loadGenericJobConfig(Properties sysProps, Path jobConfigPath, PullFileLoader loader,
+      JobSpecResolver resolver) throws ConfigurationException, IOException {
     Config sysConfig = ConfigUtils.propertiesToConfig(sysProps);
     Config config = loader.loadPullFile(jobConfigPath, sysConfig, true);
     return resolveTemplate(ConfigUtils.configToProperties(config), resolver);
   }
 
+  /**
+   * Create a {@link PullFileLoader} for the job configuration files under a root directory, with the job
+   * configuration file extensions of the given Gobblin framework configuration properties.
+   */
+  public static PullFileLoader createPullFileLoader(Properties sysProps, Path jobConfigPathDir) throws IOException {
+    return new PullFileLoader(jobConfigPathDir, jobConfigPathDir.getFileSystem(new Configuration()),
+        getJobConfigurationFileExtensions(sysProps), PullFileLoader.DEFAULT_HOCON_PULL_FILE_EXTENSIONS);
+  }
+
   /**
    * Add {@link PathAlterationObserverScheduler}s for the given
    * root directory and any nested subdirectories under the root directory to the given
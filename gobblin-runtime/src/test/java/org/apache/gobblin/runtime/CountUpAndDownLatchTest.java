@@ -66,4 +66,33 @@ public class CountUpAndDownLatchTest {
     }
   }
 
+  @Test
+  public void testAwaitCountBelow() throws Exception {
+
+    ExecutorService executorService = null;
+    try {
+      executorService = Executors.newFixedThreadPool(1);
+
+      CountUpAndDownLatch countUpAndDownLatch = new CountUpAndDownLatch(0);
+      countUpAndDownLatch.countUp();
+      countUpAndDownLatch.countUp();
+
+      Assert.assertTrue(countUpAndDownLatch.awaitCountBelow(3, 50, TimeUnit.MILLISECONDS));
+      Assert.assertFalse(countUpAndDownLatch.awaitCountBelow(2, 50, TimeUnit.MILLISECONDS));
+
+      // a count down from another thread unblocks the waiter
+      executorService.submit(() -> {
+        Thread.sleep(50);
+        countUpAndDownLatch.countDown();
+        return null;
+      });
+      Assert.assertTrue(countUpAndDownLatch.awaitCountBelow(2, 5, TimeUnit.SECONDS));
+      Assert.assertEquals(countUpAndDownLatch.getCount(), 1);
+    } finally {
+      if (executorService != null) {
+        executorService.shutdownNow();
+      }
+    }
+  }
+
 }
@@ -37,10 +37,15 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.configuration.WorkUnitState;
 import org.apache.gobblin.metastore.FsStateStore;
 import org.apache.gobblin.metastore.StateStore;
+import org.apache.gobblin.source.extractor.WatermarkInterval;
+import org.apache.gobblin.source.extractor.extract.LongWatermark;
+import org.apache.gobblin.source.workunit.WorkUnit;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
 
 
@@ -263,6 +268,70 @@ public class FsDatasetStateStoreTest {
     Assert.assertTrue(metadataList.isEmpty());
   }
 
+  @Test
+  public void testGetLatestWatermarkProjectionsByUrns() throws Exception {
+    File tmpDir = Files.createTempDir();
+    tmpDir.deleteOnExit();
+
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    FsDatasetStateStore store = new FsDatasetStateStore(fs, tmpDir.getAbsolutePath(),
+        ConfigurationKeys.DEFAULT_THREADPOOL_SIZE_OF_LISTING_FS_DATASET_STATESTORE, null,
+        new DatasetStateWatermarkProjector(ImmutableList.of("retained\\..*")));
+
+    WorkUnit workUnit = WorkUnit.createEmpty();
+    workUnit.setWatermarkInterval(new WatermarkInterval(new LongWatermark(10L), new LongWatermark(20L)));
+    workUnit.setProp("retained.workunit", "foo");
+    workUnit.setProp("dropped.workunit", "bar");
+    TaskState taskState = new TaskState(new WorkUnitState(workUnit, new State()));
+    taskState.setJobId("job1_id1");
+    taskState.setTaskId("task1");
+    taskState.setId("task1");
+    taskState.setWorkingState(WorkUnitState.WorkingState.COMMITTED);
+    taskState.setActualHighWatermark(new LongWatermark(15L));
+    taskState.setProp("retained.task", "baz");
+    taskState.setProp("dropped.task", "qux");
+
+    JobState.DatasetState datasetState = new JobState.DatasetState("job1", "job1_id1");
+    datasetState.setDatasetUrn("dataset1");
+    datasetState.setId("dataset1");
+    datasetState.addTaskState(taskState);
+    store.persistDatasetState("dataset1", datasetState);
+
+    JobState.DatasetState projection = store.getLatestWatermarkProjectionsByUrns("job1").get("dataset1");
+    Assert.assertEquals(projection.getJobId(), "job1_id1");
+    Assert.assertEquals(projection.getCompletedTasks(), 1);
+    TaskState projectedTaskState = projection.getTaskStates().get(0);
+    Assert.assertEquals(projectedTaskState.getTaskId(), "task1");
+    Assert.assertEquals(projectedTaskState.getWorkingState(), WorkUnitState.WorkingState.COMMITTED);
+    Assert.assertEquals(projectedTaskState.getWorkunit().getLowWatermark(LongWatermark.class).getValue(), 10L);
+    Assert.assertEquals(projectedTaskState.getWorkunit().getExpectedHighWatermark(LongWatermark.class).getValue(), 20L);
+    Assert.assertEquals(projectedTaskState.getActualHighWatermark(LongWatermark.class).getValue(), 15L);
+    Assert.assertEquals(projectedTaskState.getProp("retained.workunit"), "foo");
+    Assert.assertEquals(projectedTaskState.getProp("retained.task"), "baz");
+    Assert.assertFalse(projectedTaskState.contains("dropped.workunit"));
+    Assert.assertFalse(projectedTaskState.contains("dropped.task"));
+
+    // The full dataset states are unaffected
+    TaskState fullTaskState = store.getLatestDatasetStatesByUrns("job1").get("dataset1").getTaskStates().get(0);
+    Assert.assertEquals(fullTaskState.getProp("dropped.task"), "qux");
+    Assert.assertEquals(fullTaskState.getProp("dropped.workunit"), "bar");
+
+    // A dataset state persisted without a projection takes precedence over an older projection
+    JobState.DatasetState newerDatasetState = new JobState.DatasetState("job1", "job1_id2");
+    newerDatasetState.setDatasetUrn("dataset1");
+    newerDatasetState.setId("dataset1");
+    new FsDatasetStateStore(fs, tmpDir.getAbsolutePath()).persistDatasetState("dataset1", newerDatasetState);
+    Path projectionPath = new Path(new Path(tmpDir.getAbsolutePath(), "job1"),
+        "dataset1-" + DatasetStateStore.CURRENT_DATASET_STATE_FILE_SUFFIX
+            + FsDatasetStateStore.WATERMARK_PROJECTION_TABLE_SUFFIX);
+    Assert.assertTrue(fs.exists(projectionPath));
+    fs.setTimes(projectionPath, 0L, -1L);
+    Assert.assertEquals(store.getLatestWatermarkProjectionsByUrns("job1").get("dataset1").getJobId(), "job1_id2");
+
+    // Projections are not listed as tables
+    Assert.assertEquals(store.getMetadataForTables(new StoreNamePredicate("job1", x -> true)).size(), 3);
+  }
+
   @AfterClass
   public void tearDown() throws IOException {
     FileSystem fs = FileSystem.getLocal(new Configuration(false));
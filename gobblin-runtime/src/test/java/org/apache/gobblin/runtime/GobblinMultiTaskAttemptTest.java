@@ -17,11 +17,20 @@
 
 package org.apache.gobblin.runtime;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
+import org.mockito.Matchers;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.testng.annotations.BeforeClass;
@@ -29,6 +38,8 @@ import org.testng.annotations.Test;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.io.Files;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
@@ -39,6 +50,8 @@ import org.apache.gobblin.broker.SharedResourcesBrokerImpl;
 import org.apache.gobblin.broker.gobblin_scopes.GobblinScopeTypes;
 import org.apache.gobblin.broker.gobblin_scopes.JobScopeInstance;
 import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.metastore.StateStore;
 import org.apache.gobblin.source.workunit.WorkUnit;
 
 import static org.apache.gobblin.util.retry.RetryerFactory.RETRY_TIME_OUT_MS;
@@ -46,6 +59,10 @@ import static org.apache.gobblin.util.retry.RetryerFactory.RETRY_TIME_OUT_MS;
 
 @Slf4j
 public class GobblinMultiTaskAttemptTest {
+  private static final String SPECULATIVE_SUFFIX = "_speculative";
+  private static final String RECORDS_PULLED_KEY = "test.recordsPulled";
+  private static final String COMPLETED_ON_CREATION_KEY = "test.completedOnCreation";
+
   private GobblinMultiTaskAttempt taskAttempt;
   private TaskExecutor taskExecutorMock;
   private SharedResourcesBrokerImpl<GobblinScopeTypes> jobBroker;
@@ -122,6 +139,243 @@ public class GobblinMultiTaskAttemptTest {
     Assert.fail();
   }
 
+  @Test
+  public void testSpeculativeAttemptWins()
+      throws Exception {
+    SpeculationTestContext context = new SpeculationTestContext();
+    Future<?> run = context.startRun();
+
+    TestAttempt original = context.taskAttempt.getAttempt("task_1");
+    TestAttempt speculative = context.taskAttempt.getAttempt("task_1" + SPECULATIVE_SUFFIX);
+    speculative.complete(WorkUnitState.WorkingState.SUCCESSFUL);
+    run.get(10, TimeUnit.SECONDS);
+    Assert.assertEquals(WorkUnitState.WorkingState.CANCELLED, original.taskState.getWorkingState());
+
+    context.taskAttempt.commit();
+    context.verifyWinner(speculative, original);
+    Assert.assertTrue(speculative.outputFile.exists());
+  }
+
+  @Test
+  public void testOriginalAttemptWins()
+      throws Exception {
+    SpeculationTestContext context = new SpeculationTestContext();
+    Future<?> run = context.startRun();
+
+    TestAttempt original = context.taskAttempt.getAttempt("task_1");
+    TestAttempt speculative = context.taskAttempt.getAttempt("task_1" + SPECULATIVE_SUFFIX);
+    original.complete(WorkUnitState.WorkingState.SUCCESSFUL);
+    run.get(10, TimeUnit.SECONDS);
+    Assert.assertEquals(WorkUnitState.WorkingState.CANCELLED, speculative.taskState.getWorkingState());
+
+    context.taskAttempt.commit();
+    context.verifyWinner(original, speculative);
+    Assert.assertTrue(original.outputFile.exists());
+  }
+
+  @Test
+  public void testSpeculativeAttemptWinsAfterOriginalAttemptFails()
+      throws Exception {
+    SpeculationTestContext context = new SpeculationTestContext();
+    Future<?> run = context.startRun();
+
+    TestAttempt original = context.taskAttempt.getAttempt("task_1");
+    TestAttempt speculative = context.taskAttempt.getAttempt("task_1" + SPECULATIVE_SUFFIX);
+    original.complete(WorkUnitState.WorkingState.FAILED);
+    speculative.complete(WorkUnitState.WorkingState.SUCCESSFUL);
+    run.get(10, TimeUnit.SECONDS);
+
+    context.taskAttempt.commit();
+    context.verifyWinner(speculative, original);
+    Assert.assertTrue(speculative.outputFile.exists());
+  }
+
+  @Test
+  public void testBothAttemptsFail()
+      throws Exception {
+    SpeculationTestContext context = new SpeculationTestContext();
+    Future<?> run = context.startRun();
+
+    TestAttempt original = context.taskAttempt.getAttempt("task_1");
+    TestAttempt speculative = context.taskAttempt.getAttempt("task_1" + SPECULATIVE_SUFFIX);
+    original.complete(WorkUnitState.WorkingState.FAILED);
+    speculative.complete(WorkUnitState.WorkingState.FAILED);
+    run.get(10, TimeUnit.SECONDS);
+
+    try {
+      context.taskAttempt.commit();
+      Assert.fail("Commit should fail as the task failed");
+    } catch (IOException ioe) {
+      // expected
+    }
+    context.verifyWinner(original, speculative);
+    Assert.assertFalse(original.outputFile.exists());
+  }
+
+  /**
+   * Runs a task attempt of a fast task "task_0", which completes as soon as it is created, and a straggler task
+   * "task_1", which gets speculated.
+   */
+  private class SpeculationTestContext {
+    private final File stagingDir = Files.createTempDir();
+    private final File outputDir = Files.createTempDir();
+    @SuppressWarnings("unchecked")
+    private final StateStore<TaskState> taskStateStore = Mockito.mock(StateStore.class);
+    private final SpeculatingTaskAttempt taskAttempt;
+
+    SpeculationTestContext() {
+      JobState jobState = new JobState("testJob", "job123");
+      jobState.setProp(ConfigurationKeys.TASK_SPECULATION_ENABLED_KEY, true);
+      jobState.setProp(ConfigurationKeys.TASK_SPECULATION_MIN_RUN_TIME_SECONDS_KEY, 0);
+      jobState.setProp(ConfigurationKeys.TASK_SPECULATION_MIN_PEER_TASKS_KEY, 2);
+      jobState.setProp(ConfigurationKeys.TASK_SPECULATION_SLOW_TASK_RATIO_KEY, 0.5);
+      jobState.setProp(ConfigurationKeys.TASK_SPECULATION_MAX_TASKS_RATIO_KEY, 1.0);
+
+      WorkUnit fastWorkUnit = new WorkUnit();
+      fastWorkUnit.setProp(ConfigurationKeys.TASK_ID_KEY, "task_0");
+      fastWorkUnit.setProp(RECORDS_PULLED_KEY, 1000);
+      fastWorkUnit.setProp(COMPLETED_ON_CREATION_KEY, true);
+      WorkUnit slowWorkUnit = new WorkUnit();
+      slowWorkUnit.setProp(ConfigurationKeys.TASK_ID_KEY, "task_1");
+      slowWorkUnit.setProp(RECORDS_PULLED_KEY, 1);
+
+      this.taskAttempt = new SpeculatingTaskAttempt(ImmutableList.of(fastWorkUnit, slowWorkUnit), jobState,
+          Optional.of(this.taskStateStore), this.stagingDir, this.outputDir);
+      this.taskAttempt.setTaskProgressCheckIntervalMillis(10);
+    }
+
+    /**
+     * Start running the task attempt and wait for the speculative attempt of the straggler to be created.
+     */
+    Future<?> startRun()
+        throws InterruptedException {
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      Future<?> run = executor.submit(() -> {
+        this.taskAttempt.run();
+        return null;
+      });
+      executor.shutdown();
+      Assert.assertTrue(this.taskAttempt.speculativeAttemptCreated.await(10, TimeUnit.SECONDS));
+      return run;
+    }
+
+    void verifyWinner(TestAttempt winner, TestAttempt loser)
+        throws IOException {
+      Assert.assertEquals(0, this.taskAttempt.taskCountDownLatch.getCount());
+
+      Mockito.verify(this.taskStateStore).put(Matchers.eq("job123"),
+          Matchers.eq(winner.taskState.getTaskId() + AbstractJobLauncher.TASK_STATE_STORE_TABLE_SUFFIX),
+          Matchers.same(winner.taskState));
+      Mockito.verify(this.taskStateStore, Mockito.never())
+          .put(Matchers.anyString(), Matchers.anyString(), Matchers.same(loser.taskState));
+
+      Mockito.verify(loser.task, Mockito.never()).commit();
+      Mockito.verify(loser.task).discard();
+      Assert.assertFalse(loser.stagingFile.exists());
+
+      FileUtils.deleteQuietly(this.stagingDir);
+      FileUtils.deleteQuietly(this.outputDir);
+    }
+  }
+
+  /**
+   * A {@link GobblinMultiTaskAttempt} running {@link TestAttempt}s instead of real tasks.
+   */
+  private class SpeculatingTaskAttempt extends GobblinMultiTaskAttempt {
+    private final File stagingDir;
+    private final File outputDir;
+    private final Map<String, TestAttempt> attempts = Maps.newConcurrentMap();
+    private final CountDownLatch speculativeAttemptCreated = new CountDownLatch(1);
+    private volatile CountDownLatch taskCountDownLatch;
+
+    SpeculatingTaskAttempt(List<WorkUnit> workUnits, JobState jobState,
+        Optional<StateStore<TaskState>> taskStateStore, File stagingDir, File outputDir) {
+      super(workUnits.iterator(), "job123", jobState, Mockito.mock(TaskStateTracker.class),
+          Mockito.mock(TaskExecutor.class), Optional.absent(), taskStateStore, jobBroker);
+      this.stagingDir = stagingDir;
+      this.outputDir = outputDir;
+    }
+
+    @Override
+    Task createTaskWithRetry(WorkUnitState workUnitState, CountDownLatch countDownLatch) {
+      this.taskCountDownLatch = countDownLatch;
+      TestAttempt attempt = new TestAttempt(workUnitState, countDownLatch, this.stagingDir, this.outputDir);
+      String taskAttemptId = attempt.taskState.getTaskAttemptId().get();
+      this.attempts.put(taskAttemptId, attempt);
+      if (workUnitState.getPropAsBoolean(COMPLETED_ON_CREATION_KEY, false)) {
+        attempt.complete(WorkUnitState.WorkingState.SUCCESSFUL);
+      }
+      if (taskAttemptId.endsWith(SPECULATIVE_SUFFIX)) {
+        this.speculativeAttemptCreated.countDown();
+      }
+      return attempt.task;
+    }
+
+    TestAttempt getAttempt(String taskAttemptId) {
+      return this.attempts.get(taskAttemptId);
+    }
+  }
+
+  /**
+   * A mocked {@link Task} attempt that stages its output in a file named after its task attempt id, which is moved to
+   * the output directory on commit and deleted on discard.
+   */
+  private static class TestAttempt {
+    private final Task task = Mockito.mock(Task.class);
+    private final TaskState taskState;
+    private final CountDownLatch countDownLatch;
+    private final File stagingFile;
+    private final File outputFile;
+    private volatile boolean completed = false;
+
+    TestAttempt(WorkUnitState workUnitState, CountDownLatch countDownLatch, File stagingDir, File outputDir) {
+      this.taskState = new TaskState(workUnitState);
+      this.countDownLatch = countDownLatch;
+      this.stagingFile = new File(stagingDir, this.taskState.getTaskAttemptId().get());
+      this.outputFile = new File(outputDir, this.taskState.getTaskId());
+      try {
+        Files.touch(this.stagingFile);
+      } catch (IOException ioe) {
+        throw new RuntimeException(ioe);
+      }
+
+      Mockito.when(this.task.getTaskId()).thenReturn(this.taskState.getTaskId());
+      Mockito.when(this.task.getJobId()).thenReturn(this.taskState.getJobId());
+      Mockito.when(this.task.getTaskState()).thenReturn(this.taskState);
+      Mockito.when(this.task.getRecordsPulled()).thenReturn(workUnitState.getPropAsLong(RECORDS_PULLED_KEY));
+      Mockito.when(this.task.getRunTimeMillis()).thenReturn(1000L);
+      Mockito.when(this.task.isSpeculativeAttemptSafeToLaunch()).thenReturn(true);
+      Mockito.when(this.task.isCompleted()).thenAnswer(invocation -> this.completed);
+      Mockito.when(this.task.cancel()).thenAnswer(invocation -> {
+        complete(WorkUnitState.WorkingState.CANCELLED);
+        return true;
+      });
+      Mockito.doAnswer(invocation -> {
+        if (this.taskState.getWorkingState() == WorkUnitState.WorkingState.SUCCESSFUL) {
+          Files.move(this.stagingFile, this.outputFile);
+          this.taskState.setWorkingState(WorkUnitState.WorkingState.COMMITTED);
+        }
+        return null;
+      }).when(this.task).commit();
+      Mockito.doAnswer(invocation -> {
+        FileUtils.deleteQuietly(this.stagingFile);
+        return null;
+      }).when(this.task).discard();
+    }
+
+    /**
+     * Complete this attempt with the given state, unless it already completed.
+     */
+    synchronized void complete(WorkUnitState.WorkingState workingState) {
+      if (this.completed) {
+        return;
+      }
+      this.taskState.setWorkingState(workingState);
+      this.completed = true;
+      this.countDownLatch.countDown();
+    }
+  }
+
   public static class FailingTestStateTracker extends AbstractTaskStateTracker {
     public FailingTestStateTracker(Properties properties, Logger logger) {
       super(properties, logger);
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+import org.apache.gobblin.util.ExecutorsUtils;
+
+
+/**
+ * Unit tests for {@link JobFairTaskQueue} and {@link JobFairThreadPoolExecutor}.
+ */
+@Test(groups = { "gobblin.runtime" })
+public class JobFairTaskQueueTest {
+
+  @Test
+  public void testJobsShareThreads() throws InterruptedException {
+    JobFairTaskQueue queue = new JobFairTaskQueue();
+    for (int i = 0; i < 3; i++) {
+      queue.offer(new TestJobTask("job1", 1.0, "job1_" + i));
+    }
+    queue.offer(new TestJobTask("job2", 1.0, "job2_0"));
+    Assert.assertEquals(queue.size(), 4);
+
+    // job1 queued first
+    TestJobTask task = (TestJobTask) queue.take();
+    Assert.assertEquals(task.name, "job1_0");
+    queue.onTaskStart(task);
+
+    // job1 has a running task, so job2 goes next even though job1 queued more tasks
+    task = (TestJobTask) queue.take();
+    Assert.assertEquals(task.name, "job2_0");
+    queue.onTaskStart(task);
+    Assert.assertEquals(queue.getRunningTasks("job2"), 1);
+
+    queue.onTaskEnd(task, 10);
+    Assert.assertEquals(queue.getRunningTasks("job2"), 0);
+    Assert.assertEquals(((TestJobTask) queue.poll()).name, "job1_1");
+    Assert.assertEquals(((TestJobTask) queue.poll()).name, "job1_2");
+    Assert.assertNull(queue.poll());
+  }
+
+  @Test
+  public void testJobWeights() {
+    JobFairTaskQueue queue = new JobFairTaskQueue();
+    for (int i = 0; i < 4; i++) {
+      queue.offer(new TestJobTask("light", 1.0, "light_" + i));
+      queue.offer(new TestJobTask("heavy", 3.0, "heavy_" + i));
+    }
+
+    List<String> started = Lists.newArrayList();
+    for (int i = 0; i < 4; i++) {
+      TestJobTask task = (TestJobTask) queue.poll();
+      queue.onTaskStart(task);
+      started.add(task.name);
+    }
+    // The heavy job gets three of the first four threads
+    Assert.assertEquals(started, Lists.newArrayList("light_0", "heavy_0", "heavy_1", "heavy_2"));
+  }
+
+  @Test
+  public void testRemove() {
+    JobFairTaskQueue queue = new JobFairTaskQueue();
+    TestJobTask task = new TestJobTask("job1", 1.0, "job1_0");
+    Runnable otherTask = new Runnable() {
+      @Override
+      public void run() {
+      }
+    };
+    queue.offer(task);
+    queue.offer(otherTask);
+    Assert.assertEquals(queue.size(), 2);
+    Assert.assertTrue(queue.remove(task));
+    Assert.assertFalse(queue.remove(task));
+    Assert.assertEquals(queue.peek(), otherTask);
+
+    List<Runnable> drained = Lists.newArrayList();
+    Assert.assertEquals(queue.drainTo(drained), 1);
+    Assert.assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void testExecutor() throws Exception {
+    JobFairThreadPoolExecutor executor = new JobFairThreadPoolExecutor(1, 1, 1.0, ExecutorsUtils.defaultThreadFactory());
+    try {
+      final CountDownLatch blocked = new CountDownLatch(1);
+      executor.execute(new TestJobTask("job1", 1.0, "blocking") {
+        @Override
+        public void run() {
+          try {
+            blocked.await();
+          } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      });
+      final List<String> ran = Lists.newArrayList();
+      for (String jobTask : new String[] { "job1_1", "job1_2", "job2_1" }) {
+        executor.submit(new TestJobTask(jobTask.substring(0, 4), 1.0, jobTask) {
+          @Override
+          public void run() {
+            synchronized (ran) {
+              ran.add(this.name);
+            }
+          }
+        });
+      }
+      Assert.assertEquals(executor.getTaskQueue().size(), 3);
+      blocked.countDown();
+      executor.shutdown();
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+      // job1 ran its blocking task the longest, so job2 goes first
+      Assert.assertEquals(ran, Lists.newArrayList("job2_1", "job1_1", "job1_2"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testTargetPoolSize() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    JobFairThreadPoolExecutor executor = new JobFairThreadPoolExecutor(1, processors * 8, 1.0,
+        ExecutorsUtils.defaultThreadFactory());
+    try {
+      Assert.assertTrue(executor.isAdaptive());
+      // CPU-bound tasks use one thread per processor
+      Assert.assertEquals(executor.getTargetPoolSize(1000, 1000), processors);
+      // Tasks using a CPU a quarter of their time use four threads per processor
+      Assert.assertEquals(executor.getTargetPoolSize(1000, 250), processors * 4);
+      // Tasks that are always blocked use the maximum size
+      Assert.assertEquals(executor.getTargetPoolSize(1000, 0), processors * 8);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static class TestJobTask implements JobFairTaskQueue.JobTask, Runnable {
+    private final String jobId;
+    private final double jobWeight;
+    protected final String name;
+
+    private TestJobTask(String jobId, double jobWeight, String name) {
+      this.jobId = jobId;
+      this.jobWeight = jobWeight;
+      this.name = name;
+    }
+
+    @Override
+    public String getJobId() {
+      return this.jobId;
+    }
+
+    @Override
+    public double getJobWeight() {
+      return this.jobWeight;
+    }
+
+    @Override
+    public void run() {
+    }
+  }
+}
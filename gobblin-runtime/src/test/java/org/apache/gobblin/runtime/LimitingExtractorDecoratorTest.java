@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+
+import org.apache.gobblin.source.extractor.Extractor;
+import org.apache.gobblin.source.extractor.limiter.LimiterConfigurationKeys;
+import org.apache.gobblin.source.workunit.WorkUnit;
+import org.apache.gobblin.util.limiter.CountBasedLimiter;
+import org.apache.gobblin.util.limiter.Limiter;
+
+import static org.mockito.Mockito.mock;
+
+
+/**
+ * Unit tests for {@link LimitingExtractorDecorator}.
+ */
+@Test(groups = {"gobblin.runtime"})
+public class LimitingExtractorDecoratorTest {
+
+  @Test
+  public void testReservoirHonorsCountLimit() throws Exception {
+    Assert.assertEquals(readAll(1, 37), 37);
+    Assert.assertEquals(readAll(16, 37), 37);
+    Assert.assertEquals(readAll(1000, 37), 37);
+  }
+
+  @Test
+  public void testReservoirsShareCountLimit() throws Exception {
+    // Each extractor has fewer records than a chunk, the permits left in its reservoir must go back to the limiter
+    CountBasedLimiter limiter = new CountBasedLimiter(30);
+    for (int i = 0; i < 3; i++) {
+      LimitingExtractorDecorator<String, String> decorator = createDecorator(createExtractor(10), limiter, 16);
+      Assert.assertEquals(readAll(decorator), 10);
+    }
+    LimitingExtractorDecorator<String, String> decorator = createDecorator(createExtractor(10), limiter, 16);
+    Assert.assertEquals(readAll(decorator), 0);
+  }
+
+  @Test
+  public void testReservoirsShareCountLimitInterleaved() throws Exception {
+    CountBasedLimiter limiter = new CountBasedLimiter(100);
+    List<LimitingExtractorDecorator<String, String>> decorators = Lists.newArrayList();
+    for (int i = 0; i < 4; i++) {
+      decorators.add(createDecorator(createExtractor(20), limiter, 8));
+    }
+    int records = 0;
+    for (int i = 0; i <= 20; i++) {
+      for (LimitingExtractorDecorator<String, String> decorator : decorators) {
+        if (decorator.readRecord(null) != null) {
+          records++;
+        }
+      }
+    }
+    for (LimitingExtractorDecorator<String, String> decorator : decorators) {
+      decorator.close();
+    }
+    Assert.assertEquals(records, 80);
+
+    // Only the permits handed out to records are consumed once all the decorators are closed
+    Assert.assertNotNull(limiter.acquirePermits(20));
+    Assert.assertNull(limiter.acquirePermits(1));
+  }
+
+  @Test
+  public void testReservoirKeepsPermitOfFailedRead() throws Exception {
+    CountBasedLimiter limiter = new CountBasedLimiter(10);
+    Extractor<String, String> extractor = createExtractor(2);
+    LimitingExtractorDecorator<String, String> decorator = createDecorator(extractor, limiter, 8);
+    Assert.assertNotNull(decorator.readRecord(null));
+
+    Mockito.when(extractor.readRecord(null)).thenThrow(new IOException("Failed read"));
+    try {
+      decorator.readRecord(null);
+      Assert.fail("The failure of the extractor should be rethrown.");
+    } catch (IOException ioe) {
+      // expected
+    }
+    decorator.close();
+
+    // Only the permit of the record read is consumed
+    Assert.assertNotNull(limiter.acquirePermits(9));
+    Assert.assertNull(limiter.acquirePermits(1));
+  }
+
+  private static int readAll(long reservoirMaxPermits, long countLimit) throws Exception {
+    return readAll(createDecorator(createExtractor(Integer.MAX_VALUE), new CountBasedLimiter(countLimit),
+        reservoirMaxPermits));
+  }
+
+  private static int readAll(LimitingExtractorDecorator<String, String> decorator) throws Exception {
+    int records = 0;
+    while (decorator.readRecord(null) != null) {
+      records++;
+    }
+    decorator.close();
+    return records;
+  }
+
+  /**
+   * Create an {@link Extractor} that returns the given number of records.
+   */
+  @SuppressWarnings("unchecked")
+  private static Extractor<String, String> createExtractor(final int recordCount) throws Exception {
+    Extractor<String, String> extractor = mock(Extractor.class);
+    final AtomicInteger recordsRead = new AtomicInteger();
+    Mockito.when(extractor.readRecord(null)).thenAnswer(new Answer<String>() {
+      @Override
+      public String answer(InvocationOnMock invocation) {
+        return recordsRead.incrementAndGet() <= recordCount ? "record" : null;
+      }
+    });
+    return extractor;
+  }
+
+  private static LimitingExtractorDecorator<String, String> createDecorator(Extractor<String, String> extractor,
+      Limiter limiter, long reservoirMaxPermits) {
+    TaskState taskState = mock(TaskState.class);
+    WorkUnit workUnit = mock(WorkUnit.class);
+    Mockito.when(taskState.getWorkunit()).thenReturn(workUnit);
+    Mockito.when(workUnit.getProperties()).thenReturn(new Properties());
+    Mockito.when(taskState.getJobId()).thenReturn("123");
+    Mockito.when(taskState.getTaskAttemptId()).thenReturn(Optional.of("555"));
+    Mockito.when(taskState.getTaskId()).thenReturn("888");
+    Mockito.when(taskState.getPropAsLong(LimiterConfigurationKeys.LIMITER_RESERVOIR_MAX_PERMITS,
+        LimiterConfigurationKeys.DEFAULT_LIMITER_RESERVOIR_MAX_PERMITS)).thenReturn(reservoirMaxPermits);
+    Mockito.when(taskState.getPropAsLong(LimiterConfigurationKeys.LIMITER_RESERVOIR_REFILL_INTERVAL_MILLIS,
+        LimiterConfigurationKeys.DEFAULT_LIMITER_RESERVOIR_REFILL_INTERVAL_MILLIS)).thenReturn(1000L);
+
+    return new LimitingExtractorDecorator<>(extractor, limiter, taskState);
+  }
+}
@@ -17,16 +17,20 @@
 
 package org.apache.gobblin.runtime;
 
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.Properties;
 
+import org.apache.commons.io.FileUtils;
+
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.metastore.FsStateStore;
 import org.apache.gobblin.metastore.StateStore;
 import org.apache.gobblin.metastore.testing.ITestMetastoreDatabase;
 import org.apache.gobblin.metastore.testing.TestMetastoreDatabaseFactory;
 import org.apache.gobblin.runtime.local.LocalJobLauncher;
+import org.apache.gobblin.test.PipelinedTestSource;
 import org.apache.gobblin.util.JobLauncherUtils;
 import org.apache.gobblin.util.limiter.BaseLimiterType;
 import org.apache.gobblin.util.limiter.DefaultLimiterFactory;
@@ -85,6 +89,29 @@ public class LocalJobLauncherTest {
     }
   }
 
+  @Test
+  public void testLaunchJobWithPipelinedLaunch() throws Exception {
+    Properties jobProps = loadJobProps();
+    String jobName = jobProps.getProperty(ConfigurationKeys.JOB_NAME_KEY) + "-testLaunchJobWithPipelinedLaunch";
+    jobProps.setProperty(ConfigurationKeys.JOB_NAME_KEY, jobName);
+    jobProps.setProperty(ConfigurationKeys.SOURCE_CLASS_KEY, PipelinedTestSource.class.getName());
+    jobProps.setProperty(ConfigurationKeys.WORK_UNIT_PIPELINED_LAUNCH_ENABLED, "true");
+    // Per task cleanup of staging data disables pipelining
+    jobProps.setProperty(ConfigurationKeys.CLEANUP_STAGING_DATA_PER_TASK, "false");
+    File outputDir = new File("gobblin-test/jobOutput/" + jobName);
+    jobProps.setProperty(ConfigurationKeys.DATA_PUBLISHER_FINAL_DIR, outputDir.getPath());
+    try {
+      this.jobLauncherTestHelper.runTest(jobProps);
+      // All work units but the first were created after the task of the previous one read all its records
+      Assert.assertEquals(3, PipelinedTestSource.getWorkUnitsCreatedAfterPreviousTask());
+      // The output staged by tasks while work units were still being created is published
+      Assert.assertEquals(4, FileUtils.listFiles(outputDir, new String[] { "avro" }, true).size());
+    } finally {
+      FileUtils.deleteDirectory(outputDir);
+      this.jobLauncherTestHelper.deleteStateStore(jobName);
+    }
+  }
+
   @Test
   public void testJobTemplateResolutionInAbstractLauncher() throws Exception {
     Properties jobProps = loadJobProps();
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+import org.apache.gobblin.runtime.StragglerDetector.TaskProgress;
+
+
+/**
+ * Unit tests for {@link StragglerDetector}.
+ */
+@Test(groups = { "gobblin.runtime" })
+public class StragglerDetectorTest {
+
+  private final StragglerDetector stragglerDetector = new StragglerDetector(60000, 0.5, 3);
+
+  @Test
+  public void testFindStragglers() {
+    List<TaskProgress> tasks = Lists.newArrayList(
+        // 1000 records per second
+        new TaskProgress("completed", 60000, 60000, true),
+        new TaskProgress("running", 120000, 120000, false),
+        new TaskProgress("slow", 30000, 120000, false),
+        new TaskProgress("stuck", 0, 120000, false),
+        // Ran for less than the minimum run time
+        new TaskProgress("recent", 0, 1000, false));
+    // The median is 625 records per second, "slow" pulled 250 per second
+    Assert.assertEquals(this.stragglerDetector.findStragglers(tasks), Lists.newArrayList("stuck", "slow"));
+  }
+
+  @Test
+  public void testNotEnoughPeers() {
+    List<TaskProgress> tasks = Lists.newArrayList(
+        new TaskProgress("completed", 60000, 60000, true),
+        new TaskProgress("stuck", 0, 120000, false),
+        new TaskProgress("recent", 0, 1000, false));
+    Assert.assertTrue(this.stragglerDetector.findStragglers(tasks).isEmpty());
+  }
+
+  @Test
+  public void testNoStragglers() {
+    List<TaskProgress> tasks = Lists.newArrayList(
+        new TaskProgress("completed", 60000, 60000, true),
+        new TaskProgress("running1", 100000, 120000, false),
+        new TaskProgress("running2", 80000, 120000, false));
+    Assert.assertTrue(this.stragglerDetector.findStragglers(tasks).isEmpty());
+  }
+}
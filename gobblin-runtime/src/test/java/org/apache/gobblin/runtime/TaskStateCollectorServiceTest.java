@@ -35,6 +35,7 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 
 import org.apache.gobblin.metastore.FsStateStore;
+import org.apache.gobblin.source.workunit.WorkUnit;
 import org.apache.gobblin.util.JobLauncherUtils;
 
 
@@ -81,14 +82,23 @@ public class TaskStateCollectorServiceTest {
 
   @Test
   public void testPutIntoTaskStateStore() throws IOException {
+    this.jobState.setProp("job.key1", "value1");
+    this.jobState.setProp("job.key2", "value2");
+
     TaskState taskState1 = new TaskState();
     taskState1.setJobId(JOB_ID);
     taskState1.setTaskId(TASK_ID_0);
+    taskState1.getWorkunit().setProp("job.key1", "value1");
+    taskState1.getWorkunit().setProp("job.key2", "value2");
+    taskState1.getWorkunit().setProp("workunit.key", "value0");
     this.taskStateStore.put(JOB_ID, TASK_ID_0 + AbstractJobLauncher.TASK_STATE_STORE_TABLE_SUFFIX, taskState1);
 
     TaskState taskState2 = new TaskState();
     taskState2.setJobId(JOB_ID);
     taskState2.setTaskId(TASK_ID_1);
+    taskState2.getWorkunit().setProp("job.key1", "value1");
+    taskState2.getWorkunit().setProp("job.key2", "value2");
+    taskState2.getWorkunit().setProp("workunit.key", "value1");
     this.taskStateStore.put(JOB_ID, TASK_ID_1 + AbstractJobLauncher.TASK_STATE_STORE_TABLE_SUFFIX, taskState2);
   }
 
@@ -101,6 +111,17 @@ public class TaskStateCollectorServiceTest {
     Assert.assertEquals(this.taskStateMap.get(TASK_ID_0).getTaskId(), TASK_ID_0);
     Assert.assertEquals(this.taskStateMap.get(TASK_ID_1).getJobId(), JOB_ID);
     Assert.assertEquals(this.taskStateMap.get(TASK_ID_1).getTaskId(), TASK_ID_1);
+
+    // The work units share a single copy of the job properties, and keep their own properties
+    WorkUnit workUnit0 = this.taskStateMap.get(TASK_ID_0).getWorkunit();
+    WorkUnit workUnit1 = this.taskStateMap.get(TASK_ID_1).getWorkunit();
+    Assert.assertSame(workUnit0.getCommonProperties(), workUnit1.getCommonProperties());
+    Assert.assertEquals(workUnit0.getCommonProperties().size(), 2);
+    Assert.assertEquals(workUnit0.getCommonProperties().getProperty("job.key1"), "value1");
+    Assert.assertEquals(workUnit0.getSpecProperties().getProperty("workunit.key"), "value0");
+    Assert.assertFalse(workUnit0.getSpecProperties().containsKey("job.key1"));
+    Assert.assertEquals(workUnit0.getProp("job.key2"), "value2");
+    Assert.assertEquals(workUnit1.getProp("workunit.key"), "value1");
   }
 
   @Test
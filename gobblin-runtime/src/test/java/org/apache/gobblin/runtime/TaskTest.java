@@ -20,8 +20,10 @@ package org.apache.gobblin.runtime;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -362,6 +364,29 @@ public class TaskTest {
     Assert.assertEquals(writerBuilder.getWriterId(), "testTimestampInFilename_12345_0");
   }
 
+  /**
+   * Test that a failure to report the stage breakdown of a {@link Task} does not keep it from completing
+   */
+  @Test
+  public void testStageBreakdownFailureDoesNotBlockCompletion()
+      throws Exception {
+    TaskState taskState = getEmptyTestTaskState("testStageBreakdownFailure");
+    ForkOperator forkOperator = new RoundRobinForkOperator(1);
+    ArrayList<ArrayList<Object>> recordCollectors = new ArrayList<>();
+    recordCollectors.add(new ArrayList<>());
+    TaskContext mockTaskContext = getMockTaskContext(taskState, new StringExtractor(1), recordCollectors, forkOperator);
+    TaskStateTracker mockTaskStateTracker = mock(TaskStateTracker.class);
+    TaskExecutor taskExecutor = new TaskExecutor(new Properties());
+
+    Task task = spy(new Task(mockTaskContext, mockTaskStateTracker, taskExecutor, Optional.<CountDownLatch>absent()));
+    doThrow(new RuntimeException("Failing stage breakdown on purpose")).when(task).submitTaskStageBreakdownEvent();
+
+    task.run();
+    verify(mockTaskStateTracker).onTaskRunCompletion(task);
+    task.commit();
+    Assert.assertEquals(task.getTaskState().getWorkingState(), WorkUnitState.WorkingState.SUCCESSFUL);
+  }
+
   /**
    * Test the addition of a task timestamp to the file name fails if the task start time is not present
    */
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime.fork;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.apache.gobblin.instrumented.StageTimer;
+
+
+/**
+ * Unit tests for {@link RecordQueueWaitTimer}.
+ */
+@Test(groups = {"gobblin.runtime"})
+public class RecordQueueWaitTimerTest {
+
+  @Test
+  public void testTimesSampledRecords() {
+    StageTimer stageTimer = new StageTimer("queueWait", 2);
+    RecordQueueWaitTimer timer = new RecordQueueWaitTimer(stageTimer);
+
+    for (int i = 0; i < 10; i++) {
+      Object record = new Object();
+      timer.beforePut(record);
+      timer.afterTake(record);
+    }
+    Assert.assertEquals(stageTimer.getCount(), 10);
+    Assert.assertEquals(stageTimer.getHistogram().getTotalCount(), 5);
+    Assert.assertEquals(timer.getSampledRecordCount(), 0);
+  }
+
+  @Test
+  public void testSampledRecordsAreCapped() {
+    StageTimer stageTimer = new StageTimer("queueWait", 1);
+    RecordQueueWaitTimer timer = new RecordQueueWaitTimer(stageTimer);
+
+    // Records that are put but never taken
+    for (int i = 0; i < RecordQueueWaitTimer.MAX_SAMPLED_RECORDS * 2; i++) {
+      timer.beforePut(new Object());
+    }
+    Assert.assertEquals(timer.getSampledRecordCount(), RecordQueueWaitTimer.MAX_SAMPLED_RECORDS);
+    Assert.assertEquals(stageTimer.getCount(), RecordQueueWaitTimer.MAX_SAMPLED_RECORDS * 2);
+  }
+}
@@ -29,8 +29,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.gobblin.runtime.api.FlowSpec;
+import org.apache.gobblin.runtime.api.FlowSpecSearchObject;
 import org.apache.gobblin.runtime.api.Spec;
 import org.apache.gobblin.runtime.api.SpecSerDe;
+import org.apache.gobblin.runtime.spec_serde.JavaSpecSerDe;
 import org.apache.gobblin.util.ConfigUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -153,4 +156,78 @@ public class FSSpecStoreTest {
     Assert.assertTrue(result.contains(specURI1));
     Assert.assertTrue(result.contains(specURI2));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGetSpecIteratorAndSearch() throws Exception {
+    File specDir = Files.createTempDir();
+    Properties properties = new Properties();
+    properties.setProperty(FSSpecStore.SPECSTORE_FS_DIR_KEY, specDir.getAbsolutePath());
+    CountingSpecSerDe serde = new CountingSpecSerDe();
+    FSSpecStore fsSpecStore = new FSSpecStore(ConfigUtils.propertiesToConfig(properties), serde);
+
+    for (int i = 0; i < 5; i++) {
+      URI uri = URI.create("gobblin-flow:/group" + (i % 2) + "/flow" + i);
+      fsSpecStore.addSpec(initFlowSpec(specDir.getAbsolutePath(), uri));
+    }
+
+    List<URI> uris = new ArrayList<>();
+    Iterator<Spec> it = fsSpecStore.getSpecIterator(2);
+    while (it.hasNext()) {
+      uris.add(it.next().getUri());
+    }
+    Assert.assertEquals(uris.size(), 5);
+    Assert.assertEquals(uris.get(0), URI.create("gobblin-flow:/group0/flow0"));
+    Assert.assertEquals(uris.get(4), URI.create("gobblin-flow:/group1/flow3"));
+    Assert.assertEquals(serde.deserialized, 5);
+
+    // Unchanged specs are served from the cache
+    Assert.assertEquals(fsSpecStore.getSpecs().size(), 5);
+    Assert.assertEquals(fsSpecStore.getSpec(URI.create("gobblin-flow:/group0/flow2")).getUri(),
+        URI.create("gobblin-flow:/group0/flow2"));
+    Assert.assertEquals(serde.deserialized, 5);
+
+    // Only the matching specs are deserialized
+    fsSpecStore.addSpec(initFlowSpec(specDir.getAbsolutePath(), URI.create("gobblin-flow:/group0/flow0")));
+    Collection<Spec> specs = fsSpecStore.getSpecs(FlowSpecSearchObject.builder().flowGroup("group0").build());
+    Assert.assertEquals(specs.size(), 3);
+    Assert.assertEquals(serde.deserialized, 6);
+    specs = fsSpecStore.getSpecs(FlowSpecSearchObject.builder().flowName("flow3").build());
+    Assert.assertEquals(specs.size(), 1);
+    Assert.assertEquals(specs.iterator().next().getUri(), URI.create("gobblin-flow:/group1/flow3"));
+    specs = fsSpecStore.getSpecs(FlowSpecSearchObject.builder().flowSpecUri(URI.create("gobblin-flow:/group1/flow1"))
+        .flowGroup("group0").build());
+    Assert.assertTrue(specs.isEmpty());
+
+    fsSpecStore.deleteSpec(URI.create("gobblin-flow:/group1/flow1"));
+    Assert.assertEquals(fsSpecStore.getSpecs(FlowSpecSearchObject.builder().flowGroup("group1").build()).size(), 1);
+    Assert.assertEquals(serde.deserialized, 6);
+  }
+
+  @Test
+  public void testSearchByFlowNameWithDots() throws Exception {
+    File specDir = Files.createTempDir();
+    Properties properties = new Properties();
+    properties.setProperty(FSSpecStore.SPECSTORE_FS_DIR_KEY, specDir.getAbsolutePath());
+    FSSpecStore fsSpecStore = new FSSpecStore(ConfigUtils.propertiesToConfig(properties), new JavaSpecSerDe());
+
+    fsSpecStore.addSpec(initFlowSpec(specDir.getAbsolutePath(), URI.create("gobblin-flow:/group0/flow.v1")));
+    fsSpecStore.addSpec(initFlowSpec(specDir.getAbsolutePath(), URI.create("gobblin-flow:/group0/flow")));
+
+    Collection<Spec> specs = fsSpecStore.getSpecs(FlowSpecSearchObject.builder().flowName("flow.v1").build());
+    Assert.assertEquals(specs.size(), 1);
+    Assert.assertEquals(specs.iterator().next().getUri(), URI.create("gobblin-flow:/group0/flow.v1"));
+    specs = fsSpecStore.getSpecs(FlowSpecSearchObject.builder().flowName("flow").build());
+    Assert.assertEquals(specs.size(), 1);
+    Assert.assertEquals(specs.iterator().next().getUri(), URI.create("gobblin-flow:/group0/flow"));
+  }
+
+  class CountingSpecSerDe extends JavaSpecSerDe {
+    private int deserialized = 0;
+
+    @Override
+    public Spec deserialize(byte[] spec) {
+      this.deserialized++;
+      return super.deserialize(spec);
+    }
+  }
+}
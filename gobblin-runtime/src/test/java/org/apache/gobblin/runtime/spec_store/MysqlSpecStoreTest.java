@@ -25,6 +25,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -220,12 +221,27 @@ public class MysqlSpecStoreTest {
     Assert.assertEquals(result.size(), 2);
   }
 
+  @Test (dependsOnMethods = "testGetSpecWithTag")
+  public void testGetSpecIterator() throws Exception {
+    List<URI> expected = new ArrayList<>();
+    this.specStore.getSpecURIs().forEachRemaining(expected::add);
+    Assert.assertEquals(expected.size(), 4);
+    expected.sort(Comparator.comparing(URI::toString));
+
+    // Batches smaller than, dividing, equal to and larger than the number of specs
+    for (int batchSize : new int[]{1, 2, 3, 4, 10}) {
+      List<URI> result = new ArrayList<>();
+      this.specStore.getSpecIterator(batchSize).forEachRemaining(spec -> result.add(spec.getUri()));
+      Assert.assertEquals(result, expected, "Batch size " + batchSize);
+    }
+  }
+
   @Test (expectedExceptions = {IOException.class})
   public void testGetCorruptedSpec() throws Exception {
     this.specStore.addSpec(this.flowSpec3);
   }
 
-  @Test (dependsOnMethods = "testGetSpecWithTag")
+  @Test (dependsOnMethods = "testGetSpecIterator")
   public void testDeleteSpec() throws Exception {
     this.specStore.deleteSpec(this.uri1);
     Assert.assertFalse(this.specStore.exists(this.uri1));
@@ -26,6 +26,7 @@ import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.SourceState;
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.metrics.MetricContext;
 import org.apache.gobblin.runtime.JobState;
 import org.apache.gobblin.runtime.TaskState;
 import org.apache.gobblin.source.workunit.WorkUnit;
@@ -61,4 +62,45 @@ public class TaskMetricsTest {
 
   }
 
+  @Test
+  public void testSpeculativeAttemptMetricsPromotedToJobMetrics() {
+    String jobId = "job_789";
+    String taskId = "task_789";
+
+    JobState jobState = new JobState("jobName", jobId);
+    MetricContext jobMetricContext = JobMetrics.get(jobState).getMetricContext();
+
+    TaskState originalState = createTaskState(jobId, taskId, taskId, false);
+    TaskState speculativeState = createTaskState(jobId, taskId, taskId + "_speculative", true);
+    Assert.assertNotEquals(TaskMetrics.name(speculativeState), TaskMetrics.name(originalState));
+
+    MetricContext originalContext = TaskMetrics.get(originalState).getMetricContext();
+    MetricContext speculativeContext = TaskMetrics.get(speculativeState).getMetricContext();
+    Assert.assertFalse(speculativeContext.getParent().isPresent());
+    Assert.assertTrue(speculativeContext.getTags().containsAll(jobMetricContext.getTags()));
+
+    originalContext.contextAwareMeter("records").mark(4);
+    originalContext.contextAwareCounter("bytes").inc(40);
+    speculativeContext.contextAwareMeter("records").mark(10);
+    speculativeContext.contextAwareCounter("bytes").inc(100);
+    Assert.assertEquals(jobMetricContext.contextAwareMeter("records").getCount(), 4);
+    Assert.assertEquals(jobMetricContext.contextAwareCounter("bytes").getCount(), 40);
+
+    TaskMetrics.promoteSpeculativeAttempt(speculativeState, originalState);
+    Assert.assertEquals(jobMetricContext.contextAwareMeter("records").getCount(), 10);
+    Assert.assertEquals(jobMetricContext.contextAwareCounter("bytes").getCount(), 100);
+  }
+
+  private static TaskState createTaskState(String jobId, String taskId, String taskAttemptId,
+      boolean speculativeAttempt) {
+    State props = new State();
+    props.setProp(ConfigurationKeys.JOB_ID_KEY, jobId);
+    props.setProp(ConfigurationKeys.TASK_ID_KEY, taskId);
+    props.setProp(ConfigurationKeys.TASK_ATTEMPT_ID_KEY, taskAttemptId);
+    props.setProp(ConfigurationKeys.TASK_IS_SPECULATIVE_ATTEMPT_KEY, speculativeAttempt);
+
+    SourceState sourceState = new SourceState(props, new ArrayList<WorkUnitState>());
+    WorkUnit workUnit = new WorkUnit(sourceState, null);
+    return new TaskState(new WorkUnitState(workUnit));
+  }
 }
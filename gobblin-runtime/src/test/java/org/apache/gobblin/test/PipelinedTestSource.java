@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.test;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.AbstractIterator;
+
+import org.apache.gobblin.configuration.SourceState;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.source.WorkUnitStreamSource;
+import org.apache.gobblin.source.extractor.Extractor;
+import org.apache.gobblin.source.workunit.BasicWorkUnitStream;
+import org.apache.gobblin.source.workunit.WorkUnit;
+import org.apache.gobblin.source.workunit.WorkUnitStream;
+
+
+/**
+ * A {@link TestSource} that streams its {@link WorkUnit}s, and only creates a {@link WorkUnit} once the task of the
+ * previous one has read all its records, so that tasks run while work units are still being created.
+ */
+public class PipelinedTestSource extends TestSource implements WorkUnitStreamSource<String, String> {
+
+  private static final long WAIT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  // Tasks are run with a new instance of the source, so the progress is shared by all instances
+  private static final AtomicInteger TASKS_DONE = new AtomicInteger();
+  private static final AtomicInteger WORK_UNITS_CREATED_AFTER_PREVIOUS_TASK = new AtomicInteger();
+
+  /**
+   * @return the number of {@link WorkUnit}s of the last job that were created after the task of the previous
+   * {@link WorkUnit} read all its records.
+   */
+  public static int getWorkUnitsCreatedAfterPreviousTask() {
+    return WORK_UNITS_CREATED_AFTER_PREVIOUS_TASK.get();
+  }
+
+  @Override
+  public WorkUnitStream getWorkunitStream(SourceState state) {
+    TASKS_DONE.set(0);
+    WORK_UNITS_CREATED_AFTER_PREVIOUS_TASK.set(0);
+    final List<WorkUnit> workUnits = getWorkunits(state);
+
+    Iterator<WorkUnit> workUnitIterator = new AbstractIterator<WorkUnit>() {
+      private int next = 0;
+
+      @Override
+      protected WorkUnit computeNext() {
+        if (this.next >= workUnits.size()) {
+          return endOfData();
+        }
+        if (this.next > 0 && awaitTasksDone(this.next)) {
+          WORK_UNITS_CREATED_AFTER_PREVIOUS_TASK.incrementAndGet();
+        }
+        return workUnits.get(this.next++);
+      }
+    };
+    return new BasicWorkUnitStream.Builder(workUnitIterator).build();
+  }
+
+  private static boolean awaitTasksDone(int tasks) {
+    long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+    while (TASKS_DONE.get() < tasks) {
+      if (System.currentTimeMillis() > deadline) {
+        return false;
+      }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Extractor<String, String> getExtractor(WorkUnitState state) {
+    return new TestExtractor(state) {
+      private boolean done = false;
+
+      @Override
+      public String readRecord(@Deprecated String reuse) throws IOException {
+        String record = super.readRecord(reuse);
+        if (record == null && !this.done) {
+          this.done = true;
+          TASKS_DONE.incrementAndGet();
+        }
+        return record;
+      }
+    };
+  }
+}
@@ -18,6 +18,7 @@
 package org.apache.gobblin.salesforce;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.sforce.async.AsyncApiException;
 import com.sforce.async.AsyncExceptionCode;
 import com.sforce.async.BulkConnection;
@@ -130,7 +131,7 @@ public class BulkResultIterator implements Iterator<JsonElement> {
     if (this.header == null) {
       initHeader();
     }
-    JsonElement jsonObject = Utils.csvToJsonObject(this.header, this.preLoadedLine, this.columnSize);
+    JsonElement jsonObject = toJsonObject(this.header, this.preLoadedLine, this.columnSize);
     this.preLoadedLine = this.nextLineWithRetry();
     if (this.preLoadedLine == null) {
       log.info("----Record count: [{}] for {}", getRowCount(), fileIdVO);
@@ -138,6 +139,18 @@ public class BulkResultIterator implements Iterator<JsonElement> {
     return jsonObject;
   }
 
+  /**
+   * Build the record straight from the parsed columns. Equivalent to {@link Utils#csvToJsonObject} without
+   * the round trip through a Jackson tree and its serialized form.
+   */
+  static JsonObject toJsonObject(List<String> header, List<String> line, int columnSize) {
+    JsonObject jsonObject = new JsonObject();
+    for (int i = 0; i < columnSize; i++) {
+      jsonObject.addProperty(header.get(i), line.get(i));
+    }
+    return jsonObject;
+  }
+
   private InputStreamCSVReader openAndSeekCsvReader(Throwable rootCause) throws OpenAndSeekException {
     while (rootCause != null && rootCause.getCause() != null) {
       rootCause = rootCause.getCause(); // find the root cause
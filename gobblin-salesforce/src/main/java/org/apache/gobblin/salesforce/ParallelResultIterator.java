@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.salesforce;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.gobblin.util.ExecutorsUtils;
+
+
+/**
+ * Iterator that drains a list of result file iterators of Bulk API on a bounded number of threads.
+ *
+ * Each file is read on its own thread as soon as one is free, with up to `readAheadRecords` records buffered ahead
+ * of the consumer. In ordered mode records are returned file by file in the order of the given list, exactly like
+ * chaining the iterators; in unordered mode records are returned in the order they are downloaded.
+ */
+@Slf4j
+public class ParallelResultIterator implements Iterator<JsonElement>, Closeable {
+  private static final Object END_OF_FILE = new Object();
+
+  private final int fileCount;
+  private final boolean ordered;
+  private final List<BlockingQueue<Object>> queues;
+  private final ExecutorService executor;
+
+  private int finishedFileCount = 0;
+  private JsonElement nextElement = null;
+  private boolean closed = false;
+
+  public ParallelResultIterator(List<? extends Iterator<JsonElement>> fileIterators, int parallelism,
+      int readAheadRecords, boolean ordered) {
+    Preconditions.checkArgument(parallelism > 0, "Parallelism should be positive: " + parallelism);
+    Preconditions.checkArgument(readAheadRecords > 0, "Read ahead records should be positive: " + readAheadRecords);
+    this.fileCount = fileIterators.size();
+    this.ordered = ordered;
+    this.queues = new ArrayList<>();
+    if (ordered) {
+      for (int i = 0; i < this.fileCount; i++) {
+        this.queues.add(new LinkedBlockingQueue<>(readAheadRecords));
+      }
+    } else {
+      this.queues.add(new LinkedBlockingQueue<>(readAheadRecords * parallelism));
+    }
+
+    log.info("Fetching {} result files with parallelism {}, ordered: {}", this.fileCount, parallelism, ordered);
+    this.executor = Executors.newFixedThreadPool(parallelism,
+        ExecutorsUtils.newDaemonThreadFactory(Optional.of(log), Optional.of("SalesforceBulkResultFetcher-%d")));
+    // The pool runs the files in submission order, so in ordered mode the file being consumed is always
+    // downloading or done, and the threads blocked on full queues of later files cannot starve it.
+    for (int i = 0; i < this.fileCount; i++) {
+      Iterator<JsonElement> fileIterator = fileIterators.get(i);
+      BlockingQueue<Object> queue = ordered ? this.queues.get(i) : this.queues.get(0);
+      this.executor.submit(() -> fetch(fileIterator, queue));
+    }
+    this.executor.shutdown();
+  }
+
+  private static void fetch(Iterator<JsonElement> fileIterator, BlockingQueue<Object> queue) {
+    try {
+      try {
+        while (fileIterator.hasNext()) {
+          queue.put(fileIterator.next());
+        }
+        queue.put(END_OF_FILE);
+      } catch (InterruptedException e) {
+        throw e;
+      } catch (Throwable t) {
+        queue.put(new FetchFailure(t));
+      }
+    } catch (InterruptedException e) {
+      // the consumer closed the iterator
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.nextElement != null) {
+      return true;
+    }
+    if (this.closed) {
+      return false;
+    }
+
+    while (this.finishedFileCount < this.fileCount) {
+      Object element = take(this.ordered ? this.queues.get(this.finishedFileCount) : this.queues.get(0));
+      if (element == END_OF_FILE) {
+        this.finishedFileCount++;
+      } else if (element instanceof FetchFailure) {
+        close();
+        throw new RuntimeException("Failed to fetch bulk api result file", ((FetchFailure) element).cause);
+      } else {
+        this.nextElement = (JsonElement) element;
+        return true;
+      }
+    }
+
+    close();
+    return false;
+  }
+
+  @Override
+  public JsonElement next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    JsonElement element = this.nextElement;
+    this.nextElement = null;
+    return element;
+  }
+
+  private Object take(BlockingQueue<Object> queue) {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new RuntimeException("Interrupted while waiting for bulk api results", e);
+    }
+  }
+
+  /**
+   * Stop all downloads. Records that have not been returned yet are discarded.
+   */
+  @Override
+  public void close() {
+    if (!this.closed) {
+      this.closed = true;
+      this.executor.shutdownNow();
+    }
+  }
+
+  private static class FetchFailure {
+    private final Throwable cause;
+
+    FetchFailure(Throwable cause) {
+      this.cause = cause;
+    }
+  }
+}
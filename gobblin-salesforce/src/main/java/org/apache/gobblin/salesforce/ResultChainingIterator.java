@@ -21,8 +21,10 @@ import com.google.common.collect.Iterators;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.sforce.async.BulkConnection;
+import java.io.Closeable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -30,18 +32,34 @@ import lombok.extern.slf4j.Slf4j;
  * The Iterator to chain all result iterators together.
  * It is to create only one iterator for a list of result files of BulkAPI.
  * Same time it can also be able to add other iterator with function `add` to combine to 1 iterator
+ * If `parallelism` is greater than 1, result files are downloaded concurrently by a {@link ParallelResultIterator}.
  */
 @Slf4j
-public class ResultChainingIterator implements Iterator<JsonElement> {
+public class ResultChainingIterator implements Iterator<JsonElement>, Closeable {
   private Iterator<JsonElement> iter;
+  private ParallelResultIterator parallelIter = null;
   private int recordCount = 0;
   private int isDeletedRecordCount = 0;
 
   public ResultChainingIterator(BulkConnection conn, List<FileIdVO> fileIdList, int retryLimit,
       long retryInterval, long retryExceedQuotaInterval) {
-    Iterator<BulkResultIterator> iterOfFiles = fileIdList.stream().map(x ->
-        new BulkResultIterator(conn, x, retryLimit, retryInterval, retryExceedQuotaInterval)).iterator();
-    iter = Iterators.<JsonElement>concat(iterOfFiles);
+    this(conn, fileIdList, retryLimit, retryInterval, retryExceedQuotaInterval, 1, 0, true);
+  }
+
+  public ResultChainingIterator(BulkConnection conn, List<FileIdVO> fileIdList, int retryLimit,
+      long retryInterval, long retryExceedQuotaInterval, int parallelism, int readAheadRecords, boolean ordered) {
+    if (parallelism > 1 && fileIdList.size() > 1) {
+      List<BulkResultIterator> fileIters = fileIdList.stream().map(x ->
+          new BulkResultIterator(conn, x, retryLimit, retryInterval, retryExceedQuotaInterval))
+          .collect(Collectors.toList());
+      parallelIter = new ParallelResultIterator(fileIters, Math.min(parallelism, fileIters.size()),
+          readAheadRecords, ordered);
+      iter = parallelIter;
+    } else {
+      Iterator<BulkResultIterator> iterOfFiles = fileIdList.stream().map(x ->
+          new BulkResultIterator(conn, x, retryLimit, retryInterval, retryExceedQuotaInterval)).iterator();
+      iter = Iterators.<JsonElement>concat(iterOfFiles);
+    }
   }
 
   public Iterator<JsonElement> get() {
@@ -54,6 +72,16 @@ public class ResultChainingIterator implements Iterator<JsonElement> {
     }
   }
 
+  /**
+   * Stop concurrent downloads of result files, if any
+   */
+  @Override
+  public void close() {
+    if (parallelIter != null) {
+      parallelIter.close();
+    }
+  }
+
   @Override
   public boolean hasNext() {
     return iter.hasNext();
@@ -119,6 +119,7 @@ public class SalesforceExtractor extends RestApiExtractor {
 
   private final boolean bulkApiUseQueryAll;
   private SfConfig conf;
+  private ResultChainingIterator resultIterator = null;
 
 
   public SalesforceExtractor(WorkUnitState state) {
@@ -558,7 +559,13 @@ public class SalesforceExtractor extends RestApiExtractor {
     String jobId = workUnit.getProp(PK_CHUNKING_JOB_ID);
     String batchIdResultIdPairString = workUnit.getProp(PK_CHUNKING_BATCH_RESULT_ID_PAIRS);
     List<FileIdVO> fileIdList = this.parseBatchIdResultIdString(jobId, batchIdResultIdPairString);
-    return new ResultChainingIterator(bulkConnection, fileIdList, retryLimit, retryInterval, retryExceedQuotaInterval);
+    this.resultIterator = newResultChainingIterator(fileIdList);
+    return this.resultIterator;
+  }
+
+  private ResultChainingIterator newResultChainingIterator(List<FileIdVO> fileIdList) {
+    return new ResultChainingIterator(bulkConnection, fileIdList, retryLimit, retryInterval, retryExceedQuotaInterval,
+        conf.bulkResultFetchParallelism, conf.bulkResultReadAheadRecords, conf.bulkResultFetchOrdered);
   }
 
   private List<FileIdVO> parseBatchIdResultIdString(String jobId, String batchIdResultIdString) {
@@ -588,10 +595,9 @@ public class SalesforceExtractor extends RestApiExtractor {
       List<FileIdVO> fileIdVoList = this.bulkResultIdList.stream()
           .map(x -> new FileIdVO(this.bulkJob.getId(), x.batchId, x.resultId))
           .collect(Collectors.toList());
-      ResultChainingIterator chainingIter = new ResultChainingIterator(
-          bulkConnection, fileIdVoList, retryLimit, retryInterval, retryExceedQuotaInterval);
-      chainingIter.add(getSoftDeletedRecords(schema, entity, workUnit, predicateList));
-      return chainingIter;
+      this.resultIterator = newResultChainingIterator(fileIdVoList);
+      this.resultIterator.add(getSoftDeletedRecords(schema, entity, workUnit, predicateList));
+      return this.resultIterator;
     } catch (Exception e) {
       throw new RuntimeException("Failed to get records using bulk api; error - " + e.getMessage(), e);
     }
@@ -881,6 +887,9 @@ public class SalesforceExtractor extends RestApiExtractor {
 
   @Override
   public void closeConnection() throws Exception {
+    if (this.resultIterator != null) {
+      this.resultIterator.close();
+    }
     if (this.bulkConnection != null
         && !this.bulkConnection.getJobStatus(this.getBulkJobId()).getState().toString().equals("Closed")) {
       log.info("Closing salesforce bulk job connection");
@@ -49,6 +49,18 @@ public class SfConfig extends QueryBasedSourceConfig {
   @Key("sf.rest.api.retryInterval")@Default("10000") // 10 seconds
   public int restApiRetryInterval;
 
+  // number of bulk api result files downloaded concurrently; 1 downloads them one after another
+  @Key("salesforce.bulk.resultFetchParallelism")@Default("1")@IntRange({1, 10})
+  public int bulkResultFetchParallelism;
+
+  // number of records buffered ahead of the extractor per result file being downloaded
+  @Key("salesforce.bulk.resultReadAheadRecords")@Default("10000")
+  public int bulkResultReadAheadRecords;
+
+  // if false, records of concurrently downloaded result files are interleaved in download order
+  @Key("salesforce.bulk.resultFetchOrdered")@Default("true")
+  public boolean bulkResultFetchOrdered;
+
   // it is for test. if true, it will only execute partition part and stop.
   @Key("sf.test.partitionOnly")@Default("false")
   public boolean partitionOnly;
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.salesforce;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.gobblin.source.extractor.utils.Utils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+@Test
+public class BulkResultIteratorTest {
+
+  public void testToJsonObject() {
+    List<String> header = Arrays.asList("Id", "Name", "IsDeleted");
+    List<String> line = Arrays.asList("001", null, "false");
+    Assert.assertEquals(BulkResultIterator.toJsonObject(header, line, 3), Utils.csvToJsonObject(header, line, 3));
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.salesforce;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+@Test
+public class ParallelResultIteratorTest {
+
+  public void testOrdered() {
+    List<Iterator<JsonElement>> files = buildFiles(7, 100);
+    List<JsonElement> expected = Lists.newArrayList(Iterators.concat(buildFiles(7, 100).iterator()));
+
+    // a read ahead buffer much smaller than a file makes the fetcher threads block on full queues
+    ParallelResultIterator iterator = new ParallelResultIterator(files, 3, 5, true);
+    Assert.assertEquals(Lists.newArrayList(iterator), expected);
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  public void testUnordered() {
+    List<Iterator<JsonElement>> files = buildFiles(7, 100);
+    List<String> expected = toStrings(Iterators.concat(buildFiles(7, 100).iterator()));
+
+    List<String> actual = toStrings(new ParallelResultIterator(files, 3, 5, false));
+    Collections.sort(expected);
+    Collections.sort(actual);
+    Assert.assertEquals(actual, expected);
+  }
+
+  public void testFailedFile() {
+    List<Iterator<JsonElement>> files = buildFiles(3, 10);
+    files.set(1, new Iterator<JsonElement>() {
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public JsonElement next() {
+        throw new IllegalStateException("download failed");
+      }
+    });
+
+    ParallelResultIterator iterator = new ParallelResultIterator(files, 2, 5, true);
+    try {
+      while (iterator.hasNext()) {
+        iterator.next();
+      }
+      Assert.fail("Expected failure of the second file to be propagated");
+    } catch (RuntimeException e) {
+      Assert.assertEquals(e.getCause().getMessage(), "download failed");
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidReadAheadRecords() {
+    new ParallelResultIterator(buildFiles(1, 1), 1, 0, true);
+  }
+
+  private static List<Iterator<JsonElement>> buildFiles(int fileCount, int recordsPerFile) {
+    List<Iterator<JsonElement>> files = new ArrayList<>();
+    for (int i = 0; i < fileCount; i++) {
+      List<JsonElement> records = new ArrayList<>();
+      for (int j = 0; j < recordsPerFile; j++) {
+        records.add(new JsonPrimitive(i + "-" + j));
+      }
+      files.add(records.iterator());
+    }
+    return files;
+  }
+
+  private static List<String> toStrings(Iterator<JsonElement> iterator) {
+    List<String> strings = new ArrayList<>();
+    iterator.forEachRemaining(x -> strings.add(x.getAsString()));
+    return strings;
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.gobblin.service.modules.orchestration;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -29,6 +30,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
@@ -42,6 +44,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -80,6 +83,8 @@ import org.apache.gobblin.service.monitoring.KafkaJobStatusMonitor;
 import org.apache.gobblin.service.monitoring.KafkaJobStatusMonitorFactory;
 import org.apache.gobblin.service.monitoring.KillFlowEvent;
 import org.apache.gobblin.util.ConfigUtils;
+import org.apache.gobblin.util.ExecutorsUtils;
+import org.apache.gobblin.util.executors.IteratorExecutor;
 import org.apache.gobblin.util.reflection.GobblinConstructorUtils;
 
 import static org.apache.gobblin.service.ExecutionStatus.*;
@@ -106,7 +111,8 @@ import static org.apache.gobblin.service.ExecutionStatus.*;
  *
  * The {@link DagManager} is active only in the leader mode. To ensure, each {@link Dag} managed by a {@link DagManager} is
  * checkpointed to a persistent location. On start up or leadership change,
- * the {@link DagManager} loads all the checkpointed {@link Dag}s and adds them to the {@link  BlockingQueue}.
+ * the {@link DagManager} loads all the checkpointed {@link Dag}s in parallel and adds each of them to the
+ * {@link BlockingQueue} of the {@link DagManagerThread} it belongs to.
  * Current implementation supports only FileSystem-based checkpointing of the Dag statuses.
  */
 @Alpha
@@ -128,6 +134,8 @@ public class DagManager extends AbstractIdleService {
   private static final String USER_JOB_QUOTA_KEY = DAG_MANAGER_PREFIX + "defaultJobQuota";
   private static final Integer DEFAULT_USER_JOB_QUOTA = Integer.MAX_VALUE;
   private static final String PER_USER_QUOTA = DAG_MANAGER_PREFIX + "perUserQuota";
+  public static final String NUM_DAG_LOADER_THREADS_KEY = DAG_MANAGER_PREFIX + "numDagLoaderThreads";
+  public static final Integer DEFAULT_NUM_DAG_LOADER_THREADS = 10;
 
   private static final String QUOTA_SEPERATOR = ":";
 
@@ -168,6 +176,7 @@ public class DagManager extends AbstractIdleService {
   @Getter
   private final Integer numThreads;
   private final Integer pollingInterval;
+  private final int numDagLoaderThreads;
   @Getter
   private final JobStatusRetriever jobStatusRetriever;
   private final Config config;
@@ -184,6 +193,7 @@ public class DagManager extends AbstractIdleService {
     this.cancelQueue = initializeDagQueue(this.numThreads);
     this.scheduledExecutorPool = Executors.newScheduledThreadPool(numThreads);
     this.pollingInterval = ConfigUtils.getInt(config, JOB_STATUS_POLLING_INTERVAL_KEY, DEFAULT_JOB_STATUS_POLLING_INTERVAL);
+    this.numDagLoaderThreads = ConfigUtils.getInt(config, NUM_DAG_LOADER_THREADS_KEY, DEFAULT_NUM_DAG_LOADER_THREADS);
     this.instrumentationEnabled = instrumentationEnabled;
     if (instrumentationEnabled) {
       MetricContext metricContext = Instrumented.getMetricContext(ConfigUtils.configToState(ConfigFactory.empty()), getClass());
@@ -257,6 +267,14 @@ public class DagManager extends AbstractIdleService {
       //Persist the dag
       this.dagStateStore.writeCheckpoint(dag);
     }
+    enqueueDag(dag);
+  }
+
+  /**
+   * Add the dag to the {@link BlockingQueue} of the {@link DagManagerThread} it belongs to. This is safe to call from
+   * multiple threads.
+   */
+  private void enqueueDag(Dag<JobExecutionPlan> dag) throws IOException {
     int queueId = DagManagerUtils.getDagQueueId(dag, this.numThreads);
     // Add the dag to the specific queue determined by flowExecutionId
     // Flow cancellation request has to be forwarded to the same DagManagerThread where the
@@ -347,11 +365,7 @@ public class DagManager extends AbstractIdleService {
           this.dagManagerThreads[i] = dagManagerThread;
           this.scheduledExecutorPool.scheduleAtFixedRate(dagManagerThread, 0, this.pollingInterval, TimeUnit.SECONDS);
         }
-        List<Dag<JobExecutionPlan>> dags = dagStateStore.getDags();
-        log.info("Loading " + dags.size() + " dags from dag state store");
-        for (Dag<JobExecutionPlan> dag : dags) {
-          addDag(dag, false);
-        }
+        loadDags();
       } else { //Mark the DagManager inactive.
         log.info("Inactivating the DagManager. Shutting down all DagManager threads");
         this.scheduledExecutorPool.shutdown();
@@ -367,6 +381,72 @@ public class DagManager extends AbstractIdleService {
     }
   }
 
+  /**
+   * Load the {@link Dag}s from the {@link DagStateStore} with {@link #NUM_DAG_LOADER_THREADS_KEY} threads. Only the
+   * dagIds are listed up front; each {@link Dag} is then read and deserialized by one of the loader threads and added
+   * straight to the queue of its {@link DagManagerThread}, which can start on it while the others are loading.
+   * The {@link Dag}s that fail to load are retried once after the others are loaded. If any of them still fails, the
+   * activation fails, as it did when all {@link Dag}s were loaded at once, rather than leave running flows unmanaged.
+   *
+   * @throws IOException if any {@link Dag} could not be loaded
+   */
+  @VisibleForTesting
+  void loadDags() throws IOException {
+    long startTime = System.currentTimeMillis();
+    Set<String> dagIds = this.dagStateStore.getDagIds();
+    log.info("Loading " + dagIds.size() + " dags from dag state store");
+
+    Map<String, Exception> failures = loadDagsInParallel(dagIds);
+    if (!failures.isEmpty()) {
+      log.warn("Failed to load {} dags from dag state store, retrying them", failures.size());
+      failures = loadDagsInParallel(failures.keySet());
+    }
+    log.info("Loaded {} dags from dag state store in {} ms, {} failed", dagIds.size() - failures.size(),
+        System.currentTimeMillis() - startTime, failures.size());
+
+    if (!failures.isEmpty()) {
+      IOException ioe = new IOException("Failed to load dags " + failures.keySet() + " from dag state store");
+      for (Exception e : failures.values()) {
+        ioe.addSuppressed(e);
+      }
+      throw ioe;
+    }
+  }
+
+  /**
+   * Load the given {@link Dag}s with {@link #NUM_DAG_LOADER_THREADS_KEY} threads.
+   * @return the failure of each {@link Dag} that could not be loaded, by dagId
+   */
+  private Map<String, Exception> loadDagsInParallel(Collection<String> dagIds) throws IOException {
+    Map<String, Exception> failures = new ConcurrentHashMap<>();
+    List<Callable<Void>> loaders = new ArrayList<>(dagIds.size());
+    for (String dagId : dagIds) {
+      loaders.add(() -> {
+        try {
+          Dag<JobExecutionPlan> dag = this.dagStateStore.getDag(dagId);
+          if (dag == null) {
+            log.info("Dag {} is no longer in the dag state store, skipping.", dagId);
+          } else {
+            enqueueDag(dag);
+          }
+        } catch (IOException | RuntimeException e) {
+          failures.put(dagId, e);
+          log.error("Failed to load dag " + dagId + " from dag state store", e);
+        }
+        return null;
+      });
+    }
+
+    try {
+      new IteratorExecutor<>(loaders.iterator(), Math.max(1, Math.min(loaders.size(), this.numDagLoaderThreads)),
+          ExecutorsUtils.newDaemonThreadFactory(Optional.of(log), Optional.of("DagLoader-%d"))).execute();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while loading dags from dag state store", e);
+    }
+    return failures;
+  }
+
   /**
    * Each {@link DagManagerThread} performs 2 actions when scheduled:
    * <ol>
@@ -19,6 +19,8 @@ package org.apache.gobblin.service.modules.orchestration;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.gobblin.annotation.Alpha;
 import org.apache.gobblin.service.modules.flowgraph.Dag;
@@ -52,4 +54,28 @@ public interface DagStateStore {
    * @return a {@link List} of currently running {@link Dag}s.
    */
   List<Dag<JobExecutionPlan>> getDags() throws IOException;
+
+  /**
+   * Get the ids, as generated by {@link DagManagerUtils#generateDagId(Dag)}, of all the {@link Dag}s in the store.
+   * Implementations should list them without loading the {@link Dag}s, so that the {@link DagManager} can find which
+   * {@link DagManager.DagManagerThread} each {@link Dag} belongs to and load them in parallel.
+   * @return a {@link Set} of dagIds of currently running {@link Dag}s.
+   */
+  default Set<String> getDagIds() throws IOException {
+    return getDags().stream().map(DagManagerUtils::generateDagId).collect(Collectors.toSet());
+  }
+
+  /**
+   * Load a single {@link Dag} from the underlying store.
+   * @param dagId id of the {@link Dag}, as returned by {@link #getDagIds()}
+   * @return the {@link Dag}, or null if the store does not have it, e.g. because it completed in the meantime.
+   */
+  default Dag<JobExecutionPlan> getDag(String dagId) throws IOException {
+    for (Dag<JobExecutionPlan> dag : getDags()) {
+      if (DagManagerUtils.generateDagId(dag).equals(dagId)) {
+        return dag;
+      }
+    }
+    return null;
+  }
 }
@@ -18,11 +18,14 @@
 package org.apache.gobblin.service.modules.orchestration;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.net.URI;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -120,6 +123,34 @@ public class FSDagStateStore implements DagStateStore {
     return runningDags;
   }
 
+  /**
+   * {@inheritDoc}
+   * The dagIds are the names of the checkpoint files, so no {@link Dag} is read.
+   */
+  @Override
+  public Set<String> getDagIds() {
+    Set<String> dagIds = new HashSet<>();
+    File dagCheckpointFolder = new File(this.dagCheckpointDir);
+
+    for (File file : dagCheckpointFolder.listFiles((dir, name) -> name.endsWith(DAG_FILE_EXTENSION))) {
+      String fileName = file.getName();
+      dagIds.add(fileName.substring(0, fileName.length() - DAG_FILE_EXTENSION.length()));
+    }
+    return dagIds;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Dag<JobExecutionPlan> getDag(String dagId) throws IOException {
+    try {
+      return getDag(new File(this.dagCheckpointDir, dagId + DAG_FILE_EXTENSION));
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+  }
+
   /**
    * Return a {@link Dag} given a file name.
    * @param dagFile
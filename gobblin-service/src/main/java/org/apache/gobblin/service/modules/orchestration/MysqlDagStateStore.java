@@ -22,12 +22,15 @@ import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.metastore.MysqlStateStore;
 import org.apache.gobblin.metastore.MysqlStateStoreFactory;
 import org.apache.gobblin.metastore.StateStore;
+import org.apache.gobblin.metastore.metadata.StateStoreEntryManager;
+import org.apache.gobblin.metastore.predicates.StateStorePredicate;
 import org.apache.gobblin.runtime.api.TopologySpec;
 import org.apache.gobblin.runtime.spec_serde.GsonSerDe;
 import org.apache.gobblin.service.modules.flowgraph.Dag;
@@ -117,6 +120,28 @@ public class MysqlDagStateStore implements DagStateStore {
     return mysqlStateStore.getAll().stream().map(this::convertStateObjIntoDag).collect(Collectors.toList());
   }
 
+  /**
+   * The dagIds are made of the storeName and the tableName, which are listed without reading the serialized
+   * {@link Dag}s.
+   */
+  @Override
+  public Set<String> getDagIds()
+      throws IOException {
+    List<? extends StateStoreEntryManager> entries =
+        mysqlStateStore.getMetadataForTables(new StateStorePredicate(x -> true));
+    return entries.stream().map(entry -> entry.getStoreName() + "_" + entry.getTableName())
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public Dag<JobExecutionPlan> getDag(String dagId)
+      throws IOException {
+    // The flowExecutionId is the last part of the dagId, see DagManagerUtils#generateDagId
+    int separator = dagId.lastIndexOf('_');
+    List<State> states = mysqlStateStore.getAll(dagId.substring(0, separator), dagId.substring(separator + 1));
+    return states.isEmpty() ? null : convertStateObjIntoDag(states.get(0));
+  }
+
   /**
    * For {@link Dag} to work with {@link MysqlStateStore}, it needs to be packaged into a {@link State} object.
    * The way that it does is simply serialize the {@link Dag} first and use the key {@link #DAG_KEY_IN_STATE}
@@ -79,6 +79,10 @@ public class GobblinServiceJobScheduler extends JobScheduler implements SpecCata
   // Scheduler related configuration
   // A boolean function indicating if current instance will handle DR traffic or not.
   public static final String GOBBLIN_SERVICE_SCHEDULER_DR_NOMINATED = GOBBLIN_SERVICE_PREFIX + "drNominatedInstance";
+  // Number of FlowSpecs read from the FlowCatalog at a time when scheduling all of them
+  public static final String GOBBLIN_SERVICE_SCHEDULER_LOAD_SPEC_BATCH_SIZE =
+      GOBBLIN_SERVICE_PREFIX + "scheduler.loadSpecBatchSize";
+  public static final int DEFAULT_GOBBLIN_SERVICE_SCHEDULER_LOAD_SPEC_BATCH_SIZE = 100;
 
   protected final Logger _log;
 
@@ -90,6 +94,7 @@ public class GobblinServiceJobScheduler extends JobScheduler implements SpecCata
   @Getter
   private volatile boolean isActive;
   private String serviceName;
+  private final int loadSpecBatchSize;
 
   /**
    * If current instances is nominated as a handler for DR traffic from down GaaS-Instance.
@@ -119,6 +124,8 @@ public class GobblinServiceJobScheduler extends JobScheduler implements SpecCata
     this.scheduledFlowSpecs = Maps.newHashMap();
     this.isNominatedDRHandler = config.hasPath(GOBBLIN_SERVICE_SCHEDULER_DR_NOMINATED)
         && config.hasPath(GOBBLIN_SERVICE_SCHEDULER_DR_NOMINATED);
+    this.loadSpecBatchSize = ConfigUtils.getInt(config, GOBBLIN_SERVICE_SCHEDULER_LOAD_SPEC_BATCH_SIZE,
+        DEFAULT_GOBBLIN_SERVICE_SCHEDULER_LOAD_SPEC_BATCH_SIZE);
   }
 
   public GobblinServiceJobScheduler(String serviceName, Config config, Optional<HelixManager> helixManager,
@@ -170,13 +177,15 @@ public class GobblinServiceJobScheduler extends JobScheduler implements SpecCata
    * and make schedulers be aware of that.
    *
    * If it is newly brought up as the DR handler, will load additional FlowSpecs and handle transition properly.
+   *
+   * The {@link FlowSpec}s are read in batches of {@link #GOBBLIN_SERVICE_SCHEDULER_LOAD_SPEC_BATCH_SIZE}.
    */
   private void scheduleSpecsFromCatalog() {
-    Iterator<URI> specUris = null;
+    Iterator<Spec> specs = null;
     long startTime = System.currentTimeMillis();
 
     try {
-      specUris = this.flowCatalog.get().getSpecURIs();
+      specs = this.flowCatalog.get().getSpecIterator(this.loadSpecBatchSize);
 
       // If current instances nominated as DR handler, will take additional URIS from FlowCatalog.
       if (isNominatedDRHandler) {
@@ -187,12 +196,12 @@ public class GobblinServiceJobScheduler extends JobScheduler implements SpecCata
       }
 
     } catch (IOException e) {
-      throw new RuntimeException("Failed to get the iterator of all Spec URIS", e);
+      throw new RuntimeException("Failed to get the iterator of all Specs", e);
     }
 
     try {
-      while (specUris.hasNext()) {
-        Spec spec = this.flowCatalog.get().getSpecWrapper(specUris.next());
+      while (specs.hasNext()) {
+        Spec spec = specs.next();
         //Disable FLOW_RUN_IMMEDIATELY on service startup or leadership change
         if (spec instanceof FlowSpec) {
           Spec modifiedSpec = disableFlowRunImmediatelyOnStart((FlowSpec) spec);
@@ -27,6 +27,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.commons.io.FileUtils;
@@ -36,6 +37,7 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.typesafe.config.Config;
@@ -470,6 +472,77 @@ public class DagManagerTest {
     Assert.assertEquals(this._dagStateStore.getDags().size(), 0);
   }
 
+  @Test
+  public void testLoadDags() throws Exception {
+    Dag<JobExecutionPlan> dag1 = buildDag("load1", 1L, "FINISH_RUNNING", 1);
+    Dag<JobExecutionPlan> dag2 = buildDag("load2", 2L, "FINISH_RUNNING", 1);
+    Dag<JobExecutionPlan> dag3 = buildDag("load3", 3L, "FINISH_RUNNING", 1);
+
+    DagStateStore dagStateStore = Mockito.mock(DagStateStore.class);
+    Mockito.when(dagStateStore.getDagIds()).thenReturn(ImmutableSet.of("dag1", "dag2", "dag3"));
+    Mockito.when(dagStateStore.getDag("dag1")).thenReturn(dag1);
+    // dag2 fails to load once and is loaded by the retry
+    Mockito.when(dagStateStore.getDag("dag2")).thenThrow(new IOException("Transient failure")).thenReturn(dag2);
+    Mockito.when(dagStateStore.getDag("dag3")).thenReturn(dag3);
+
+    DagManager dagManager = createDagManager(dagStateStore);
+    dagManager.loadDags();
+
+    Assert.assertEquals(getQueuedDags(dagManager).size(), 3);
+    Mockito.verify(dagStateStore, Mockito.times(2)).getDag("dag2");
+  }
+
+  @Test
+  public void testLoadDagsFailure() throws Exception {
+    Dag<JobExecutionPlan> dag1 = buildDag("load1", 1L, "FINISH_RUNNING", 1);
+    Dag<JobExecutionPlan> dag2 = buildDag("load2", 2L, "FINISH_RUNNING", 1);
+
+    DagStateStore dagStateStore = Mockito.mock(DagStateStore.class);
+    Mockito.when(dagStateStore.getDagIds()).thenReturn(ImmutableSet.of("dag1", "dag2", "dag3"));
+    Mockito.when(dagStateStore.getDag("dag1")).thenReturn(dag1);
+    Mockito.when(dagStateStore.getDag("dag2")).thenReturn(dag2);
+    Mockito.when(dagStateStore.getDag("dag3")).thenThrow(new IOException("Corrupt dag"));
+
+    DagManager dagManager = createDagManager(dagStateStore);
+    try {
+      dagManager.loadDags();
+      Assert.fail("A dag that cannot be loaded should fail the loading.");
+    } catch (IOException ioe) {
+      Assert.assertTrue(ioe.getMessage().contains("dag3"));
+    }
+
+    // The other dags are still loaded
+    Assert.assertEquals(getQueuedDags(dagManager).size(), 2);
+    Mockito.verify(dagStateStore, Mockito.times(2)).getDag("dag3");
+  }
+
+  private static DagManager createDagManager(DagStateStore dagStateStore) throws Exception {
+    Config config = ConfigFactory.empty()
+        .withValue(DagManager.NUM_THREADS_KEY, ConfigValueFactory.fromAnyRef(2))
+        .withValue(DagManager.NUM_DAG_LOADER_THREADS_KEY, ConfigValueFactory.fromAnyRef(2));
+    DagManager dagManager = new DagManager(config, false) {
+      @Override
+      JobStatusRetriever createJobStatusRetriever(Config config) {
+        return Mockito.mock(JobStatusRetriever.class);
+      }
+    };
+    Field dagStateStoreField = DagManager.class.getDeclaredField("dagStateStore");
+    dagStateStoreField.setAccessible(true);
+    dagStateStoreField.set(dagManager, dagStateStore);
+    return dagManager;
+  }
+
+  private static List<Dag<JobExecutionPlan>> getQueuedDags(DagManager dagManager) throws Exception {
+    Field queueField = DagManager.class.getDeclaredField("queue");
+    queueField.setAccessible(true);
+    BlockingQueue<Dag<JobExecutionPlan>>[] queues = (BlockingQueue<Dag<JobExecutionPlan>>[]) queueField.get(dagManager);
+    List<Dag<JobExecutionPlan>> queuedDags = new ArrayList<>();
+    for (BlockingQueue<Dag<JobExecutionPlan>> queue : queues) {
+      queuedDags.addAll(queue);
+    }
+    return queuedDags;
+  }
+
   @AfterClass
   public void cleanUp() throws Exception {
     FileUtils.deleteDirectory(new File(this.dagStateStoreDir));
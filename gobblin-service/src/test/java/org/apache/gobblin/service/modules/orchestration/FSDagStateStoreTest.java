@@ -23,6 +23,7 @@ import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.io.FileUtils;
@@ -135,6 +136,23 @@ public class FSDagStateStoreTest {
     }
   }
 
+  @Test (dependsOnMethods = "testGetDags")
+  public void testGetDagIds() throws IOException, URISyntaxException {
+    Set<String> dagIds = this._dagStateStore.getDagIds();
+    Assert.assertEquals(dagIds.size(), 2);
+    for (Dag<JobExecutionPlan> dag : this._dagStateStore.getDags()) {
+      String dagId = DagManagerUtils.generateDagId(dag);
+      Assert.assertTrue(dagIds.contains(dagId));
+
+      Dag<JobExecutionPlan> dagById = this._dagStateStore.getDag(dagId);
+      Assert.assertEquals(dagById.getNodes().size(), 2);
+      Assert.assertEquals(DagManagerUtils.generateDagId(dagById), dagId);
+    }
+
+    Dag<JobExecutionPlan> dag = DagTestUtils.buildDag("2", System.currentTimeMillis());
+    Assert.assertNull(this._dagStateStore.getDag(DagManagerUtils.generateDagId(dag)));
+  }
+
   @AfterClass
   public void cleanUp() throws IOException {
     FileUtils.deleteDirectory(this.checkpointDir);
@@ -21,6 +21,7 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.dbcp.BasicDataSource;
 import org.testng.Assert;
@@ -122,6 +123,24 @@ public class MysqlDagStateStoreTest {
   }
 
   @Test (dependsOnMethods = "testWriteCheckpointAndGetAll")
+  public void testGetDagIds() throws Exception {
+    Set<String> dagIds = _dagStateStore.getDagIds();
+    Assert.assertEquals(dagIds.size(), 2);
+    for (Dag<JobExecutionPlan> dag : _dagStateStore.getDags()) {
+      String dagId = DagManagerUtils.generateDagId(dag);
+      Assert.assertTrue(dagIds.contains(dagId));
+
+      Dag<JobExecutionPlan> dagById = _dagStateStore.getDag(dagId);
+      Assert.assertEquals(dagById.getNodes().size(), 2);
+      Assert.assertEquals(DagManagerUtils.generateDagId(dagById), dagId);
+      Assert.assertEquals(DagManagerUtils.getFlowExecId(dagById), DagManagerUtils.getFlowExecId(dag));
+    }
+
+    Dag<JobExecutionPlan> dag = DagTestUtils.buildDag("random_2", 789L);
+    Assert.assertNull(_dagStateStore.getDag(DagManagerUtils.generateDagId(dag)));
+  }
+
+  @Test (dependsOnMethods = "testGetDagIds")
   public void testCleanUp() throws Exception {
     Dag<JobExecutionPlan> dag_0 = DagTestUtils.buildDag("random_0", 123L);
     Dag<JobExecutionPlan> dag_1 = DagTestUtils.buildDag("random_1", 456L);
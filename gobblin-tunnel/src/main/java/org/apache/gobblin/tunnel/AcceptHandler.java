@@ -17,42 +17,48 @@
 
 package org.apache.gobblin.tunnel;
 
-import java.io.IOException;
-import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Handler for accepting connections from the client on the socket the Tunnel listens on.
+ * Handler for accepting connections from the client on the socket the Tunnel listens on. Each connection is assigned to
+ * the {@link Reactor} with the fewest open connections.
  */
 class AcceptHandler implements Callable<HandlerState> {
   private static final Logger LOG = LoggerFactory.getLogger(Tunnel.class);
 
   private final ServerSocketChannel server;
-  private final Selector selector;
-  private final Config config;
+  private final List<Reactor> reactors;
+  private final TunnelMetrics metrics;
 
-  AcceptHandler(ServerSocketChannel server, Selector selector, Config config) {
-    this.config = config;
+  AcceptHandler(ServerSocketChannel server, List<Reactor> reactors, TunnelMetrics metrics) {
     this.server = server;
-    this.selector = selector;
+    this.reactors = reactors;
+    this.metrics = metrics;
   }
 
   @Override
   public HandlerState call()
       throws Exception {
     SocketChannel client = this.server.accept();
+    if (client == null) {
+      return HandlerState.ACCEPTING;
+    }
 
     LOG.info("Accepted connection from {}", client.getRemoteAddress());
-    try {
-      new ProxySetupHandler(client, selector, config);
-    } catch (IOException ioe) {
-      client.close();
+    Reactor reactor = this.reactors.get(0);
+    for (Reactor candidate : this.reactors) {
+      if (candidate.getConnectionCount() < reactor.getConnectionCount()) {
+        reactor = candidate;
+      }
     }
+    this.metrics.connectionOpened();
+    reactor.assign(client);
     return HandlerState.ACCEPTING;
   }
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.tunnel;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of direct {@link ByteBuffer}s shared by all the connections of a {@link Tunnel}. Connections only hold a
+ * buffer while they have data in flight, so the number of buffers follows the number of concurrent transfers rather
+ * than the number of open connections. At most {@code maxPooledBuffers} idle buffers are kept. This class is thread
+ * safe.
+ */
+class BufferPool {
+  private final int bufferSize;
+  private final int maxPooledBuffers;
+  private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pooledBuffers = new AtomicInteger(0);
+
+  BufferPool(int bufferSize, int maxPooledBuffers) {
+    this.bufferSize = bufferSize;
+    this.maxPooledBuffers = maxPooledBuffers;
+  }
+
+  /**
+   * @return an empty buffer, taken from the pool if there is one.
+   */
+  ByteBuffer acquire() {
+    ByteBuffer buffer = this.buffers.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(this.bufferSize);
+    }
+    this.pooledBuffers.decrementAndGet();
+    return buffer;
+  }
+
+  /**
+   * Return a buffer to the pool. The buffer must not be used by the caller afterwards.
+   */
+  void release(ByteBuffer buffer) {
+    buffer.clear();
+    if (this.pooledBuffers.incrementAndGet() <= this.maxPooledBuffers) {
+      this.buffers.offer(buffer);
+    } else {
+      this.pooledBuffers.decrementAndGet();
+    }
+  }
+
+  int getPooledBuffers() {
+    return this.pooledBuffers.get();
+  }
+}
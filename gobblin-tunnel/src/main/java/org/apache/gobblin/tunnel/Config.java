@@ -19,16 +19,32 @@ package org.apache.gobblin.tunnel;
 
 class Config {
   public static final int PROXY_CONNECT_TIMEOUT_MS = 5000;
+  public static final int DEFAULT_REACTORS = Math.min(4, Runtime.getRuntime().availableProcessors());
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+  public static final int MAX_POOLED_BUFFERS = 64;
+  public static final long METRICS_REPORT_INTERVAL_MS = 60000;
   private final String remoteHost;
   private final int remotePort;
   private final String proxyHost;
   private final int proxyPort;
+  private final int reactors;
+  private final int bufferSize;
 
   public Config(String remoteHost, int remotePort, String proxyHost, int proxyPort) {
+    this(remoteHost, remotePort, proxyHost, proxyPort, DEFAULT_REACTORS, DEFAULT_BUFFER_SIZE);
+  }
+
+  public Config(String remoteHost, int remotePort, String proxyHost, int proxyPort, int reactors, int bufferSize) {
+    if (reactors < 1 || bufferSize < 1) {
+      throw new IllegalArgumentException(
+          String.format("Invalid number of reactors %d or buffer size %d", reactors, bufferSize));
+    }
     this.remoteHost = remoteHost;
     this.remotePort = remotePort;
     this.proxyHost = proxyHost;
     this.proxyPort = proxyPort;
+    this.reactors = reactors;
+    this.bufferSize = bufferSize;
   }
 
   public String getRemoteHost() {
@@ -46,4 +62,12 @@ class Config {
   public int getProxyPort() {
     return this.proxyPort;
   }
+
+  public int getReactors() {
+    return this.reactors;
+  }
+
+  public int getBufferSize() {
+    return this.bufferSize;
+  }
 }
@@ -56,9 +56,14 @@ class ProxySetupHandler implements Callable<HandlerState> {
   private final long connectStartTime;
   private int totalBytesRead = 0;
   private final Config config;
+  private final BufferPool bufferPool;
+  private final TunnelMetrics metrics;
 
-  ProxySetupHandler(SocketChannel client, Selector selector, Config config) throws IOException {
+  ProxySetupHandler(SocketChannel client, Selector selector, Config config, BufferPool bufferPool,
+      TunnelMetrics metrics) throws IOException {
     this.config = config;
+    this.bufferPool = bufferPool;
+    this.metrics = metrics;
     this.client = client;
     this.selector = selector;
     this.buffer =
@@ -156,7 +161,7 @@ class ProxySetupHandler implements Callable<HandlerState> {
               || ((temp[i] == '\r') && (temp[i + 1] == '\n') && (temp[i + 2] == '\r') && (temp[i + 3] == '\n'))) {
             this.state = null;
             this.buffer.position(i + 4);
-            new ReadWriteHandler(this.proxy, this.buffer, this.client, this.selector);
+            new ReadWriteHandler(this.proxy, this.buffer, this.client, this.selector, this.bufferPool, this.metrics);
             return;
           }
         }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.tunnel;
+
+import java.io.IOException;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread with its own {@link Selector} relaying the connections the {@link Tunnel} assigns to it. All the handlers
+ * of a connection run on the thread of the reactor it is assigned to, so they never need to synchronize. Channels are
+ * handed over through a queue, since registering them from the accepting thread would block on the selector.
+ */
+class Reactor implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(Tunnel.class);
+
+  private final Selector selector;
+  private final Config config;
+  private final BufferPool bufferPool;
+  private final TunnelMetrics metrics;
+  private final Queue<SocketChannel> pendingClients = new ConcurrentLinkedQueue<>();
+  private final Set<SocketChannel> clients =
+      Collections.newSetFromMap(new ConcurrentHashMap<SocketChannel, Boolean>());
+  private Thread thread;
+
+  Reactor(Config config, BufferPool bufferPool, TunnelMetrics metrics) throws IOException {
+    this.selector = Selector.open();
+    this.config = config;
+    this.bufferPool = bufferPool;
+    this.metrics = metrics;
+  }
+
+  void start(String name) {
+    this.thread = new Thread(this, name);
+    this.thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+      @Override
+      public void uncaughtException(Thread t, Throwable e) {
+        LOG.error("Uncaught exception in thread " + t.getName(), e);
+      }
+    });
+    //so we don't prevent the JVM from shutting down, just in case
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  void stop() throws InterruptedException {
+    if (this.thread != null) {
+      this.thread.interrupt();
+      this.thread.join();
+    }
+  }
+
+  boolean isAlive() {
+    return this.thread != null && this.thread.isAlive();
+  }
+
+  /**
+   * @return the number of connections assigned to this reactor that are still open.
+   */
+  int getConnectionCount() {
+    return this.clients.size();
+  }
+
+  /**
+   * Assign an accepted client connection to this reactor. Can be called from any thread.
+   */
+  void assign(SocketChannel client) {
+    this.clients.add(client);
+    this.pendingClients.offer(client);
+    this.selector.wakeup();
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (!Thread.interrupted()) {
+        this.selector.select();
+        registerPendingClients();
+
+        Set<SelectionKey> selectionKeys = this.selector.selectedKeys();
+        for (SelectionKey selectionKey : selectionKeys) {
+          dispatch(selectionKey);
+        }
+        selectionKeys.clear();
+
+        removeClosedClients();
+      }
+    } catch (IOException ioe) {
+      LOG.error("Unhandled IOException. Reactor will close", ioe);
+    } finally {
+      close();
+    }
+  }
+
+  private void registerPendingClients() {
+    SocketChannel client;
+    while ((client = this.pendingClients.poll()) != null) {
+      try {
+        new ProxySetupHandler(client, this.selector, this.config, this.bufferPool, this.metrics);
+      } catch (IOException ioe) {
+        LOG.warn("Failed to set up a proxy connection for client {}", client, ioe);
+        closeQuietly(client);
+      }
+    }
+  }
+
+  private void dispatch(SelectionKey selectionKey) {
+    Callable<?> attachment = (Callable<?>) selectionKey.attachment();
+
+    try {
+      attachment.call();
+    } catch (Exception e) {
+      LOG.error("exception handling event on {}", selectionKey.channel(), e);
+    }
+  }
+
+  private void removeClosedClients() {
+    Iterator<SocketChannel> it = this.clients.iterator();
+    while (it.hasNext()) {
+      if (!it.next().isOpen()) {
+        it.remove();
+        this.metrics.connectionClosed();
+      }
+    }
+  }
+
+  private void close() {
+    for (SelectionKey key : this.selector.keys()) {
+      closeQuietly(key.channel());
+    }
+    for (SocketChannel client : this.clients) {
+      closeQuietly(client);
+    }
+    removeClosedClients();
+    try {
+      this.selector.close();
+    } catch (IOException ioe) {
+      LOG.warn("Failed to close selector", ioe);
+    }
+  }
+
+  private static void closeQuietly(Channel channel) {
+    try {
+      channel.close();
+    } catch (IOException ioe) {
+      LOG.warn("Failed to close channel {}", channel, ioe);
+    }
+  }
+}
@@ -33,21 +33,27 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class handles the relaying of data back and forth between the Client-to-Tunnel and Tunnel-to-Proxy
- * socket connections. This class is not thread safe.
+ * socket connections. A buffer is taken from the {@link BufferPool} when data is read, and returned once it has all
+ * been written, so idle connections don't hold any buffer. This class is not thread safe.
  */
 class ReadWriteHandler implements Callable<HandlerState> {
   static final Logger LOG = LoggerFactory.getLogger(Tunnel.class);
   private final SocketChannel proxy;
   private final SocketChannel client;
   private final Selector selector;
-  private final ByteBuffer buffer = ByteBuffer.allocate(1000000);
+  private final BufferPool bufferPool;
+  private final TunnelMetrics metrics;
+  private ByteBuffer buffer;
   private HandlerState state = HandlerState.READING;
 
-  ReadWriteHandler(SocketChannel proxy, ByteBuffer mixedServerResponseBuffer, SocketChannel client, Selector selector)
+  ReadWriteHandler(SocketChannel proxy, ByteBuffer mixedServerResponseBuffer, SocketChannel client, Selector selector,
+      BufferPool bufferPool, TunnelMetrics metrics)
       throws IOException {
     this.proxy = proxy;
     this.client = client;
     this.selector = selector;
+    this.bufferPool = bufferPool;
+    this.metrics = metrics;
 
     // drain response that is not part of proxy's 200 OK and is part of data pushed from server, and push to client
     if (mixedServerResponseBuffer.limit() > mixedServerResponseBuffer.position()) {
@@ -125,9 +131,10 @@ class ReadWriteHandler implements Callable<HandlerState> {
       }
 
       LOG.debug("{} bytes written to {}", totalWrite, writeChannel == this.proxy ? "proxy" : "client");
+      this.metrics.bytesRelayed(writeChannel == this.proxy, totalWrite);
 
       if (totalWrite == available) {
-        this.buffer.clear();
+        releaseBuffer();
         if(readChannel.isOpen()) {
           readChannel.register(this.selector, SelectionKey.OP_READ, this);
           writeChannel.register(this.selector, SelectionKey.OP_READ, this);
@@ -165,6 +172,9 @@ class ReadWriteHandler implements Callable<HandlerState> {
     }
 
     if (readKey != null) {
+      if (this.buffer == null) {
+        this.buffer = this.bufferPool.acquire();
+      }
 
       int lastRead, totalRead = 0;
 
@@ -178,6 +188,8 @@ class ReadWriteHandler implements Callable<HandlerState> {
         readKey.cancel();
         writeChannel.register(this.selector, SelectionKey.OP_WRITE, this);
         this.state = HandlerState.WRITING;
+      } else {
+        releaseBuffer();
       }
       if (lastRead == -1) {
         readChannel.close();
@@ -185,7 +197,15 @@ class ReadWriteHandler implements Callable<HandlerState> {
     }
   }
 
+  private void releaseBuffer() {
+    if (this.buffer != null) {
+      this.bufferPool.release(this.buffer);
+      this.buffer = null;
+    }
+  }
+
   private void closeChannels() {
+    releaseBuffer();
     if (this.proxy.isOpen()) {
       try {
         this.proxy.close();
@@ -23,6 +23,8 @@ import java.net.SocketAddress;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
@@ -60,7 +62,11 @@ import org.apache.gobblin.util.ExecutorsUtils;
  *    the target host via the intermediate proxy.)
  * 7. When the Gobblin extractor (e.g. JDBC data source) is closed down, the Tunnel must be shut down as well.
  *
- * The Tunnel can accept as many connections as the JdbcExtractor opens. It uses NIO to minimize resource usage.
+ * The Tunnel can accept as many connections as the JdbcExtractor opens. It uses NIO to minimize resource usage: a
+ * listener thread accepts the connections and spreads them across a configurable number of {@link Reactor} threads,
+ * each relaying its connections with its own selector. Connections share a pool of direct buffers (see
+ * {@link BufferPool}), and the connection and throughput counters are available from {@link #getMetrics()} and logged
+ * periodically.
  *
  * @author navteniev@linkedin.com
  * @author kkandekar@linkedin.com
@@ -72,10 +78,14 @@ public class Tunnel {
 
   private ServerSocketChannel server;
   private Thread thread;
+  private final List<Reactor> reactors = new ArrayList<>();
   private final Config config;
+  private final BufferPool bufferPool;
+  private final TunnelMetrics metrics = new TunnelMetrics();
 
-  private Tunnel(String remoteHost, int remotePort, String proxyHost, int proxyPort) {
-    this.config = new Config(remoteHost, remotePort, proxyHost, proxyPort);
+  private Tunnel(Config config) {
+    this.config = config;
+    this.bufferPool = new BufferPool(config.getBufferSize(), Config.MAX_POOLED_BUFFERS);
   }
 
   private Tunnel open() throws IOException {
@@ -83,11 +93,18 @@ public class Tunnel {
       this.server = ServerSocketChannel.open().bind(null);
       this.server.configureBlocking(false);
 
+      for (int i = 0; i < this.config.getReactors(); i++) {
+        Reactor reactor = new Reactor(this.config, this.bufferPool, this.metrics);
+        this.reactors.add(reactor);
+        reactor.start("Tunnel Reactor " + i);
+      }
+
       Selector selector = Selector.open();
       startTunnelThread(selector);
       return this;
     } catch (IOException ioe) {
       LOG.error("Failed to open the tunnel", ioe);
+      stopReactors();
       throw ioe;
     }
   }
@@ -123,7 +140,19 @@ public class Tunnel {
   }
 
   public boolean isTunnelThreadAlive() {
-    return (this.thread != null && this.thread.isAlive());
+    if (this.thread != null && this.thread.isAlive()) {
+      return true;
+    }
+    for (Reactor reactor : this.reactors) {
+      if (reactor.isAlive()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public TunnelMetrics getMetrics() {
+    return this.metrics;
   }
 
   private class Dispatcher implements Runnable {
@@ -138,17 +167,26 @@ public class Tunnel {
     public void run() {
       try {
         Tunnel.this.server.register(this.selector, SelectionKey.OP_ACCEPT,
-            ExecutorsUtils.loggingDecorator(new AcceptHandler(Tunnel.this.server, this.selector, Tunnel.this.config)));
+            ExecutorsUtils.loggingDecorator(new AcceptHandler(Tunnel.this.server, Tunnel.this.reactors,
+                Tunnel.this.metrics)));
 
+        long lastReportMillis = System.currentTimeMillis();
         while (!Thread.interrupted()) {
 
-          this.selector.select();
+          this.selector.select(Config.METRICS_REPORT_INTERVAL_MS);
           Set<SelectionKey> selectionKeys = this.selector.selectedKeys();
 
           for (SelectionKey selectionKey : selectionKeys) {
             dispatch(selectionKey);
           }
           selectionKeys.clear();
+
+          if (System.currentTimeMillis() - lastReportMillis >= Config.METRICS_REPORT_INTERVAL_MS) {
+            Tunnel.this.metrics.update();
+            LOG.info("Tunnel to {}:{}: {}", Tunnel.this.config.getRemoteHost(), Tunnel.this.config.getRemotePort(),
+                Tunnel.this.metrics);
+            lastReportMillis = System.currentTimeMillis();
+          }
         }
       } catch (IOException ioe) {
         LOG.error("Unhandled IOException. Tunnel will close", ioe);
@@ -180,11 +218,32 @@ public class Tunnel {
         this.thread.join();
       } catch (InterruptedException e) {
         throw new RuntimeException(e);
+      } finally {
+        stopReactors();
+      }
+    }
+  }
+
+  private void stopReactors() {
+    try {
+      for (Reactor reactor : this.reactors) {
+        reactor.stop();
       }
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
     }
   }
 
   public static Tunnel build(String remoteHost, int remotePort, String proxyHost, int proxyPort) throws IOException {
-    return new Tunnel(remoteHost, remotePort, proxyHost, proxyPort).open();
+    return new Tunnel(new Config(remoteHost, remotePort, proxyHost, proxyPort)).open();
+  }
+
+  /**
+   * @param reactors number of threads relaying the connections.
+   * @param bufferSize size in bytes of the buffers used to relay data.
+   */
+  public static Tunnel build(String remoteHost, int remotePort, String proxyHost, int proxyPort, int reactors,
+      int bufferSize) throws IOException {
+    return new Tunnel(new Config(remoteHost, remotePort, proxyHost, proxyPort, reactors, bufferSize)).open();
   }
 }
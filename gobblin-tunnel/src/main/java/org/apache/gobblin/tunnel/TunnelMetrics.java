@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.tunnel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection and throughput counters of a {@link Tunnel}. This class is thread safe.
+ */
+public class TunnelMetrics {
+  private final AtomicInteger activeConnections = new AtomicInteger(0);
+  private final AtomicLong totalConnections = new AtomicLong(0);
+  private final AtomicLong bytesToRemote = new AtomicLong(0);
+  private final AtomicLong bytesFromRemote = new AtomicLong(0);
+
+  private long lastUpdateNanos = System.nanoTime();
+  private long lastUpdateBytes = 0;
+  private volatile double bytesPerSecond = 0;
+
+  /**
+   * @return the number of client connections currently open through the tunnel.
+   */
+  public int getActiveConnections() {
+    return this.activeConnections.get();
+  }
+
+  /**
+   * @return the number of client connections accepted since the tunnel opened.
+   */
+  public long getTotalConnections() {
+    return this.totalConnections.get();
+  }
+
+  /**
+   * @return the number of bytes relayed from the clients to the remote host.
+   */
+  public long getBytesToRemote() {
+    return this.bytesToRemote.get();
+  }
+
+  /**
+   * @return the number of bytes relayed from the remote host to the clients.
+   */
+  public long getBytesFromRemote() {
+    return this.bytesFromRemote.get();
+  }
+
+  /**
+   * @return the number of bytes relayed per second in both directions, measured between the last two calls to
+   * {@link #update()}.
+   */
+  public double getBytesPerSecond() {
+    return this.bytesPerSecond;
+  }
+
+  void connectionOpened() {
+    this.activeConnections.incrementAndGet();
+    this.totalConnections.incrementAndGet();
+  }
+
+  void connectionClosed() {
+    this.activeConnections.decrementAndGet();
+  }
+
+  void bytesRelayed(boolean toRemote, long bytes) {
+    (toRemote ? this.bytesToRemote : this.bytesFromRemote).addAndGet(bytes);
+  }
+
+  /**
+   * Compute {@link #getBytesPerSecond()} over the time since the last update.
+   */
+  synchronized void update() {
+    long now = System.nanoTime();
+    long bytes = getBytesToRemote() + getBytesFromRemote();
+    long elapsedMillis = TimeUnit.MILLISECONDS.convert(now - this.lastUpdateNanos, TimeUnit.NANOSECONDS);
+    if (elapsedMillis > 0) {
+      this.bytesPerSecond = (bytes - this.lastUpdateBytes) * 1000.0 / elapsedMillis;
+    }
+    this.lastUpdateNanos = now;
+    this.lastUpdateBytes = bytes;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d active connections, %d total connections, %d bytes to remote, %d bytes from remote, "
+        + "%.1f bytes/s", getActiveConnections(), getTotalConnections(), getBytesToRemote(), getBytesFromRemote(),
+        getBytesPerSecond());
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.tunnel;
+
+import java.nio.ByteBuffer;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Tests for {@link BufferPool}.
+ */
+@Test(groups = { "gobblin.tunnel" })
+public class BufferPoolTest {
+
+  @Test
+  public void testBuffersAreReused() {
+    BufferPool pool = new BufferPool(128, 2);
+
+    ByteBuffer buffer = pool.acquire();
+    assertTrue(buffer.isDirect());
+    assertEquals(buffer.capacity(), 128);
+    buffer.put((byte) 1);
+
+    pool.release(buffer);
+    assertEquals(pool.getPooledBuffers(), 1);
+
+    ByteBuffer reused = pool.acquire();
+    assertSame(reused, buffer);
+    assertEquals(reused.position(), 0);
+    assertEquals(reused.remaining(), 128);
+    assertEquals(pool.getPooledBuffers(), 0);
+  }
+
+  @Test
+  public void testIdleBuffersAreBounded() {
+    BufferPool pool = new BufferPool(128, 2);
+
+    ByteBuffer buffer1 = pool.acquire();
+    ByteBuffer buffer2 = pool.acquire();
+    ByteBuffer buffer3 = pool.acquire();
+    assertNotSame(buffer1, buffer2);
+
+    pool.release(buffer1);
+    pool.release(buffer2);
+    pool.release(buffer3);
+    assertEquals(pool.getPooledBuffers(), 2);
+  }
+}
@@ -217,6 +217,34 @@ public class TestTunnelWithArbitraryTCPTraffic {
     }
   }
 
+  @Test(enabled=false, timeOut = 15000)
+  public void testTunnelWithMultipleReactors() throws IOException {
+    MockServer proxyServer = startConnectProxyServer();
+    Tunnel tunnel = Tunnel.build("localhost", doubleEchoServer.getServerSocketPort(),
+        "localhost", proxyServer.getServerSocketPort(), 3, 1024);
+
+    try {
+      int tunnelPort = tunnel.getPort();
+      for (int c = 0; c < 4; c++) {
+        SocketChannel client = SocketChannel.open();
+
+        client.connect(new InetSocketAddress("localhost", tunnelPort));
+        client.write(ByteBuffer.wrap("Knock\n".getBytes()));
+        String response = readFromSocket(client);
+        client.close();
+
+        assertEquals(response, "Knock Knock\n");
+      }
+      assertEquals(proxyServer.getNumConnects(), 4);
+      assertEquals(tunnel.getMetrics().getTotalConnections(), 4);
+      assertEquals(tunnel.getMetrics().getBytesToRemote(), 4 * "Knock\n".length());
+    } finally {
+      proxyServer.stopServer();
+      tunnel.close();
+      assertFalse(tunnel.isTunnelThreadAlive());
+    }
+  }
+
   private MockServer startTalkFirstEchoServer() throws IOException {
     return new TalkFirstDoubleEchoServer().start();
   }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+
+/**
+ * The {@link FlightRecorderBackend} on top of the {@code jdk.jfr} API, loaded by name by {@link FlightRecorderEvents}
+ * only when the API is available.
+ */
+final class FlightRecorderSupport implements FlightRecorderBackend {
+
+  FlightRecorderSupport() {
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return FlightRecorder.isAvailable();
+  }
+
+  @Override
+  public EventSpan beginRecordBatch(String source, String partition) {
+    return new RecordBatchEvent(source, partition);
+  }
+
+  @Override
+  public EventSpan beginQueueFullWait(String queue, String owner) {
+    return new QueueFullWaitEvent(queue, owner);
+  }
+
+  @Override
+  public EventSpan beginWriterFlush(String writer) {
+    return new WriterFlushEvent(writer);
+  }
+
+  @Override
+  public EventSpan beginCommitStep(String taskId, String step) {
+    return new CommitStepEvent(taskId, step);
+  }
+
+  @Override
+  public void record(String name, String configurationName, long durationMillis, Path destination)
+      throws IOException, InterruptedException {
+    Configuration configuration;
+    try {
+      configuration = Configuration.getConfiguration(configurationName);
+    } catch (ParseException e) {
+      throw new IOException("Failed to parse Flight Recorder configuration " + configurationName, e);
+    }
+
+    try (Recording recording = new Recording(configuration)) {
+      recording.setName(name);
+      recording.start();
+      Thread.sleep(durationMillis);
+      recording.stop();
+      recording.dump(destination);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.jfr;
+
+import jdk.jfr.Event;
+
+
+/**
+ * Base class of the Gobblin Flight Recorder events. An event starts timing when it is created.
+ *
+ * <p>
+ *   This class and its sub-classes must only be loaded through {@link FlightRecorderSupport}.
+ * </p>
+ */
+abstract class GobblinEvent extends Event implements EventSpan {
+
+  static final String CATEGORY = "Gobblin";
+
+  GobblinEvent() {
+    begin();
+  }
+
+  @Override
+  public void finish() {
+    end();
+    if (shouldCommit()) {
+      commit();
+    }
+  }
+
+  @Override
+  public void finish(long count) {
+    finish();
+  }
+}
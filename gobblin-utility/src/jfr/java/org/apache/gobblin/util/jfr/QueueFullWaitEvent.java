@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+
+/**
+ * A wait to put into a full queue longer than 1 ms, see {@link FlightRecorderEvents#beginQueueFullWait}.
+ */
+@Name("org.apache.gobblin.QueueFullWait")
+@Label("Queue Full Wait")
+@Description("A wait to put into a full queue")
+@Category(GobblinEvent.CATEGORY)
+@StackTrace(false)
+@Threshold("1 ms")
+class QueueFullWaitEvent extends GobblinEvent {
+
+  @Label("Queue")
+  String queue;
+
+  @Label("Owner")
+  String owner;
+
+  QueueFullWaitEvent(String queue, String owner) {
+    this.queue = queue;
+    this.owner = owner;
+  }
+}
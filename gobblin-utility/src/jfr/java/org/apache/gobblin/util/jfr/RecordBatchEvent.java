@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A batch of records pulled and processed by a task, see {@link FlightRecorderEvents#beginRecordBatch}.
+ */
+@Name("org.apache.gobblin.RecordBatch")
+@Label("Record Batch Processed")
+@Description("A batch of records pulled and processed by a task")
+@Category(GobblinEvent.CATEGORY)
+@StackTrace(false)
+class RecordBatchEvent extends GobblinEvent {
+
+  @Label("Source")
+  String source;
+
+  @Label("Partition")
+  String partition;
+
+  @Label("Records")
+  long records;
+
+  RecordBatchEvent(String source, String partition) {
+    this.source = source;
+    this.partition = partition;
+  }
+
+  @Override
+  public void finish(long count) {
+    this.records = count;
+    finish();
+  }
+}
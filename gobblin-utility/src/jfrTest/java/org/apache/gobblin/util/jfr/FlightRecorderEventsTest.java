@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+
+@Test(groups = { "gobblin.util" })
+public class FlightRecorderEventsTest {
+
+  @BeforeClass
+  public void setUp() {
+    if (!FlightRecorderEvents.isAvailable()) {
+      throw new SkipException("The JDK Flight Recorder is not available");
+    }
+  }
+
+  @Test
+  public void testEvents() throws Exception {
+    Path recordingFile = Files.createTempFile("FlightRecorderEventsTest", ".jfr");
+    try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+      recording.start();
+      FlightRecorderEvents.beginRecordBatch("task", "task_0").finish(1000);
+      EventSpan queueFullWait = FlightRecorderEvents.beginQueueFullWait("queue", "task_0");
+      Thread.sleep(5);
+      queueFullWait.finish();
+      // Shorter than the 1 ms threshold
+      FlightRecorderEvents.beginQueueFullWait("queue", "task_1").finish();
+      FlightRecorderEvents.beginWriterFlush("writer").finish();
+      FlightRecorderEvents.beginCommitStep("task_0", "fork0").finish();
+      recording.stop();
+      recording.dump(recordingFile);
+
+      Assert.assertEquals(readEvents(recordingFile, "org.apache.gobblin.RecordBatch").get(0).getLong("records"), 1000);
+      List<RecordedEvent> queueFullWaits = readEvents(recordingFile, "org.apache.gobblin.QueueFullWait");
+      Assert.assertEquals(queueFullWaits.size(), 1);
+      Assert.assertEquals(queueFullWaits.get(0).getString("owner"), "task_0");
+      Assert.assertEquals(readEvents(recordingFile, "org.apache.gobblin.WriterFlush").size(), 1);
+      Assert.assertEquals(readEvents(recordingFile, "org.apache.gobblin.CommitStep").get(0).getString("step"),
+          "fork0");
+    } finally {
+      Files.deleteIfExists(recordingFile);
+    }
+  }
+
+  @Test
+  public void testRecord() throws Exception {
+    Path recordingFile = Files.createTempFile("FlightRecorderEventsTest", ".jfr");
+    try {
+      FlightRecorderEvents.record("test", FlightRecorderEvents.DEFAULT_RECORDING_CONFIGURATION, 100, recordingFile);
+      Assert.assertTrue(Files.size(recordingFile) > 0);
+    } finally {
+      Files.deleteIfExists(recordingFile);
+    }
+  }
+
+  private static List<RecordedEvent> readEvents(Path recordingFile, String eventName) throws IOException {
+    List<RecordedEvent> events = Lists.newArrayList();
+    for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+      if (event.getEventType().getName().equals(eventName)) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+}
@@ -103,6 +103,25 @@ public class ExecutorsUtils {
     return newThreadFactory(new ThreadFactoryBuilder().setDaemon(true), logger, nameFormat);
   }
 
+  /**
+   * Get a new {@link ThreadFactory} that produces virtual threads, with the given thread name prefix, if the JVM
+   * supports them, which requires JDK 21 or later.
+   *
+   * @param namePrefix the prefix of the thread names, followed by a counter
+   * @return an {@link Optional} wrapping the new {@link ThreadFactory}, absent if virtual threads are not supported
+   */
+  public static Optional<ThreadFactory> newVirtualThreadFactory(String namePrefix) {
+    try {
+      // Thread.ofVirtual().name(namePrefix, 0).factory(), through reflection as Gobblin is built for Java 8
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+      return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return Optional.absent();
+    }
+  }
+
   private static ThreadFactory newThreadFactory(ThreadFactoryBuilder builder, Optional<Logger> logger,
       Optional<String> nameFormat) {
     if (nameFormat.isPresent()) {
@@ -25,11 +25,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.configuration.ConfigurationConverter;
 import org.apache.commons.configuration.ConfigurationException;
@@ -40,12 +43,15 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.PathFilter;
 
 import com.google.common.base.Charsets;
-import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigException;
@@ -54,14 +60,22 @@ import com.typesafe.config.ConfigParseOptions;
 import com.typesafe.config.ConfigSyntax;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.util.executors.IteratorExecutor;
 
-import javax.annotation.Nullable;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 
 /**
  * Used to load pull files from the file system.
+ *
+ * <p>
+ *   Global configuration files are parsed once and reused until their modification time or length changes, so a
+ *   long-lived {@link PullFileLoader} only re-parses the global files that changed between loads. When loading pull
+ *   files recursively, the configuration inherited by each directory is computed once for all the pull files under it,
+ *   and the pull files are loaded by {@link #PULL_FILE_LOADER_THREADS_KEY} threads.
+ * </p>
  */
 @Slf4j
 @Getter
@@ -82,10 +96,17 @@ public class PullFileLoader {
   public static final String PROPERTY_DELIMITER_PARSING_ENABLED_KEY = "property.parsing.enablekey";
   public static final boolean DEFAULT_PROPERTY_DELIMITER_PARSING_ENABLED_KEY = false;
 
+  /** Number of threads used by {@link #loadPullFilesRecursively(Path, Config, boolean)}, read from the sys props. */
+  public static final String PULL_FILE_LOADER_THREADS_KEY = "pullFileLoader.threads";
+  public static final int DEFAULT_PULL_FILE_LOADER_THREADS = 10;
+
   private final Path rootDirectory;
   private final FileSystem fs;
   private final ExtensionFilter javaPropsPullFileFilter;
   private final ExtensionFilter hoconPullFileFilter;
+  // Parsed global configuration file of each directory
+  @Getter(AccessLevel.NONE)
+  private final ConcurrentMap<Path, GlobalConfigFile> globalConfigFiles = Maps.newConcurrentMap();
 
   /**
    * A {@link PathFilter} that accepts {@link Path}s based on a set of valid extensions.
@@ -141,7 +162,16 @@ public class PullFileLoader {
    */
   public Config loadPullFile(Path path, Config sysProps, boolean loadGlobalProperties, boolean resolve)
       throws IOException {
-    Config fallback = loadGlobalProperties ? loadAncestorGlobalConfigs(path, sysProps) : sysProps;
+    return loadPullFile(path, sysProps, loadGlobalProperties, resolve, Maps.<Path, Config>newHashMap());
+  }
+
+  /**
+   * @param directoryConfigs the configs inherited by the directories, as computed by
+   *          {@link #loadAncestorGlobalConfigs(Path, Config, Map)} for the same sysProps.
+   */
+  private Config loadPullFile(Path path, Config sysProps, boolean loadGlobalProperties, boolean resolve,
+      Map<Path, Config> directoryConfigs) throws IOException {
+    Config fallback = loadGlobalProperties ? loadAncestorGlobalConfigs(path, sysProps, directoryConfigs) : sysProps;
     Config loadedConfig;
     if (this.javaPropsPullFileFilter.accept(path)) {
       loadedConfig = loadJavaPropsWithFallback(path, fallback);
@@ -165,28 +195,45 @@ public class PullFileLoader {
    * @param sysProps A {@link Config} used as fallback.
    * @param loadGlobalProperties if true, will also load at most one *.properties file per directory from the
    *          {@link #rootDirectory} to the pull file {@link Path} for each pull file.
-   * @return The loaded {@link Config}s. Files that fail to parse successfully will be logged,
-   *         but will not result in a Config object
+   * @return The loaded {@link Config}s. Files that fail to be read or parsed successfully will be logged,
+   *         but will not result in a Config object. Any other failure to load a file, e.g. a
+   *         {@link com.typesafe.config.ConfigException} resolving it, is rethrown.
    *
    */
   public List<Config> loadPullFilesRecursively(Path path, Config sysProps, boolean loadGlobalProperties) {
-    return Lists.transform(this.fetchJobFilesRecursively(path), new Function<Path, Config>() {
-      @Nullable
-      @Override
-      public Config apply(@Nullable Path jobFile) {
-        if (jobFile == null) {
-          return null;
-        }
+    final List<Path> jobFiles = this.fetchJobFilesRecursively(path);
+    final Map<Path, Config> directoryConfigs = Maps.newConcurrentMap();
+    Iterator<Callable<Config>> loaders = Iterators.transform(jobFiles.iterator(), jobFile ->
+        (Callable<Config>) () -> loadPullFile(jobFile, sysProps, loadGlobalProperties, true, directoryConfigs));
+    int threads = Math.max(1, Math.min(jobFiles.size(),
+        ConfigUtils.getInt(sysProps, PULL_FILE_LOADER_THREADS_KEY, DEFAULT_PULL_FILE_LOADER_THREADS)));
+
+    List<Either<Config, ExecutionException>> results;
+    try {
+      results = new IteratorExecutor<>(loaders, threads,
+          ExecutorsUtils.newDaemonThreadFactory(Optional.of(log), Optional.of("PullFileLoader-%d")))
+          .executeAndGetResults();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while loading pull files under " + path, ie);
+    }
 
-        try {
-          return PullFileLoader.this.loadPullFile(jobFile, sysProps, loadGlobalProperties);
-        } catch (IOException ie) {
-          log.error("", ie);
-          return null;
+    // only return valid parsed configs, in the order of the job files
+    List<Config> configs = Lists.newArrayList();
+    for (int i = 0; i < results.size(); i++) {
+      Either<Config, ExecutionException> result = results.get(i);
+      if (result instanceof Either.Left) {
+        configs.add(((Either.Left<Config, ExecutionException>) result).getLeft());
+      } else {
+        Throwable cause = ((Either.Right<Config, ExecutionException>) result).getRight().getCause();
+        if (!(cause instanceof IOException)) {
+          Throwables.propagateIfPossible(cause);
+          throw new RuntimeException("Failed to load pull file " + jobFiles.get(i), cause);
         }
+        log.error("Failed to load pull file " + jobFiles.get(i), cause);
       }
-    }).stream().filter(Objects::nonNull).collect(Collectors.toList());
-    // only return valid parsed configs
+    }
+    return configs;
   }
 
   public List<Path> fetchJobFilesRecursively(Path path) {
@@ -233,27 +280,36 @@ public class PullFileLoader {
   /**
    * Load at most one *.properties files from path and each ancestor of path up to and including {@link #rootDirectory}.
    * Higher directories will serve as fallback for lower directories, and sysProps will serve as fallback for all of them.
+   * @param directoryConfigs the configs inherited by the directories for the same sysProps, filled as they are computed
    * @throws IOException
    */
-  private Config loadAncestorGlobalConfigs(Path path, Config sysProps)
+  private Config loadAncestorGlobalConfigs(Path path, Config sysProps, Map<Path, Config> directoryConfigs)
       throws IOException {
-    Config config = sysProps;
-
     if (!PathUtils.isAncestor(this.rootDirectory, path)) {
       log.warn(String.format("Loaded path %s is not a descendant of root path %s. Cannot load global properties.", path,
           this.rootDirectory));
-    } else {
+      return sysProps;
+    }
 
-      List<Path> ancestorPaths = Lists.newArrayList();
-      while (PathUtils.isAncestor(this.rootDirectory, path)) {
-        ancestorPaths.add(path);
-        path = path.getParent();
-      }
+    Path parent = path.getParent();
+    Config fallback = parent != null && PathUtils.isAncestor(this.rootDirectory, parent)
+        ? loadDirectoryConfig(parent, sysProps, directoryConfigs) : sysProps;
+    // Listing a file only returns the file itself, so there is nothing to list if the file is not a global file
+    return GLOBAL_PATH_FILTER.accept(path) ? findAndLoadGlobalConfigInDirectory(path, fallback) : fallback;
+  }
 
-      List<Path> reversedAncestors = Lists.reverse(ancestorPaths);
-      for (Path ancestor : reversedAncestors) {
-        config = findAndLoadGlobalConfigInDirectory(ancestor, config);
-      }
+  /**
+   * @return the config inherited by the pull files in a directory under {@link #rootDirectory}.
+   */
+  private Config loadDirectoryConfig(Path directory, Config sysProps, Map<Path, Config> directoryConfigs)
+      throws IOException {
+    Config config = directoryConfigs.get(directory);
+    if (config == null) {
+      Path parent = directory.getParent();
+      Config fallback = parent != null && PathUtils.isAncestor(this.rootDirectory, parent)
+          ? loadDirectoryConfig(parent, sysProps, directoryConfigs) : sysProps;
+      config = findAndLoadGlobalConfigInDirectory(directory, fallback);
+      directoryConfigs.put(directory, config);
     }
     return config;
   }
@@ -274,15 +330,28 @@ public class PullFileLoader {
       throw new IOException("Found more than one global properties file at path " + path);
     }
     if (files.length == 0) {
+      this.globalConfigFiles.remove(path);
       return fallback;
     }
-    if (GLOBAL_HOCON_PATH_FILTER.accept(files[0].getPath())) {
-      return loadHoconConfigWithFallback(files[0].getPath(), fallback);
-    } else if (GLOBAL_PROPS_PATH_FILTER.accept(files[0].getPath())) {
-      return loadJavaPropsWithFallback(files[0].getPath(), fallback);
-    } else {
-      throw new IllegalStateException("Unsupported global configuration file: " + files[0].getPath());
+
+    FileStatus file = files[0];
+    boolean delimiterParsingDisabled = ConfigUtils
+        .getBoolean(fallback, PROPERTY_DELIMITER_PARSING_ENABLED_KEY, DEFAULT_PROPERTY_DELIMITER_PARSING_ENABLED_KEY);
+    GlobalConfigFile globalConfigFile = this.globalConfigFiles.get(path);
+    if (globalConfigFile == null || !globalConfigFile.isUpToDate(file, delimiterParsingDisabled)) {
+      Config config;
+      if (GLOBAL_HOCON_PATH_FILTER.accept(file.getPath())) {
+        config = loadHoconConfigAtPath(file.getPath());
+      } else if (GLOBAL_PROPS_PATH_FILTER.accept(file.getPath())) {
+        config = loadJavaProps(file.getPath(), delimiterParsingDisabled);
+      } else {
+        throw new IllegalStateException("Unsupported global configuration file: " + file.getPath());
+      }
+      globalConfigFile = new GlobalConfigFile(file.getPath(), file.getModificationTime(), file.getLen(),
+          delimiterParsingDisabled, config);
+      this.globalConfigFiles.put(path, globalConfigFile);
     }
+    return globalConfigFile.config.withFallback(fallback);
   }
 
   /**
@@ -292,19 +361,28 @@ public class PullFileLoader {
    */
   private Config loadJavaPropsWithFallback(Path propertiesPath, Config fallback)
       throws IOException {
+    return loadJavaProps(propertiesPath, ConfigUtils
+        .getBoolean(fallback, PROPERTY_DELIMITER_PARSING_ENABLED_KEY, DEFAULT_PROPERTY_DELIMITER_PARSING_ENABLED_KEY))
+        .withFallback(fallback);
+  }
+
+  /**
+   * Load a {@link Properties} compatible path.
+   * @throws IOException
+   */
+  private Config loadJavaProps(Path propertiesPath, boolean delimiterParsingDisabled)
+      throws IOException {
 
     PropertiesConfiguration propertiesConfiguration = new PropertiesConfiguration();
     try (InputStreamReader inputStreamReader = new InputStreamReader(this.fs.open(propertiesPath), Charsets.UTF_8)) {
-      propertiesConfiguration.setDelimiterParsingDisabled(ConfigUtils
-          .getBoolean(fallback, PROPERTY_DELIMITER_PARSING_ENABLED_KEY, DEFAULT_PROPERTY_DELIMITER_PARSING_ENABLED_KEY));
+      propertiesConfiguration.setDelimiterParsingDisabled(delimiterParsingDisabled);
       propertiesConfiguration.load(inputStreamReader);
 
       Config configFromProps =
           ConfigUtils.propertiesToConfig(ConfigurationConverter.getProperties(propertiesConfiguration));
 
       return ConfigFactory.parseMap(ImmutableMap.of(ConfigurationKeys.JOB_CONFIG_FILE_PATH_KEY,
-          PathUtils.getPathWithoutSchemeAndAuthority(propertiesPath).toString())).withFallback(configFromProps)
-          .withFallback(fallback);
+          PathUtils.getPathWithoutSchemeAndAuthority(propertiesPath).toString())).withFallback(configFromProps);
     } catch (ConfigurationException ce) {
       log.error("Failed to load Java properties from file at {} due to {}", propertiesPath, ce.getLocalizedMessage());
       throw new IOException(ce);
@@ -338,17 +416,6 @@ public class PullFileLoader {
     }
   }
 
-  private Config loadHoconConfigWithFallback(Path path, Config fallback)
-      throws IOException {
-    try (InputStream is = fs.open(path); Reader reader = new InputStreamReader(is, Charsets.UTF_8)) {
-      return ConfigFactory.parseMap(ImmutableMap
-          .of(ConfigurationKeys.JOB_CONFIG_FILE_PATH_KEY, PathUtils.getPathWithoutSchemeAndAuthority(path).toString()))
-          .withFallback(ConfigFactory.parseReader(reader, ConfigParseOptions.defaults().setSyntax(ConfigSyntax.CONF))).withFallback(fallback);
-    } catch (ConfigException configException) {
-      throw wrapConfigException(path, configException);
-    }
-  }
-
   private static class PathWithTimeStamp {
     long timeStamp;
     Path path;
@@ -359,6 +426,30 @@ public class PullFileLoader {
     }
   }
 
+  /**
+   * A parsed global configuration file, without its fallback.
+   */
+  private static class GlobalConfigFile {
+    final Path path;
+    final long modificationTime;
+    final long length;
+    final boolean delimiterParsingDisabled;
+    final Config config;
+
+    GlobalConfigFile(Path path, long modificationTime, long length, boolean delimiterParsingDisabled, Config config) {
+      this.path = path;
+      this.modificationTime = modificationTime;
+      this.length = length;
+      this.delimiterParsingDisabled = delimiterParsingDisabled;
+      this.config = config;
+    }
+
+    boolean isUpToDate(FileStatus file, boolean delimiterParsingDisabled) {
+      return this.path.equals(file.getPath()) && this.modificationTime == file.getModificationTime()
+          && this.length == file.getLen() && this.delimiterParsingDisabled == delimiterParsingDisabled;
+    }
+  }
+
   private static class ConfigWithTimeStamp {
     long timeStamp;
     Config config;
@@ -85,6 +85,24 @@ public class StreamThrottler<S extends ScopeType<S>> {
   private ThrottledInputStream doThrottleInputStream(InputStream inputStream, URI sourceURI, URI targetURI) {
     Preconditions.checkNotNull(inputStream, "InputStream cannot be null.");
 
+    Limiter limiter = getLimiter(sourceURI, targetURI);
+
+    Optional<MeteredInputStream> meteredStream = MeteredInputStream.findWrappedMeteredInputStream(inputStream);
+    if (!meteredStream.isPresent()) {
+      meteredStream = Optional.of(MeteredInputStream.builder().in(inputStream).build());
+      inputStream = meteredStream.get();
+    }
+
+    return new ThrottledInputStream(inputStream, limiter, meteredStream.get());
+  }
+
+  /**
+   * Get the {@link Limiter} throttling the bytes copied from a source to a target, for copies that don't go through
+   * an {@link InputStream}. One permit should be acquired per byte.
+   * @param sourceURI used for selecting the throttling policy.
+   * @param targetURI used for selecting the throttling policy.
+   */
+  public Limiter getLimiter(URI sourceURI, URI targetURI) {
     Limiter limiter = new NoopLimiter();
     if (sourceURI != null && targetURI != null) {
       StreamCopierSharedLimiterKey key = new StreamCopierSharedLimiterKey(sourceURI, targetURI);
@@ -97,14 +115,7 @@ public class StreamThrottler<S extends ScopeType<S>> {
     } else {
       log.info("Not throttling input stream because source or target URIs are not defined.");
     }
-
-    Optional<MeteredInputStream> meteredStream = MeteredInputStream.findWrappedMeteredInputStream(inputStream);
-    if (!meteredStream.isPresent()) {
-      meteredStream = Optional.of(MeteredInputStream.builder().in(inputStream).build());
-      inputStream = meteredStream.get();
-    }
-
-    return new ThrottledInputStream(inputStream, limiter, meteredStream.get());
+    return limiter;
   }
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.jfr;
+
+/**
+ * A Flight Recorder event in progress, started by one of the {@code begin} methods of {@link FlightRecorderEvents}.
+ *
+ * <p>
+ *   The event is only written if a recording is running with the event enabled when it finishes, and it lasted
+ *   longer than the threshold of the recording.
+ * </p>
+ */
+public interface EventSpan {
+
+  /**
+   * An {@link EventSpan} that is never written, used when the Flight Recorder is not available.
+   */
+  EventSpan NOOP = new EventSpan() {
+    @Override
+    public void finish() {
+    }
+
+    @Override
+    public void finish(long count) {
+    }
+  };
+
+  /**
+   * Finish the event.
+   */
+  void finish();
+
+  /**
+   * Finish the event with the number of items it covered, e.g. the number of records of a batch. Events that do not
+   * count anything ignore the count.
+   */
+  void finish(long count);
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+
+/**
+ * The calls of {@link FlightRecorderEvents} into the {@code jdk.jfr} API. The implementation is compiled in the
+ * {@code jfr} source set, which is only built with a JDK that has the {@code jdk.jfr} API, and is loaded by name so
+ * that this module can be built and run without it.
+ */
+interface FlightRecorderBackend {
+
+  boolean isAvailable();
+
+  EventSpan beginRecordBatch(String source, String partition);
+
+  EventSpan beginQueueFullWait(String queue, String owner);
+
+  EventSpan beginWriterFlush(String writer);
+
+  EventSpan beginCommitStep(String taskId, String step);
+
+  void record(String name, String configurationName, long durationMillis, Path destination)
+      throws IOException, InterruptedException;
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+
+
+/**
+ * Emits the Gobblin JDK Flight Recorder events and captures recordings of this JVM.
+ *
+ * <p>
+ *   The events are always emitted but only written by a running recording, either one started with
+ *   {@link #record(String, String, long, Path)} or from outside the JVM, e.g. with {@code jcmd <pid> JFR.start}. As
+ *   long as no recording is running, an event costs the allocation of a small object, so the events are only emitted
+ *   outside of the per-record paths. No restart or configuration change is needed to diagnose a running container.
+ * </p>
+ *
+ * <p>
+ *   The events and the {@link FlightRecorderBackend} on top of {@code jdk.jfr} are in the {@code jfr} source set of
+ *   this module, which is only compiled and packaged when the building JDK has the Flight Recorder (JDK 8u262 and
+ *   later, or JDK 11 and later). The backend is loaded by name, so when Gobblin was built without it, or on JVMs
+ *   without the Flight Recorder, the {@code begin} methods return {@link EventSpan#NOOP} and the {@code jdk.jfr}
+ *   classes are never loaded.
+ * </p>
+ */
+public final class FlightRecorderEvents {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FlightRecorderEvents.class);
+
+  /**
+   * The JDK configuration used for recordings by default, which samples method calls on top of the default events.
+   */
+  public static final String DEFAULT_RECORDING_CONFIGURATION = "profile";
+
+  // Compiled in the jfr source set, only when the building JDK has jdk.jfr
+  private static final String BACKEND_CLASS = "org.apache.gobblin.util.jfr.FlightRecorderSupport";
+
+  private static final Optional<FlightRecorderBackend> BACKEND = loadBackend();
+
+  private FlightRecorderEvents() {
+  }
+
+  /**
+   * @return whether the Flight Recorder is available in this JVM.
+   */
+  public static boolean isAvailable() {
+    return BACKEND.isPresent();
+  }
+
+  /**
+   * Begin a "Record Batch Processed" event, to be finished with the number of records of the batch.
+   * @param source what pulled the batch, e.g. a task or an extractor
+   * @param partition the partition, or the task id, the batch was pulled for
+   */
+  public static EventSpan beginRecordBatch(String source, String partition) {
+    return BACKEND.isPresent() ? BACKEND.get().beginRecordBatch(source, partition) : EventSpan.NOOP;
+  }
+
+  /**
+   * Begin a "Queue Full Wait" event, written if the wait lasts longer than 1 ms.
+   * @param queue the queue that is full
+   * @param owner the owner of the queue, e.g. a task id
+   */
+  public static EventSpan beginQueueFullWait(String queue, String owner) {
+    return BACKEND.isPresent() ? BACKEND.get().beginQueueFullWait(queue, owner) : EventSpan.NOOP;
+  }
+
+  /**
+   * Begin a "Writer Flush" event.
+   * @param writer the writer being flushed
+   */
+  public static EventSpan beginWriterFlush(String writer) {
+    return BACKEND.isPresent() ? BACKEND.get().beginWriterFlush(writer) : EventSpan.NOOP;
+  }
+
+  /**
+   * Begin a "Commit Step" event.
+   * @param taskId the id of the task being committed
+   * @param step the step of the commit, e.g. a fork
+   */
+  public static EventSpan beginCommitStep(String taskId, String step) {
+    return BACKEND.isPresent() ? BACKEND.get().beginCommitStep(taskId, step) : EventSpan.NOOP;
+  }
+
+  /**
+   * Record this JVM for the given duration and write the recording to a local file. Blocks until the recording is
+   * written.
+   *
+   * @param name the name of the recording
+   * @param configuration the name of a JDK recording configuration, e.g. {@link #DEFAULT_RECORDING_CONFIGURATION}
+   * @param durationMillis how long to record
+   * @param destination the local file to write the recording to
+   * @throws UnsupportedOperationException if the Flight Recorder is not available in this JVM
+   */
+  public static void record(String name, String configuration, long durationMillis, Path destination)
+      throws IOException, InterruptedException {
+    if (!BACKEND.isPresent()) {
+      throw new UnsupportedOperationException("The JDK Flight Recorder is not available in this JVM");
+    }
+    BACKEND.get().record(name, configuration, durationMillis, destination);
+  }
+
+  private static Optional<FlightRecorderBackend> loadBackend() {
+    try {
+      Class.forName("jdk.jfr.FlightRecorder");
+      FlightRecorderBackend backend = (FlightRecorderBackend) Class.forName(BACKEND_CLASS)
+          .getDeclaredConstructor().newInstance();
+      if (backend.isAvailable()) {
+        return Optional.of(backend);
+      }
+      LOG.info("The JDK Flight Recorder is disabled in this JVM, Gobblin Flight Recorder events are disabled");
+    } catch (ReflectiveOperationException | LinkageError e) {
+      LOG.info("The JDK Flight Recorder is not available, or Gobblin was built without Flight Recorder support, "
+          + "Gobblin Flight Recorder events are disabled");
+    }
+    return Optional.absent();
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.gobblin.util.limiter;
 import java.io.Closeable;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.typesafe.config.Config;
 
 import org.apache.gobblin.annotation.Alias;
@@ -81,6 +82,17 @@ public class CountBasedLimiter extends NonRefillableLimiter {
     return null;
   }
 
+  /**
+   * Give back permits that were acquired but not used, e.g. by a caller that acquires permits in chunks.
+   *
+   * @param permits number of unused permits, at most the number of permits acquired by the caller
+   */
+  public synchronized void releasePermits(long permits) {
+    Preconditions.checkArgument(permits >= 0 && permits <= this.count,
+        "Cannot release %s permits, only %s were acquired", permits, this.count);
+    this.count -= permits;
+  }
+
   @Override
   public void stop() {
     // Nothing to do
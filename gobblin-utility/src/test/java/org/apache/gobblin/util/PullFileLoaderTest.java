@@ -33,6 +33,7 @@ import org.testng.annotations.Test;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Files;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
 import com.typesafe.config.ConfigFactory;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
@@ -175,6 +176,68 @@ public class PullFileLoaderTest {
     }
   }
 
+  @Test
+  public void testChangedGlobalPropsAreReloaded() throws Exception {
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    File tmpDir = Files.createTempDir();
+    tmpDir.deleteOnExit();
+    Path localBasePath = new Path(tmpDir.getAbsolutePath(), "PullFileLoaderTestDir");
+    fs.mkdirs(new Path(localBasePath, "dir1"));
+    PullFileLoader localLoader = new PullFileLoader(localBasePath, fs,
+        PullFileLoader.DEFAULT_JAVA_PROPS_PULL_FILE_EXTENSIONS, PullFileLoader.DEFAULT_HOCON_PULL_FILE_EXTENSIONS);
+
+    writeFile(new Path(localBasePath, "root.properties"), "key1=rootValue1", "key2=rootValue2");
+    writeFile(new Path(localBasePath, "dir1/dir1.properties"), "key2=dir1Value2");
+    for (int i = 0; i < 20; i++) {
+      writeFile(new Path(localBasePath, "dir1/job" + i + ".pull"), "key3=job" + i);
+    }
+
+    List<Config> configs = localLoader.loadPullFilesRecursively(localBasePath, ConfigFactory.empty(), true);
+    Assert.assertEquals(configs.size(), 20);
+    for (Config config : configs) {
+      Assert.assertEquals(config.getString("key1"), "rootValue1");
+      Assert.assertEquals(config.getString("key2"), "dir1Value2");
+    }
+
+    // Same loader, the changed global file is parsed again
+    writeFile(new Path(localBasePath, "root.properties"), "key1=newRootValue1", "key2=rootValue2");
+    configs = localLoader.loadPullFilesRecursively(new Path(localBasePath, "dir1"), ConfigFactory.empty(), true);
+    Assert.assertEquals(configs.size(), 20);
+    for (Config config : configs) {
+      Assert.assertEquals(config.getString("key1"), "newRootValue1");
+      Assert.assertEquals(config.getString("key2"), "dir1Value2");
+    }
+
+    // A deleted global file no longer applies
+    fs.delete(new Path(localBasePath, "dir1/dir1.properties"), false);
+    Config config = localLoader.loadPullFile(new Path(localBasePath, "dir1/job0.pull"), ConfigFactory.empty(), true);
+    Assert.assertEquals(config.getString("key2"), "rootValue2");
+    Assert.assertEquals(config.getString("key3"), "job0");
+  }
+
+  @Test(expectedExceptions = ConfigException.UnresolvedSubstitution.class)
+  public void testRecursiveJobLoadingRethrowsConfigExceptions() throws Exception {
+    FileSystem fs = FileSystem.getLocal(new Configuration());
+    File tmpDir = Files.createTempDir();
+    tmpDir.deleteOnExit();
+    Path localBasePath = new Path(tmpDir.getAbsolutePath(), "PullFileLoaderTestDir");
+    fs.mkdirs(localBasePath);
+
+    writeFile(new Path(localBasePath, "job.conf"), "key1=value1");
+    // Parses, but fails to resolve
+    writeFile(new Path(localBasePath, "unresolved.conf"), "key1=${missingKey}");
+
+    this.loader.loadPullFilesRecursively(localBasePath, ConfigFactory.empty(), false);
+  }
+
+  private static void writeFile(Path path, String... lines) throws IOException {
+    try (PrintWriter writer = new PrintWriter(path.toString(), "UTF-8")) {
+      for (String line : lines) {
+        writer.println(line);
+      }
+    }
+  }
+
   @Test
   public void testJobLoadingWithSysPropsAndGlobalProps() throws Exception {
     Path path;
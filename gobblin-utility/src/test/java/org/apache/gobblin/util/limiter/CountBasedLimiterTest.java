@@ -44,4 +44,25 @@ public class CountBasedLimiterTest {
 
     limiter.stop();
   }
+
+  @Test
+  public void testReleasePermits() throws InterruptedException {
+    CountBasedLimiter limiter = new CountBasedLimiter(10);
+    limiter.start();
+
+    Assert.assertTrue(limiter.acquirePermits(8) != null);
+    Assert.assertTrue(limiter.acquirePermits(3) == null);
+    limiter.releasePermits(5);
+    Assert.assertTrue(limiter.acquirePermits(7) != null);
+    Assert.assertTrue(limiter.acquirePermits(1) == null);
+
+    limiter.stop();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testReleaseMorePermitsThanAcquired() throws InterruptedException {
+    CountBasedLimiter limiter = new CountBasedLimiter(10);
+    Assert.assertTrue(limiter.acquirePermits(2) != null);
+    limiter.releasePermits(3);
+  }
 }
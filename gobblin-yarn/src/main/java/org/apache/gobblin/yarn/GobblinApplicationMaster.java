@@ -49,6 +49,7 @@ import com.typesafe.config.ConfigValueFactory;
 import lombok.Getter;
 
 import org.apache.gobblin.annotation.Alpha;
+import org.apache.gobblin.cluster.FlightRecordingManager;
 import org.apache.gobblin.cluster.GobblinClusterConfigurationKeys;
 import org.apache.gobblin.cluster.GobblinClusterManager;
 import org.apache.gobblin.cluster.GobblinClusterUtils;
@@ -167,6 +168,7 @@ public class GobblinApplicationMaster extends GobblinClusterManager {
      *
      *   <ul>
      *     <li>{@link HelixMessageSubTypes#TOKEN_FILE_UPDATED}</li>
+     *     <li>{@link org.apache.gobblin.cluster.HelixMessageSubTypes#FLIGHT_RECORDING_REQUESTED}</li>
      *   </ul>
      * </p>
      */
@@ -189,6 +191,10 @@ public class GobblinApplicationMaster extends GobblinClusterManager {
           return helixTaskResult;
         }
 
+        if (FlightRecordingManager.isRequest(this._message)) {
+          return flightRecordingManager.handleRequest(this._message);
+        }
+
         throw new IllegalArgumentException(String.format("Unknown %s message subtype: %s",
             Message.MessageType.USER_DEFINE_MSG.toString(), messageSubType));
       }
@@ -45,6 +45,7 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValueFactory;
 
+import org.apache.gobblin.cluster.FlightRecordingManager;
 import org.apache.gobblin.cluster.GobblinClusterConfigurationKeys;
 import org.apache.gobblin.cluster.GobblinClusterUtils;
 import org.apache.gobblin.cluster.GobblinTaskRunner;
@@ -131,6 +132,7 @@ public class GobblinYarnTaskRunner extends GobblinTaskRunner {
      *
      *   <ul>
      *     <li>{@link org.apache.gobblin.cluster.HelixMessageSubTypes#TOKEN_FILE_UPDATED}</li>
+     *     <li>{@link org.apache.gobblin.cluster.HelixMessageSubTypes#FLIGHT_RECORDING_REQUESTED}</li>
      *   </ul>
      * </p>
      */
@@ -153,6 +155,10 @@ public class GobblinYarnTaskRunner extends GobblinTaskRunner {
           return helixTaskResult;
         }
 
+        if (FlightRecordingManager.isRequest(this._message)) {
+          return flightRecordingManager.handleRequest(this._message);
+        }
+
         throw new IllegalArgumentException(String
             .format("Unknown %s message subtype: %s", Message.MessageType.USER_DEFINE_MSG.toString(), messageSubType));
       }